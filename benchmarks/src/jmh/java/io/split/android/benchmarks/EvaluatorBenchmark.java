@@ -0,0 +1,75 @@
+package io.split.android.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.split.android.benchmarks.fixtures.EvaluationEnvironment;
+import io.split.android.benchmarks.fixtures.TargetingRulesFixtures;
+import io.split.android.client.EvaluationResult;
+import io.split.android.client.Evaluator;
+
+/**
+ * Measures {@link Evaluator#getTreatment} for payloads of different sizes. Each invocation
+ * evaluates the next flag in storage, so larger payloads also exercise storage lookups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EvaluatorBenchmark {
+
+    @Param({"1", "50", "2000"})
+    public int flagCount;
+
+    @Param({"1", "10", "50"})
+    public int conditionCount;
+
+    private Evaluator mEvaluator;
+    private String[] mFlagNames;
+    private Map<String, Object> mAttributes;
+    private int mNextFlag;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EvaluationEnvironment environment = new EvaluationEnvironment(
+                TargetingRulesFixtures.featureFlags(flagCount, conditionCount));
+        mEvaluator = environment.getEvaluator();
+        mAttributes = TargetingRulesFixtures.attributes();
+        mFlagNames = new String[flagCount];
+        for (int i = 0; i < flagCount; i++) {
+            mFlagNames[i] = TargetingRulesFixtures.flagName(i);
+        }
+    }
+
+    @Benchmark
+    public EvaluationResult getTreatment() {
+        String flagName = mFlagNames[mNextFlag];
+        mNextFlag = (mNextFlag + 1) % mFlagNames.length;
+
+        return mEvaluator.getTreatment(TargetingRulesFixtures.MATCHING_KEY,
+                TargetingRulesFixtures.BUCKETING_KEY,
+                flagName,
+                mAttributes);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void getTreatmentForAllFlags(Blackhole blackhole) {
+        for (String flagName : mFlagNames) {
+            blackhole.consume(mEvaluator.getTreatment(TargetingRulesFixtures.MATCHING_KEY,
+                    TargetingRulesFixtures.BUCKETING_KEY,
+                    flagName,
+                    mAttributes));
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package io.split.android.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.split.android.benchmarks.fixtures.EvaluationEnvironment;
+import io.split.android.benchmarks.fixtures.TargetingRulesFixtures;
+import io.split.android.client.Evaluator;
+import io.split.android.engine.matchers.DependencyMatcher;
+import io.split.android.engine.matchers.InRuleBasedSegmentMatcher;
+import io.split.android.engine.matchers.Matcher;
+import io.split.android.engine.matchers.MySegmentsMatcher;
+import io.split.android.engine.matchers.collections.ContainsAllOfSetMatcher;
+import io.split.android.engine.matchers.collections.ContainsAnyOfSetMatcher;
+import io.split.android.engine.matchers.collections.EqualToSetMatcher;
+import io.split.android.engine.matchers.collections.PartOfSetMatcher;
+import io.split.android.engine.matchers.semver.BetweenSemverMatcher;
+import io.split.android.engine.matchers.semver.EqualToSemverMatcher;
+import io.split.android.engine.matchers.semver.GreaterThanOrEqualToSemverMatcher;
+import io.split.android.engine.matchers.semver.InListSemverMatcher;
+import io.split.android.engine.matchers.strings.ContainsAnyOfMatcher;
+import io.split.android.engine.matchers.strings.EndsWithAnyOfMatcher;
+import io.split.android.engine.matchers.strings.RegularExpressionMatcher;
+import io.split.android.engine.matchers.strings.StartsWithAnyOfMatcher;
+import io.split.android.engine.matchers.strings.WhitelistMatcher;
+
+/**
+ * Measures a single match call for each matcher family, using values that don't match
+ * so that the whole comparison list is traversed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MatchersBenchmark {
+
+    private static final List<String> STRING_LIST = Arrays.asList(
+            "admin@", "qa@", "support@", "billing@", "ops@", "security@", "mobile@", "web@", "data@", "growth@");
+    private static final List<String> SEMVER_LIST = Arrays.asList(
+            "1.0.0", "2.1.3", "3.0.0-beta.1", "4.2.0", "5.0.0-rc.2+build.5", "6.1.1", "7.0.0", "8.3.2");
+
+    private final String mEmail = "someone@example.com";
+    private final List<String> mPermissions = Arrays.asList("read", "write", "comment", "share");
+    private final String mVersion = "5.4.2";
+
+    private Evaluator mEvaluator;
+    private Map<String, Object> mAttributes;
+
+    private Matcher mWhitelistMatcher;
+    private Matcher mStartsWithMatcher;
+    private Matcher mEndsWithMatcher;
+    private Matcher mContainsStringMatcher;
+    private Matcher mRegexMatcher;
+    private Matcher mContainsAnyOfSetMatcher;
+    private Matcher mContainsAllOfSetMatcher;
+    private Matcher mEqualToSetMatcher;
+    private Matcher mPartOfSetMatcher;
+    private Matcher mEqualToSemverMatcher;
+    private Matcher mGreaterThanOrEqualToSemverMatcher;
+    private Matcher mBetweenSemverMatcher;
+    private Matcher mInListSemverMatcher;
+    private Matcher mMySegmentsMatcher;
+    private Matcher mDependencyMatcher;
+    private Matcher mInRuleBasedSegmentMatcher;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EvaluationEnvironment environment = new EvaluationEnvironment(
+                Collections.singletonList(TargetingRulesFixtures.dependencyFlag()));
+        mEvaluator = environment.getEvaluator();
+        mAttributes = TargetingRulesFixtures.attributes();
+
+        mWhitelistMatcher = new WhitelistMatcher(STRING_LIST);
+        mStartsWithMatcher = new StartsWithAnyOfMatcher(STRING_LIST);
+        mEndsWithMatcher = new EndsWithAnyOfMatcher(STRING_LIST);
+        mContainsStringMatcher = new ContainsAnyOfMatcher(STRING_LIST);
+        mRegexMatcher = new RegularExpressionMatcher("^[a-z0-9._%+-]+@split\\.io$");
+        mContainsAnyOfSetMatcher = new ContainsAnyOfSetMatcher(STRING_LIST);
+        mContainsAllOfSetMatcher = new ContainsAllOfSetMatcher(STRING_LIST);
+        mEqualToSetMatcher = new EqualToSetMatcher(STRING_LIST);
+        mPartOfSetMatcher = new PartOfSetMatcher(STRING_LIST);
+        mEqualToSemverMatcher = new EqualToSemverMatcher("5.4.2-rc.1");
+        mGreaterThanOrEqualToSemverMatcher = new GreaterThanOrEqualToSemverMatcher("9.0.0-rc.1");
+        mBetweenSemverMatcher = new BetweenSemverMatcher("6.0.0", "7.0.0-beta.3");
+        mInListSemverMatcher = new InListSemverMatcher(SEMVER_LIST);
+        mMySegmentsMatcher = new MySegmentsMatcher(environment.getMySegmentsStorage(), TargetingRulesFixtures.NON_MEMBER_SEGMENT);
+        mDependencyMatcher = new DependencyMatcher(TargetingRulesFixtures.DEPENDENCY_FLAG, Collections.singletonList("on"));
+        mInRuleBasedSegmentMatcher = new InRuleBasedSegmentMatcher(environment.getRuleBasedSegmentStorage(),
+                environment.getMySegmentsStorage(),
+                environment.getMyLargeSegmentsStorage(),
+                TargetingRulesFixtures.RULE_BASED_SEGMENT);
+    }
+
+    @Benchmark
+    public boolean whitelist() {
+        return mWhitelistMatcher.match(mEmail, null, null, null);
+    }
+
+    @Benchmark
+    public boolean startsWith() {
+        return mStartsWithMatcher.match(mEmail, null, null, null);
+    }
+
+    @Benchmark
+    public boolean endsWith() {
+        return mEndsWithMatcher.match(mEmail, null, null, null);
+    }
+
+    @Benchmark
+    public boolean containsString() {
+        return mContainsStringMatcher.match(mEmail, null, null, null);
+    }
+
+    @Benchmark
+    public boolean regularExpression() {
+        return mRegexMatcher.match(mEmail, null, null, null);
+    }
+
+    @Benchmark
+    public boolean containsAnyOfSet() {
+        return mContainsAnyOfSetMatcher.match(mPermissions, null, null, null);
+    }
+
+    @Benchmark
+    public boolean containsAllOfSet() {
+        return mContainsAllOfSetMatcher.match(mPermissions, null, null, null);
+    }
+
+    @Benchmark
+    public boolean equalToSet() {
+        return mEqualToSetMatcher.match(mPermissions, null, null, null);
+    }
+
+    @Benchmark
+    public boolean partOfSet() {
+        return mPartOfSetMatcher.match(mPermissions, null, null, null);
+    }
+
+    @Benchmark
+    public boolean equalToSemver() {
+        return mEqualToSemverMatcher.match(mVersion, null, null, null);
+    }
+
+    @Benchmark
+    public boolean greaterThanOrEqualToSemver() {
+        return mGreaterThanOrEqualToSemverMatcher.match(mVersion, null, null, null);
+    }
+
+    @Benchmark
+    public boolean betweenSemver() {
+        return mBetweenSemverMatcher.match(mVersion, null, null, null);
+    }
+
+    @Benchmark
+    public boolean inListSemver() {
+        return mInListSemverMatcher.match(mVersion, null, null, null);
+    }
+
+    @Benchmark
+    public boolean mySegments() {
+        return mMySegmentsMatcher.match(TargetingRulesFixtures.MATCHING_KEY, null, null, null);
+    }
+
+    @Benchmark
+    public boolean dependency() {
+        return mDependencyMatcher.match(TargetingRulesFixtures.MATCHING_KEY, TargetingRulesFixtures.BUCKETING_KEY, mAttributes, mEvaluator);
+    }
+
+    @Benchmark
+    public boolean inRuleBasedSegment() {
+        return mInRuleBasedSegmentMatcher.match(TargetingRulesFixtures.MATCHING_KEY, TargetingRulesFixtures.BUCKETING_KEY, mAttributes, mEvaluator);
+    }
+}
@@ -0,0 +1,52 @@
+package io.split.android.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+import io.split.android.benchmarks.fixtures.TargetingRulesFixtures;
+import io.split.android.client.dtos.Split;
+import io.split.android.client.storage.splits.SplitBinarySerializer;
+import io.split.android.client.utils.Json;
+
+/**
+ * Compares decoding a stored feature flag from JSON and from the binary format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SplitDeserializationBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int conditionCount;
+
+    private SplitBinarySerializer mSerializer;
+    private String mJson;
+    private byte[] mBinary;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Split split = TargetingRulesFixtures.featureFlag(TargetingRulesFixtures.flagName(0), conditionCount);
+        mSerializer = new SplitBinarySerializer();
+        mJson = Json.toJson(split);
+        mBinary = mSerializer.serialize(split);
+    }
+
+    @Benchmark
+    public Split json() {
+        return Json.fromJson(mJson, Split.class);
+    }
+
+    @Benchmark
+    public Split binary() {
+        return mSerializer.deserialize(mBinary);
+    }
+}
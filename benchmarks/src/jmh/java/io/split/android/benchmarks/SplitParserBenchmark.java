@@ -0,0 +1,46 @@
+package io.split.android.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import io.split.android.benchmarks.fixtures.EvaluationEnvironment;
+import io.split.android.benchmarks.fixtures.TargetingRulesFixtures;
+import io.split.android.client.dtos.Split;
+import io.split.android.engine.experiments.ParsedSplit;
+import io.split.android.engine.experiments.SplitParser;
+
+/**
+ * Measures building a {@link ParsedSplit} (matchers, regexes, semver values) from its DTO.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SplitParserBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int conditionCount;
+
+    private SplitParser mSplitParser;
+    private Split mSplit;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mSplit = TargetingRulesFixtures.featureFlag(TargetingRulesFixtures.flagName(0), conditionCount);
+        mSplitParser = new EvaluationEnvironment(Collections.singletonList(mSplit)).getSplitParser();
+    }
+
+    @Benchmark
+    public ParsedSplit parse() {
+        return mSplitParser.parse(mSplit, TargetingRulesFixtures.MATCHING_KEY);
+    }
+}
@@ -0,0 +1,71 @@
+package io.split.android.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import io.split.android.benchmarks.fixtures.TargetingRulesFixtures;
+import io.split.android.client.dtos.Partition;
+import io.split.android.client.fallback.FallbackTreatmentsCalculator;
+import io.split.android.client.fallback.FallbackTreatmentsCalculatorImpl;
+import io.split.android.client.fallback.FallbackTreatmentsConfiguration;
+import io.split.android.engine.splitter.PartitionTable;
+import io.split.android.engine.splitter.Splitter;
+
+/**
+ * Measures bucketing and treatment selection for different partition counts and hashing algorithms.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SplitterBenchmark {
+
+    @Param({"2", "5", "20"})
+    public int partitionCount;
+
+    @Param({"1", "2"})
+    public int algo;
+
+    private List<Partition> mPartitions;
+    private PartitionTable mPartitionTable;
+    private FallbackTreatmentsCalculator mFallbackTreatmentsCalculator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mPartitions = new ArrayList<>(partitionCount);
+        int size = 100 / partitionCount;
+        for (int i = 0; i < partitionCount; i++) {
+            Partition partition = new Partition();
+            partition.treatment = "treatment_" + i;
+            partition.size = (i == partitionCount - 1) ? 100 - size * (partitionCount - 1) : size;
+            mPartitions.add(partition);
+        }
+        mPartitionTable = new PartitionTable(mPartitions);
+        mFallbackTreatmentsCalculator = new FallbackTreatmentsCalculatorImpl(FallbackTreatmentsConfiguration.builder().build());
+    }
+
+    @Benchmark
+    public String getTreatment() {
+        return Splitter.getTreatment(TargetingRulesFixtures.BUCKETING_KEY, 1_234_567, mPartitions, algo, mFallbackTreatmentsCalculator);
+    }
+
+    @Benchmark
+    public String getTreatmentFromPartitionTable() {
+        return Splitter.getTreatment(TargetingRulesFixtures.BUCKETING_KEY, 1_234_567, mPartitionTable, algo, mFallbackTreatmentsCalculator);
+    }
+
+    @Benchmark
+    public int getBucket() {
+        return Splitter.getBucket(TargetingRulesFixtures.BUCKETING_KEY, 1_234_567, algo);
+    }
+}
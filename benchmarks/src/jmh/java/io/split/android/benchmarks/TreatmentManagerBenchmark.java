@@ -0,0 +1,145 @@
+package io.split.android.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.split.android.benchmarks.fixtures.EvaluationEnvironment;
+import io.split.android.benchmarks.fixtures.TargetingRulesFixtures;
+import io.split.android.client.FlagSetsFilterImpl;
+import io.split.android.client.PropertyValidatorImpl;
+import io.split.android.client.attributes.AttributesManager;
+import io.split.android.client.attributes.AttributesMergerImpl;
+import io.split.android.client.events.ListenableEventsManager;
+import io.split.android.client.events.SplitEvent;
+import io.split.android.client.events.SplitEventTask;
+import io.split.android.client.events.executors.SplitEventExecutorResources;
+import io.split.android.client.impressions.ImpressionListener;
+import io.split.android.client.telemetry.storage.NoOpTelemetryStorage;
+import io.split.android.client.validators.FlagSetsValidatorImpl;
+import io.split.android.client.validators.KeyValidatorImpl;
+import io.split.android.client.validators.SplitValidatorImpl;
+import io.split.android.client.validators.TreatmentManager;
+import io.split.android.client.validators.TreatmentManagerImpl;
+import io.split.android.client.validators.ValidationMessageLoggerImpl;
+
+/**
+ * Measures the public evaluation entry points, including validation, attribute merging
+ * and impression creation. Run with {@code -PjmhProfilers=gc} to compare allocations
+ * per call between the single flag path and the list based one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TreatmentManagerBenchmark {
+
+    private static final String FLAG_NAME = TargetingRulesFixtures.flagName(0);
+
+    private TreatmentManager mTreatmentManager;
+    private List<String> mSingleFlagList;
+    private Map<String, Object> mAttributes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        EvaluationEnvironment environment = new EvaluationEnvironment(
+                TargetingRulesFixtures.featureFlags(50, 10));
+        ImpressionListener.NoopImpressionListener noopListener = new ImpressionListener.NoopImpressionListener();
+
+        mTreatmentManager = new TreatmentManagerImpl(TargetingRulesFixtures.MATCHING_KEY,
+                TargetingRulesFixtures.BUCKETING_KEY,
+                environment.getEvaluator(),
+                new KeyValidatorImpl(),
+                new SplitValidatorImpl(),
+                new ImpressionListener.FederatedImpressionListener(noopListener, Collections.<ImpressionListener>emptyList()),
+                true,
+                new ReadyEventsManager(),
+                new EmptyAttributesManager(),
+                new AttributesMergerImpl(),
+                new NoOpTelemetryStorage(),
+                new FlagSetsFilterImpl(Collections.<String>emptySet()),
+                environment.getSplitsStorage(),
+                new ValidationMessageLoggerImpl(),
+                new FlagSetsValidatorImpl(),
+                new PropertyValidatorImpl(),
+                environment.getFallbackTreatmentsCalculator());
+        mSingleFlagList = Collections.singletonList(FLAG_NAME);
+        mAttributes = TargetingRulesFixtures.attributes();
+    }
+
+    @Benchmark
+    public String getTreatment() {
+        return mTreatmentManager.getTreatment(FLAG_NAME, null, null, false);
+    }
+
+    @Benchmark
+    public String getTreatmentWithAttributes() {
+        return mTreatmentManager.getTreatment(FLAG_NAME, mAttributes, null, false);
+    }
+
+    @Benchmark
+    public Map<String, String> getTreatmentsForSingleFlag() {
+        return mTreatmentManager.getTreatments(mSingleFlagList, null, null, false);
+    }
+
+    private static final class ReadyEventsManager implements ListenableEventsManager {
+
+        @Override
+        public SplitEventExecutorResources getExecutorResources() {
+            return null;
+        }
+
+        @Override
+        public void register(SplitEvent event, SplitEventTask task) {
+            // no-op
+        }
+
+        @Override
+        public boolean eventAlreadyTriggered(SplitEvent event) {
+            return true;
+        }
+    }
+
+    private static final class EmptyAttributesManager implements AttributesManager {
+
+        @Override
+        public boolean setAttribute(String attributeName, Object value) {
+            return false;
+        }
+
+        @Override
+        public Object getAttribute(String attributeName) {
+            return null;
+        }
+
+        @Override
+        public boolean setAttributes(Map<String, Object> attributes) {
+            return false;
+        }
+
+        @Override
+        public Map<String, Object> getAllAttributes() {
+            return new HashMap<>();
+        }
+
+        @Override
+        public boolean removeAttribute(String attributeName) {
+            return false;
+        }
+
+        @Override
+        public boolean clearAttributes() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package io.split.android.benchmarks.fixtures;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.split.android.client.Evaluator;
+import io.split.android.client.EvaluatorImpl;
+import io.split.android.client.dtos.RuleBasedSegment;
+import io.split.android.client.dtos.SegmentsChange;
+import io.split.android.client.dtos.Split;
+import io.split.android.client.fallback.FallbackTreatmentsCalculator;
+import io.split.android.client.fallback.FallbackTreatmentsCalculatorImpl;
+import io.split.android.client.fallback.FallbackTreatmentsConfiguration;
+import io.split.android.client.storage.mysegments.MySegmentsStorage;
+import io.split.android.client.storage.mysegments.MySegmentsStorageContainer;
+import io.split.android.client.storage.mysegments.MySegmentsStorageContainerImpl;
+import io.split.android.client.storage.mysegments.PersistentMySegmentsStorage;
+import io.split.android.client.storage.rbs.PersistentRuleBasedSegmentStorage;
+import io.split.android.client.storage.rbs.RuleBasedSegmentSnapshot;
+import io.split.android.client.storage.rbs.RuleBasedSegmentStorage;
+import io.split.android.client.storage.rbs.RuleBasedSegmentStorageImpl;
+import io.split.android.client.storage.splits.PersistentSplitsStorage;
+import io.split.android.client.storage.splits.ProcessedSplitChange;
+import io.split.android.client.storage.splits.SplitsSnapshot;
+import io.split.android.client.storage.splits.SplitsStorage;
+import io.split.android.client.storage.splits.SplitsStorageImpl;
+import io.split.android.engine.experiments.ParserCommons;
+import io.split.android.engine.experiments.RuleBasedSegmentParser;
+import io.split.android.engine.experiments.SplitParser;
+
+/**
+ * Wires the SDK storages and evaluation engine the same way the factory does,
+ * replacing the SQLite backed persistence with in-memory implementations.
+ */
+public final class EvaluationEnvironment {
+
+    private final SplitsStorage mSplitsStorage;
+    private final RuleBasedSegmentStorage mRuleBasedSegmentStorage;
+    private final MySegmentsStorageContainer mMySegmentsStorageContainer;
+    private final MySegmentsStorageContainer mMyLargeSegmentsStorageContainer;
+    private final ParserCommons mParserCommons;
+    private final SplitParser mSplitParser;
+    private final FallbackTreatmentsCalculator mFallbackTreatmentsCalculator;
+    private final Evaluator mEvaluator;
+
+    public EvaluationEnvironment(List<Split> featureFlags) {
+        mMySegmentsStorageContainer = new MySegmentsStorageContainerImpl(new InMemoryPersistentMySegmentsStorage(
+                Collections.singleton(TargetingRulesFixtures.MEMBER_SEGMENT)));
+        mMyLargeSegmentsStorageContainer = new MySegmentsStorageContainerImpl(new InMemoryPersistentMySegmentsStorage(
+                Collections.emptySet()));
+        mMySegmentsStorageContainer.getStorageForKey(TargetingRulesFixtures.MATCHING_KEY).loadLocal();
+        mMyLargeSegmentsStorageContainer.getStorageForKey(TargetingRulesFixtures.MATCHING_KEY).loadLocal();
+
+        mParserCommons = new ParserCommons(mMySegmentsStorageContainer, mMyLargeSegmentsStorageContainer);
+        mRuleBasedSegmentStorage = new RuleBasedSegmentStorageImpl(new NoOpPersistentRuleBasedSegmentStorage(),
+                new RuleBasedSegmentParser(mParserCommons));
+        mParserCommons.setRuleBasedSegmentStorage(mRuleBasedSegmentStorage);
+        mRuleBasedSegmentStorage.update(Collections.singleton(TargetingRulesFixtures.ruleBasedSegment()),
+                Collections.<RuleBasedSegment>emptySet(),
+                TargetingRulesFixtures.CHANGE_NUMBER,
+                null);
+
+        mSplitsStorage = new SplitsStorageImpl(new NoOpPersistentSplitsStorage());
+        mSplitsStorage.update(new ProcessedSplitChange(featureFlags, Collections.<Split>emptyList(),
+                TargetingRulesFixtures.CHANGE_NUMBER, 0), null);
+
+        mSplitParser = new SplitParser(mParserCommons);
+        mFallbackTreatmentsCalculator = new FallbackTreatmentsCalculatorImpl(FallbackTreatmentsConfiguration.builder().build());
+        mEvaluator = new EvaluatorImpl(mSplitsStorage, mSplitParser, mFallbackTreatmentsCalculator);
+    }
+
+    public SplitsStorage getSplitsStorage() {
+        return mSplitsStorage;
+    }
+
+    public RuleBasedSegmentStorage getRuleBasedSegmentStorage() {
+        return mRuleBasedSegmentStorage;
+    }
+
+    public MySegmentsStorage getMySegmentsStorage() {
+        return mMySegmentsStorageContainer.getStorageForKey(TargetingRulesFixtures.MATCHING_KEY);
+    }
+
+    public MySegmentsStorage getMyLargeSegmentsStorage() {
+        return mMyLargeSegmentsStorageContainer.getStorageForKey(TargetingRulesFixtures.MATCHING_KEY);
+    }
+
+    public SplitParser getSplitParser() {
+        return mSplitParser;
+    }
+
+    public FallbackTreatmentsCalculator getFallbackTreatmentsCalculator() {
+        return mFallbackTreatmentsCalculator;
+    }
+
+    public Evaluator getEvaluator() {
+        return mEvaluator;
+    }
+
+    private static final class InMemoryPersistentMySegmentsStorage implements PersistentMySegmentsStorage {
+
+        private final Set<String> mSegments;
+
+        InMemoryPersistentMySegmentsStorage(Set<String> segments) {
+            mSegments = segments;
+        }
+
+        @Override
+        public void set(String userKey, SegmentsChange segmentsChange) {
+            // no-op
+        }
+
+        @Override
+        public SegmentsChange getSnapshot(String userKey) {
+            return SegmentsChange.create(mSegments, TargetingRulesFixtures.CHANGE_NUMBER);
+        }
+
+        @Override
+        public void close() {
+            // no-op
+        }
+    }
+
+    private static final class NoOpPersistentRuleBasedSegmentStorage implements PersistentRuleBasedSegmentStorage {
+
+        @Override
+        public RuleBasedSegmentSnapshot getSnapshot() {
+            return new RuleBasedSegmentSnapshot(new HashMap<String, RuleBasedSegment>(), -1);
+        }
+
+        @Override
+        public void update(Set<RuleBasedSegment> toAdd, Set<RuleBasedSegment> toRemove, long changeNumber) {
+            // no-op
+        }
+
+        @Override
+        public void clear() {
+            // no-op
+        }
+    }
+
+    private static final class NoOpPersistentSplitsStorage implements PersistentSplitsStorage {
+
+        @Override
+        public boolean update(ProcessedSplitChange splitChange, Map<String, Integer> trafficTypes, Map<String, Set<String>> flagSets) {
+            return true;
+        }
+
+        @Override
+        public SplitsSnapshot getSnapshot() {
+            return new SplitsSnapshot(Collections.<Split>emptyList(), -1, 0, null, null, null, null);
+        }
+
+        @Override
+        public SplitsSnapshot getMetadataSnapshot() {
+            return getSnapshot();
+        }
+
+        @Override
+        public List<Split> getAll() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public Split get(String name) {
+            return null;
+        }
+
+        @Override
+        public void update(Split split) {
+            // no-op
+        }
+
+        @Override
+        public String getFilterQueryString() {
+            return null;
+        }
+
+        @Override
+        public void updateFilterQueryString(String queryString) {
+            // no-op
+        }
+
+        @Override
+        public String getFlagsSpec() {
+            return null;
+        }
+
+        @Override
+        public void updateFlagsSpec(String flagsSpec) {
+            // no-op
+        }
+
+        @Override
+        public void delete(List<String> splitNames) {
+            // no-op
+        }
+
+        @Override
+        public void clear() {
+            // no-op
+        }
+
+        @Override
+        public void close() {
+            // no-op
+        }
+    }
+}
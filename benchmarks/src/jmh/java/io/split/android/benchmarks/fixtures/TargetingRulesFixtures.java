@@ -0,0 +1,232 @@
+package io.split.android.benchmarks.fixtures;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import io.split.android.client.dtos.BetweenMatcherData;
+import io.split.android.client.dtos.Condition;
+import io.split.android.client.dtos.ConditionType;
+import io.split.android.client.dtos.DataType;
+import io.split.android.client.dtos.DependencyMatcherData;
+import io.split.android.client.dtos.Excluded;
+import io.split.android.client.dtos.KeySelector;
+import io.split.android.client.dtos.Matcher;
+import io.split.android.client.dtos.MatcherCombiner;
+import io.split.android.client.dtos.MatcherGroup;
+import io.split.android.client.dtos.MatcherType;
+import io.split.android.client.dtos.Partition;
+import io.split.android.client.dtos.RuleBasedSegment;
+import io.split.android.client.dtos.Split;
+import io.split.android.client.dtos.Status;
+import io.split.android.client.dtos.UserDefinedSegmentMatcherData;
+import io.split.android.client.dtos.WhitelistMatcherData;
+
+/**
+ * Builds feature flag definitions shaped like the ones served by /splitChanges.
+ * <p>
+ * Every flag has the requested number of conditions. All but the last one use a different
+ * matcher family and are built so that {@link #MATCHING_KEY} with {@link #attributes()} does
+ * not match them, which makes an evaluation walk every condition before reaching the final
+ * 50/50 rollout.
+ */
+public final class TargetingRulesFixtures {
+
+    public static final String MATCHING_KEY = "b5e6c0d8-3b0f-4c1c-9b0e-1f2a3b4c5d6e";
+    public static final String BUCKETING_KEY = MATCHING_KEY;
+    public static final String TRAFFIC_TYPE = "user";
+    public static final String MEMBER_SEGMENT = "beta_testers";
+    public static final String NON_MEMBER_SEGMENT = "employees";
+    public static final String RULE_BASED_SEGMENT = "premium_users";
+    public static final String DEPENDENCY_FLAG = "dependency_flag";
+    public static final long CHANGE_NUMBER = 1_700_000_000_000L;
+
+    private static final int MATCHER_FAMILIES = 10;
+
+    private TargetingRulesFixtures() {
+    }
+
+    /**
+     * @return flagCount feature flags with conditionCount conditions each, plus the flag
+     * referenced by dependency matchers
+     */
+    public static List<Split> featureFlags(int flagCount, int conditionCount) {
+        List<Split> flags = new ArrayList<>(flagCount + 1);
+        for (int i = 0; i < flagCount; i++) {
+            flags.add(featureFlag(flagName(i), conditionCount));
+        }
+        flags.add(dependencyFlag());
+
+        return flags;
+    }
+
+    public static String flagName(int index) {
+        return "flag_" + index;
+    }
+
+    public static Split featureFlag(String name, int conditionCount) {
+        Split split = new Split();
+        split.name = name;
+        split.seed = name.hashCode();
+        split.status = Status.ACTIVE;
+        split.killed = false;
+        split.defaultTreatment = "off";
+        split.trafficTypeName = TRAFFIC_TYPE;
+        split.changeNumber = CHANGE_NUMBER;
+        split.trafficAllocation = 100;
+        split.trafficAllocationSeed = name.hashCode() * 31;
+        split.algo = 2;
+        split.sets = new HashSet<>(Collections.singletonList("set_" + (Math.abs(name.hashCode()) % 3)));
+        split.configurations = new HashMap<>();
+        split.configurations.put("on", "{\"color\":\"blue\",\"size\":12}");
+
+        List<Condition> conditions = new ArrayList<>(conditionCount);
+        for (int i = 0; i < conditionCount - 1; i++) {
+            conditions.add(nonMatchingCondition(i));
+        }
+        conditions.add(rolloutCondition());
+        split.conditions = conditions;
+
+        return split;
+    }
+
+    /**
+     * @return flag referenced by dependency matchers; it always evaluates to "off"
+     * so that dependency conditions don't match
+     */
+    public static Split dependencyFlag() {
+        Split split = featureFlag(DEPENDENCY_FLAG, 1);
+        split.conditions.get(0).partitions = Collections.singletonList(partition("off", 100));
+
+        return split;
+    }
+
+    public static RuleBasedSegment ruleBasedSegment() {
+        Matcher planMatcher = matcher(MatcherType.EQUAL_TO_SET, "plan");
+        planMatcher.whitelistMatcherData = whitelist("premium");
+
+        return new RuleBasedSegment(RULE_BASED_SEGMENT,
+                TRAFFIC_TYPE,
+                CHANGE_NUMBER,
+                Status.ACTIVE,
+                Collections.singletonList(condition(ConditionType.ROLLOUT, planMatcher, "in segment premium")),
+                Excluded.createEmpty());
+    }
+
+    public static Map<String, Object> attributes() {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("email", "someone@example.com");
+        attributes.put("permissions", Arrays.asList("read", "write"));
+        attributes.put("app_version", "5.4.2");
+        attributes.put("age", 34);
+        attributes.put("plan", "free");
+        attributes.put("country", "uy");
+        attributes.put("is_employee", false);
+
+        return attributes;
+    }
+
+    private static Condition nonMatchingCondition(int index) {
+        Matcher matcher;
+        switch (index % MATCHER_FAMILIES) {
+            case 0:
+                matcher = matcher(MatcherType.WHITELIST, null);
+                matcher.whitelistMatcherData = whitelist("qa_user_1", "qa_user_2", "qa_user_3");
+                return condition(ConditionType.WHITELIST, matcher, "whitelisted");
+            case 1:
+                matcher = matcher(MatcherType.IN_SEGMENT, null);
+                matcher.userDefinedSegmentMatcherData = new UserDefinedSegmentMatcherData();
+                matcher.userDefinedSegmentMatcherData.segmentName = NON_MEMBER_SEGMENT;
+                break;
+            case 2:
+                matcher = matcher(MatcherType.STARTS_WITH, "email");
+                matcher.whitelistMatcherData = whitelist("admin@", "qa@", "support@");
+                break;
+            case 3:
+                matcher = matcher(MatcherType.CONTAINS_ANY_OF_SET, "permissions");
+                matcher.whitelistMatcherData = whitelist("admin", "delete", "billing");
+                break;
+            case 4:
+                matcher = matcher(MatcherType.GREATER_THAN_OR_EQUAL_TO_SEMVER, "app_version");
+                matcher.stringMatcherData = "9.0.0-rc.1";
+                break;
+            case 5:
+                matcher = matcher(MatcherType.MATCHES_STRING, "email");
+                matcher.stringMatcherData = "^[a-z0-9._%+-]+@split\\.io$";
+                break;
+            case 6:
+                matcher = matcher(MatcherType.BETWEEN, "age");
+                matcher.betweenMatcherData = new BetweenMatcherData();
+                matcher.betweenMatcherData.dataType = DataType.NUMBER;
+                matcher.betweenMatcherData.start = 60;
+                matcher.betweenMatcherData.end = 70;
+                break;
+            case 7:
+                matcher = matcher(MatcherType.IN_RULE_BASED_SEGMENT, null);
+                matcher.userDefinedSegmentMatcherData = new UserDefinedSegmentMatcherData();
+                matcher.userDefinedSegmentMatcherData.segmentName = RULE_BASED_SEGMENT;
+                break;
+            case 8:
+                matcher = matcher(MatcherType.IN_SPLIT_TREATMENT, null);
+                matcher.dependencyMatcherData = new DependencyMatcherData();
+                matcher.dependencyMatcherData.split = DEPENDENCY_FLAG;
+                matcher.dependencyMatcherData.treatments = Collections.singletonList("on");
+                break;
+            default:
+                matcher = matcher(MatcherType.ENDS_WITH, "email");
+                matcher.whitelistMatcherData = whitelist("@split.io", "@harness.io");
+                break;
+        }
+
+        return condition(ConditionType.ROLLOUT, matcher, "rule " + index);
+    }
+
+    private static Condition rolloutCondition() {
+        Matcher matcher = matcher(MatcherType.ALL_KEYS, null);
+        Condition condition = condition(ConditionType.ROLLOUT, matcher, "default rule");
+        condition.partitions = Arrays.asList(partition("on", 50), partition("off", 50));
+
+        return condition;
+    }
+
+    private static Condition condition(ConditionType conditionType, Matcher matcher, String label) {
+        Condition condition = new Condition();
+        condition.conditionType = conditionType;
+        condition.matcherGroup = new MatcherGroup();
+        condition.matcherGroup.combiner = MatcherCombiner.AND;
+        condition.matcherGroup.matchers = Collections.singletonList(matcher);
+        condition.partitions = Collections.singletonList(partition("on", 100));
+        condition.label = label;
+
+        return condition;
+    }
+
+    private static Matcher matcher(MatcherType matcherType, String attribute) {
+        Matcher matcher = new Matcher();
+        matcher.matcherType = matcherType;
+        matcher.keySelector = new KeySelector();
+        matcher.keySelector.trafficType = TRAFFIC_TYPE;
+        matcher.keySelector.attribute = attribute;
+
+        return matcher;
+    }
+
+    private static WhitelistMatcherData whitelist(String... values) {
+        WhitelistMatcherData data = new WhitelistMatcherData();
+        data.whitelist = Arrays.asList(values);
+
+        return data;
+    }
+
+    private static Partition partition(String treatment, int size) {
+        Partition partition = new Partition();
+        partition.treatment = treatment;
+        partition.size = size;
+
+        return partition;
+    }
+}
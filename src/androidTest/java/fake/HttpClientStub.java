@@ -6,6 +6,7 @@ import java.util.Map;
 import io.split.android.client.network.HttpClient;
 import io.split.android.client.network.HttpMethod;
 import io.split.android.client.network.HttpRequest;
+import io.split.android.client.network.HttpRequestBodyWriter;
 import io.split.android.client.network.HttpStreamRequest;
 
 public class HttpClientStub implements HttpClient {
@@ -40,6 +41,11 @@ public class HttpClientStub implements HttpClient {
         return new HttpRequestStub();
     }
 
+    @Override
+    public HttpRequest request(URI uri, HttpMethod httpMethod, HttpRequestBodyWriter bodyWriter, boolean compressBody) {
+        return new HttpRequestStub();
+    }
+
     @Override
     public HttpStreamRequest streamRequest(URI uri) {
         return null;
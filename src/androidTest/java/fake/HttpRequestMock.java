@@ -1,8 +1,14 @@
 package fake;
 
+import java.io.IOException;
+import java.io.StringReader;
+
 import io.split.android.client.network.HttpException;
 import io.split.android.client.network.HttpRequest;
 import io.split.android.client.network.HttpResponse;
+import io.split.android.client.network.HttpResponseBodyReader;
+import io.split.android.client.network.ParsedHttpResponse;
+import io.split.android.client.network.ParsedHttpResponseImpl;
 
 public class HttpRequestMock implements HttpRequest {
     final private HttpResponse mResponse;
@@ -15,4 +21,18 @@ public class HttpRequestMock implements HttpRequest {
     public HttpResponse execute() throws HttpException {
         return mResponse;
     }
+
+    @Override
+    public <T> ParsedHttpResponse<T> execute(HttpResponseBodyReader<T> bodyReader) throws HttpException {
+        T data = null;
+        if (mResponse.isSuccess() && mResponse.getData() != null) {
+            try {
+                data = bodyReader.read(new StringReader(mResponse.getData()));
+            } catch (IOException e) {
+                throw new HttpException(e.getLocalizedMessage());
+            }
+        }
+
+        return new ParsedHttpResponseImpl<>(mResponse.getHttpStatus(), data);
+    }
 }
@@ -3,10 +3,18 @@ package fake;
 import io.split.android.client.network.HttpException;
 import io.split.android.client.network.HttpRequest;
 import io.split.android.client.network.HttpResponse;
+import io.split.android.client.network.HttpResponseBodyReader;
+import io.split.android.client.network.ParsedHttpResponse;
+import io.split.android.client.network.ParsedHttpResponseImpl;
 
 public class HttpRequestStub implements HttpRequest {
     @Override
     public HttpResponse execute() throws HttpException {
         return new HttpResponseStub(200, true);
     }
+
+    @Override
+    public <T> ParsedHttpResponse<T> execute(HttpResponseBodyReader<T> bodyReader) throws HttpException {
+        return new ParsedHttpResponseImpl<>(200, null);
+    }
 }
@@ -20,14 +20,14 @@ import io.split.android.client.storage.db.impressions.observer.ImpressionsObserv
 public class ImpressionsObserverCacheImplIntegrationTest {
 
     private ImpressionsObserverCacheImpl mImpressionsObserverCacheImpl;
-    private ListenableLruCache<Long, Long> mCache;
+    private LongLongClockCache mCache;
     private PersistentImpressionsObserverCacheStorage mPersistentStorage;
 
     @Before
     public void setUp() {
         ImpressionsObserverCacheDao impressionsObserverCacheDao = DatabaseHelper.getTestDatabase(InstrumentationRegistry.getInstrumentation().getContext()).impressionsObserverCacheDao();
         mPersistentStorage = new SqlitePersistentImpressionsObserverCacheStorage(impressionsObserverCacheDao, 2000, Executors.newSingleThreadScheduledExecutor(), new AtomicBoolean(false));
-        mCache = new ListenableLruCache<>(5, mPersistentStorage);
+        mCache = new LongLongClockCache(5, mPersistentStorage);
         mImpressionsObserverCacheImpl = new ImpressionsObserverCacheImpl(mPersistentStorage, mCache);
     }
 
@@ -35,18 +35,18 @@ public class ImpressionsObserverCacheImplIntegrationTest {
     public void getReturnsValueFromCacheIfPresent() {
         mCache.put(1L, 2L);
 
-        Long result = mImpressionsObserverCacheImpl.get(1L);
+        long result = mImpressionsObserverCacheImpl.get(1L);
 
-        assertEquals(2L, result.longValue());
+        assertEquals(2L, result);
     }
 
     @Test
     public void getReturnsValueFromPersistentStorageIfNotPresentInCache() throws InterruptedException {
         putInStorageAndWait();
 
-        Long result = mImpressionsObserverCacheImpl.get(1L);
+        long result = mImpressionsObserverCacheImpl.get(1L);
 
-        assertEquals(2L, result.longValue());
+        assertEquals(2L, result);
     }
 
     @Test
@@ -58,8 +58,8 @@ public class ImpressionsObserverCacheImplIntegrationTest {
         Thread.sleep(500);
         Map<Long, Long> values = new HashMap<>();
         for (int i = 0; i < 6; i++) {
-            Long value = mImpressionsObserverCacheImpl.get(i);
-            if (value != null) {
+            long value = mImpressionsObserverCacheImpl.get(i);
+            if (value != ImpressionsObserverCache.NO_VALUE) {
                 values.put((long) i, value);
             }
         }
@@ -79,10 +79,10 @@ public class ImpressionsObserverCacheImplIntegrationTest {
     public void getPutsValueInCacheWhenRetrievedFromPersistentStorage() throws InterruptedException {
         putInStorageAndWait();
 
-        Long result = mImpressionsObserverCacheImpl.get(1L);
+        long result = mImpressionsObserverCacheImpl.get(1L);
 
-        assertEquals(2L, result.longValue());
-        assertEquals(2L, mCache.get(1L).longValue());
+        assertEquals(2L, result);
+        assertEquals(2L, mCache.get(1L));
     }
 
     @Test
@@ -91,8 +91,8 @@ public class ImpressionsObserverCacheImplIntegrationTest {
         mImpressionsObserverCacheImpl.persist();
         Thread.sleep(100);
 
-        assertEquals(2L, mPersistentStorage.get(1L).longValue());
-        assertEquals(2L, mCache.get(1L).longValue());
+        assertEquals(2L, mPersistentStorage.get(1L));
+        assertEquals(2L, mCache.get(1L));
     }
 
     @Test
@@ -102,8 +102,8 @@ public class ImpressionsObserverCacheImplIntegrationTest {
         mImpressionsObserverCacheImpl.persist();
         Thread.sleep(100);
 
-        assertEquals(3L, mPersistentStorage.get(1L).longValue());
-        assertEquals(3L, mCache.get(1L).longValue());
+        assertEquals(3L, mPersistentStorage.get(1L));
+        assertEquals(3L, mCache.get(1L));
     }
 
     private void putInStorageAndWait() throws InterruptedException {
@@ -0,0 +1,53 @@
+package tests.database;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.split.android.client.storage.db.FlagSetEntity;
+import io.split.android.client.storage.db.TrafficTypeEntity;
+
+public class FlagSetDaoTest extends GenericDaoTest {
+
+    @Test
+    public void deleteByFlagNamesRemovesAllMembershipsOfFlag() {
+        mRoomDb.flagSetDao().insert(Arrays.asList(
+                new FlagSetEntity("set_1", "flag_1"),
+                new FlagSetEntity("set_2", "flag_1"),
+                new FlagSetEntity("set_1", "flag_2")));
+
+        mRoomDb.flagSetDao().deleteByFlagNames(Collections.singletonList("flag_1"));
+
+        List<FlagSetEntity> flagSets = mRoomDb.flagSetDao().getAll();
+        assertEquals(1, flagSets.size());
+        assertEquals("set_1", flagSets.get(0).getFlagSet());
+        assertEquals("flag_2", flagSets.get(0).getFlagName());
+    }
+
+    @Test
+    public void insertingSameMembershipTwiceKeepsOneRow() {
+        mRoomDb.flagSetDao().insert(Collections.singletonList(new FlagSetEntity("set_1", "flag_1")));
+        mRoomDb.flagSetDao().insert(Collections.singletonList(new FlagSetEntity("set_1", "flag_1")));
+
+        assertEquals(1, mRoomDb.flagSetDao().getAll().size());
+    }
+
+    @Test
+    public void trafficTypeCountIsReplaced() {
+        mRoomDb.trafficTypeDao().insert(Arrays.asList(new TrafficTypeEntity("user", 1), new TrafficTypeEntity("account", 1)));
+        mRoomDb.trafficTypeDao().insert(Collections.singletonList(new TrafficTypeEntity("user", 3)));
+        mRoomDb.trafficTypeDao().delete(Collections.singletonList("account"));
+
+        List<TrafficTypeEntity> trafficTypes = mRoomDb.trafficTypeDao().getAll();
+        assertEquals(1, trafficTypes.size());
+        assertEquals("user", trafficTypes.get(0).getName());
+        assertEquals(3, trafficTypes.get(0).getCount());
+        mRoomDb.trafficTypeDao().deleteAll();
+        assertTrue(mRoomDb.trafficTypeDao().getAll().isEmpty());
+    }
+}
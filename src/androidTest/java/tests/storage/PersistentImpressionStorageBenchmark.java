@@ -0,0 +1,96 @@
+package tests.storage;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import helper.DatabaseHelper;
+import helper.IntegrationHelper;
+import io.split.android.client.dtos.KeyImpression;
+import io.split.android.client.storage.cipher.SplitCipherFactory;
+import io.split.android.client.storage.db.SplitRoomDatabase;
+import io.split.android.client.storage.db.StorageRecordStatus;
+import io.split.android.client.storage.impressions.PersistentImpressionsStorage;
+import io.split.android.client.storage.impressions.SqLitePersistentImpressionsStorage;
+
+/**
+ * Measures the throughput of popping and deleting queued impressions,
+ * the way the impressions recorder does it.
+ */
+public class PersistentImpressionStorageBenchmark {
+
+    private static final String TAG = "PersistentImpressionStorageBenchmark";
+    private static final long EXPIRATION_PERIOD = 3600 * 24;
+    private static final int POP_COUNT = 2000;
+    private static final int PUSH_CHUNK_SIZE = 5000;
+
+    private SplitRoomDatabase mRoomDb;
+    private PersistentImpressionsStorage mPersistentImpressionStorage;
+
+    @Before
+    public void setUp() {
+        Context context = InstrumentationRegistry.getInstrumentation().getContext();
+        mRoomDb = DatabaseHelper.getTestDatabase(context);
+        mRoomDb.clearAllTables();
+        mPersistentImpressionStorage = new SqLitePersistentImpressionsStorage(mRoomDb,
+                EXPIRATION_PERIOD, SplitCipherFactory.create("abcdedfghijklmnopqrstuvxyz", false));
+    }
+
+    @Test
+    public void popAndDelete10k() {
+        popAndDelete(10000);
+    }
+
+    @Test
+    public void popAndDelete100k() {
+        popAndDelete(100000);
+    }
+
+    private void popAndDelete(int count) {
+        for (int i = 0; i < count; i += PUSH_CHUNK_SIZE) {
+            mPersistentImpressionStorage.pushMany(createImpressions(i, Math.min(i + PUSH_CHUNK_SIZE, count)));
+        }
+
+        int popped = 0;
+        long start = System.currentTimeMillis();
+        List<KeyImpression> impressions = mPersistentImpressionStorage.pop(POP_COUNT);
+        while (!impressions.isEmpty()) {
+            popped += impressions.size();
+            mPersistentImpressionStorage.delete(impressions);
+            impressions = mPersistentImpressionStorage.pop(POP_COUNT);
+        }
+        long elapsed = Math.max(System.currentTimeMillis() - start, 1);
+
+        IntegrationHelper.logSeparator(TAG);
+        Log.i(TAG, "-> " + count + " impressions");
+        Log.i(TAG, String.format("Pop and delete time: %d millis, %d impressions/s", elapsed, popped * 1000L / elapsed));
+        IntegrationHelper.logSeparator(TAG);
+
+        Assert.assertEquals(count, popped);
+        Assert.assertEquals(0, mRoomDb.impressionDao().getBy(0, StorageRecordStatus.ACTIVE, 1).size());
+        Assert.assertEquals(0, mRoomDb.impressionDao().getBy(0, StorageRecordStatus.DELETED, 1).size());
+    }
+
+    private List<KeyImpression> createImpressions(int from, int to) {
+        List<KeyImpression> impressions = new ArrayList<>();
+        for (int i = from; i < to; i++) {
+            KeyImpression impression = new KeyImpression();
+            impression.keyName = "key_" + i;
+            impression.feature = "feature_" + (i % 50);
+            impression.treatment = "on";
+            impression.time = System.currentTimeMillis();
+            impression.changeNumber = 9999L;
+            impression.label = "default rule";
+            impressions.add(impression);
+        }
+        return impressions;
+    }
+}
@@ -158,6 +158,7 @@ public class WorkManagerWrapperTest {
                 .putString("endpoint", "https://test.split.io/events")
                 .putInt("eventsPerPush", 526)
                 .putBoolean("shouldRecordTelemetry", true)
+                .putBoolean("compressRequests", false)
                 .putString("certificatePins", certificatePinsJson())
                 .build();
 
@@ -187,7 +188,8 @@ public class WorkManagerWrapperTest {
                 .putString("endpoint", "https://test.split.io/events")
                 .putInt("impressionsPerPush", 256)
                 .putString("certificatePins", certificatePinsJson())
-                .putBoolean("shouldRecordTelemetry", true).build();
+                .putBoolean("shouldRecordTelemetry", true)
+                .putBoolean("compressRequests", false).build();
 
         PeriodicWorkRequest expectedRequest = new PeriodicWorkRequest
                 .Builder(ImpressionsRecorderWorker.class, 5263, TimeUnit.MINUTES)
@@ -0,0 +1,142 @@
+package io.split.android.client;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import io.split.android.client.fallback.FallbackTreatment;
+import io.split.android.client.fallback.FallbackTreatmentsCalculator;
+import io.split.android.client.utils.logger.Logger;
+import io.split.android.engine.matchers.RuleBasedSegmentMembershipCache;
+
+/**
+ * {@link Evaluator} handed to matchers during a single top-level evaluation batch.
+ * <p>
+ * Results are memoized per (key, feature flag), so a flag referenced by several dependency
+ * matchers or prerequisites is only evaluated once per batch. A flag that is reached again
+ * while it is still being evaluated is a circular dependency, and is resolved as an exception
+ * instead of recursing indefinitely.
+ * <p>
+ * Rule-based segment memberships are memoized the same way, per (key, segment).
+ * <p>
+ * Attributes are the same for the whole batch, so they are not part of the memoization key.
+ * Instances are not thread safe and must not outlive the batch they were created for.
+ */
+class EvaluationContext implements Evaluator, RuleBasedSegmentMembershipCache {
+
+    private final EvaluatorImpl mEvaluator;
+    private final FallbackTreatmentsCalculator mFallbackCalculator;
+    @Nullable
+    private Map<Key, EvaluationResult> mResults;
+    @Nullable
+    private Set<Key> mInProgress;
+    @Nullable
+    private Map<Key, Boolean> mSegmentMemberships;
+
+    EvaluationContext(@NonNull EvaluatorImpl evaluator, @NonNull FallbackTreatmentsCalculator fallbackCalculator) {
+        mEvaluator = evaluator;
+        mFallbackCalculator = fallbackCalculator;
+    }
+
+    @Override
+    public EvaluationResult getTreatment(String matchingKey, String bucketingKey, String split, Map<String, Object> attributes) {
+        Key key = new Key(matchingKey, bucketingKey, split);
+        if (mResults != null) {
+            EvaluationResult result = mResults.get(key);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        if (mInProgress == null) {
+            mInProgress = new HashSet<>();
+        }
+        if (!mInProgress.add(key)) {
+            Logger.e("Circular dependency detected while evaluating feature flag " + split);
+            FallbackTreatment fallback = mFallbackCalculator.resolve(split, TreatmentLabels.EXCEPTION);
+            return new EvaluationResult(fallback.getTreatment(), fallback.getLabel(), null, fallback.getConfig(), true);
+        }
+
+        EvaluationResult result;
+        try {
+            result = mEvaluator.evaluate(matchingKey, bucketingKey, split, attributes, this);
+        } finally {
+            mInProgress.remove(key);
+        }
+
+        if (mResults == null) {
+            mResults = new HashMap<>();
+        }
+        mResults.put(key, result);
+
+        return result;
+    }
+
+    @Override
+    public Map<String, EvaluationResult> getTreatments(String matchingKey, String bucketingKey, Collection<String> splits, Map<String, Object> attributes) {
+        Map<String, EvaluationResult> results = new HashMap<>();
+        for (String split : splits) {
+            results.put(split, getTreatment(matchingKey, bucketingKey, split, attributes));
+        }
+
+        return results;
+    }
+
+    @Nullable
+    @Override
+    public Boolean getMembership(String segmentName, String matchingKey, @Nullable String bucketingKey) {
+        if (mSegmentMemberships == null) {
+            return null;
+        }
+
+        return mSegmentMemberships.get(new Key(matchingKey, bucketingKey, segmentName));
+    }
+
+    @Override
+    public void putMembership(String segmentName, String matchingKey, @Nullable String bucketingKey, boolean isMember) {
+        if (mSegmentMemberships == null) {
+            mSegmentMemberships = new HashMap<>();
+        }
+        mSegmentMemberships.put(new Key(matchingKey, bucketingKey, segmentName), isMember);
+    }
+
+    private static final class Key {
+
+        private final String mMatchingKey;
+        @Nullable
+        private final String mBucketingKey;
+        // Feature flag or rule-based segment name
+        private final String mSplit;
+
+        Key(String matchingKey, @Nullable String bucketingKey, String split) {
+            mMatchingKey = matchingKey;
+            mBucketingKey = bucketingKey;
+            mSplit = split;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key that = (Key) o;
+
+            if (mMatchingKey != null ? !mMatchingKey.equals(that.mMatchingKey) : that.mMatchingKey != null) return false;
+            if (mBucketingKey != null ? !mBucketingKey.equals(that.mBucketingKey) : that.mBucketingKey != null) return false;
+            return mSplit != null ? mSplit.equals(that.mSplit) : that.mSplit == null;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = mMatchingKey != null ? mMatchingKey.hashCode() : 0;
+            result = 31 * result + (mBucketingKey != null ? mBucketingKey.hashCode() : 0);
+            result = 31 * result + (mSplit != null ? mSplit.hashCode() : 0);
+            return result;
+        }
+    }
+}
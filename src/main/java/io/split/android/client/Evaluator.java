@@ -1,7 +1,15 @@
 package io.split.android.client;
 
+import java.util.Collection;
 import java.util.Map;
 
 public interface Evaluator {
     EvaluationResult getTreatment(String matchingKey, String bucketingKey, String split, Map<String, Object> attributes);
+
+    /**
+     * Evaluates several feature flags for the same key and attributes in a single pass.
+     *
+     * @return a result for each of the given feature flag names
+     */
+    Map<String, EvaluationResult> getTreatments(String matchingKey, String bucketingKey, Collection<String> splits, Map<String, Object> attributes);
 }
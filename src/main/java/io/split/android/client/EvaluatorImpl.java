@@ -1,8 +1,13 @@
 package io.split.android.client;
 
+import static io.split.android.client.utils.Utils.mapCapacityFor;
+
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
 
 import io.split.android.client.dtos.ConditionType;
+import io.split.android.client.dtos.Split;
 import io.split.android.client.exceptions.ChangeNumberExceptionWrapper;
 import io.split.android.client.fallback.FallbackTreatmentsConfiguration;
 import io.split.android.client.fallback.FallbackTreatment;
@@ -12,6 +17,7 @@ import io.split.android.client.storage.splits.SplitsStorage;
 import io.split.android.client.utils.logger.Logger;
 import io.split.android.engine.experiments.ParsedCondition;
 import io.split.android.engine.experiments.ParsedSplit;
+import io.split.android.engine.experiments.ParsedSplitsCache;
 import io.split.android.engine.experiments.SplitParser;
 import io.split.android.engine.matchers.PrerequisitesMatcher;
 import io.split.android.engine.splitter.Splitter;
@@ -19,8 +25,21 @@ import io.split.android.engine.splitter.Splitter;
 public class EvaluatorImpl implements Evaluator {
 
     private final SplitsStorage mSplitsStorage;
-    private final SplitParser mSplitParser;
+    private final ParsedSplitsCache mParsedSplitsCache;
     private final FallbackTreatmentsCalculator mFallbackCalculator;
+    // Passed to the matchers of single evaluations, so that a context is only created
+    // when one of them reaches a dependency or a prerequisite
+    private final Evaluator mDependencyEvaluator = new Evaluator() {
+        @Override
+        public EvaluationResult getTreatment(String matchingKey, String bucketingKey, String split, Map<String, Object> attributes) {
+            return new EvaluationContext(EvaluatorImpl.this, mFallbackCalculator).getTreatment(matchingKey, bucketingKey, split, attributes);
+        }
+
+        @Override
+        public Map<String, EvaluationResult> getTreatments(String matchingKey, String bucketingKey, Collection<String> splits, Map<String, Object> attributes) {
+            return EvaluatorImpl.this.getTreatments(matchingKey, bucketingKey, splits, attributes);
+        }
+    };
 
     public EvaluatorImpl(SplitsStorage splitsStorage, SplitParser splitParser) {
         this(splitsStorage, splitParser, new FallbackTreatmentsCalculatorImpl(FallbackTreatmentsConfiguration.builder().build()));
@@ -28,21 +47,43 @@ public class EvaluatorImpl implements Evaluator {
 
     public EvaluatorImpl(SplitsStorage splitsStorage, SplitParser splitParser, FallbackTreatmentsCalculator fallbackCalculator) {
         mSplitsStorage = splitsStorage;
-        mSplitParser = splitParser;
+        mParsedSplitsCache = new ParsedSplitsCache(splitParser);
         mFallbackCalculator = fallbackCalculator;
     }
 
     @Override
     public EvaluationResult getTreatment(String matchingKey, String bucketingKey, String splitName, Map<String, Object> attributes) {
+        return evaluate(matchingKey, bucketingKey, splitName, attributes, mDependencyEvaluator);
+    }
+
+    @Override
+    public Map<String, EvaluationResult> getTreatments(String matchingKey, String bucketingKey, Collection<String> splitNames, Map<String, Object> attributes) {
+        EvaluationContext context = new EvaluationContext(this, mFallbackCalculator);
+        Map<String, EvaluationResult> results = new HashMap<>(mapCapacityFor(splitNames.size()));
+        for (String splitName : splitNames) {
+            results.put(splitName, context.getTreatment(matchingKey, bucketingKey, splitName, attributes));
+        }
+
+        return results;
+    }
 
+    /**
+     * Evaluates a feature flag, using the given context for the flags it depends on.
+     */
+    EvaluationResult evaluate(String matchingKey, String bucketingKey, String splitName, Map<String, Object> attributes, Evaluator context) {
         try {
-            ParsedSplit parsedSplit = mSplitParser.parse(mSplitsStorage.get(splitName), matchingKey);
+            Split split = mSplitsStorage.get(splitName);
+            if (split == null) {
+                mParsedSplitsCache.remove(splitName);
+            }
+
+            ParsedSplit parsedSplit = mParsedSplitsCache.get(split, matchingKey);
             if (parsedSplit == null) {
                 FallbackTreatment fallback = mFallbackCalculator.resolve(splitName, TreatmentLabels.DEFINITION_NOT_FOUND);
                 return new EvaluationResult(fallback.getTreatment(), fallback.getLabel(), null, fallback.getConfig(), true);
             }
 
-            return getTreatment(matchingKey, bucketingKey, parsedSplit, attributes);
+            return getTreatment(matchingKey, bucketingKey, parsedSplit, attributes, context);
         } catch (ChangeNumberExceptionWrapper ex) {
             Logger.e(ex, "Catch Change Number Exception");
             FallbackTreatment fallback = mFallbackCalculator.resolve(splitName, TreatmentLabels.EXCEPTION);
@@ -59,10 +100,11 @@ public class EvaluatorImpl implements Evaluator {
      * @param bucketingKey
      * @param parsedSplit  MUST NOT be null
      * @param attributes   MUST NOT be null
+     * @param context      evaluator for the feature flags this one depends on
      * @return
      * @throws ChangeNumberExceptionWrapper
      */
-    private EvaluationResult getTreatment(String matchingKey, String bucketingKey, ParsedSplit parsedSplit, Map<String, Object> attributes) throws ChangeNumberExceptionWrapper {
+    private EvaluationResult getTreatment(String matchingKey, String bucketingKey, ParsedSplit parsedSplit, Map<String, Object> attributes, Evaluator context) throws ChangeNumberExceptionWrapper {
         try {
             if (parsedSplit.killed()) {
                 return new EvaluationResult(parsedSplit.defaultTreatment(), TreatmentLabels.KILLED, parsedSplit.changeNumber(), configForTreatment(parsedSplit, parsedSplit.defaultTreatment()), parsedSplit.impressionsDisabled());
@@ -70,7 +112,7 @@ public class EvaluatorImpl implements Evaluator {
 
             if (!parsedSplit.prerequisites().isEmpty()) {
                 PrerequisitesMatcher matcher = new PrerequisitesMatcher(parsedSplit.prerequisites());
-                if (!matcher.match(matchingKey, bucketingKey, attributes, this)) {
+                if (!matcher.match(matchingKey, bucketingKey, attributes, context)) {
                     return new EvaluationResult(parsedSplit.defaultTreatment(),
                             TreatmentLabels.PREREQUISITES_NOT_MET,
                             parsedSplit.changeNumber(),
@@ -106,8 +148,8 @@ public class EvaluatorImpl implements Evaluator {
                     inRollout = true;
                 }
 
-                if (parsedCondition.matcher().match(matchingKey, bucketingKey, attributes, this)) {
-                    String treatment = Splitter.getTreatment(bk, parsedSplit.seed(), parsedCondition.partitions(), parsedSplit.algo(), mFallbackCalculator);
+                if (parsedCondition.matcher().match(matchingKey, bucketingKey, attributes, context)) {
+                    String treatment = Splitter.getTreatment(bk, parsedSplit.seed(), parsedCondition.partitionTable(), parsedSplit.algo(), mFallbackCalculator);
                     return new EvaluationResult(treatment, parsedCondition.label(), parsedSplit.changeNumber(), configForTreatment(parsedSplit, treatment), parsedSplit.impressionsDisabled());
                 }
             }
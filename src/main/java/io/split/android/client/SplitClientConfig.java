@@ -140,6 +140,16 @@ public class SplitClientConfig {
     @Nullable
     private final FallbackTreatmentsConfiguration mFallbackTreatments;
 
+    private final boolean mLazyFeatureFlagsLoadingEnabled;
+
+    private final boolean mBinaryFeatureFlagsStorageEnabled;
+
+    private final boolean mCacheSnapshotFileEnabled;
+
+    private final boolean mRequestCompressionEnabled;
+
+    private final boolean mImpressionsWriteBufferEnabled;
+
     public static Builder builder() {
         return new Builder();
     }
@@ -196,7 +206,12 @@ public class SplitClientConfig {
                               long impressionsDedupeTimeInterval,
                               @NonNull RolloutCacheConfiguration rolloutCacheConfiguration,
                               @Nullable ProxyConfiguration proxyConfiguration,
-                              @Nullable FallbackTreatmentsConfiguration fallbackTreatments) {
+                              @Nullable FallbackTreatmentsConfiguration fallbackTreatments,
+                              boolean lazyFeatureFlagsLoadingEnabled,
+                              boolean binaryFeatureFlagsStorageEnabled,
+                              boolean cacheSnapshotFileEnabled,
+                              boolean requestCompressionEnabled,
+                              boolean impressionsWriteBufferEnabled) {
         mEndpoint = endpoint;
         mEventsEndpoint = eventsEndpoint;
         mTelemetryEndpoint = telemetryEndpoint;
@@ -257,6 +272,11 @@ public class SplitClientConfig {
         mRolloutCacheConfiguration = rolloutCacheConfiguration;
         mProxyConfiguration = proxyConfiguration;
         mFallbackTreatments = fallbackTreatments;
+        mLazyFeatureFlagsLoadingEnabled = lazyFeatureFlagsLoadingEnabled;
+        mBinaryFeatureFlagsStorageEnabled = binaryFeatureFlagsStorageEnabled;
+        mCacheSnapshotFileEnabled = cacheSnapshotFileEnabled;
+        mRequestCompressionEnabled = requestCompressionEnabled;
+        mImpressionsWriteBufferEnabled = impressionsWriteBufferEnabled;
     }
 
     public String trafficType() {
@@ -516,6 +536,26 @@ public class SplitClientConfig {
         return mFallbackTreatments;
     }
 
+    public boolean lazyFeatureFlagsLoadingEnabled() {
+        return mLazyFeatureFlagsLoadingEnabled;
+    }
+
+    public boolean binaryFeatureFlagsStorageEnabled() {
+        return mBinaryFeatureFlagsStorageEnabled;
+    }
+
+    public boolean cacheSnapshotFileEnabled() {
+        return mCacheSnapshotFileEnabled;
+    }
+
+    public boolean requestCompressionEnabled() {
+        return mRequestCompressionEnabled;
+    }
+
+    public boolean impressionsWriteBufferEnabled() {
+        return mImpressionsWriteBufferEnabled;
+    }
+
     public static final class Builder {
 
         static final int PROXY_PORT_DEFAULT = 80;
@@ -571,6 +611,7 @@ public class SplitClientConfig {
         private boolean mSyncEnabled = true;
 
         private int mLogLevel = SplitLogLevel.NONE;
+        private boolean mAsyncLogging = false;
 
         private final int mMtkPerPush = DEFAULT_MTK_PER_PUSH;
 
@@ -598,6 +639,16 @@ public class SplitClientConfig {
 
         private ProxyConfiguration mProxyConfiguration = null;
 
+        private boolean mLazyFeatureFlagsLoadingEnabled = false;
+
+        private boolean mBinaryFeatureFlagsStorageEnabled = false;
+
+        private boolean mCacheSnapshotFileEnabled = false;
+
+        private boolean mRequestCompressionEnabled = false;
+
+        private boolean mImpressionsWriteBufferEnabled = false;
+
         public Builder() {
             mServiceEndpoints = ServiceEndpoints.builder().build();
         }
@@ -794,6 +845,19 @@ public class SplitClientConfig {
             return this;
         }
 
+        /**
+         * Print log messages from a background thread instead of the thread that logs them.
+         * Messages are dropped if they are logged faster than they can be printed.
+         *
+         * @param enabled Whether asynchronous logging is enabled or not.
+         * @default: false
+         * @return this builder
+         */
+        public Builder asyncLogging(boolean enabled) {
+            mAsyncLogging = enabled;
+            return this;
+        }
+
         /**
          * Disable label capturing
          *
@@ -1173,8 +1237,83 @@ public class SplitClientConfig {
             return this;
         }
 
+        /**
+         * Load only feature flag names and metadata from the cache at startup. Definitions
+         * are read from disk the first time they are evaluated, and only a bounded number
+         * of them are kept in memory. Useful for large numbers of feature flags.
+         *
+         * @param enabled Whether lazy loading is enabled or not.
+         * @default: false
+         * @return This builder
+         */
+        public Builder lazyFeatureFlagsLoadingEnabled(boolean enabled) {
+            mLazyFeatureFlagsLoadingEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * Store feature flag definitions in a compact binary format instead of JSON.
+         * Decoding it is faster than parsing JSON, which reduces the time needed to
+         * load the cache at startup. Feature flags already stored as JSON are
+         * converted the next time the cache is loaded.
+         *
+         * @param enabled Whether the binary format is enabled or not.
+         * @default: false
+         * @return This builder
+         */
+        public Builder binaryFeatureFlagsStorageEnabled(boolean enabled) {
+            mBinaryFeatureFlagsStorageEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * Keep a copy of the feature flags and rule-based segments cache in a single file,
+         * rewritten after each successful sync. At startup the file is memory-mapped and
+         * loaded at once instead of querying the database, so the cache is ready sooner.
+         * The file is only used when encryption and lazy loading are disabled.
+         *
+         * @param enabled Whether the snapshot file is enabled or not.
+         * @default: false
+         * @return This builder
+         */
+        public Builder cacheSnapshotFileEnabled(boolean enabled) {
+            mCacheSnapshotFileEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * Send impressions, impressions count, unique keys, events and telemetry gzip compressed,
+         * with the Content-Encoding: gzip header. The body is written into the connection
+         * while it is being serialized, instead of being built in memory first.
+         * This reduces the amount of data sent, at the cost of some CPU time.
+         *
+         * @param enabled Whether the request compression is enabled or not.
+         * @default: false
+         * @return This builder
+         */
+        public Builder requestCompressionEnabled(boolean enabled) {
+            mRequestCompressionEnabled = enabled;
+            return this;
+        }
+
+        /**
+         * Keep impressions in memory and write them to the database in batches, when 100 of them
+         * have been buffered, 2 seconds after the first one or when the app goes to background,
+         * instead of writing each impression as it is generated.
+         * Buffered impressions may be lost if the process is killed while in foreground.
+         *
+         * @param enabled Whether the impressions write buffer is enabled or not.
+         * @default: false
+         * @return This builder
+         */
+        public Builder impressionsWriteBufferEnabled(boolean enabled) {
+            mImpressionsWriteBufferEnabled = enabled;
+            return this;
+        }
+
         public SplitClientConfig build() {
             Logger.instance().setLevel(mLogLevel);
+            Logger.instance().setAsync(mAsyncLogging);
 
             if (mFeaturesRefreshRate < MIN_FEATURES_REFRESH_RATE) {
                 Logger.w("Features refresh rate is lower than allowed. " +
@@ -1307,7 +1446,12 @@ public class SplitClientConfig {
                     mImpressionsDedupeTimeInterval,
                     mRolloutCacheConfiguration,
                     mProxyConfiguration,
-                    mFallbackTreatments);
+                    mFallbackTreatments,
+                    mLazyFeatureFlagsLoadingEnabled,
+                    mBinaryFeatureFlagsStorageEnabled,
+                    mCacheSnapshotFileEnabled,
+                    mRequestCompressionEnabled,
+                    mImpressionsWriteBufferEnabled);
         }
 
         private HttpProxy parseProxyHost(String proxyUri, ProxyConfiguration proxyConfiguration) {
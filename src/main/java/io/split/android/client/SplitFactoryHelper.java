@@ -85,8 +85,11 @@ import io.split.android.client.storage.db.SplitRoomDatabase;
 import io.split.android.client.storage.db.StorageFactory;
 import io.split.android.client.storage.events.PersistentEventsStorage;
 import io.split.android.client.storage.general.GeneralInfoStorage;
+import io.split.android.client.storage.impressions.BufferedPersistentImpressionsStorage;
 import io.split.android.client.storage.impressions.PersistentImpressionsStorage;
 import io.split.android.client.storage.rbs.RuleBasedSegmentStorage;
+import io.split.android.client.storage.snapshot.CacheSnapshotManager;
+import io.split.android.client.storage.splits.PersistentSplitsStorage;
 import io.split.android.client.storage.splits.SplitsStorage;
 import io.split.android.client.telemetry.TelemetrySynchronizer;
 import io.split.android.client.telemetry.TelemetrySynchronizerImpl;
@@ -99,6 +102,7 @@ import io.split.android.client.utils.logger.Logger;
 
 class SplitFactoryHelper {
     private static final int DB_MAGIC_CHARS_COUNT = 4;
+    private static final String CACHE_SNAPSHOT_FILE_SUFFIX = "_cache_snapshot";
 
     String getDatabaseName(SplitClientConfig config, String apiToken, Context context) {
         String dbName = buildDatabaseName(config, apiToken);
@@ -176,19 +180,31 @@ class SplitFactoryHelper {
                                                 long observerCacheExpirationPeriod,
                                                 ScheduledThreadPoolExecutor impressionsObserverExecutor,
                                                 SplitsStorage splitsStorage,
-                                                SplitCipher alwaysEncryptedSplitCipher) {
+                                                PersistentSplitsStorage persistentSplitsStorage,
+                                                SplitCipher alwaysEncryptedSplitCipher,
+                                                @Nullable CacheSnapshotManager cacheSnapshotManager,
+                                                boolean impressionsWriteBufferEnabled,
+                                                SplitLifecycleManager lifecycleManager) {
 
         boolean isPersistenceEnabled = userConsentStatus == UserConsent.GRANTED;
         PersistentEventsStorage persistentEventsStorage =
                 StorageFactory.getPersistentEventsStorage(splitRoomDatabase, splitCipher);
-        PersistentImpressionsStorage persistentImpressionsStorage =
-                StorageFactory.getPersistentImpressionsStorage(splitRoomDatabase, splitCipher);
+        PersistentImpressionsStorage persistentImpressionsStorage;
+        if (impressionsWriteBufferEnabled) {
+            BufferedPersistentImpressionsStorage bufferedImpressionsStorage =
+                    StorageFactory.getBufferedPersistentImpressionsStorage(splitRoomDatabase, splitCipher, impressionsObserverExecutor);
+            // Buffered impressions are written before the app goes to background
+            lifecycleManager.register(bufferedImpressionsStorage);
+            persistentImpressionsStorage = bufferedImpressionsStorage;
+        } else {
+            persistentImpressionsStorage = StorageFactory.getPersistentImpressionsStorage(splitRoomDatabase, splitCipher);
+        }
         GeneralInfoStorage generalInfoStorage = StorageFactory.getGeneralInfoStorage(splitRoomDatabase, alwaysEncryptedSplitCipher);
         return new SplitStorageContainer(
                 splitsStorage,
                 StorageFactory.getMySegmentsStorage(splitRoomDatabase, splitCipher),
                 StorageFactory.getMyLargeSegmentsStorage(splitRoomDatabase, splitCipher),
-                StorageFactory.getPersistentSplitsStorage(splitRoomDatabase, splitCipher),
+                persistentSplitsStorage,
                 StorageFactory.getEventsStorage(persistentEventsStorage, isPersistenceEnabled),
                 persistentEventsStorage,
                 StorageFactory.getImpressionsStorage(persistentImpressionsStorage, isPersistenceEnabled),
@@ -200,33 +216,56 @@ class SplitFactoryHelper {
                 getTelemetryStorage(shouldRecordTelemetry, telemetryStorage),
                 StorageFactory.getImpressionsObserverCachePersistentStorage(splitRoomDatabase, observerCacheExpirationPeriod, impressionsObserverExecutor),
                 generalInfoStorage,
-                StorageFactory.getPersistentRuleBasedSegmentStorage(splitRoomDatabase, splitCipher, generalInfoStorage));
+                StorageFactory.getPersistentRuleBasedSegmentStorage(splitRoomDatabase, splitCipher, generalInfoStorage, cacheSnapshotManager));
+    }
+
+    /**
+     * @return the cache snapshot manager, or null if the snapshot file can't be used with the current config
+     */
+    @Nullable
+    CacheSnapshotManager buildCacheSnapshotManager(SplitClientConfig config, Context context,
+                                                   String databaseName, SplitRoomDatabase splitRoomDatabase) {
+        File snapshotFile = new File(context.getCacheDir(), databaseName + CACHE_SNAPSHOT_FILE_SUFFIX);
+        if (!config.cacheSnapshotFileEnabled() || config.encryptionEnabled() || config.lazyFeatureFlagsLoadingEnabled()) {
+            // A file from a previous run would be outdated, or unencrypted
+            if (snapshotFile.exists() && !snapshotFile.delete()) {
+                Logger.w("Error deleting cache snapshot file");
+            }
+            return null;
+        }
+
+        return new CacheSnapshotManager(snapshotFile, StorageFactory.getGeneralInfoStorage(splitRoomDatabase, null));
     }
 
+    /**
+     * @param generalInfoStorage storage for the validators of polling responses, or null to not send conditional requests
+     */
     SplitApiFacade buildApiFacade(SplitClientConfig splitClientConfig,
                                   HttpClient httpClient,
-                                  String splitsFilterQueryString) throws URISyntaxException {
+                                  String splitsFilterQueryString,
+                                  @Nullable GeneralInfoStorage generalInfoStorage) throws URISyntaxException {
 
         return new SplitApiFacade(
                 ServiceFactory.getSplitsFetcher(httpClient,
-                        splitClientConfig.endpoint(), splitsFilterQueryString),
+                        splitClientConfig.endpoint(), splitsFilterQueryString, generalInfoStorage,
+                        splitClientConfig.binaryFeatureFlagsStorageEnabled()),
                 new MySegmentsFetcherFactoryImpl(httpClient,
                         splitClientConfig.endpoint(), new AllSegmentsResponseParser(),
-                        new MySegmentsUriBuilder(splitClientConfig.endpoint())),
+                        new MySegmentsUriBuilder(splitClientConfig.endpoint()), generalInfoStorage),
                 ServiceFactory.getSseAuthenticationFetcher(httpClient,
                         splitClientConfig.authServiceUrl()),
                 ServiceFactory.getEventsRecorder(httpClient,
-                        splitClientConfig.eventsEndpoint()),
+                        splitClientConfig.eventsEndpoint(), splitClientConfig.requestCompressionEnabled()),
                 ServiceFactory.getImpressionsRecorder(httpClient,
-                        splitClientConfig.eventsEndpoint()),
+                        splitClientConfig.eventsEndpoint(), splitClientConfig.requestCompressionEnabled()),
                 ServiceFactory.getImpressionsCountRecorder(httpClient,
-                        splitClientConfig.eventsEndpoint()),
+                        splitClientConfig.eventsEndpoint(), splitClientConfig.requestCompressionEnabled()),
                 ServiceFactory.getUniqueKeysRecorder(httpClient,
-                        splitClientConfig.telemetryEndpoint()),
+                        splitClientConfig.telemetryEndpoint(), splitClientConfig.requestCompressionEnabled()),
                 ServiceFactory.getTelemetryConfigRecorder(httpClient,
-                        splitClientConfig.telemetryEndpoint()),
+                        splitClientConfig.telemetryEndpoint(), splitClientConfig.requestCompressionEnabled()),
                 ServiceFactory.getTelemetryStatsRecorder(httpClient,
-                        splitClientConfig.telemetryEndpoint()));
+                        splitClientConfig.telemetryEndpoint(), splitClientConfig.requestCompressionEnabled()));
     }
 
     WorkManagerWrapper buildWorkManagerWrapper(Context context, SplitClientConfig splitClientConfig,
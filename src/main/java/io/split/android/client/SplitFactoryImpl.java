@@ -64,6 +64,8 @@ import io.split.android.client.storage.common.SplitStorageContainer;
 import io.split.android.client.storage.db.SplitRoomDatabase;
 import io.split.android.client.storage.db.StorageFactory;
 import io.split.android.client.storage.general.GeneralInfoStorage;
+import io.split.android.client.storage.snapshot.CacheSnapshotManager;
+import io.split.android.client.storage.splits.PersistentSplitsStorage;
 import io.split.android.client.storage.splits.SplitsStorage;
 import io.split.android.client.telemetry.TelemetrySynchronizer;
 import io.split.android.client.telemetry.storage.TelemetryStorage;
@@ -171,14 +173,15 @@ public class SplitFactoryImpl implements SplitFactory {
             if (!dbPath.exists() && testDatabase == null) {
                 workManagerWrapper = factoryHelper.buildWorkManagerWrapper(context, config, apiToken, databaseName, filters);
                 defaultHttpClient = getHttpClient(apiToken, config, context, httpClient, workManagerWrapper, factoryHelper, null);
-                splitApiFacade = factoryHelper.buildApiFacade(config, defaultHttpClient, splitsFilterQueryStringFromConfig);
+                // Storage isn't available yet, and there are no previous responses to validate on fresh installs
+                splitApiFacade = factoryHelper.buildApiFacade(config, defaultHttpClient, splitsFilterQueryStringFromConfig, null);
                 startFreshInstallPrefetch(splitApiFacade, flagsSpec, initializationStartTime);
             }
         }
 
         SplitRoomDatabase splitDatabase;
         if (testDatabase == null) {
-            splitDatabase = SplitRoomDatabase.getDatabase(context, databaseName);
+            splitDatabase = SplitRoomDatabase.getDatabase(context, databaseName, !config.lazyFeatureFlagsLoadingEnabled());
         } else {
             splitDatabase = testDatabase;
             Logger.d("Using test database");
@@ -190,13 +193,23 @@ public class SplitFactoryImpl implements SplitFactory {
         SplitCipher alwaysEncryptedSplitCipher = (config.synchronizeInBackground() && config.proxy() != null && !config.proxy().isLegacy()) ?
                 factoryHelper.getCipher(apiToken, true) : null;
 
-        SplitsStorage splitsStorage = StorageFactory.getSplitsStorage(splitDatabase, splitCipher);
+        CacheSnapshotManager cacheSnapshotManager = factoryHelper.buildCacheSnapshotManager(config, context, databaseName, splitDatabase);
+        // A single instance, so that the cache snapshot file state is only tracked once
+        PersistentSplitsStorage persistentSplitsStorage = StorageFactory.getPersistentSplitsStorage(splitDatabase, splitCipher,
+                config.binaryFeatureFlagsStorageEnabled(), cacheSnapshotManager);
+        SplitsStorage splitsStorage = StorageFactory.getSplitsStorage(persistentSplitsStorage, config.lazyFeatureFlagsLoadingEnabled());
 
         ScheduledThreadPoolExecutor impressionsObserverExecutor = new ScheduledThreadPoolExecutor(1,
                 new ThreadPoolExecutor.CallerRunsPolicy());
 
+        if (testLifecycleManager == null) {
+            mLifecycleManager = new SplitLifecycleManagerImpl();
+        } else {
+            mLifecycleManager = testLifecycleManager;
+        }
+
         mStorageContainer = factoryHelper.buildStorageContainer(config.userConsent(),
-                splitDatabase, config.shouldRecordTelemetry(), splitCipher, telemetryStorage, config.observerCacheExpirationPeriod(), impressionsObserverExecutor, splitsStorage, alwaysEncryptedSplitCipher);
+                splitDatabase, config.shouldRecordTelemetry(), splitCipher, telemetryStorage, config.observerCacheExpirationPeriod(), impressionsObserverExecutor, splitsStorage, persistentSplitsStorage, alwaysEncryptedSplitCipher, cacheSnapshotManager, config.impressionsWriteBufferEnabled(), mLifecycleManager);
 
         mSplitTaskExecutor = new SplitTaskExecutorImpl();
         mSplitTaskExecutor.pause();
@@ -211,7 +224,7 @@ public class SplitFactoryImpl implements SplitFactory {
             defaultHttpClient = getHttpClient(apiToken, config, context, httpClient, workManagerWrapper, factoryHelper, mStorageContainer.getGeneralInfoStorage());
         }
         if (splitApiFacade == null) {
-            splitApiFacade = factoryHelper.buildApiFacade(config, defaultHttpClient, splitsFilterQueryStringFromConfig);
+            splitApiFacade = factoryHelper.buildApiFacade(config, defaultHttpClient, splitsFilterQueryStringFromConfig, mStorageContainer.getGeneralInfoStorage());
         }
 
         SplitTaskFactory splitTaskFactory = new SplitTaskFactoryImpl(
@@ -274,12 +287,6 @@ public class SplitFactoryImpl implements SplitFactory {
                         compressionProvider),
                 streamingComponents.getSyncGuardian());
 
-        if (testLifecycleManager == null) {
-            mLifecycleManager = new SplitLifecycleManagerImpl();
-        } else {
-            mLifecycleManager = testLifecycleManager;
-        }
-
         ExecutorService impressionsLoggingTaskExecutor = factoryHelper.getImpressionsLoggingTaskExecutor();
         final DecoratedImpressionListener splitImpressionListener
                 = new SyncImpressionListener(mSyncManager, impressionsLoggingTaskExecutor);
@@ -3,7 +3,6 @@ package io.split.android.client;
 import static io.split.android.client.utils.Utils.checkNotNull;
 
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -52,8 +51,7 @@ public class SplitManagerImpl implements SplitManager {
 
             Map<String, Split> splitMap = _splitsStorage.getAll();
             if (splitMap != null && splitMap.size() > 0) {
-                Collection<Split> splits = _splitsStorage.getAll().values();
-                for (Split split : splits) {
+                for (Split split : splitMap.values()) {
                     ParsedSplit parsedSplit = _splitParser.parse(split);
                     if (parsedSplit != null) {
                         result.add(toSplitView(parsedSplit));
@@ -115,12 +113,7 @@ public class SplitManagerImpl implements SplitManager {
                 return result;
             }
 
-            Map<String, Split> splitMap = _splitsStorage.getAll();
-            if (splitMap != null && splitMap.size() > 0) {
-                for (Split split : splitMap.values()) {
-                    result.add(split.name);
-                }
-            }
+            result.addAll(_splitsStorage.getNames());
 
             return result;
         } catch (Exception exception) {
@@ -23,6 +23,9 @@ public class KeyImpression implements InBytesSizable, Identifiable {
 
     public transient String feature; // Non-serializable
 
+    // JSON of this impression as it was persisted, so it can be sent without serializing it again
+    public transient String storedJson;
+
     @SerializedName(FIELD_KEY_NAME)
     public String keyName;
 
@@ -60,6 +60,13 @@ public class Split {
 
     public String json = null;
 
+    /**
+     * Definition as received from the server, if available, so it can be persisted
+     * without serializing it again.
+     */
+    @Nullable
+    public transient String rawJson = null;
+
     public Split() {
 
     }
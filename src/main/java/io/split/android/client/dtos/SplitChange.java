@@ -7,11 +7,19 @@ import com.google.gson.annotations.SerializedName;
 import java.util.List;
 
 public class SplitChange {
-    @SerializedName(value = "d", alternate = "splits")
+
+    public static final String FIELD_SPLITS = "d";
+    public static final String FIELD_SPLITS_LEGACY = "splits";
+    public static final String FIELD_SINCE = "s";
+    public static final String FIELD_SINCE_LEGACY = "since";
+    public static final String FIELD_TILL = "t";
+    public static final String FIELD_TILL_LEGACY = "till";
+
+    @SerializedName(value = FIELD_SPLITS, alternate = FIELD_SPLITS_LEGACY)
     public List<Split> splits;
-    @SerializedName(value = "s", alternate = "since")
+    @SerializedName(value = FIELD_SINCE, alternate = FIELD_SINCE_LEGACY)
     public long since;
-    @SerializedName(value = "t", alternate = "till")
+    @SerializedName(value = FIELD_TILL, alternate = FIELD_TILL_LEGACY)
     public long till;
 
     @VisibleForTesting
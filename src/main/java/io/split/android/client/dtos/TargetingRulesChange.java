@@ -3,10 +3,14 @@ package io.split.android.client.dtos;
 import com.google.gson.annotations.SerializedName;
 
 public class TargetingRulesChange {
-    @SerializedName("ff")
+
+    public static final String FIELD_FEATURE_FLAGS = "ff";
+    public static final String FIELD_RULE_BASED_SEGMENTS = "rbs";
+
+    @SerializedName(FIELD_FEATURE_FLAGS)
     private SplitChange ff;
 
-    @SerializedName("rbs")
+    @SerializedName(FIELD_RULE_BASED_SEGMENTS)
     private RuleBasedSegmentChange rbs;
 
     public SplitChange getFeatureFlagsChange() {
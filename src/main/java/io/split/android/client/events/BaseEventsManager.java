@@ -1,68 +1,74 @@
 package io.split.android.client.events;
 
-import androidx.annotation.NonNull;
-
 import java.util.Collections;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ThreadFactory;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import io.split.android.client.utils.logger.Logger;
-import io.split.android.engine.scheduler.PausableThreadPoolExecutor;
-import io.split.android.engine.scheduler.PausableThreadPoolExecutorImpl;
 
-public abstract class BaseEventsManager implements Runnable {
+/**
+ * Queues internal events and processes them on the shared {@link EventsScheduler} thread.
+ * At most one dispatch per manager is in flight at any time, so each manager processes its
+ * events one at a time and in the order they were added.
+ */
+public abstract class BaseEventsManager {
 
     private final static int QUEUE_CAPACITY = 20;
-    // Shared thread factory for all instances
-    private static final ThreadFactory EVENTS_THREAD_FACTORY = createThreadFactory();
 
     protected final ArrayBlockingQueue<SplitInternalEvent> mQueue;
 
     protected final Set<SplitInternalEvent> mTriggered;
 
-    private static ThreadFactory createThreadFactory() {
-        final AtomicInteger threadNumber = new AtomicInteger(1);
-        return new ThreadFactory() {
-            @Override
-            public Thread newThread(Runnable r) {
-                Thread thread = new Thread(r, "Split-FactoryEventsManager-" + threadNumber.getAndIncrement());
-                thread.setDaemon(true);
-                thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
-                    @Override
-                    public void uncaughtException(@NonNull Thread t, @NonNull Throwable e) {
-                        Logger.e("Unexpected error " + e.getLocalizedMessage());
-                    }
-                });
-                return thread;
-            }
-        };
-    }
+    private final AtomicBoolean mDispatchScheduled = new AtomicBoolean(false);
+
+    private final Runnable mDispatchTask = new Runnable() {
+        @Override
+        public void run() {
+            dispatch();
+        }
+    };
 
     public BaseEventsManager() {
         mQueue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
         mTriggered = Collections.newSetFromMap(new ConcurrentHashMap<>());
-        launch(EVENTS_THREAD_FACTORY);
     }
 
-    @Override
-    public void run() {
-        // This code was intentionally designed this way
-        // noinspection InfiniteLoopStatement
-        while (true) {
-            triggerEventsWhenAreAvailable();
+    /**
+     * Adds the event to the queue and schedules its processing.
+     *
+     * @throws IllegalStateException if the queue is full
+     */
+    protected void enqueue(SplitInternalEvent event) {
+        mQueue.add(event);
+        scheduleDispatch();
+    }
+
+    private void scheduleDispatch() {
+        if (mDispatchScheduled.compareAndSet(false, true)) {
+            EventsScheduler.execute(mDispatchTask);
         }
     }
 
-    private void launch(ThreadFactory threadFactory) {
-        PausableThreadPoolExecutor mScheduler = PausableThreadPoolExecutorImpl.newSingleThreadExecutor(threadFactory);
-        mScheduler.submit(this);
-        mScheduler.resume();
+    private void dispatch() {
+        SplitInternalEvent event;
+        while ((event = mQueue.poll()) != null) {
+            try {
+                triggerEvent(event);
+            } catch (Exception e) {
+                Logger.e("Error processing internal event " + event + ": " + e.getLocalizedMessage());
+            }
+        }
+        mDispatchScheduled.set(false);
+
+        // An event may have been added after the last poll but before the flag was cleared
+        if (!mQueue.isEmpty()) {
+            scheduleDispatch();
+        }
     }
 
-    protected abstract void triggerEventsWhenAreAvailable();
+    protected abstract void triggerEvent(SplitInternalEvent event);
 
     protected abstract void notifyInternalEvent(SplitInternalEvent event);
 }
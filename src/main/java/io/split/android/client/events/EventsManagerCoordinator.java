@@ -20,35 +20,28 @@ public class EventsManagerCoordinator extends BaseEventsManager implements ISpli
     public void notifyInternalEvent(SplitInternalEvent internalEvent) {
         checkNotNull(internalEvent);
         try {
-            mQueue.add(internalEvent);
+            enqueue(internalEvent);
         } catch (IllegalStateException e) {
             Logger.d("Internal events queue is full");
         }
     }
 
     @Override
-    protected void triggerEventsWhenAreAvailable() {
-        try {
-            SplitInternalEvent event = mQueue.take(); //Blocking method (waiting if necessary until an element becomes available.)
-            synchronized (mEventLock) {
-                mTriggered.add(event);
-                switch (event) {
-                    case SPLITS_UPDATED:
-                    case RULE_BASED_SEGMENTS_UPDATED:
-                    case SPLITS_FETCHED:
-                    case SPLITS_LOADED_FROM_STORAGE:
-                    case SPLIT_KILLED_NOTIFICATION:
-                    case ENCRYPTION_MIGRATION_DONE:
-                        for (ISplitEventsManager child : mChildren.values()) {
-                            child.notifyInternalEvent(event);
-                        }
-                        break;
-                }
+    protected void triggerEvent(SplitInternalEvent event) {
+        synchronized (mEventLock) {
+            mTriggered.add(event);
+            switch (event) {
+                case SPLITS_UPDATED:
+                case RULE_BASED_SEGMENTS_UPDATED:
+                case SPLITS_FETCHED:
+                case SPLITS_LOADED_FROM_STORAGE:
+                case SPLIT_KILLED_NOTIFICATION:
+                case ENCRYPTION_MIGRATION_DONE:
+                    for (ISplitEventsManager child : mChildren.values()) {
+                        child.notifyInternalEvent(event);
+                    }
+                    break;
             }
-        } catch (InterruptedException e) {
-            //Catching the InterruptedException that can be thrown by _queue.take() if interrupted while waiting
-            // for further information read https://docs.oracle.com/javase/7/docs/api/java/util/concurrent/ArrayBlockingQueue.html#take()
-            Logger.d(e.getMessage());
         }
     }
 
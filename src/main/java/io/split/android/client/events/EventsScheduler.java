@@ -0,0 +1,56 @@
+package io.split.android.client.events;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import io.split.android.client.utils.logger.Logger;
+
+/**
+ * Single thread shared by all the events managers of the process. It processes
+ * their internal events and fires their readiness timeouts, so the amount of threads
+ * doesn't grow with the amount of clients.
+ */
+final class EventsScheduler {
+
+    private static final String THREAD_NAME = "Split-EventsScheduler";
+
+    private EventsScheduler() {
+    }
+
+    static void execute(@NonNull Runnable task) {
+        Holder.EXECUTOR.execute(task);
+    }
+
+    static ScheduledFuture<?> schedule(@NonNull Runnable task, long delayInMillis) {
+        return Holder.EXECUTOR.schedule(task, delayInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private static final class Holder {
+        static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+
+        private static ScheduledThreadPoolExecutor createExecutor() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                @Override
+                public Thread newThread(@NonNull Runnable r) {
+                    Thread thread = new Thread(r, THREAD_NAME);
+                    thread.setDaemon(true);
+                    thread.setUncaughtExceptionHandler(new Thread.UncaughtExceptionHandler() {
+                        @Override
+                        public void uncaughtException(@NonNull Thread t, @NonNull Throwable e) {
+                            Logger.e("Unexpected error " + e.getLocalizedMessage());
+                        }
+                    });
+                    return thread;
+                }
+            });
+            // Cancelled readiness timeouts shouldn't stay in the queue until their delay expires
+            executor.setRemoveOnCancelPolicy(true);
+
+            return executor;
+        }
+    }
+}
@@ -2,12 +2,14 @@ package io.split.android.client.events;
 
 import static io.split.android.client.utils.Utils.checkNotNull;
 
+import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
 
 import io.split.android.client.SplitClientConfig;
 import io.split.android.client.events.executors.SplitEventExecutor;
@@ -17,7 +19,7 @@ import io.split.android.client.events.executors.SplitEventExecutorResourcesImpl;
 import io.split.android.client.service.executor.SplitTaskExecutor;
 import io.split.android.client.utils.logger.Logger;
 
-public class SplitEventsManager extends BaseEventsManager implements ISplitEventsManager, ListenableEventsManager, Runnable {
+public class SplitEventsManager extends BaseEventsManager implements ISplitEventsManager, ListenableEventsManager {
 
     private final Map<SplitEvent, List<SplitEventTask>> mSubscriptions;
 
@@ -27,6 +29,9 @@ public class SplitEventsManager extends BaseEventsManager implements ISplitEvent
 
     private final SplitTaskExecutor mSplitTaskExecutor;
 
+    @Nullable
+    private final ScheduledFuture<?> mReadyTimeout;
+
     public SplitEventsManager(SplitClientConfig config, SplitTaskExecutor splitTaskExecutor) {
         this(splitTaskExecutor, config.blockUntilReady());
     }
@@ -39,25 +44,16 @@ public class SplitEventsManager extends BaseEventsManager implements ISplitEvent
         mResources = new SplitEventExecutorResourcesImpl();
         registerMaxAllowedExecutionTimesPerEvent();
 
-        Runnable SDKReadyTimeout = new Runnable() {
-            @Override
-            public void run() {
-                try {
-                    if (blockUntilReady > 0) {
-                        Thread.sleep(blockUntilReady);
-                        notifyInternalEvent(SplitInternalEvent.SDK_READY_TIMEOUT_REACHED);
-                    }
-                } catch (InterruptedException e) {
-                    //InterruptedException could be thrown by Thread.sleep trying to wait before check if sdk is ready
-                    Logger.d("Waiting before to check if SDK is READY has been interrupted", e.getMessage());
-                    notifyInternalEvent(SplitInternalEvent.SDK_READY_TIMEOUT_REACHED);
-                } catch (Throwable e) {
-                    Logger.d("Waiting before to check if SDK is READY interrupted ", e.getMessage());
+        if (blockUntilReady > 0) {
+            mReadyTimeout = EventsScheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
                     notifyInternalEvent(SplitInternalEvent.SDK_READY_TIMEOUT_REACHED);
                 }
-            }
-        };
-        new Thread(SDKReadyTimeout).start();
+            }, blockUntilReady);
+        } else {
+            mReadyTimeout = null;
+        }
     }
 
     @VisibleForTesting
@@ -95,7 +91,7 @@ public class SplitEventsManager extends BaseEventsManager implements ISplitEvent
             return;
         }
         try {
-            mQueue.add(internalEvent);
+            enqueue(internalEvent);
         } catch (IllegalStateException e) {
             Logger.d("Internal events queue is full");
         }
@@ -127,58 +123,51 @@ public class SplitEventsManager extends BaseEventsManager implements ISplitEvent
     }
 
     @Override
-    protected void triggerEventsWhenAreAvailable() {
-        try {
-            SplitInternalEvent event = mQueue.take(); //Blocking method (waiting if necessary until an element becomes available.)
-            mTriggered.add(event);
-            switch (event) {
-                case SPLITS_UPDATED:
-                case MY_SEGMENTS_UPDATED:
-                case MY_LARGE_SEGMENTS_UPDATED:
-                case RULE_BASED_SEGMENTS_UPDATED:
-                    if (isTriggered(SplitEvent.SDK_READY)) {
-                        trigger(SplitEvent.SDK_UPDATE);
-                        return;
-                    }
-                    triggerSdkReadyIfNeeded();
-                    break;
-
-                case SPLITS_FETCHED:
-                case MY_SEGMENTS_FETCHED:
-                    if (isTriggered(SplitEvent.SDK_READY)) {
-                        return;
-                    }
-                    triggerSdkReadyIfNeeded();
-                    break;
-
-                case SPLITS_LOADED_FROM_STORAGE:
-                case MY_SEGMENTS_LOADED_FROM_STORAGE:
-                case ATTRIBUTES_LOADED_FROM_STORAGE:
-                case ENCRYPTION_MIGRATION_DONE:
-                    if (wasTriggered(SplitInternalEvent.SPLITS_LOADED_FROM_STORAGE) &&
-                            wasTriggered(SplitInternalEvent.MY_SEGMENTS_LOADED_FROM_STORAGE) &&
-                            wasTriggered(SplitInternalEvent.ATTRIBUTES_LOADED_FROM_STORAGE) &&
-                            wasTriggered(SplitInternalEvent.ENCRYPTION_MIGRATION_DONE)) {
-                        trigger(SplitEvent.SDK_READY_FROM_CACHE);
-                    }
-                    break;
-
-                case SPLIT_KILLED_NOTIFICATION:
-                    if (isTriggered(SplitEvent.SDK_READY)) {
-                        trigger(SplitEvent.SDK_UPDATE);
-                    }
-                    break;
-
-                case SDK_READY_TIMEOUT_REACHED:
-                    if (!isTriggered(SplitEvent.SDK_READY)) {
-                        trigger(SplitEvent.SDK_READY_TIMED_OUT);
-                    }
-                    break;
-            }
-        } catch (InterruptedException e) {
-            //Catching the InterruptedException that can be thrown by _queue.take() if interrupted while waiting
-            // for further information read https://docs.oracle.com/javase/7/docs/api/java/util/concurrent/ArrayBlockingQueue.html#take()
-            Logger.d(e.getMessage());
+    protected void triggerEvent(SplitInternalEvent event) {
+        mTriggered.add(event);
+        switch (event) {
+            case SPLITS_UPDATED:
+            case MY_SEGMENTS_UPDATED:
+            case MY_LARGE_SEGMENTS_UPDATED:
+            case RULE_BASED_SEGMENTS_UPDATED:
+                if (isTriggered(SplitEvent.SDK_READY)) {
+                    trigger(SplitEvent.SDK_UPDATE);
+                    return;
+                }
+                triggerSdkReadyIfNeeded();
+                break;
+
+            case SPLITS_FETCHED:
+            case MY_SEGMENTS_FETCHED:
+                if (isTriggered(SplitEvent.SDK_READY)) {
+                    return;
+                }
+                triggerSdkReadyIfNeeded();
+                break;
+
+            case SPLITS_LOADED_FROM_STORAGE:
+            case MY_SEGMENTS_LOADED_FROM_STORAGE:
+            case ATTRIBUTES_LOADED_FROM_STORAGE:
+            case ENCRYPTION_MIGRATION_DONE:
+                if (wasTriggered(SplitInternalEvent.SPLITS_LOADED_FROM_STORAGE) &&
+                        wasTriggered(SplitInternalEvent.MY_SEGMENTS_LOADED_FROM_STORAGE) &&
+                        wasTriggered(SplitInternalEvent.ATTRIBUTES_LOADED_FROM_STORAGE) &&
+                        wasTriggered(SplitInternalEvent.ENCRYPTION_MIGRATION_DONE)) {
+                    trigger(SplitEvent.SDK_READY_FROM_CACHE);
+                }
+                break;
+
+            case SPLIT_KILLED_NOTIFICATION:
+                if (isTriggered(SplitEvent.SDK_READY)) {
+                    trigger(SplitEvent.SDK_UPDATE);
+                }
+                break;
+
+            case SDK_READY_TIMEOUT_REACHED:
+                if (!isTriggered(SplitEvent.SDK_READY)) {
+                    trigger(SplitEvent.SDK_READY_TIMED_OUT);
+                }
+                break;
         }
     }
 
@@ -210,6 +199,9 @@ public class SplitEventsManager extends BaseEventsManager implements ISplitEvent
         if (event != null) {
             Logger.d(event.name() + " event triggered");
         }
+        if (event == SplitEvent.SDK_READY && mReadyTimeout != null) {
+            mReadyTimeout.cancel(false);
+        }
         if (mSubscriptions.containsKey(event)) {
             List<SplitEventTask> toExecute = mSubscriptions.get(event);
             if (toExecute != null) {
@@ -90,6 +90,19 @@ public class LocalhostSplitsStorage implements SplitsStorage {
         return splits;
     }
 
+    @NonNull
+    @Override
+    public Set<String> getNames() {
+        synchronized (this) {
+            return new HashSet<>(mInMemorySplits.keySet());
+        }
+    }
+
+    @Override
+    public int getCount() {
+        return mInMemorySplits.size();
+    }
+
     @Override
     public boolean update(ProcessedSplitChange splitChange, ExecutorService mExecutor) {
         return false;
@@ -1,5 +1,8 @@
 package io.split.android.client.network;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
 public interface BaseHttpResponse {
     boolean isSuccess();
 
@@ -10,4 +13,11 @@ public interface BaseHttpResponse {
     boolean isClientRelatedError();
 
     int getHttpStatus();
+
+    /**
+     * @param name case insensitive header name
+     * @return the value of the response header, or null if it wasn't received
+     */
+    @Nullable
+    String getHeader(@NonNull String name);
 }
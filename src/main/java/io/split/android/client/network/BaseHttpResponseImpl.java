@@ -1,5 +1,12 @@
 package io.split.android.client.network;
 
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
 public abstract class BaseHttpResponseImpl implements BaseHttpResponse {
 
     private static final int HTTP_OK = 200;
@@ -9,9 +16,20 @@ public abstract class BaseHttpResponseImpl implements BaseHttpResponse {
     protected static final int HTTP_INTERNAL_SERVER_ERROR = 500;
 
     private final int mHttpStatus;
+    private final Map<String, String> mHeaders;
 
     protected BaseHttpResponseImpl(int httpStatus) {
+        this(httpStatus, null);
+    }
+
+    protected BaseHttpResponseImpl(int httpStatus, @Nullable Map<String, String> headers) {
         mHttpStatus = httpStatus;
+        if (headers == null || headers.isEmpty()) {
+            mHeaders = Collections.emptyMap();
+        } else {
+            mHeaders = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            mHeaders.putAll(headers);
+        }
     }
 
     @Override
@@ -38,4 +56,10 @@ public abstract class BaseHttpResponseImpl implements BaseHttpResponse {
     public int getHttpStatus() {
         return mHttpStatus;
     }
+
+    @Nullable
+    @Override
+    public String getHeader(@NonNull String name) {
+        return mHeaders.get(name);
+    }
 }
@@ -18,6 +18,13 @@ public interface HttpClient {
 
     HttpRequest request(URI uri, HttpMethod httpMethod, String body);
 
+    /**
+     * Creates a request whose body is written by {@code bodyWriter} while it is being sent.
+     *
+     * @param compressBody whether the body is sent gzip compressed, with {@code Content-Encoding: gzip}
+     */
+    HttpRequest request(URI uri, HttpMethod httpMethod, HttpRequestBodyWriter bodyWriter, boolean compressBody);
+
     HttpStreamRequest streamRequest(URI uri);
 
     void close();
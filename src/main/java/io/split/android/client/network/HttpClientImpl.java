@@ -108,6 +108,26 @@ public class HttpClientImpl implements HttpClient {
         return request(uri, requestMethod, body, null);
     }
 
+    @Override
+    public HttpRequest request(URI uri, HttpMethod requestMethod, HttpRequestBodyWriter bodyWriter, boolean compressBody) {
+        return new HttpRequestImpl(
+                uri,
+                requestMethod,
+                bodyWriter,
+                compressBody,
+                new HashMap<>(mCommonHeaders),
+                mProxy,
+                mHttpProxy,
+                mProxyAuthenticator,
+                mProxyCredentialsProvider,
+                mReadTimeout,
+                mConnectionTimeout,
+                mDevelopmentSslConfig,
+                mSslSocketFactory,
+                mUrlSanitizer,
+                mCertificateChecker);
+    }
+
     @Override
     public HttpStreamRequest streamRequest(URI uri) {
         return new HttpStreamRequestImpl(uri,
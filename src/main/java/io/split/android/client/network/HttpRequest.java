@@ -2,4 +2,10 @@ package io.split.android.client.network;
 
 public interface HttpRequest {
     HttpResponse execute() throws HttpException;
+
+    /**
+     * Executes the request and hands the body of a successful response to the given reader
+     * as it is received, instead of buffering it in a String.
+     */
+    <T> ParsedHttpResponse<T> execute(HttpResponseBodyReader<T> bodyReader) throws HttpException;
 }
@@ -0,0 +1,18 @@
+package io.split.android.client.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Writes the body of a request straight into the connection,
+ * so it doesn't need to be held in memory as a whole.
+ * <p>
+ * It can be invoked more than once for the same request, for instance
+ * when it is retried with proxy authentication.
+ */
+public interface HttpRequestBodyWriter {
+
+    void write(@NonNull Writer writer) throws IOException;
+}
@@ -34,7 +34,7 @@ class HttpRequestHelper {
 
         // Use the new tunnel path only when there is no legacy authenticator present.
         // If a legacy authenticator proxy, we prefer the legacy path to preserve 407 retry behavior.
-        if (httpProxy != null && sslSocketFactory != null && !httpProxy.isLegacy()) {
+        if (usesProxyTunnel(httpProxy, sslSocketFactory)) {
             try {
                 HttpResponse response = getConnectionHandler().executeRequest(
                         httpProxy,
@@ -55,6 +55,10 @@ class HttpRequestHelper {
         return openConnection(proxy, httpProxy, proxyAuthenticator, url, method, headers, useProxyAuthentication);
     }
 
+    static boolean usesProxyTunnel(@Nullable HttpProxy httpProxy, @Nullable SSLSocketFactory sslSocketFactory) {
+        return httpProxy != null && sslSocketFactory != null && !httpProxy.isLegacy();
+    }
+
     private static ProxyCacertConnectionHandler getConnectionHandler() {
         if (mConnectionHandler == null) {
             mConnectionHandler = new ProxyCacertConnectionHandler();
@@ -5,16 +5,22 @@ import static io.split.android.client.utils.Utils.checkNotNull;
 import static io.split.android.client.network.HttpRequestHelper.applySslConfig;
 import static io.split.android.client.network.HttpRequestHelper.applyTimeouts;
 import static io.split.android.client.network.HttpRequestHelper.createConnection;
+import static io.split.android.client.network.HttpRequestHelper.usesProxyTunnel;
 
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.net.HttpRetryException;
 import java.net.HttpURLConnection;
 import java.net.MalformedURLException;
@@ -22,9 +28,12 @@ import java.net.ProtocolException;
 import java.net.Proxy;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
 
 import javax.net.ssl.SSLPeerUnverifiedException;
 import javax.net.ssl.SSLSocketFactory;
@@ -36,9 +45,14 @@ public class HttpRequestImpl implements HttpRequest {
 
     public static final String CONTENT_TYPE = "Content-Type";
     public static final String APPLICATION_JSON_CHARSET_UTF_8 = "application/json; charset=utf-8";
+    public static final String CONTENT_ENCODING = "Content-Encoding";
+    public static final String GZIP = "gzip";
 
     private final URI mUri;
     private final String mBody;
+    @Nullable
+    private final HttpRequestBodyWriter mBodyWriter;
+    private final boolean mCompressBody;
     private final HttpMethod mHttpMethod;
     private final Map<String, String> mHeaders;
     private final UrlSanitizer mUrlSanitizer;
@@ -73,9 +87,52 @@ public class HttpRequestImpl implements HttpRequest {
                     @Nullable SSLSocketFactory sslSocketFactory,
                     @NonNull UrlSanitizer urlSanitizer,
                     @Nullable CertificateChecker certificateChecker) {
+        this(uri, httpMethod, body, null, false, headers, proxy, httpProxy, proxyAuthenticator,
+                proxyCredentialsProvider, readTimeout, connectionTimeout, developmentSslConfig,
+                sslSocketFactory, urlSanitizer, certificateChecker);
+    }
+
+    HttpRequestImpl(@NonNull URI uri,
+                    @NonNull HttpMethod httpMethod,
+                    @NonNull HttpRequestBodyWriter bodyWriter,
+                    boolean compressBody,
+                    @NonNull Map<String, String> headers,
+                    @Nullable Proxy proxy,
+                    @Nullable HttpProxy httpProxy,
+                    @Nullable SplitUrlConnectionAuthenticator proxyAuthenticator,
+                    @Nullable ProxyCredentialsProvider proxyCredentialsProvider,
+                    long readTimeout,
+                    long connectionTimeout,
+                    @Nullable DevelopmentSslConfig developmentSslConfig,
+                    @Nullable SSLSocketFactory sslSocketFactory,
+                    @NonNull UrlSanitizer urlSanitizer,
+                    @Nullable CertificateChecker certificateChecker) {
+        this(uri, httpMethod, null, checkNotNull(bodyWriter), compressBody, headers, proxy, httpProxy,
+                proxyAuthenticator, proxyCredentialsProvider, readTimeout, connectionTimeout,
+                developmentSslConfig, sslSocketFactory, urlSanitizer, certificateChecker);
+    }
+
+    private HttpRequestImpl(@NonNull URI uri,
+                            @NonNull HttpMethod httpMethod,
+                            @Nullable String body,
+                            @Nullable HttpRequestBodyWriter bodyWriter,
+                            boolean compressBody,
+                            @NonNull Map<String, String> headers,
+                            @Nullable Proxy proxy,
+                            @Nullable HttpProxy httpProxy,
+                            @Nullable SplitUrlConnectionAuthenticator proxyAuthenticator,
+                            @Nullable ProxyCredentialsProvider proxyCredentialsProvider,
+                            long readTimeout,
+                            long connectionTimeout,
+                            @Nullable DevelopmentSslConfig developmentSslConfig,
+                            @Nullable SSLSocketFactory sslSocketFactory,
+                            @NonNull UrlSanitizer urlSanitizer,
+                            @Nullable CertificateChecker certificateChecker) {
         mUri = checkNotNull(uri);
         mHttpMethod = checkNotNull(httpMethod);
         mBody = body;
+        mBodyWriter = bodyWriter;
+        mCompressBody = compressBody;
         mUrlSanitizer = checkNotNull(urlSanitizer);
         mHeaders = new HashMap<>(checkNotNull(headers));
         mProxy = proxy;
@@ -91,28 +148,48 @@ public class HttpRequestImpl implements HttpRequest {
 
     @Override
     public HttpResponse execute() throws HttpException {
+        return executeRequest(new ResponseBuilder<HttpResponse>() {
+            @Override
+            public HttpResponse build(HttpURLConnection connection) throws IOException {
+                return buildResponse(connection);
+            }
+        });
+    }
+
+    @Override
+    public <T> ParsedHttpResponse<T> execute(final HttpResponseBodyReader<T> bodyReader) throws HttpException {
+        checkNotNull(bodyReader);
+        return executeRequest(new ResponseBuilder<ParsedHttpResponse<T>>() {
+            @Override
+            public ParsedHttpResponse<T> build(HttpURLConnection connection) throws IOException {
+                return buildParsedResponse(connection, bodyReader);
+            }
+        });
+    }
+
+    private <R extends BaseHttpResponse> R executeRequest(ResponseBuilder<R> responseBuilder) throws HttpException {
         AtomicBoolean wasRetried = new AtomicBoolean(false);
 
         switch (mHttpMethod) {
             case GET:
-                return getRequest(wasRetried);
+                return getRequest(responseBuilder, wasRetried);
             case POST: {
-                return postRequest(wasRetried);
+                return postRequest(responseBuilder, wasRetried);
             }
             default:
                 throw new IllegalArgumentException("Request HTTP Method not valid: " + mHttpMethod.name());
         }
     }
 
-    private HttpResponse getRequest(AtomicBoolean wasRetried) throws HttpException {
-        HttpResponse response;
+    private <R extends BaseHttpResponse> R getRequest(ResponseBuilder<R> responseBuilder, AtomicBoolean wasRetried) throws HttpException {
+        R response;
         HttpURLConnection connection = null;
         try {
             connection = setUpConnection(false);
-            response = buildResponse(connection);
+            response = responseBuilder.build(connection);
 
             if (response.getHttpStatus() == HttpURLConnection.HTTP_PROXY_AUTH) {
-                response = handleProxyAuthentication(response, true, wasRetried);
+                response = handleProxyAuthentication(responseBuilder, response, true, wasRetried);
             }
         } catch (MalformedURLException e) {
             throw new HttpException("URL is malformed: " + e.getLocalizedMessage());
@@ -131,19 +208,19 @@ public class HttpRequestImpl implements HttpRequest {
         return response;
     }
 
-    private HttpResponse postRequest(AtomicBoolean wasRetried) throws HttpException {
-        if (mBody == null) {
+    private <R extends BaseHttpResponse> R postRequest(ResponseBuilder<R> responseBuilder, AtomicBoolean wasRetried) throws HttpException {
+        if (mBody == null && mBodyWriter == null) {
             throw new HttpException("Json data is null");
         }
 
         HttpURLConnection connection = null;
-        HttpResponse response;
+        R response;
         try {
             connection = setUpPostConnection(false);
-            response = buildResponse(connection);
+            response = responseBuilder.build(connection);
 
             if (response.getHttpStatus() == HttpURLConnection.HTTP_PROXY_AUTH) {
-                response = handleProxyAuthentication(response, false, wasRetried);
+                response = handleProxyAuthentication(responseBuilder, response, false, wasRetried);
             }
         } catch (SSLPeerUnverifiedException e) {
             throw new HttpException("SSL Peer Unverified: " + e.getLocalizedMessage(), HttpStatus.INTERNAL_NON_RETRYABLE.getCode());
@@ -158,13 +235,13 @@ public class HttpRequestImpl implements HttpRequest {
         return response;
     }
 
-    private HttpResponse handleProxyAuthentication(HttpResponse originalResponse, boolean isGet, AtomicBoolean wasRetried) throws HttpException {
+    private <R extends BaseHttpResponse> R handleProxyAuthentication(ResponseBuilder<R> responseBuilder, R originalResponse, boolean isGet, AtomicBoolean wasRetried) throws HttpException {
         HttpURLConnection connection = null;
         if (!wasRetried.getAndSet(true)) {
             try {
                 Logger.d("Retrying with proxy authentication");
                 connection = (isGet) ? setUpConnection(true) : setUpPostConnection(true);
-                return buildResponse(connection);
+                return responseBuilder.build(connection);
             } catch (IOException ex) {
                 throw new HttpException("Something happened while retrieving data: " + ex.getLocalizedMessage());
             } finally {
@@ -188,23 +265,29 @@ public class HttpRequestImpl implements HttpRequest {
             throw new IOException("Error parsing URL");
         }
 
+        // The proxy tunnel sends the request on its own, so it needs the whole body upfront
+        boolean usesProxyTunnel = usesProxyTunnel(mHttpProxy, mSslSocketFactory);
+        String body = (mBodyWriter != null && usesProxyTunnel) ? writeBodyToString(mBodyWriter) : mBody;
+
         HttpURLConnection connection;
         try {
-            connection = getConnection(authenticate, url);
+            connection = getConnection(authenticate, url, body);
         } catch (HttpRetryException e) {
             if (mProxyAuthenticator == null) {
                 throw e;
             }
-            connection = getConnection(authenticate, url);
+            connection = getConnection(authenticate, url, body);
         }
         applyTimeouts(mReadTimeout, mConnectionTimeout, connection);
         applySslConfig(mSslSocketFactory, mDevelopmentSslConfig, connection);
 
-        if (mBody != null && !mBody.trim().isEmpty()) {
+        if (mBodyWriter != null && !usesProxyTunnel) {
+            writeBody(connection);
+        } else if (body != null && !body.trim().isEmpty()) {
             connection.setRequestProperty(CONTENT_TYPE, APPLICATION_JSON_CHARSET_UTF_8);
             connection.setDoOutput(true);
             try (OutputStream bodyStream = connection.getOutputStream()) {
-                bodyStream.write(mBody.getBytes());
+                bodyStream.write(body.getBytes());
                 bodyStream.flush();
             }
         }
@@ -215,8 +298,41 @@ public class HttpRequestImpl implements HttpRequest {
         return connection;
     }
 
+    private void writeBody(HttpURLConnection connection) throws IOException {
+        connection.setRequestProperty(CONTENT_TYPE, APPLICATION_JSON_CHARSET_UTF_8);
+        if (mCompressBody) {
+            connection.setRequestProperty(CONTENT_ENCODING, GZIP);
+        }
+        connection.setDoOutput(true);
+        // The length of the body is unknown until it has been written. The connection can't
+        // retry a streamed body, so it is buffered when proxy authentication may be required
+        if (mProxyAuthenticator == null) {
+            connection.setChunkedStreamingMode(0);
+        }
+
+        try {
+            OutputStream outputStream = connection.getOutputStream();
+            if (mCompressBody) {
+                outputStream = new GZIPOutputStream(outputStream);
+            }
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+                mBodyWriter.write(writer);
+            }
+        } catch (IOException | RuntimeException e) {
+            // The connection is not returned, so it has to be released here
+            connection.disconnect();
+            throw e;
+        }
+    }
+
+    private static String writeBodyToString(HttpRequestBodyWriter bodyWriter) throws IOException {
+        StringWriter writer = new StringWriter();
+        bodyWriter.write(writer);
+        return writer.toString();
+    }
+
     @NonNull
-    private HttpURLConnection getConnection(boolean authenticate, URL url) throws IOException {
+    private HttpURLConnection getConnection(boolean authenticate, URL url, @Nullable String body) throws IOException {
         return createConnection(
                 url,
                 mProxy,
@@ -227,7 +343,7 @@ public class HttpRequestImpl implements HttpRequest {
                 authenticate,
                 mSslSocketFactory,
                 mProxyCredentialsProvider,
-                mBody);
+                body);
     }
 
     private static HttpResponse buildResponse(HttpURLConnection connection) throws IOException {
@@ -246,9 +362,49 @@ public class HttpRequestImpl implements HttpRequest {
                 }
             }
 
-            return new HttpResponseImpl(responseCode, (responseData.length() > 0 ? responseData.toString() : null));
+            return new HttpResponseImpl(responseCode, (responseData.length() > 0 ? responseData.toString() : null), null, readHeaders(connection));
+        }
+
+        return new HttpResponseImpl(responseCode, null, null, readHeaders(connection));
+    }
+
+    private static <T> ParsedHttpResponse<T> buildParsedResponse(HttpURLConnection connection, HttpResponseBodyReader<T> bodyReader) throws IOException {
+        int responseCode = connection.getResponseCode();
+
+        if (responseCode >= HttpURLConnection.HTTP_OK && responseCode < 300) {
+            T data = null;
+            try (InputStream inputStream = connection.getInputStream()) {
+                if (inputStream != null) {
+                    try (Reader in = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+                        data = bodyReader.read(in);
+                    }
+                }
+            }
+
+            return new ParsedHttpResponseImpl<>(responseCode, data, readHeaders(connection));
         }
 
-        return new HttpResponseImpl(responseCode);
+        return new ParsedHttpResponseImpl<>(responseCode, null, readHeaders(connection));
+    }
+
+    private static Map<String, String> readHeaders(HttpURLConnection connection) {
+        Map<String, List<String>> headerFields = connection.getHeaderFields();
+        if (headerFields == null || headerFields.isEmpty()) {
+            return null;
+        }
+
+        Map<String, String> headers = new HashMap<>();
+        for (Map.Entry<String, List<String>> header : headerFields.entrySet()) {
+            // The status line is returned with a null key
+            if (header.getKey() != null && header.getValue() != null && !header.getValue().isEmpty()) {
+                headers.put(header.getKey(), header.getValue().get(0));
+            }
+        }
+
+        return headers;
+    }
+
+    private interface ResponseBuilder<R extends BaseHttpResponse> {
+        R build(HttpURLConnection connection) throws IOException;
     }
 }
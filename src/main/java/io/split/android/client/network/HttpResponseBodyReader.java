@@ -0,0 +1,15 @@
+package io.split.android.client.network;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Reads the body of a successful response while it is being received,
+ * so it doesn't need to be held in memory as a whole.
+ */
+public interface HttpResponseBodyReader<T> {
+
+    T read(@NonNull Reader body) throws IOException;
+}
@@ -1,6 +1,7 @@
 package io.split.android.client.network;
 
 import java.security.cert.Certificate;
+import java.util.Map;
 
 public class HttpResponseImpl extends BaseHttpResponseImpl implements HttpResponse {
 
@@ -20,7 +21,11 @@ public class HttpResponseImpl extends BaseHttpResponseImpl implements HttpRespon
     }
     
     public HttpResponseImpl(int httpStatus, String data, Certificate[] serverCertificates) {
-        super(httpStatus);
+        this(httpStatus, data, serverCertificates, null);
+    }
+
+    HttpResponseImpl(int httpStatus, String data, Certificate[] serverCertificates, Map<String, String> headers) {
+        super(httpStatus, headers);
         mData = data;
         mServerCertificates = serverCertificates;
     }
@@ -0,0 +1,12 @@
+package io.split.android.client.network;
+
+import androidx.annotation.Nullable;
+
+public interface ParsedHttpResponse<T> extends BaseHttpResponse {
+
+    /**
+     * @return the body read by the {@link HttpResponseBodyReader}, null if the response was not successful
+     */
+    @Nullable
+    T getData();
+}
@@ -0,0 +1,26 @@
+package io.split.android.client.network;
+
+import androidx.annotation.Nullable;
+
+import java.util.Map;
+
+public class ParsedHttpResponseImpl<T> extends BaseHttpResponseImpl implements ParsedHttpResponse<T> {
+
+    @Nullable
+    private final T mData;
+
+    public ParsedHttpResponseImpl(int httpStatus, @Nullable T data) {
+        this(httpStatus, data, null);
+    }
+
+    public ParsedHttpResponseImpl(int httpStatus, @Nullable T data, @Nullable Map<String, String> headers) {
+        super(httpStatus, headers);
+        mData = data;
+    }
+
+    @Nullable
+    @Override
+    public T getData() {
+        return mData;
+    }
+}
@@ -36,8 +36,12 @@ public class ServiceConstants {
     public static final String WORKER_PARAM_FLAGS_SPEC = "flagsSpec";
     public static final String WORKER_PARAM_CERTIFICATE_PINS = "certificatePins";
     public static final String WORKER_PARAM_USES_PROXY = "usesProxy";
+    public static final String WORKER_PARAM_COMPRESS_REQUESTS = "compressRequests";
 
     public static final int LAST_SEEN_IMPRESSION_CACHE_SIZE = 2000;
+    public static final int IMPRESSIONS_WRITE_BUFFER_SIZE = 100;
+    public static final long IMPRESSIONS_WRITE_BUFFER_FLUSH_DELAY_MS = 2000L;
+    public static final long CACHE_SNAPSHOT_WRITE_DELAY_MS = 5000L;
     public static final int MY_SEGMENT_V2_DATA_SIZE = 1024 * 10;// bytes
     public static final long DEFAULT_SSE_CONNECTION_DELAY_SECS = 60;
 
@@ -56,6 +60,7 @@ public class ServiceConstants {
     public static final int ON_DEMAND_FETCH_BACKOFF_MAX_WAIT = 60;
     public static final long TEN_DAYS_EXPIRATION_PERIOD = TimeUnit.DAYS.toSeconds(10);
     public static final int MAX_UNIQUE_KEYS_IN_MEMORY = 30000;
+    public static final long MAX_UNIQUE_KEYS_BYTES_IN_MEMORY = 5L * 1024 * 1024; // 5 MB
     public static final int UNIQUE_KEYS_MAX_RETRY_ATTEMPTS = 3;
     public static final long DEFAULT_OBSERVER_CACHE_EXPIRATION_PERIOD_MS = TimeUnit.HOURS.toMillis(4);
     public static final String FLAGS_SPEC_PARAM = "s";
@@ -1,5 +1,6 @@
 package io.split.android.client.service;
 
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import java.net.URISyntaxException;
@@ -25,6 +26,7 @@ import io.split.android.client.service.impressions.unique.MTKRequestBodySerializ
 import io.split.android.client.service.mysegments.AllSegmentsResponseParser;
 import io.split.android.client.service.rules.TargetingRulesResponseParser;
 import io.split.android.client.service.sseauthentication.SseAuthenticationResponseParser;
+import io.split.android.client.storage.general.GeneralInfoStorage;
 import io.split.android.client.telemetry.TelemetryConfigBodySerializer;
 import io.split.android.client.telemetry.TelemetryStatsBodySerializer;
 import io.split.android.client.telemetry.model.Config;
@@ -38,9 +40,33 @@ public class ServiceFactory {
             String endPoint,
             String splitFilterQueryString) throws URISyntaxException {
 
+        return getSplitsFetcher(httpClient, endPoint, splitFilterQueryString, null);
+    }
+
+    public static HttpFetcher<TargetingRulesChange> getSplitsFetcher(
+            HttpClient httpClient,
+            String endPoint,
+            String splitFilterQueryString,
+            @Nullable GeneralInfoStorage validatorsStorage) throws URISyntaxException {
+
+        return getSplitsFetcher(httpClient, endPoint, splitFilterQueryString, validatorsStorage, false);
+    }
+
+    /**
+     * @param binaryFormatEnabled whether feature flags are stored in binary format, in which case
+     *                            their JSON definitions are not kept when parsing the response
+     */
+    public static HttpFetcher<TargetingRulesChange> getSplitsFetcher(
+            HttpClient httpClient,
+            String endPoint,
+            String splitFilterQueryString,
+            @Nullable GeneralInfoStorage validatorsStorage,
+            boolean binaryFormatEnabled) throws URISyntaxException {
+
         return new HttpFetcherImpl<>(httpClient,
                 SdkTargetPath.splitChanges(endPoint, splitFilterQueryString),
-                new TargetingRulesResponseParser());
+                new TargetingRulesResponseParser(!binaryFormatEnabled),
+                validatorsStorage);
     }
 
     public static HttpFetcher<AllSegmentsChange> getMySegmentsFetcher(
@@ -57,36 +83,72 @@ public class ServiceFactory {
             HttpClient httpClient,
             String endPoint) throws URISyntaxException {
 
+        return getEventsRecorder(httpClient, endPoint, false);
+    }
+
+    public static HttpRecorder<List<Event>> getEventsRecorder(
+            HttpClient httpClient,
+            String endPoint,
+            boolean compressRequests) throws URISyntaxException {
+
         return new HttpRecorderImpl<>(
                 httpClient, SdkTargetPath.events(endPoint),
-                new EventsRequestBodySerializer());
+                new EventsRequestBodySerializer(),
+                compressRequests);
     }
 
     public static HttpRecorder<List<KeyImpression>> getImpressionsRecorder(
             HttpClient httpClient,
             String endPoint) throws URISyntaxException {
 
+        return getImpressionsRecorder(httpClient, endPoint, false);
+    }
+
+    public static HttpRecorder<List<KeyImpression>> getImpressionsRecorder(
+            HttpClient httpClient,
+            String endPoint,
+            boolean compressRequests) throws URISyntaxException {
+
         return new HttpRecorderImpl<>(
                 httpClient, SdkTargetPath.impressions(endPoint),
-                new ImpressionsRequestBodySerializer());
+                new ImpressionsRequestBodySerializer(),
+                compressRequests);
     }
 
     public static HttpRecorder<ImpressionsCount> getImpressionsCountRecorder(
             HttpClient httpClient,
             String endPoint) throws URISyntaxException {
 
+        return getImpressionsCountRecorder(httpClient, endPoint, false);
+    }
+
+    public static HttpRecorder<ImpressionsCount> getImpressionsCountRecorder(
+            HttpClient httpClient,
+            String endPoint,
+            boolean compressRequests) throws URISyntaxException {
+
         return new HttpRecorderImpl<>(
                 httpClient, SdkTargetPath.impressionsCount(endPoint),
-                new ImpressionsCountRequestBodySerializer());
+                new ImpressionsCountRequestBodySerializer(),
+                compressRequests);
     }
 
     public static HttpRecorder<MTK> getUniqueKeysRecorder(
             HttpClient httpClient,
             String endpoint) throws URISyntaxException {
 
+        return getUniqueKeysRecorder(httpClient, endpoint, false);
+    }
+
+    public static HttpRecorder<MTK> getUniqueKeysRecorder(
+            HttpClient httpClient,
+            String endpoint,
+            boolean compressRequests) throws URISyntaxException {
+
         return new HttpRecorderImpl<>(
                 httpClient, SdkTargetPath.uniqueKeys(endpoint),
-                new MTKRequestBodySerializer());
+                new MTKRequestBodySerializer(),
+                compressRequests);
     }
 
     public static HttpSseAuthTokenFetcher getSseAuthenticationFetcher(
@@ -102,18 +164,35 @@ public class ServiceFactory {
             HttpClient httpClient,
             String endpoint) throws URISyntaxException {
 
+        return getTelemetryConfigRecorder(httpClient, endpoint, false);
+    }
+
+    public static HttpRecorder<Config> getTelemetryConfigRecorder(
+            HttpClient httpClient,
+            String endpoint,
+            boolean compressRequests) throws URISyntaxException {
+
         return new HttpRecorderImpl<>(
                 httpClient, SdkTargetPath.telemetryConfig(endpoint),
-                new TelemetryConfigBodySerializer());
+                new TelemetryConfigBodySerializer(),
+                compressRequests);
     }
 
     public static HttpRecorder<Stats> getTelemetryStatsRecorder(
             HttpClient httpClient,
             String endpoint) throws URISyntaxException {
 
+        return getTelemetryStatsRecorder(httpClient, endpoint, false);
+    }
+
+    public static HttpRecorder<Stats> getTelemetryStatsRecorder(
+            HttpClient httpClient,
+            String endpoint,
+            boolean compressRequests) throws URISyntaxException {
+
         return new HttpRecorderImpl<>(
                 httpClient, SdkTargetPath.telemetryStats(endpoint),
-                new TelemetryStatsBodySerializer()
-        );
+                new TelemetryStatsBodySerializer(),
+                compressRequests);
     }
 }
@@ -2,17 +2,39 @@ package io.split.android.client.service.events;
 
 import androidx.annotation.NonNull;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
 import io.split.android.client.dtos.Event;
 import io.split.android.client.dtos.SerializableEvent;
-import io.split.android.client.service.http.HttpRequestBodySerializer;
+import io.split.android.client.service.http.StreamingHttpRequestBodySerializer;
 import io.split.android.client.utils.Json;
 
-public class EventsRequestBodySerializer implements HttpRequestBodySerializer<List<Event>> {
+public class EventsRequestBodySerializer implements StreamingHttpRequestBodySerializer<List<Event>> {
 
     public String serialize(@NonNull List<Event> inputData) {
+        return Json.toJson(toSerializableEvents(inputData));
+    }
+
+    /**
+     * Writes the events one by one. Only the fields of {@link SerializableEvent} are written,
+     * so there is no need to copy them first.
+     */
+    public void serialize(@NonNull List<Event> inputData, @NonNull Writer writer) throws IOException {
+        JsonWriter jsonWriter = Json.newJsonWriter(writer);
+        jsonWriter.beginArray();
+        for (Event event : inputData) {
+            Json.toJson(event, SerializableEvent.class, jsonWriter);
+        }
+        jsonWriter.endArray();
+        jsonWriter.flush();
+    }
+
+    private static List<SerializableEvent> toSerializableEvents(List<Event> inputData) {
         List<SerializableEvent> data = new ArrayList<>();
 
         for (Event event : inputData) {
@@ -27,6 +49,6 @@ public class EventsRequestBodySerializer implements HttpRequestBodySerializer<Li
             data.add(serializableEvent);
         }
 
-        return Json.toJson(data);
+        return data;
     }
 }
@@ -154,7 +154,8 @@ public class SplitTaskFactoryImpl implements SplitTaskFactory {
 
     @Override
     public LoadSplitsTask createLoadSplitsTask() {
-        return new LoadSplitsTask(mSplitsStorageContainer.getSplitsStorage(), mSplitsFilterQueryStringFromConfig, mFlagsSpecFromConfig);
+        return new LoadSplitsTask(mSplitsStorageContainer.getSplitsStorage(), mSplitsFilterQueryStringFromConfig, mFlagsSpecFromConfig,
+                mSplitsStorageContainer.getTelemetryStorage());
     }
 
     @Override
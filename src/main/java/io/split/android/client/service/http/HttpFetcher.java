@@ -6,5 +6,18 @@ import androidx.annotation.Nullable;
 import java.util.Map;
 
 public interface HttpFetcher<T> {
+    /**
+     * @return the parsed response, or null if the fetcher sends conditional requests and
+     * the resource wasn't modified since the last response
+     */
     T execute(@NonNull Map<String, Object> params, @Nullable Map<String, String> headers) throws HttpFetcherException;
+
+    /**
+     * Saves the validators received along with the given response, so that the next request for
+     * the same URI is conditional. Callers do this only once the response has been stored,
+     * otherwise a 304 could be received for data the device doesn't have.
+     *
+     * @param response a response returned by {@link #execute(Map, Map)}
+     */
+    void commitValidators(@NonNull T response);
 }
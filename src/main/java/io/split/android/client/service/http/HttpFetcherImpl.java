@@ -5,32 +5,65 @@ import static io.split.android.client.utils.Utils.checkNotNull;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.net.URI;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.split.android.android_client.BuildConfig;
 import io.split.android.client.ServiceEndpoints;
+import io.split.android.client.network.BaseHttpResponse;
 import io.split.android.client.network.HttpClient;
 import io.split.android.client.network.HttpException;
 import io.split.android.client.network.HttpMethod;
+import io.split.android.client.network.HttpRequest;
 import io.split.android.client.network.HttpResponse;
+import io.split.android.client.network.HttpResponseBodyReader;
+import io.split.android.client.network.ParsedHttpResponse;
 import io.split.android.client.network.URIBuilder;
+import io.split.android.client.storage.general.GeneralInfoStorage;
+import io.split.android.client.utils.Json;
+import io.split.android.client.utils.MurmurHash3;
 import io.split.android.client.utils.logger.Logger;
+import io.split.android.client.utils.logger.SplitLogLevel;
 
+/**
+ * When created with a {@link GeneralInfoStorage}, the validators of the last successful response
+ * are persisted once the caller commits them through {@link #commitValidators(Object)}, and sent
+ * in the next request for the same URI, so unchanged resources are answered with a 304 and no body.
+ * In that case {@link #execute(Map, Map)} returns null.
+ */
 public class HttpFetcherImpl<T> implements HttpFetcher<T> {
 
     public static final String TILL_PARAM = "till";
     private final HttpClient mClient;
     private final URI mTarget;
     private final HttpResponseParser<T> mResponseParser;
+    @Nullable
+    private final GeneralInfoStorage mValidatorsStorage;
+    private final String mResourceId;
+    // Validators of the last response, waiting for the caller to store its data
+    private final AtomicReference<PendingValidators<T>> mPendingValidators;
 
     public HttpFetcherImpl(@NonNull HttpClient client,
                            @NonNull URI target,
                            @NonNull HttpResponseParser<T> responseParser) {
+        this(client, target, responseParser, null);
+    }
+
+    public HttpFetcherImpl(@NonNull HttpClient client,
+                           @NonNull URI target,
+                           @NonNull HttpResponseParser<T> responseParser,
+                           @Nullable GeneralInfoStorage validatorsStorage) {
 
         mClient = checkNotNull(client);
         mTarget = checkNotNull(target);
         mResponseParser = checkNotNull(responseParser);
+        mValidatorsStorage = validatorsStorage;
+        mResourceId = hash(mTarget.toString());
+        mPendingValidators = new AtomicReference<>();
     }
 
     @Override
@@ -52,23 +85,30 @@ public class HttpFetcherImpl<T> implements HttpFetcher<T> {
             }
             URI builtUri = uriBuilder.build();
 
-            HttpResponse response = mClient.request(builtUri, HttpMethod.GET, null, headers).execute();
-            if (builtUri != null && response != null) {
-                Logger.v("Received from: " + builtUri + " -> " + response.getData());
+            String uriHash = hash(builtUri.toString());
+            HttpValidators validators = getValidators(uriHash);
+            HttpRequest request = mClient.request(builtUri, HttpMethod.GET, null, addValidators(headers, validators));
+            BaseHttpResponse response;
+            if (mResponseParser instanceof StreamingHttpResponseParser) {
+                ParsedHttpResponse<T> parsedResponse = executeStreaming(request, builtUri, (StreamingHttpResponseParser<T>) mResponseParser);
+                response = parsedResponse;
+                responseData = parsedResponse.getData();
+            } else {
+                HttpResponse httpResponse = executeBuffered(request, builtUri);
+                response = httpResponse;
+                responseData = httpResponse.isSuccess() ? mResponseParser.parse(httpResponse.getData()) : null;
             }
-            if (!response.isSuccess()) {
-                int httpStatus = response.getHttpStatus();
 
-                checkOutdatedProxyError(httpStatus, builtUri, params);
-
-                throw new HttpFetcherException(mTarget.toString(), "http return code " + httpStatus, httpStatus);
+            if (validators != null && response.getHttpStatus() == HttpStatus.NOT_MODIFIED.getCode()) {
+                Logger.v("Resource not modified: " + builtUri);
+                return null;
             }
 
-            responseData = mResponseParser.parse(response.getData());
-
+            checkResponseStatus(response, builtUri, params);
             if (responseData == null) {
                 throw new IllegalStateException("Wrong data received from split changes server");
             }
+            setPendingValidators(responseData, uriHash, validators, response);
         } catch (HttpFetcherException httpFetcherException) {
             throw httpFetcherException;
         } catch (HttpException e) {
@@ -79,6 +119,127 @@ public class HttpFetcherImpl<T> implements HttpFetcher<T> {
         return responseData;
     }
 
+    private HttpResponse executeBuffered(HttpRequest request, URI builtUri) throws HttpException {
+        HttpResponse response = request.execute();
+        if (builtUri != null && response != null && Logger.isLoggable(SplitLogLevel.VERBOSE)) {
+            Logger.v("Received from: " + builtUri + " -> " + response.getData());
+        }
+
+        return response;
+    }
+
+    /**
+     * Parses the response body while it is received, so it is never held in memory as a String.
+     */
+    private ParsedHttpResponse<T> executeStreaming(HttpRequest request, URI builtUri, final StreamingHttpResponseParser<T> parser) throws HttpException {
+        ParsedHttpResponse<T> response = request.execute(new HttpResponseBodyReader<T>() {
+            @Override
+            public T read(@NonNull Reader body) throws IOException {
+                try {
+                    return parser.parseStream(body);
+                } catch (HttpResponseParserException e) {
+                    throw new IOException(e.getLocalizedMessage(), e);
+                }
+            }
+        });
+        if (builtUri != null && response != null && Logger.isLoggable(SplitLogLevel.VERBOSE)) {
+            Logger.v("Received from: " + builtUri + " -> HTTP " + response.getHttpStatus());
+        }
+
+        return response;
+    }
+
+    @Nullable
+    private HttpValidators getValidators(String uriHash) {
+        if (mValidatorsStorage == null) {
+            return null;
+        }
+
+        try {
+            String storedValidators = mValidatorsStorage.getHttpValidators(mResourceId);
+            if (storedValidators == null) {
+                return null;
+            }
+
+            HttpValidators validators = Json.fromJson(storedValidators, HttpValidators.class);
+            if (validators == null || validators.isEmpty() || !uriHash.equals(validators.getUriHash())) {
+                return null;
+            }
+
+            return validators;
+        } catch (Exception e) {
+            Logger.w("Error reading HTTP validators: " + e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public void commitValidators(@NonNull T response) {
+        PendingValidators<T> pending = mPendingValidators.get();
+        // Validators of a newer response replace the ones of older responses
+        if (mValidatorsStorage == null || pending == null || pending.mResponse != response ||
+                !mPendingValidators.compareAndSet(pending, null)) {
+            return;
+        }
+
+        try {
+            if (pending.mValidators.isEmpty()) {
+                if (pending.mPreviousValidators != null) {
+                    mValidatorsStorage.setHttpValidators(mResourceId, null);
+                }
+                return;
+            }
+
+            if (!pending.mValidators.isSameAs(pending.mPreviousValidators)) {
+                mValidatorsStorage.setHttpValidators(mResourceId, Json.toJson(pending.mValidators));
+            }
+        } catch (Exception e) {
+            Logger.w("Error storing HTTP validators: " + e.getLocalizedMessage());
+        }
+    }
+
+    private void setPendingValidators(T responseData, String uriHash, @Nullable HttpValidators previousValidators, BaseHttpResponse response) {
+        if (mValidatorsStorage == null) {
+            return;
+        }
+
+        HttpValidators validators = new HttpValidators(uriHash,
+                response.getHeader(HttpValidators.ETAG_HEADER),
+                response.getHeader(HttpValidators.LAST_MODIFIED_HEADER));
+        mPendingValidators.set(new PendingValidators<>(responseData, validators, previousValidators));
+    }
+
+    @Nullable
+    private static Map<String, String> addValidators(@Nullable Map<String, String> headers, @Nullable HttpValidators validators) {
+        if (validators == null) {
+            return headers;
+        }
+
+        Map<String, String> conditionalHeaders = (headers != null) ? new HashMap<>(headers) : new HashMap<>();
+        if (validators.getETag() != null) {
+            conditionalHeaders.put(HttpValidators.IF_NONE_MATCH_HEADER, validators.getETag());
+        }
+        if (validators.getLastModified() != null) {
+            conditionalHeaders.put(HttpValidators.IF_MODIFIED_SINCE_HEADER, validators.getLastModified());
+        }
+
+        return conditionalHeaders;
+    }
+
+    private static String hash(String value) {
+        return Long.toHexString(MurmurHash3.murmurhash3_x86_32(value, 0, value.length(), 0));
+    }
+
+    private void checkResponseStatus(BaseHttpResponse response, URI builtUri, Map<String, Object> params) throws HttpFetcherException {
+        if (!response.isSuccess()) {
+            int httpStatus = response.getHttpStatus();
+
+            checkOutdatedProxyError(httpStatus, builtUri, params);
+
+            throw new HttpFetcherException(mTarget.toString(), "http return code " + httpStatus, httpStatus);
+        }
+    }
+
     private void checkOutdatedProxyError(int httpStatus, @Nullable URI builtUri, Map<String, Object> params) throws HttpFetcherException {
         int proxyErrorStatus = HttpStatus.BAD_REQUEST.getCode();
         boolean sdkEndpointOverridden = builtUri != null &&
@@ -90,4 +251,17 @@ public class HttpFetcherImpl<T> implements HttpFetcher<T> {
             throw new HttpFetcherException(mTarget.toString(), "Proxy is outdated", HttpStatus.INTERNAL_PROXY_OUTDATED.getCode());
         }
     }
+
+    private static class PendingValidators<T> {
+        private final T mResponse;
+        private final HttpValidators mValidators;
+        @Nullable
+        private final HttpValidators mPreviousValidators;
+
+        PendingValidators(T response, HttpValidators validators, @Nullable HttpValidators previousValidators) {
+            mResponse = response;
+            mValidators = validators;
+            mPreviousValidators = previousValidators;
+        }
+    }
 }
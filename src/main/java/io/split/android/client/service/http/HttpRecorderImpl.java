@@ -4,11 +4,15 @@ import static io.split.android.client.utils.Utils.checkNotNull;
 
 import androidx.annotation.NonNull;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.net.URI;
 
 import io.split.android.client.network.HttpClient;
 import io.split.android.client.network.HttpException;
 import io.split.android.client.network.HttpMethod;
+import io.split.android.client.network.HttpRequest;
+import io.split.android.client.network.HttpRequestBodyWriter;
 import io.split.android.client.network.HttpResponse;
 
 public class HttpRecorderImpl<T> implements HttpRecorder<T> {
@@ -16,24 +20,36 @@ public class HttpRecorderImpl<T> implements HttpRecorder<T> {
     private final HttpClient mClient;
     private final URI mTarget;
     private final HttpRequestBodySerializer<T> mRequestSerializer;
+    private final boolean mCompressBody;
 
     public HttpRecorderImpl(@NonNull HttpClient client,
                             @NonNull URI target,
                             @NonNull HttpRequestBodySerializer<T> requestSerializer) {
+        this(client, target, requestSerializer, false);
+    }
+
+    /**
+     * @param compressBody whether the body is sent gzip compressed.
+     */
+    public HttpRecorderImpl(@NonNull HttpClient client,
+                            @NonNull URI target,
+                            @NonNull HttpRequestBodySerializer<T> requestSerializer,
+                            boolean compressBody) {
 
         mClient = checkNotNull(client);
         mTarget = checkNotNull(target);
         mRequestSerializer = checkNotNull(requestSerializer);
+        mCompressBody = compressBody;
     }
 
     @Override
     public void execute(@NonNull T data) throws HttpRecorderException {
         checkNotNull(data);
 
-        String serializedData = mRequestSerializer.serialize(data);
+        HttpRequest request = buildRequest(data);
         try {
 
-            HttpResponse response = mClient.request(mTarget, HttpMethod.POST, serializedData).execute();
+            HttpResponse response = request.execute();
             if (!response.isSuccess()) {
                 int httpStatus = response.getHttpStatus();
                 throw new HttpRecorderException(mTarget.toString(), "http return code " + httpStatus, httpStatus);
@@ -46,4 +62,36 @@ public class HttpRecorderImpl<T> implements HttpRecorder<T> {
             throw new HttpRecorderException(mTarget.toString(), e.getLocalizedMessage());
         }
     }
+
+    /**
+     * When the serializer is a {@link StreamingHttpRequestBodySerializer}, the body is written
+     * straight into the connection instead of being built as a string first.
+     */
+    private HttpRequest buildRequest(@NonNull final T data) {
+        boolean isStreamingSerializer = mRequestSerializer instanceof StreamingHttpRequestBodySerializer;
+        if (!isStreamingSerializer && !mCompressBody) {
+            return mClient.request(mTarget, HttpMethod.POST, mRequestSerializer.serialize(data));
+        }
+
+        HttpRequestBodyWriter bodyWriter;
+        if (isStreamingSerializer) {
+            final StreamingHttpRequestBodySerializer<T> serializer = (StreamingHttpRequestBodySerializer<T>) mRequestSerializer;
+            bodyWriter = new HttpRequestBodyWriter() {
+                @Override
+                public void write(@NonNull Writer writer) throws IOException {
+                    serializer.serialize(data, writer);
+                }
+            };
+        } else {
+            final String serializedData = mRequestSerializer.serialize(data);
+            bodyWriter = new HttpRequestBodyWriter() {
+                @Override
+                public void write(@NonNull Writer writer) throws IOException {
+                    writer.write(serializedData);
+                }
+            };
+        }
+
+        return mClient.request(mTarget, HttpMethod.POST, bodyWriter, mCompressBody);
+    }
 }
@@ -16,6 +16,7 @@ import io.split.android.client.network.HttpResponse;
 import io.split.android.client.network.URIBuilder;
 import io.split.android.client.service.sseclient.SseAuthenticationResponse;
 import io.split.android.client.utils.logger.Logger;
+import io.split.android.client.utils.logger.SplitLogLevel;
 
 public class HttpSseAuthTokenFetcher implements HttpFetcher<SseAuthenticationResponse> {
 
@@ -41,7 +42,7 @@ public class HttpSseAuthTokenFetcher implements HttpFetcher<SseAuthenticationRes
         try {
             URI build = getUri(params, mTarget);
             HttpResponse response = mClient.request(build, HttpMethod.GET).execute();
-            if (build != null && response != null) {
+            if (build != null && response != null && Logger.isLoggable(SplitLogLevel.VERBOSE)) {
                 Logger.v("Received from: " + build.toString() + " -> " + response.getData());
             }
             if (!response.isSuccess()) {
@@ -64,6 +65,11 @@ public class HttpSseAuthTokenFetcher implements HttpFetcher<SseAuthenticationRes
         return responseData;
     }
 
+    @Override
+    public void commitValidators(@NonNull SseAuthenticationResponse response) {
+        // Authentication requests are never conditional
+    }
+
     private static URI getUri(Map<String, Object> params, URI target) throws URISyntaxException {
         URIBuilder uriBuilder = new URIBuilder(target);
 
@@ -4,6 +4,7 @@ import androidx.annotation.Nullable;
 
 public enum HttpStatus {
 
+    NOT_MODIFIED(304, "Not modified"),
     URI_TOO_LONG(414, "URI Too Long"),
     FORBIDDEN(403, "Forbidden"),
     BAD_REQUEST(400, "Bad request"),
@@ -0,0 +1,62 @@
+package io.split.android.client.service.http;
+
+import androidx.annotation.Nullable;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Objects;
+
+/**
+ * Validators of the last successful response of a resource, to be sent back
+ * in conditional requests.
+ */
+class HttpValidators {
+
+    static final String ETAG_HEADER = "ETag";
+    static final String LAST_MODIFIED_HEADER = "Last-Modified";
+    static final String IF_NONE_MATCH_HEADER = "If-None-Match";
+    static final String IF_MODIFIED_SINCE_HEADER = "If-Modified-Since";
+
+    // Hash of the requested URI, since the validators are only valid for the same query
+    @SerializedName("u")
+    private String mUriHash;
+
+    @Nullable
+    @SerializedName("e")
+    private String mETag;
+
+    @Nullable
+    @SerializedName("m")
+    private String mLastModified;
+
+    HttpValidators(String uriHash, @Nullable String eTag, @Nullable String lastModified) {
+        mUriHash = uriHash;
+        mETag = eTag;
+        mLastModified = lastModified;
+    }
+
+    String getUriHash() {
+        return mUriHash;
+    }
+
+    @Nullable
+    String getETag() {
+        return mETag;
+    }
+
+    @Nullable
+    String getLastModified() {
+        return mLastModified;
+    }
+
+    boolean isEmpty() {
+        return mETag == null && mLastModified == null;
+    }
+
+    boolean isSameAs(@Nullable HttpValidators other) {
+        return other != null &&
+                Objects.equals(mUriHash, other.mUriHash) &&
+                Objects.equals(mETag, other.mETag) &&
+                Objects.equals(mLastModified, other.mLastModified);
+    }
+}
@@ -0,0 +1,14 @@
+package io.split.android.client.service.http;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * {@link HttpRequestBodySerializer} that can also write the request body while it is being sent.
+ */
+public interface StreamingHttpRequestBodySerializer<T> extends HttpRequestBodySerializer<T> {
+
+    void serialize(@NonNull T data, @NonNull Writer writer) throws IOException;
+}
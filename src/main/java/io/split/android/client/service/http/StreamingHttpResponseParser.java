@@ -0,0 +1,11 @@
+package io.split.android.client.service.http;
+
+import java.io.Reader;
+
+/**
+ * {@link HttpResponseParser} that can also parse the response body while it is being received.
+ */
+public interface StreamingHttpResponseParser<T> extends HttpResponseParser<T> {
+
+    T parseStream(Reader responseData) throws HttpResponseParserException;
+}
@@ -3,6 +3,7 @@ package io.split.android.client.service.http.mysegments;
 import static io.split.android.client.utils.Utils.checkNotNull;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -13,6 +14,7 @@ import io.split.android.client.network.HttpClient;
 import io.split.android.client.service.http.HttpFetcher;
 import io.split.android.client.service.http.HttpFetcherImpl;
 import io.split.android.client.service.http.HttpResponseParser;
+import io.split.android.client.storage.general.GeneralInfoStorage;
 import io.split.android.client.utils.logger.Logger;
 
 public class MySegmentsFetcherFactoryImpl implements MySegmentsFetcherFactory {
@@ -21,20 +23,31 @@ public class MySegmentsFetcherFactoryImpl implements MySegmentsFetcherFactory {
     private final HttpClient mHttpClient;
     private final HttpResponseParser<AllSegmentsChange> mMySegmentsResponseParser;
     private final UriBuilder mUriBuilder;
+    @Nullable
+    private final GeneralInfoStorage mValidatorsStorage;
 
     public MySegmentsFetcherFactoryImpl(@NonNull HttpClient httpClient,
                                         @NonNull String endpoint,
                                         @NonNull HttpResponseParser<AllSegmentsChange> responseParser,
                                         @NonNull UriBuilder uriBuilder) {
+        this(httpClient, endpoint, responseParser, uriBuilder, null);
+    }
+
+    public MySegmentsFetcherFactoryImpl(@NonNull HttpClient httpClient,
+                                        @NonNull String endpoint,
+                                        @NonNull HttpResponseParser<AllSegmentsChange> responseParser,
+                                        @NonNull UriBuilder uriBuilder,
+                                        @Nullable GeneralInfoStorage validatorsStorage) {
         mHttpClient = checkNotNull(httpClient);
         mEndpoint = checkNotNull(endpoint);
         mMySegmentsResponseParser = checkNotNull(responseParser);
         mUriBuilder = uriBuilder;
+        mValidatorsStorage = validatorsStorage;
     }
 
     @Override
     public HttpFetcher<AllSegmentsChange> getFetcher(String matchingKey) {
-        return new HttpFetcherImpl<>(mHttpClient, buildTargetUrl(matchingKey), mMySegmentsResponseParser);
+        return new HttpFetcherImpl<>(mHttpClient, buildTargetUrl(matchingKey), mMySegmentsResponseParser, mValidatorsStorage);
     }
 
     private URI buildTargetUrl(String matchingKey) {
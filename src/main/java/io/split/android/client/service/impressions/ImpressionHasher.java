@@ -7,13 +7,20 @@ public class ImpressionHasher {
 
     private static final String UNKNOWN = "UNKNOWN";
     private static final int SEED = 0;
-    private static final int OFFSET = 0;
+    private static final char SEPARATOR = ':';
+
+    private static final ThreadLocal<MurmurHash3.IncrementalX86_32> HASHER = new ThreadLocal<MurmurHash3.IncrementalX86_32>() {
+        @Override
+        protected MurmurHash3.IncrementalX86_32 initialValue() {
+            return new MurmurHash3.IncrementalX86_32();
+        }
+    };
 
     private static String unknownIfNull(String s) {
         return (s == null) ? UNKNOWN : s;
     }
 
-    private static Long zeroIfNull(Long l) {
+    private static long zeroIfNull(Long l) {
         return (l == null) ? 0 : l;
     }
 
@@ -21,12 +28,21 @@ public class ImpressionHasher {
         if (null == impression) {
             return null;
         }
-        String data = unknownIfNull(impression.key()) + ":" +
-                unknownIfNull(impression.split()) + ":" +
-                unknownIfNull(impression.treatment()) + ":" +
-                unknownIfNull(impression.appliedRule()) + ":" +
-                zeroIfNull(impression.changeNumber());
 
-        return MurmurHash3.murmurhash3_x86_32(data, OFFSET, data.length(), SEED);
+        return hash(impression);
+    }
+
+    /**
+     * Same as {@link #process(Impression)}, feeding the fields to the hash function
+     * instead of concatenating them first.
+     */
+    public static long hash(Impression impression) {
+        return HASHER.get().reset(SEED)
+                .append(unknownIfNull(impression.key())).append(SEPARATOR)
+                .append(unknownIfNull(impression.split())).append(SEPARATOR)
+                .append(unknownIfNull(impression.treatment())).append(SEPARATOR)
+                .append(unknownIfNull(impression.appliedRule())).append(SEPARATOR)
+                .append(zeroIfNull(impression.changeNumber()))
+                .hash();
     }
 }
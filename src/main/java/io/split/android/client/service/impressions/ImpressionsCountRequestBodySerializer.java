@@ -2,12 +2,18 @@ package io.split.android.client.service.impressions;
 
 import androidx.annotation.NonNull;
 
-import io.split.android.client.service.http.HttpRequestBodySerializer;
+import java.io.Writer;
+
+import io.split.android.client.service.http.StreamingHttpRequestBodySerializer;
 import io.split.android.client.utils.Json;
 
-public class ImpressionsCountRequestBodySerializer implements HttpRequestBodySerializer<ImpressionsCount> {
+public class ImpressionsCountRequestBodySerializer implements StreamingHttpRequestBodySerializer<ImpressionsCount> {
 
     public String serialize(@NonNull ImpressionsCount data) {
         return Json.toJson(data);
     }
+
+    public void serialize(@NonNull ImpressionsCount data, @NonNull Writer writer) {
+        Json.toJson(data, writer);
+    }
 }
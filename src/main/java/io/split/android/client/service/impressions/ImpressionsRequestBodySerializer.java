@@ -2,6 +2,10 @@ package io.split.android.client.service.impressions;
 
 import androidx.annotation.NonNull;
 
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -9,29 +13,48 @@ import java.util.Map;
 
 import io.split.android.client.dtos.KeyImpression;
 import io.split.android.client.dtos.TestImpressions;
-import io.split.android.client.service.http.HttpRequestBodySerializer;
+import io.split.android.client.service.http.StreamingHttpRequestBodySerializer;
 import io.split.android.client.utils.Json;
 
-public class ImpressionsRequestBodySerializer implements HttpRequestBodySerializer<List<KeyImpression>> {
+public class ImpressionsRequestBodySerializer implements StreamingHttpRequestBodySerializer<List<KeyImpression>> {
+
+    private static final String FIELD_TEST_NAME = "f";
+    private static final String FIELD_KEY_IMPRESSIONS = "i";
 
     public String serialize(@NonNull List<KeyImpression> data) {
         return Json.toJson(groupImpressions(data));
     }
 
-    private List<TestImpressions> groupImpressions(List<KeyImpression> impressions) {
-
-        Map<String, List<KeyImpression>> groupingImpressions = new HashMap<>();
-        for(KeyImpression impression : impressions) {
-            List<KeyImpression> featureImpressions = groupingImpressions.get(impression.feature);
-            if(featureImpressions == null) {
-                featureImpressions = new ArrayList<>();
+    /**
+     * Writes the impressions one by one. Impressions popped from the persistent storage
+     * are written using the JSON they were stored with.
+     */
+    public void serialize(@NonNull List<KeyImpression> data, @NonNull Writer writer) throws IOException {
+        JsonWriter jsonWriter = Json.newJsonWriter(writer);
+        jsonWriter.beginArray();
+        for (Map.Entry<String, List<KeyImpression>> entry : groupByFeature(data).entrySet()) {
+            jsonWriter.beginObject();
+            jsonWriter.name(FIELD_TEST_NAME).value(entry.getKey());
+            jsonWriter.name(FIELD_KEY_IMPRESSIONS);
+            jsonWriter.beginArray();
+            for (KeyImpression impression : entry.getValue()) {
+                if (impression.storedJson != null) {
+                    jsonWriter.jsonValue(impression.storedJson);
+                } else {
+                    Json.toJson(impression, KeyImpression.class, jsonWriter);
+                }
             }
-            featureImpressions.add(impression);
-            groupingImpressions.put(impression.feature, featureImpressions);
+            jsonWriter.endArray();
+            jsonWriter.endObject();
         }
+        jsonWriter.endArray();
+        jsonWriter.flush();
+    }
+
+    private List<TestImpressions> groupImpressions(List<KeyImpression> impressions) {
 
         List<TestImpressions> groupedImpressions = new ArrayList<>();
-        for(Map.Entry<String, List<KeyImpression>> entry : groupingImpressions.entrySet()) {
+        for(Map.Entry<String, List<KeyImpression>> entry : groupByFeature(impressions).entrySet()) {
             TestImpressions testImpressions = new TestImpressions();
             testImpressions.testName = entry.getKey();
             testImpressions.keyImpressions = entry.getValue();
@@ -41,4 +64,18 @@ public class ImpressionsRequestBodySerializer implements HttpRequestBodySerializ
         return groupedImpressions;
 
     }
+
+    private static Map<String, List<KeyImpression>> groupByFeature(List<KeyImpression> impressions) {
+        Map<String, List<KeyImpression>> groupingImpressions = new HashMap<>();
+        for(KeyImpression impression : impressions) {
+            List<KeyImpression> featureImpressions = groupingImpressions.get(impression.feature);
+            if(featureImpressions == null) {
+                featureImpressions = new ArrayList<>();
+            }
+            featureImpressions.add(impression);
+            groupingImpressions.put(impression.feature, featureImpressions);
+        }
+
+        return groupingImpressions;
+    }
 }
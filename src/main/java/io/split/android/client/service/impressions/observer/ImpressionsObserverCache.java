@@ -1,11 +1,13 @@
 package io.split.android.client.service.impressions.observer;
 
-import androidx.annotation.Nullable;
-
 interface ImpressionsObserverCache {
 
-    @Nullable
-    Long get(long hash);
+    long NO_VALUE = LongLongClockCache.NO_VALUE;
+
+    /**
+     * @return the time stored for the hash, or {@link #NO_VALUE} if there is none
+     */
+    long get(long hash);
 
     void put(long hash, long time);
 
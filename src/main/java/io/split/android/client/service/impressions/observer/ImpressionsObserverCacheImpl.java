@@ -3,7 +3,6 @@ package io.split.android.client.service.impressions.observer;
 import static io.split.android.client.utils.Utils.checkNotNull;
 
 import androidx.annotation.NonNull;
-import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 
 import java.util.concurrent.locks.ReadWriteLock;
@@ -14,30 +13,29 @@ import io.split.android.client.utils.logger.Logger;
 class ImpressionsObserverCacheImpl implements ImpressionsObserverCache {
 
     private final PersistentImpressionsObserverCacheStorage mPersistentStorage;
-    private final ListenableLruCache<Long, Long> mCache;
+    private final LongLongClockCache mCache;
     private final ReadWriteLock mLock;
 
     ImpressionsObserverCacheImpl(@NonNull PersistentImpressionsObserverCacheStorage persistentStorage,
                                  int cacheSize) {
-        this(persistentStorage, new ListenableLruCache<>(cacheSize, persistentStorage));
+        this(persistentStorage, new LongLongClockCache(cacheSize, persistentStorage));
     }
 
     @VisibleForTesting
     ImpressionsObserverCacheImpl(@NonNull PersistentImpressionsObserverCacheStorage persistentStorage,
-                                 @NonNull ListenableLruCache<Long, Long> cache) {
+                                 @NonNull LongLongClockCache cache) {
         mPersistentStorage = checkNotNull(persistentStorage);
         mCache = checkNotNull(cache);
         mLock = new ReentrantReadWriteLock();
     }
 
-    @Nullable
     @Override
-    public Long get(long hash) {
+    public long get(long hash) {
         // check in cache
         mLock.readLock().lock();
         try {
-            Long cachedValue = getFromCache(hash);
-            if (cachedValue != null) {
+            long cachedValue = getFromCache(hash);
+            if (cachedValue != NO_VALUE) {
                 return cachedValue;
             }
         } finally {
@@ -48,13 +46,13 @@ class ImpressionsObserverCacheImpl implements ImpressionsObserverCache {
         mLock.writeLock().lock();
         try {
             // check in case another thread has already inserted the value
-            Long cachedValue = getFromCache(hash);
-            if (cachedValue != null) {
+            long cachedValue = getFromCache(hash);
+            if (cachedValue != NO_VALUE) {
                 return cachedValue;
             }
 
-            Long persistedValue = getFromPersistentStorage(hash);
-            if (persistedValue != null) {
+            long persistedValue = getFromPersistentStorage(hash);
+            if (persistedValue != NO_VALUE) {
                 putInCache(hash, persistedValue);
 
                 return persistedValue;
@@ -63,7 +61,7 @@ class ImpressionsObserverCacheImpl implements ImpressionsObserverCache {
             mLock.writeLock().unlock();
         }
 
-        return null;
+        return NO_VALUE;
     }
 
     @Override
@@ -82,27 +80,22 @@ class ImpressionsObserverCacheImpl implements ImpressionsObserverCache {
         mPersistentStorage.persist();
     }
 
-    @Nullable
-    private Long getFromCache(long hash) {
+    private long getFromCache(long hash) {
         try {
-            Long cachedValue = mCache.get(hash);
-            if (cachedValue != null) {
-                return cachedValue;
-            }
+            return mCache.get(hash);
         } catch (Exception e) {
             logWarning("Error while getting value from cache", e);
         }
-        return null;
+        return NO_VALUE;
     }
 
-    @Nullable
-    private Long getFromPersistentStorage(long hash) {
+    private long getFromPersistentStorage(long hash) {
         try {
             return mPersistentStorage.get(hash);
         } catch (Exception e) {
             logWarning("Error while getting value from persistent storage", e);
         }
-        return null;
+        return NO_VALUE;
     }
 
     private void putInCache(long hash, long time) {
@@ -28,12 +28,15 @@ public class ImpressionsObserverImpl implements ImpressionsObserver {
             return null;
         }
 
-        Long hash = ImpressionHasher.process(impression);
-        @Nullable
-        Long previous = mCache.get(hash);
-        mCache.put(hash, impression.time());
+        long hash = ImpressionHasher.hash(impression);
+        long previous = mCache.get(hash);
+        long time = impression.time();
+        mCache.put(hash, time);
 
-        return (previous == null ? null : Math.min(previous, impression.time()));
+        if (previous == ImpressionsObserverCache.NO_VALUE) {
+            return null;
+        }
+        return Math.min(previous, time);
     }
 
     @Override
@@ -0,0 +1,147 @@
+package io.split.android.client.service.impressions.observer;
+
+import androidx.annotation.Nullable;
+
+import io.split.android.client.utils.MurmurHash3;
+
+/**
+ * Bounded cache of primitive long keys and values, with CLOCK eviction.
+ * <p>
+ * Entries live in fixed arrays and are found through an open addressing index with
+ * linear probing, so gets and puts don't allocate. When the cache is full, the clock hand
+ * goes over the entries in insertion order, giving a second chance to the ones read or
+ * updated since it last passed, which approximates LRU.
+ * <p>
+ * Not thread safe. Concurrent gets are allowed as long as there are no concurrent puts.
+ */
+class LongLongClockCache {
+
+    static final long NO_VALUE = Long.MIN_VALUE;
+
+    private final int mMaxSize;
+    private final long[] mKeys;
+    private final long[] mValues;
+    private final boolean[] mReferenced;
+    // Entry position + 1 for each slot; 0 means empty
+    private final int[] mIndex;
+    private final int mMask;
+    @Nullable
+    private final RemovalListener mRemovalListener;
+    private int mSize;
+    private int mHand;
+
+    LongLongClockCache(int maxSize, @Nullable RemovalListener removalListener) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize <= 0");
+        }
+        mMaxSize = maxSize;
+        mKeys = new long[maxSize];
+        mValues = new long[maxSize];
+        mReferenced = new boolean[maxSize];
+        int indexSize = Integer.highestOneBit(maxSize) << 2;
+        mIndex = new int[indexSize];
+        mMask = indexSize - 1;
+        mRemovalListener = removalListener;
+    }
+
+    /**
+     * @return the value for the key, or {@link #NO_VALUE} if it is not cached
+     */
+    long get(long key) {
+        int entry = mIndex[findSlot(key)] - 1;
+        if (entry < 0) {
+            return NO_VALUE;
+        }
+        mReferenced[entry] = true;
+
+        return mValues[entry];
+    }
+
+    void put(long key, long value) {
+        int slot = findSlot(key);
+        int entry = mIndex[slot] - 1;
+        if (entry >= 0) {
+            mValues[entry] = value;
+            mReferenced[entry] = true;
+            return;
+        }
+
+        if (mSize < mMaxSize) {
+            entry = mSize++;
+        } else {
+            entry = evict();
+            // the eviction may have moved entries in the index
+            slot = findSlot(key);
+        }
+        mKeys[entry] = key;
+        mValues[entry] = value;
+        mReferenced[entry] = false;
+        mIndex[slot] = entry + 1;
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    private int evict() {
+        while (mReferenced[mHand]) {
+            mReferenced[mHand] = false;
+            mHand = (mHand + 1) % mMaxSize;
+        }
+        int entry = mHand;
+        mHand = (mHand + 1) % mMaxSize;
+
+        long evictedKey = mKeys[entry];
+        removeFromIndex(findSlot(evictedKey));
+        if (mRemovalListener != null) {
+            mRemovalListener.onRemoval(evictedKey);
+        }
+
+        return entry;
+    }
+
+    private int findSlot(long key) {
+        int slot = slotFor(key);
+        int entry;
+        while ((entry = mIndex[slot]) != 0 && mKeys[entry - 1] != key) {
+            slot = (slot + 1) & mMask;
+        }
+        return slot;
+    }
+
+    private void removeFromIndex(int slot) {
+        // Shift back the following entries of the probe sequence, so no tombstones are needed
+        int gap = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mMask;
+            int entry = mIndex[current];
+            if (entry == 0) {
+                break;
+            }
+            int ideal = slotFor(mKeys[entry - 1]);
+            if (((current - ideal) & mMask) >= ((current - gap) & mMask)) {
+                mIndex[gap] = entry;
+                gap = current;
+            }
+        }
+        mIndex[gap] = 0;
+    }
+
+    private int slotFor(long key) {
+        return (int) MurmurHash3.fmix64(key) & mMask;
+    }
+
+    /**
+     * Listener to be notified when an entry is evicted from the cache.
+     */
+    interface RemovalListener {
+
+        /**
+         * Called when an entry is evicted from the cache.
+         *
+         * @param key The key of the evicted entry
+         */
+        void onRemoval(long key);
+    }
+}
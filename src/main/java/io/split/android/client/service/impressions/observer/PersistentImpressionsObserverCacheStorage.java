@@ -1,6 +1,6 @@
 package io.split.android.client.service.impressions.observer;
 
-public interface PersistentImpressionsObserverCacheStorage extends ImpressionsObserverCache, ListenableLruCache.RemovalListener<Long> {
+public interface PersistentImpressionsObserverCacheStorage extends ImpressionsObserverCache, LongLongClockCache.RemovalListener {
 
     /**
      * Deletes all entries older than the given timestamp
@@ -3,7 +3,6 @@ package io.split.android.client.service.impressions.observer;
 import static io.split.android.client.utils.Utils.checkNotNull;
 
 import androidx.annotation.NonNull;
-import androidx.annotation.Nullable;
 import androidx.annotation.VisibleForTesting;
 import androidx.annotation.WorkerThread;
 
@@ -59,12 +58,11 @@ public class SqlitePersistentImpressionsObserverCacheStorage implements Persiste
     }
 
     @Override
-    @Nullable
     @WorkerThread
-    public Long get(long hash) {
+    public long get(long hash) {
         ImpressionsObserverCacheEntity entity = mImpressionsObserverCacheDao.get(hash);
         if (entity == null) {
-            return null;
+            return NO_VALUE;
         }
 
         return entity.getTime();
@@ -78,7 +76,7 @@ public class SqlitePersistentImpressionsObserverCacheStorage implements Persiste
     }
 
     @Override
-    public void onRemoval(Long key) {
+    public void onRemoval(long key) {
         mCache.remove(key);
         mImpressionsObserverCacheDao.delete(key);
     }
@@ -2,13 +2,20 @@ package io.split.android.client.service.impressions.unique;
 
 import androidx.annotation.NonNull;
 
-import io.split.android.client.service.http.HttpRequestBodySerializer;
+import java.io.Writer;
+
+import io.split.android.client.service.http.StreamingHttpRequestBodySerializer;
 import io.split.android.client.utils.Json;
 
-public class MTKRequestBodySerializer implements HttpRequestBodySerializer<MTK> {
+public class MTKRequestBodySerializer implements StreamingHttpRequestBodySerializer<MTK> {
 
     @Override
     public String serialize(@NonNull MTK data) {
         return Json.toJson(data);
     }
+
+    @Override
+    public void serialize(@NonNull MTK data, @NonNull Writer writer) {
+        Json.toJson(data, writer);
+    }
 }
@@ -1,20 +1,47 @@
 package io.split.android.client.service.impressions.unique;
 
+import androidx.annotation.VisibleForTesting;
+
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import io.split.android.client.service.ServiceConstants;
 
+/**
+ * Keys are spread across independently locked stripes, so tracking keys that land in
+ * different stripes doesn't contend, and popping only holds one stripe lock at a time.
+ * <p>
+ * Besides the amount of keys, the tracker is considered full once the estimated memory
+ * taken by the tracked keys and feature flag names reaches a limit.
+ */
 public class UniqueKeysTrackerImpl implements UniqueKeysTracker {
 
-    private final Map<String, Set<String>> mCache;
-    private final Object mLock = new Object();
+    private static final int STRIPES = 16;
+    // Approximate memory taken by a String plus the hash entry that holds it
+    private static final int ENTRY_OVERHEAD_BYTES = 80;
+
+    private final Stripe[] mStripes;
+    private final AtomicInteger mKeyCount = new AtomicInteger();
+    private final AtomicLong mEstimatedBytes = new AtomicLong();
+    private final int mMaxKeys;
+    private final long mMaxBytes;
 
     public UniqueKeysTrackerImpl() {
-        mCache = new ConcurrentHashMap<>();
+        this(ServiceConstants.MAX_UNIQUE_KEYS_IN_MEMORY, ServiceConstants.MAX_UNIQUE_KEYS_BYTES_IN_MEMORY);
+    }
+
+    @VisibleForTesting
+    UniqueKeysTrackerImpl(int maxKeys, long maxBytes) {
+        mMaxKeys = maxKeys;
+        mMaxBytes = maxBytes;
+        mStripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; i++) {
+            mStripes[i] = new Stripe();
+        }
     }
 
     @Override
@@ -23,12 +50,21 @@ public class UniqueKeysTrackerImpl implements UniqueKeysTracker {
             return false;
         }
 
-        synchronized (mLock) {
-            if (!mCache.containsKey(key)) {
-                mCache.put(key, new HashSet<>());
+        Stripe stripe = mStripes[stripeIndex(key)];
+        synchronized (stripe) {
+            Set<String> features = stripe.keys.get(key);
+            if (features == null) {
+                features = new HashSet<>();
+                stripe.keys.put(key, features);
+                stripe.bytes += estimatedSize(key);
+                mEstimatedBytes.addAndGet(estimatedSize(key));
+                mKeyCount.incrementAndGet();
             }
 
-            mCache.get(key).add(featureName);
+            if (features.add(featureName)) {
+                stripe.bytes += estimatedSize(featureName);
+                mEstimatedBytes.addAndGet(estimatedSize(featureName));
+            }
 
             return true;
         }
@@ -36,16 +72,41 @@ public class UniqueKeysTrackerImpl implements UniqueKeysTracker {
 
     @Override
     public Map<String, Set<String>> popAll() {
-        synchronized (mLock) {
-            Map<String, Set<String>> result = new HashMap<>(mCache);
-            mCache.clear();
-
-            return result;
+        Map<String, Set<String>> result = new HashMap<>();
+        for (Stripe stripe : mStripes) {
+            Map<String, Set<String>> keys;
+            synchronized (stripe) {
+                if (stripe.keys.isEmpty()) {
+                    continue;
+                }
+                keys = stripe.keys;
+                stripe.keys = new HashMap<>();
+                mKeyCount.addAndGet(-keys.size());
+                mEstimatedBytes.addAndGet(-stripe.bytes);
+                stripe.bytes = 0;
+            }
+            result.putAll(keys);
         }
+
+        return result;
     }
 
     @Override
     public boolean isFull() {
-        return mCache.size() >= ServiceConstants.MAX_UNIQUE_KEYS_IN_MEMORY;
+        return mKeyCount.get() >= mMaxKeys || mEstimatedBytes.get() >= mMaxBytes;
+    }
+
+    private static int stripeIndex(String key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+
+    private static long estimatedSize(String value) {
+        return ENTRY_OVERHEAD_BYTES + 2L * value.length();
+    }
+
+    private static final class Stripe {
+        Map<String, Set<String>> keys = new HashMap<>();
+        long bytes;
     }
 }
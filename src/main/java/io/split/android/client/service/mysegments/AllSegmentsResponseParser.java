@@ -1,13 +1,16 @@
 package io.split.android.client.service.mysegments;
 
 import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+
+import java.io.Reader;
 
 import io.split.android.client.dtos.AllSegmentsChange;
-import io.split.android.client.service.http.HttpResponseParser;
 import io.split.android.client.service.http.HttpResponseParserException;
+import io.split.android.client.service.http.StreamingHttpResponseParser;
 import io.split.android.client.utils.Json;
 
-public class AllSegmentsResponseParser implements HttpResponseParser<AllSegmentsChange> {
+public class AllSegmentsResponseParser implements StreamingHttpResponseParser<AllSegmentsChange> {
 
     @Override
     public AllSegmentsChange parse(String responseData) throws HttpResponseParserException {
@@ -19,4 +22,15 @@ public class AllSegmentsResponseParser implements HttpResponseParser<AllSegments
             throw new HttpResponseParserException("Unknown error parsing my large segments http response: " + e.getLocalizedMessage());
         }
     }
+
+    @Override
+    public AllSegmentsChange parseStream(Reader responseData) throws HttpResponseParserException {
+        try (JsonReader reader = new JsonReader(responseData)) {
+            return Json.fromJson(reader, AllSegmentsChange.class);
+        } catch (JsonSyntaxException e) {
+            throw new HttpResponseParserException("Syntax error parsing my large segments http response: " + e.getLocalizedMessage());
+        } catch (Exception e) {
+            throw new HttpResponseParserException("Unknown error parsing my large segments http response: " + e.getLocalizedMessage());
+        }
+    }
 }
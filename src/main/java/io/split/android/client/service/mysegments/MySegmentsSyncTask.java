@@ -182,11 +182,13 @@ public class MySegmentsSyncTask implements SplitTask {
         mBackoffCounter.resetCounter();
         while (remainingRetries > 0) {
             AllSegmentsChange response = mMySegmentsFetcher.execute(getParams(false), getHeaders());
-            if (response == null) {
-                throw new HttpFetcherException("", "Response is null");
+            if (response == null && storageMatchesTargets()) {
+                notifyNotModified();
+                return;
             }
 
-            if (isStaleResponse(response)) {
+            // A not modified response is stale when the targets haven't been reached
+            if (response == null || isStaleResponse(response)) {
                 Logger.d("Retrying memberships fetch due to change number mismatch");
                 long waitMillis = TimeUnit.SECONDS.toMillis(mBackoffCounter.getNextRetryTime());
                 Thread.sleep(waitMillis);
@@ -199,12 +201,30 @@ public class MySegmentsSyncTask implements SplitTask {
 
         AllSegmentsChange response = mMySegmentsFetcher.execute(getParams(true), getHeaders());
         if (response == null) {
-            throw new HttpFetcherException("", "Response is null");
+            notifyNotModified();
+            return;
         }
 
         updateStorage(response);
     }
 
+    private boolean storageMatchesTargets() {
+        return isTargetReached(mTargetSegmentsChangeNumber, mMySegmentsStorage.getChangeNumber()) &&
+                isTargetReached(mTargetLargeSegmentsChangeNumber, mMyLargeSegmentsStorage.getChangeNumber());
+    }
+
+    private static boolean isTargetReached(@Nullable Long targetChangeNumber, long storageChangeNumber) {
+        long target = Utils.getOrDefault(targetChangeNumber, -1L);
+        return target == -1 || target <= storageChangeNumber;
+    }
+
+    private void notifyNotModified() {
+        Logger.v("Memberships not modified");
+        if (mEventsManager != null) {
+            mEventsManager.notifyInternalEvent(mFetchedEvent);
+        }
+    }
+
     private Map<String, Object> getParams(boolean addTill) {
         Map<String, Object> params = new HashMap<>();
         if (addTill) {
@@ -234,6 +254,8 @@ public class MySegmentsSyncTask implements SplitTask {
     private void updateStorage(AllSegmentsChange response) {
         UpdateSegmentsResult segmentsResult = updateSegments(response.getSegmentsChange(), mMySegmentsStorage);
         UpdateSegmentsResult largeSegmentsResult = updateSegments(response.getLargeSegmentsChange(), mMyLargeSegmentsStorage);
+        // Memberships are persisted by now, so the next request can be conditional
+        mMySegmentsFetcher.commitValidators(response);
         fireMySegmentsUpdatedIfNeeded(segmentsResult, largeSegmentsResult);
     }
 
@@ -4,6 +4,7 @@ import static io.split.android.client.utils.Utils.checkNotNull;
 
 import androidx.annotation.NonNull;
 
+import java.util.HashSet;
 import java.util.Set;
 
 import io.split.android.client.dtos.SegmentsChange;
@@ -58,7 +59,7 @@ public class MySegmentsUpdateTask implements SplitTask {
 
     private SplitTaskExecutionInfo add() {
         try {
-            Set<String> segments = mMySegmentsStorage.getAll();
+            Set<String> segments = new HashSet<>(mMySegmentsStorage.getAll());
             boolean updateAndNotify = false;
             for (String segment : mSegmentNames) {
                 if (!segments.contains(segment)) {
@@ -81,7 +82,7 @@ public class MySegmentsUpdateTask implements SplitTask {
 
     public SplitTaskExecutionInfo remove() {
         try {
-            Set<String> segments = mMySegmentsStorage.getAll();
+            Set<String> segments = new HashSet<>(mMySegmentsStorage.getAll());
             if (segments.removeAll(mSegmentNames)) {
                 updateAndNotify(segments);
             }
@@ -1,69 +1,184 @@
 package io.split.android.client.service.rules;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonToken;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
 
+import io.split.android.client.dtos.RuleBasedSegmentChange;
+import io.split.android.client.dtos.Split;
 import io.split.android.client.dtos.SplitChange;
 import io.split.android.client.dtos.TargetingRulesChange;
-import io.split.android.client.service.http.HttpResponseParser;
 import io.split.android.client.service.http.HttpResponseParserException;
+import io.split.android.client.service.http.StreamingHttpResponseParser;
 import io.split.android.client.utils.Json;
 
-public class TargetingRulesResponseParser implements HttpResponseParser<TargetingRulesChange> {
+/**
+ * Parses both the current targeting rules response, which has "ff" and "rbs" objects, and the
+ * legacy feature flags response, in a single pass over the response.
+ * <p>
+ * Unless disabled, each feature flag keeps its JSON definition in {@link Split#rawJson}, so it can
+ * be persisted without serializing the parsed flag again.
+ */
+public class TargetingRulesResponseParser implements StreamingHttpResponseParser<TargetingRulesChange> {
+
+    private final boolean mKeepRawJson;
+
+    public TargetingRulesResponseParser() {
+        this(true);
+    }
+
+    /**
+     * @param keepRawJson whether to keep the JSON definition of each feature flag. Not needed
+     *                    when feature flags are stored in binary format.
+     */
+    public TargetingRulesResponseParser(boolean keepRawJson) {
+        mKeepRawJson = keepRawJson;
+    }
 
     @Override
     public TargetingRulesChange parse(String responseData) throws HttpResponseParserException {
-        try {
-            if (responseData == null || responseData.isEmpty()) {
+        if (responseData == null || responseData.isEmpty()) {
+            return null;
+        }
+
+        return parseStream(new StringReader(responseData));
+    }
+
+    @Override
+    public TargetingRulesChange parseStream(Reader responseData) throws HttpResponseParserException {
+        try (JsonReader reader = new JsonReader(responseData)) {
+            reader.setLenient(true);
+            JsonToken firstToken;
+            try {
+                firstToken = reader.peek();
+            } catch (EOFException e) {
+                // Empty response
                 return null;
             }
-
-            if (isNewDto(responseData)) {
-                // New DTO: parse as TargetingRulesChange
-                return Json.fromJson(responseData, TargetingRulesChange.class);
-            } else {
-                // Legacy DTO: parse as SplitChange, wrap as TargetingRulesChange
-                SplitChange splitChange = Json.fromJson(responseData, SplitChange.class);
-                if (splitChange == null) {
-                    return null;
-                }
-                return TargetingRulesChange.create(splitChange);
+            if (firstToken != JsonToken.BEGIN_OBJECT) {
+                throw new HttpResponseParserException("Error parsing splitChanges http response: not a JSON object");
             }
+
+            return read(reader);
+        } catch (HttpResponseParserException e) {
+            throw e;
         } catch (Exception e) {
             throw new HttpResponseParserException("Error parsing splitChanges http response: " + e.getLocalizedMessage());
         }
     }
 
-    private boolean isNewDto(String json) throws Exception {
-        try (JsonReader reader = new JsonReader(new StringReader(json))) {
-            reader.setLenient(true);
-            if (reader.peek() == JsonToken.BEGIN_OBJECT) {
-                reader.beginObject();
-                if (reader.hasNext()) {
-                    String name = reader.nextName();
-                    if (newFieldNameIsPresent(name)) {
-                        return true;
-                    }
-
-                    reader.skipValue();
-                    while (reader.hasNext()) {
-                        name = reader.nextName();
-                        if (newFieldNameIsPresent(name)) {
-                            return true;
-                        }
-                        reader.skipValue();
-                    }
-                }
-            } else {
-                throw new HttpResponseParserException("Error parsing splitChanges http response: not a JSON object");
+    private TargetingRulesChange read(JsonReader reader) throws IOException {
+        boolean isNewDto = false;
+        SplitChange featureFlagsChange = null;
+        RuleBasedSegmentChange ruleBasedSegmentChange = null;
+        SplitChange legacyChange = new SplitChange();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            switch (name) {
+                case TargetingRulesChange.FIELD_FEATURE_FLAGS:
+                    isNewDto = true;
+                    featureFlagsChange = readSplitChange(reader);
+                    break;
+                case TargetingRulesChange.FIELD_RULE_BASED_SEGMENTS:
+                    isNewDto = true;
+                    ruleBasedSegmentChange = Json.fromJson(reader, RuleBasedSegmentChange.class);
+                    break;
+                default:
+                    // Legacy responses have the feature flags change fields at the top level
+                    readSplitChangeField(reader, name, legacyChange);
+            }
+        }
+        reader.endObject();
+
+        if (isNewDto) {
+            return TargetingRulesChange.create(featureFlagsChange, ruleBasedSegmentChange);
+        }
+
+        return TargetingRulesChange.create(legacyChange);
+    }
+
+    private SplitChange readSplitChange(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        SplitChange splitChange = new SplitChange();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            readSplitChangeField(reader, reader.nextName(), splitChange);
+        }
+        reader.endObject();
+
+        return splitChange;
+    }
+
+    /**
+     * Reads the value of a {@link SplitChange} field into the given change, or skips it
+     * if it is not one of its fields.
+     */
+    private void readSplitChangeField(JsonReader reader, String name, SplitChange splitChange) throws IOException {
+        switch (name) {
+            case SplitChange.FIELD_SPLITS:
+            case SplitChange.FIELD_SPLITS_LEGACY:
+                splitChange.splits = readSplits(reader);
+                break;
+            case SplitChange.FIELD_SINCE:
+            case SplitChange.FIELD_SINCE_LEGACY:
+                splitChange.since = readLong(reader, splitChange.since);
+                break;
+            case SplitChange.FIELD_TILL:
+            case SplitChange.FIELD_TILL_LEGACY:
+                splitChange.till = readLong(reader, splitChange.till);
+                break;
+            default:
+                reader.skipValue();
+        }
+    }
+
+    private List<Split> readSplits(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        List<Split> splits = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (!mKeepRawJson) {
+                splits.add(Json.fromJson(reader, Split.class));
+                continue;
             }
-            return false;
+
+            // The tree is written back as is, which is much cheaper than serializing the parsed flag
+            JsonElement element = JsonParser.parseReader(reader);
+            Split split = Json.fromJson(element, Split.class);
+            if (split != null) {
+                split.rawJson = element.toString();
+            }
+            splits.add(split);
         }
+        reader.endArray();
+
+        return splits;
     }
 
-    private static boolean newFieldNameIsPresent(String name) {
-        return "ff".equals(name) || "rbs".equals(name);
+    private static long readLong(JsonReader reader, long defaultValue) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return defaultValue;
+        }
+
+        return reader.nextLong();
     }
 }
@@ -9,6 +9,7 @@ import io.split.android.client.service.executor.SplitTask;
 import io.split.android.client.service.executor.SplitTaskExecutionInfo;
 import io.split.android.client.service.executor.SplitTaskType;
 import io.split.android.client.storage.splits.SplitsStorage;
+import io.split.android.client.telemetry.storage.TelemetryRuntimeProducer;
 import io.split.android.client.utils.logger.Logger;
 
 /**
@@ -18,14 +19,27 @@ import io.split.android.client.utils.logger.Logger;
  */
 public class LoadSplitsTask implements SplitTask {
 
+    // Telemetry tag with the time it took to load the feature flags from the persistent storage, in ms
+    static final String LOAD_TIME_TAG_PREFIX = "ffcl:";
+
     private final SplitsStorage mSplitsStorage;
     @NonNull
     private final String mSplitsFilterQueryStringFromConfig;
     @NonNull
     private final String mFlagsSpecFromConfig;
+    @Nullable
+    private final TelemetryRuntimeProducer mTelemetryRuntimeProducer;
 
     public LoadSplitsTask(@NonNull SplitsStorage splitsStorage, @Nullable String splitsFilterQueryStringFromConfig, @Nullable String flagsSpecFromConfig) {
+        this(splitsStorage, splitsFilterQueryStringFromConfig, flagsSpecFromConfig, null);
+    }
+
+    public LoadSplitsTask(@NonNull SplitsStorage splitsStorage,
+                          @Nullable String splitsFilterQueryStringFromConfig,
+                          @Nullable String flagsSpecFromConfig,
+                          @Nullable TelemetryRuntimeProducer telemetryRuntimeProducer) {
         mSplitsStorage = checkNotNull(splitsStorage);
+        mTelemetryRuntimeProducer = telemetryRuntimeProducer;
         mSplitsFilterQueryStringFromConfig = (splitsFilterQueryStringFromConfig == null) ? "" : splitsFilterQueryStringFromConfig;
         mFlagsSpecFromConfig = (flagsSpecFromConfig == null) ? "" : flagsSpecFromConfig;
     }
@@ -38,6 +52,7 @@ public class LoadSplitsTask implements SplitTask {
         // This call loads the feature flags from the DB into memory, as well as the
         // filter and flags spec values
         mSplitsStorage.loadLocal();
+        recordLoadTime(System.currentTimeMillis() - startTime);
 
         String queryStringFromStorage = mSplitsStorage.getSplitsFilterQueryString();
         String flagsSpecFromStorage = mSplitsStorage.getFlagsSpec();
@@ -83,6 +98,13 @@ public class LoadSplitsTask implements SplitTask {
         return SplitTaskExecutionInfo.error(SplitTaskType.LOAD_LOCAL_SPLITS);
     }
 
+    private void recordLoadTime(long loadTime) {
+        Logger.v("Feature flags loaded from persistent storage in " + loadTime + "ms");
+        if (mTelemetryRuntimeProducer != null) {
+            mTelemetryRuntimeProducer.addTag(LOAD_TIME_TAG_PREFIX + loadTime);
+        }
+    }
+
     private static void logClearingMessage(boolean filterHasChanged, boolean flagsSpecHasChanged) {
         if (filterHasChanged && flagsSpecHasChanged) {
             Logger.v("Cleared storage due to filter & spec change");
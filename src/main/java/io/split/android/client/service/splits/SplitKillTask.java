@@ -51,6 +51,8 @@ public class SplitKillTask implements SplitTask {
             splitToKill.killed = true;
             splitToKill.defaultTreatment = mKilledSplit.defaultTreatment;
             splitToKill.changeNumber = mKilledSplit.changeNumber;
+            // The received definition no longer matches the flag
+            splitToKill.rawJson = null;
 
             mSplitsStorage.updateWithoutChecks(splitToKill);
             mEventsManager.notifyInternalEvent(SplitInternalEvent.SPLIT_KILLED_NOTIFICATION);
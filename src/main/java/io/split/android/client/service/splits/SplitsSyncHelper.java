@@ -53,6 +53,7 @@ public class SplitsSyncHelper {
     private final OutdatedSplitProxyHandler mOutdatedSplitProxyHandler;
     private final ExecutorService mExecutor;
     private final TargetingRulesCache mTargetingRulesCache;
+    private final GeneralInfoStorage mGeneralInfoStorage;
 
     public SplitsSyncHelper(@NonNull HttpFetcher<TargetingRulesChange> splitFetcher,
                             @NonNull SplitsStorage splitsStorage,
@@ -120,6 +121,7 @@ public class SplitsSyncHelper {
         mSplitChangeProcessor = checkNotNull(splitChangeProcessor);
         mRuleBasedSegmentChangeProcessor = checkNotNull(ruleBasedSegmentChangeProcessor);
         mRuleBasedSegmentStorage = checkNotNull(ruleBasedSegmentStorage);
+        mGeneralInfoStorage = checkNotNull(generalInfoStorage);
         mTelemetryRuntimeProducer = checkNotNull(telemetryRuntimeProducer);
         mBackoffCounter = checkNotNull(backoffCounter);
         mOutdatedSplitProxyHandler = new OutdatedSplitProxyHandler(flagsSpec, forBackgroundSync, generalInfoStorage, proxyCheckIntervalMillis);
@@ -143,6 +145,11 @@ public class SplitsSyncHelper {
                 resetChangeNumber = true;
             }
 
+            if (clearBeforeUpdate) {
+                // The full response is needed to rebuild the cleared storage
+                mGeneralInfoStorage.clearHttpValidators();
+            }
+
             CdnByPassType cdnByPassType = attemptSplitSync(till, clearBeforeUpdate, avoidCache, CdnByPassType.NONE, resetChangeNumber, onDemandFetchBackoffMaxRetries);
 
             if (cdnByPassType != CdnByPassType.NONE) {
@@ -248,9 +255,17 @@ public class SplitsSyncHelper {
                 targetingRulesChange = fetchSplits(new SinceChangeNumbers(changeNumber, rbsChangeNumber), avoidCache, withCdnByPass);
             }
 
+            if (targetingRulesChange == null) {
+                // Not modified since the last response, so stored definitions are up to date
+                Logger.v("Feature flags not modified since " + changeNumber);
+                mGeneralInfoStorage.setSplitsUpdateTimestamp(System.currentTimeMillis());
+                return new SinceChangeNumbers(changeNumber, rbsChangeNumber);
+            }
+
             SplitChange splitChange = targetingRulesChange.getFeatureFlagsChange();
             RuleBasedSegmentChange ruleBasedSegmentChange = targetingRulesChange.getRuleBasedSegmentsChange();
             updateStorage(shouldClearBeforeUpdate, splitChange, ruleBasedSegmentChange);
+            commitValidators(targetingRulesChange);
             shouldClearBeforeUpdate = false;
 
             newTill = new SinceChangeNumbers(splitChange.till, ruleBasedSegmentChange.getTill());
@@ -310,6 +325,17 @@ public class SplitsSyncHelper {
         updateRbsStorage(ruleBasedSegmentChange);
     }
 
+    private void commitValidators(final TargetingRulesChange targetingRulesChange) {
+        // Large changes are persisted asynchronously in mExecutor, so the validators
+        // are queued after them and only saved once the definitions have been written
+        mExecutor.submit(new Runnable() {
+            @Override
+            public void run() {
+                mSplitFetcher.commitValidators(targetingRulesChange);
+            }
+        });
+    }
+
     private void updateRbsStorage(RuleBasedSegmentChange ruleBasedSegmentChange) {
         ProcessedRuleBasedSegmentChange change = mRuleBasedSegmentChangeProcessor.process(ruleBasedSegmentChange.getSegments(), ruleBasedSegmentChange.getTill());
         mRuleBasedSegmentStorage.update(change.getActive(), change.getArchived(), change.getChangeNumber(), mExecutor);
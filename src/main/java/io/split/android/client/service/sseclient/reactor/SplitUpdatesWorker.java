@@ -152,6 +152,7 @@ public class SplitUpdatesWorker extends UpdateWorker {
             inPlaceRbsUpdate(notification, ruleBasedSegment, notification.getChangeNumber(), executionListener);
         } else {
             Split split = Json.fromJson(decompressed, Split.class);
+            split.rawJson = decompressed;
             inPlaceSplitsUpdate(notification, split, notification.getChangeNumber(), executionListener);
         }
     }
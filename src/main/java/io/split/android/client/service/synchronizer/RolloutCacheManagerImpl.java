@@ -117,6 +117,8 @@ public class RolloutCacheManagerImpl implements RolloutCacheManager, SplitTask {
         for (RolloutDefinitionsCache storage : mStorages) {
             storage.clear();
         }
+        // Responses validated against the cleared data must be downloaded again
+        mGeneralInfoStorage.clearHttpValidators();
         mGeneralInfoStorage.setRolloutCacheLastClearTimestamp(System.currentTimeMillis());
         Logger.v("Rollout definitions cache cleared");
     }
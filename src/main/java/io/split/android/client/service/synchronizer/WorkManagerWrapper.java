@@ -226,6 +226,8 @@ public class WorkManagerWrapper implements MySegmentsWorkManagerWrapper {
                 ServiceConstants.WORKER_PARAM_EVENTS_PER_PUSH, mSplitClientConfig.eventsPerPush());
         dataBuilder.putBoolean(
                 ServiceConstants.SHOULD_RECORD_TELEMETRY, mSplitClientConfig.shouldRecordTelemetry());
+        dataBuilder.putBoolean(
+                ServiceConstants.WORKER_PARAM_COMPRESS_REQUESTS, mSplitClientConfig.requestCompressionEnabled());
         return buildInputData(dataBuilder.build());
     }
 
@@ -238,6 +240,8 @@ public class WorkManagerWrapper implements MySegmentsWorkManagerWrapper {
                 mSplitClientConfig.impressionsPerPush());
         dataBuilder.putBoolean(ServiceConstants.SHOULD_RECORD_TELEMETRY,
                 mSplitClientConfig.shouldRecordTelemetry());
+        dataBuilder.putBoolean(ServiceConstants.WORKER_PARAM_COMPRESS_REQUESTS,
+                mSplitClientConfig.requestCompressionEnabled());
 
         return buildInputData(dataBuilder.build());
     }
@@ -250,6 +254,8 @@ public class WorkManagerWrapper implements MySegmentsWorkManagerWrapper {
                 ServiceConstants.WORKER_PARAM_UNIQUE_KEYS_PER_PUSH, mSplitClientConfig.mtkPerPush());
         dataBuilder.putLong(
                 ServiceConstants.WORKER_PARAM_UNIQUE_KEYS_ESTIMATED_SIZE_IN_BYTES, ServiceConstants.ESTIMATED_IMPRESSION_SIZE_IN_BYTES);
+        dataBuilder.putBoolean(
+                ServiceConstants.WORKER_PARAM_COMPRESS_REQUESTS, mSplitClientConfig.requestCompressionEnabled());
 
         return buildInputData(dataBuilder.build());
     }
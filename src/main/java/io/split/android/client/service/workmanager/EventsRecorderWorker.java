@@ -29,9 +29,11 @@ public class EventsRecorderWorker extends SplitWorker {
                     ServiceConstants.WORKER_PARAM_API_KEY);
             boolean encryptionEnabled =
                     workerParams.getInputData().getBoolean(ServiceConstants.WORKER_PARAM_ENCRYPTION_ENABLED, false);
+            boolean compressRequests =
+                    workerParams.getInputData().getBoolean(ServiceConstants.WORKER_PARAM_COMPRESS_REQUESTS, false);
 
             mSplitTask = new EventsRecorderTask(ServiceFactory.getEventsRecorder(
-                    getHttpClient(), getEndPoint()),
+                    getHttpClient(), getEndPoint(), compressRequests),
                     StorageFactory.getPersistentEventsStorageForWorker(getDatabase(), apiKey, encryptionEnabled),
                     new EventsRecorderTaskConfig(eventsPerPush),
                     StorageFactory.getTelemetryStorage(shouldRecordTelemetry));
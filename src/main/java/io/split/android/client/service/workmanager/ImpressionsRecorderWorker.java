@@ -28,6 +28,8 @@ public class ImpressionsRecorderWorker extends SplitWorker {
                     ServiceConstants.WORKER_PARAM_API_KEY);
             boolean encryptionEnabled = workerParams.getInputData().getBoolean(
                     ServiceConstants.WORKER_PARAM_ENCRYPTION_ENABLED, false);
+            boolean compressRequests = workerParams.getInputData().getBoolean(
+                    ServiceConstants.WORKER_PARAM_COMPRESS_REQUESTS, false);
 
             ImpressionsRecorderTaskConfig config =
                     new ImpressionsRecorderTaskConfig(
@@ -36,7 +38,7 @@ public class ImpressionsRecorderWorker extends SplitWorker {
                             shouldRecordTelemetry);
 
             mSplitTask = new ImpressionsRecorderTask(ServiceFactory.getImpressionsRecorder(
-                    getHttpClient(), getEndPoint()),
+                    getHttpClient(), getEndPoint(), compressRequests),
                     StorageFactory.getPersistentImpressionsStorageForWorker(getDatabase(), apiKey, encryptionEnabled),
                     config,
                     StorageFactory.getTelemetryStorage(config.shouldRecordTelemetry()));
@@ -21,8 +21,9 @@ public class UniqueKeysRecorderWorker extends SplitWorker {
             Data inputData = workerParams.getInputData();
             String apiKey = inputData.getString(ServiceConstants.WORKER_PARAM_API_KEY);
             boolean encryptionEnabled = inputData.getBoolean(ServiceConstants.WORKER_PARAM_ENCRYPTION_ENABLED, false);
+            boolean compressRequests = inputData.getBoolean(ServiceConstants.WORKER_PARAM_COMPRESS_REQUESTS, false);
             mSplitTask = new UniqueKeysRecorderTask(ServiceFactory.getUniqueKeysRecorder(getHttpClient(),
-                    getEndPoint()),
+                    getEndPoint(), compressRequests),
                     StorageFactory.getPersistentImpressionsUniqueStorageForWorker(getDatabase(),
                             apiKey, encryptionEnabled),
                     new UniqueKeysRecorderTaskConfig(
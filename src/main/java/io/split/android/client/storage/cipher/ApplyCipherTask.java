@@ -2,6 +2,7 @@ package io.split.android.client.storage.cipher;
 
 import androidx.annotation.NonNull;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import io.split.android.client.service.executor.SplitTask;
@@ -9,6 +10,8 @@ import io.split.android.client.service.executor.SplitTaskExecutionInfo;
 import io.split.android.client.service.executor.SplitTaskType;
 import io.split.android.client.storage.db.EventDao;
 import io.split.android.client.storage.db.EventEntity;
+import io.split.android.client.storage.db.FlagSetDao;
+import io.split.android.client.storage.db.FlagSetEntity;
 import io.split.android.client.storage.db.GeneralInfoDao;
 import io.split.android.client.storage.db.GeneralInfoEntity;
 import io.split.android.client.storage.db.ImpressionDao;
@@ -24,6 +27,8 @@ import io.split.android.client.storage.db.SegmentEntity;
 import io.split.android.client.storage.db.SplitDao;
 import io.split.android.client.storage.db.SplitEntity;
 import io.split.android.client.storage.db.SplitRoomDatabase;
+import io.split.android.client.storage.db.TrafficTypeDao;
+import io.split.android.client.storage.db.TrafficTypeEntity;
 import io.split.android.client.storage.db.attributes.AttributesDao;
 import io.split.android.client.storage.db.attributes.AttributesEntity;
 import io.split.android.client.storage.db.impressions.unique.UniqueKeyEntity;
@@ -55,6 +60,8 @@ public class ApplyCipherTask implements SplitTask {
                 public void run() {
                     updateAttributes(mSplitDatabase.attributesDao());
                     updateSplits(mSplitDatabase, mSplitDatabase.generalInfoDao());
+                    updateFlagSets(mSplitDatabase.flagSetDao());
+                    updateTrafficTypes(mSplitDatabase.trafficTypeDao());
                     updateSegments(mSplitDatabase.mySegmentDao());
                     updateLargeSegments(mSplitDatabase.myLargeSegmentDao());
                     updateImpressions(mSplitDatabase.impressionDao());
@@ -94,6 +101,49 @@ public class ApplyCipherTask implements SplitTask {
         }
     }
 
+    private void updateFlagSets(FlagSetDao flagSetDao) {
+        List<FlagSetEntity> items = flagSetDao.getAll();
+
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        List<FlagSetEntity> toItems = new ArrayList<>(items.size());
+        for (FlagSetEntity item : items) {
+            String toFlagSet = mToCipher.encrypt(mFromCipher.decrypt(item.getFlagSet()));
+            String toFlagName = mToCipher.encrypt(mFromCipher.decrypt(item.getFlagName()));
+
+            if (toFlagSet != null && toFlagName != null) {
+                toItems.add(new FlagSetEntity(toFlagSet, toFlagName));
+            } else {
+                Logger.e("Error applying cipher to flag sets");
+            }
+        }
+        flagSetDao.deleteAll();
+        flagSetDao.insert(toItems);
+    }
+
+    private void updateTrafficTypes(TrafficTypeDao trafficTypeDao) {
+        List<TrafficTypeEntity> items = trafficTypeDao.getAll();
+
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+
+        List<TrafficTypeEntity> toItems = new ArrayList<>(items.size());
+        for (TrafficTypeEntity item : items) {
+            String toName = mToCipher.encrypt(mFromCipher.decrypt(item.getName()));
+
+            if (toName != null) {
+                toItems.add(new TrafficTypeEntity(toName, item.getCount()));
+            } else {
+                Logger.e("Error applying cipher to traffic types");
+            }
+        }
+        trafficTypeDao.deleteAll();
+        trafficTypeDao.insert(toItems);
+    }
+
     private void updateAttributes(AttributesDao attributesDao) {
         List<AttributesEntity> items = attributesDao.getAll();
 
@@ -21,7 +21,8 @@ public class CBCCipherProvider implements CipherProvider {
     private static final int ENCRYPT_MODE = Cipher.ENCRYPT_MODE;
 
     private static final int DECRYPT_MODE = Cipher.DECRYPT_MODE;
-    public static final int MAX_POOL_SIZE = 4;
+    // Feature flags are decrypted in parallel, one thread per processor
+    public static final int MAX_POOL_SIZE = Math.max(4, Runtime.getRuntime().availableProcessors());
     public static final int IV_LENGTH = 16;
 
     private final ObjectPool<Cipher> mCipherPool;
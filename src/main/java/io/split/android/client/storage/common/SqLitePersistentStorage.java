@@ -8,6 +8,7 @@ import androidx.annotation.NonNull;
 import com.google.gson.JsonParseException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import io.split.android.client.dtos.Identifiable;
@@ -49,18 +50,15 @@ public abstract class SqLitePersistentStorage<E extends Identifiable, M extends
         insert(entities);
     }
 
+    /**
+     * Selects up to count active rows and marks them as deleted in a single transaction.
+     */
     public List<M> pop(int count) {
+        if (count <= 0) {
+            return new ArrayList<>();
+        }
         List<E> entities = new ArrayList<>();
-        int lastSize = -1;
-        int rowCount = count;
-        do {
-            int finalCount = Math.min(MAX_ROWS_PER_QUERY, rowCount);
-            List<E> newEntityChunk = new ArrayList<>();
-            runInTransaction(newEntityChunk, finalCount, mExpirationPeriod);
-            lastSize = newEntityChunk.size();
-            rowCount -= lastSize;
-            entities.addAll(newEntityChunk);
-        } while (lastSize > 0 && rowCount > 0);
+        runInTransaction(entities, count, mExpirationPeriod);
         return entitiesToModels(entities);
     }
 
@@ -69,9 +67,8 @@ public abstract class SqLitePersistentStorage<E extends Identifiable, M extends
         if (models.size() == 0) {
             return;
         }
-        List<List<Long>> chunks = getIdInChunks(models);
-        for (List<Long> ids : chunks) {
-            updateStatus(ids, StorageRecordStatus.ACTIVE);
+        for (long[] range : toIdRanges(getIds(models))) {
+            updateStatus(range[0], range[1], StorageRecordStatus.ACTIVE);
         }
     }
 
@@ -84,9 +81,8 @@ public abstract class SqLitePersistentStorage<E extends Identifiable, M extends
         if (models.size() == 0) {
             return;
         }
-        List<List<Long>> chunks = getIdInChunks(models);
-        for (List<Long> ids : chunks) {
-            deleteById(ids);
+        for (long[] range : toIdRanges(getIds(models))) {
+            deleteById(range[0], range[1]);
         }
     }
 
@@ -117,14 +113,54 @@ public abstract class SqLitePersistentStorage<E extends Identifiable, M extends
         return models;
     }
 
-    private List<List<Long>> getIdInChunks(List<M> models) {
-        List<Long> ids = new ArrayList<>();
-        if (models == null) {
-            return new ArrayList<>();
-        }
+    private List<Long> getIds(List<M> models) {
+        List<Long> ids = new ArrayList<>(models.size());
         for (Identifiable model : models) {
             ids.add(model.getId());
         }
+        return ids;
+    }
+
+    /**
+     * Groups the ids in ranges of consecutive ids, so that the rows of a batch,
+     * which are usually consecutive, can be updated with a few statements.
+     *
+     * @return Inclusive bounds of each range, sorted.
+     */
+    private static List<long[]> toIdRanges(List<Long> ids) {
+        List<long[]> ranges = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return ranges;
+        }
+        long[] sortedIds = new long[ids.size()];
+        for (int i = 0; i < sortedIds.length; i++) {
+            sortedIds[i] = ids.get(i);
+        }
+        Arrays.sort(sortedIds);
+
+        long start = sortedIds[0];
+        long end = start;
+        for (int i = 1; i < sortedIds.length; i++) {
+            long id = sortedIds[i];
+            if (id == end) {
+                continue;
+            }
+            if (id != end + 1) {
+                ranges.add(new long[]{start, end});
+                start = id;
+            }
+            end = id;
+        }
+        ranges.add(new long[]{start, end});
+
+        return ranges;
+    }
+
+    private static List<List<Long>> idsInRange(long fromId, long toId) {
+        List<Long> ids = new ArrayList<>();
+        for (long id = fromId; id <= toId; id++) {
+            ids.add(id);
+        }
         return partition(ids, MAX_ROWS_PER_QUERY);
     }
 
@@ -142,6 +178,25 @@ public abstract class SqLitePersistentStorage<E extends Identifiable, M extends
 
     protected abstract void updateStatus(@NonNull List<Long> ids, int status);
 
+    /**
+     * Deletes the rows with ids between fromId and toId, both inclusive.
+     * Storages should override it with a single statement when their DAO supports it.
+     */
+    protected void deleteById(long fromId, long toId) {
+        for (List<Long> ids : idsInRange(fromId, toId)) {
+            deleteById(ids);
+        }
+    }
+
+    /**
+     * Updates the status of the rows with ids between fromId and toId, both inclusive.
+     */
+    protected void updateStatus(long fromId, long toId, int status) {
+        for (List<Long> ids : idsInRange(fromId, toId)) {
+            updateStatus(ids, status);
+        }
+    }
+
     protected abstract void runInTransaction(List<E> entities, int finalCount, long expirationPeriod);
 
     protected abstract M entityToModel(E entity) throws JsonParseException;
@@ -163,19 +218,26 @@ public abstract class SqLitePersistentStorage<E extends Identifiable, M extends
         public void run() {
             long timestamp = System.currentTimeMillis() / 1000 - mExpirationPeriod;
             mEntities.addAll(getBy(timestamp, StorageRecordStatus.ACTIVE, mCount));
-            List<Long> ids = getEntitiesId(mEntities);
-            updateStatus(ids, StorageRecordStatus.DELETED);
+            for (long[] range : toIdRanges(getEntitiesId(mEntities))) {
+                updateStatus(range[0], range[1], StorageRecordStatus.DELETED);
+            }
         }
 
         protected abstract List<E> getBy(long timestamp, int status, int rowCount);
 
         protected abstract void updateStatus(List<Long> ids, int status);
 
-        private List<Long> getEntitiesId(List<E> entities) {
-            List<Long> ids = new ArrayList<>();
-            if (entities == null) {
-                return ids;
+        /**
+         * Same as {@link SqLitePersistentStorage#updateStatus(long, long, int)}, within the transaction.
+         */
+        protected void updateStatus(long fromId, long toId, int status) {
+            for (List<Long> ids : idsInRange(fromId, toId)) {
+                updateStatus(ids, status);
             }
+        }
+
+        private List<Long> getEntitiesId(List<E> entities) {
+            List<Long> ids = new ArrayList<>(entities.size());
             for (Identifiable entity : entities) {
                 ids.add(entity.getId());
             }
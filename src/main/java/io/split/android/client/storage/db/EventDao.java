@@ -24,9 +24,16 @@ public interface EventDao {
             " WHERE id IN (:ids)")
     void updateStatus(List<Long> ids, int status);
 
+    @Query("UPDATE events SET status = :status " +
+            " WHERE id BETWEEN :fromId AND :toId")
+    void updateStatus(long fromId, long toId, int status);
+
     @Query("DELETE FROM events WHERE id IN (:ids)")
     void delete(List<Long> ids);
 
+    @Query("DELETE FROM events WHERE id BETWEEN :fromId AND :toId")
+    void delete(long fromId, long toId);
+
     @Query("DELETE FROM events WHERE created_at < :updateAt")
     void deleteOutdated(long updateAt);
 
@@ -0,0 +1,24 @@
+package io.split.android.client.storage.db;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface FlagSetDao {
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insert(List<FlagSetEntity> flagSets);
+
+    @Query("DELETE FROM flag_sets WHERE flag_name IN (:flagNames)")
+    void deleteByFlagNames(List<String> flagNames);
+
+    @Query("SELECT flag_set, flag_name FROM flag_sets")
+    List<FlagSetEntity> getAll();
+
+    @Query("DELETE FROM flag_sets")
+    void deleteAll();
+}
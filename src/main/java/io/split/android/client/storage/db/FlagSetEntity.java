@@ -0,0 +1,55 @@
+package io.split.android.client.storage.db;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.Index;
+
+/**
+ * Membership of a feature flag in a flag set. Both values are stored encrypted
+ * when encryption is enabled.
+ */
+@Entity(tableName = "flag_sets",
+        primaryKeys = {"flag_set", "flag_name"},
+        indices = {@Index(value = {"flag_name"})})
+public class FlagSetEntity {
+
+    @ColumnInfo(name = "flag_set")
+    @NonNull
+    private String flagSet;
+
+    @ColumnInfo(name = "flag_name")
+    @NonNull
+    private String flagName;
+
+    // room constructor
+    public FlagSetEntity() {
+        flagSet = "";
+        flagName = "";
+    }
+
+    @Ignore
+    public FlagSetEntity(@NonNull String flagSet, @NonNull String flagName) {
+        this.flagSet = flagSet;
+        this.flagName = flagName;
+    }
+
+    @NonNull
+    public String getFlagSet() {
+        return flagSet;
+    }
+
+    public void setFlagSet(@NonNull String flagSet) {
+        this.flagSet = flagSet;
+    }
+
+    @NonNull
+    public String getFlagName() {
+        return flagName;
+    }
+
+    public void setFlagName(@NonNull String flagName) {
+        this.flagName = flagName;
+    }
+}
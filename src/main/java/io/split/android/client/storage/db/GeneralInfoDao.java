@@ -13,4 +13,7 @@ public interface GeneralInfoDao {
 
     @Query("SELECT name, stringValue, longValue, updated_at FROM general_info WHERE name = :name")
     GeneralInfoEntity getByName(String name);
+
+    @Query("DELETE FROM general_info WHERE name LIKE :prefix || '%'")
+    void deleteByNamePrefix(String prefix);
 }
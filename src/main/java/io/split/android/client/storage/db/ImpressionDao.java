@@ -24,9 +24,16 @@ public interface ImpressionDao {
             " WHERE id IN (:ids)")
     void updateStatus(List<Long> ids, int status);
 
+    @Query("UPDATE impressions SET status = :status " +
+            " WHERE id BETWEEN :fromId AND :toId")
+    void updateStatus(long fromId, long toId, int status);
+
     @Query("DELETE FROM impressions WHERE id IN (:ids)")
     void delete(List<Long> ids);
 
+    @Query("DELETE FROM impressions WHERE id BETWEEN :fromId AND :toId")
+    void delete(long fromId, long toId);
+
     @Query("DELETE FROM impressions WHERE created_at < :timestamp")
     void deleteOutdated(long timestamp);
 
@@ -21,9 +21,15 @@ public interface SplitDao {
     @Query("DELETE FROM splits WHERE name IN (:names)")
     void delete(List<String> names);
 
-    @Query("SELECT name, body, updated_at FROM splits")
+    @Query("SELECT name, body, updated_at, format FROM splits")
     List<SplitEntity> getAll();
 
+    @Query("SELECT name FROM splits")
+    List<String> getAllNames();
+
+    @Query("SELECT name, body, updated_at, format FROM splits WHERE name = :name")
+    SplitEntity getByName(String name);
+
     @Query("DELETE FROM splits")
     void deleteAll();
 }
@@ -9,6 +9,17 @@ import androidx.room.PrimaryKey;
 @Entity(tableName = "splits")
 public class SplitEntity {
 
+    /**
+     * Body holds the feature flag definition as JSON.
+     */
+    public static final int FORMAT_JSON = 0;
+
+    /**
+     * Body holds the Base64 encoded output of
+     * {@link io.split.android.client.storage.splits.SplitBinarySerializer}.
+     */
+    public static final int FORMAT_BINARY = 1;
+
     @Ignore
     private long rowId;
 
@@ -22,6 +33,9 @@ public class SplitEntity {
     @ColumnInfo(name = "updated_at")
     private long updatedAt;
 
+    @ColumnInfo(name = "format", defaultValue = "0")
+    private int format;
+
     public long getRowId() {
         return rowId;
     }
@@ -55,4 +69,12 @@ public class SplitEntity {
     public void setUpdatedAt(long updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public int getFormat() {
+        return format;
+    }
+
+    public void setFormat(int format) {
+        this.format = format;
+    }
 }
@@ -102,7 +102,7 @@ public class SplitQueryDaoImpl implements SplitQueryDao {
     private Map<String, SplitEntity> loadSplitsMap() {
         Cursor cursor = null;
         try {
-            final String sql = "SELECT name, body FROM splits";
+            final String sql = "SELECT name, body, format FROM splits";
 
             cursor = mDatabase.query(sql, null);
 
@@ -111,15 +111,18 @@ public class SplitQueryDaoImpl implements SplitQueryDao {
 
             final int nameIndex = getColumnIndexOrThrow(cursor, "name");
             final int bodyIndex = getColumnIndexOrThrow(cursor, "body");
+            final int formatIndex = getColumnIndexOrThrow(cursor, "format");
 
             final int BATCH_SIZE = 100;
             String[] names = new String[BATCH_SIZE];
             String[] bodies = new String[BATCH_SIZE];
+            int[] formats = new int[BATCH_SIZE];
             int batchCount = 0;
 
             while (cursor.moveToNext()) {
                 names[batchCount] = cursor.getString(nameIndex);
                 bodies[batchCount] = cursor.getString(bodyIndex);
+                formats[batchCount] = cursor.getInt(formatIndex);
                 batchCount++;
 
                 // Process in batches
@@ -128,6 +131,7 @@ public class SplitQueryDaoImpl implements SplitQueryDao {
                         SplitEntity entity = new SplitEntity();
                         entity.setName(names[i]);
                         entity.setBody(bodies[i]);
+                        entity.setFormat(formats[i]);
                         result.put(names[i], entity);
                     }
                     batchCount = 0;
@@ -139,6 +143,7 @@ public class SplitQueryDaoImpl implements SplitQueryDao {
                 SplitEntity entity = new SplitEntity();
                 entity.setName(names[i]);
                 entity.setBody(bodies[i]);
+                entity.setFormat(formats[i]);
                 result.put(names[i], entity);
             }
 
@@ -8,6 +8,7 @@ import android.content.Context;
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
+import androidx.room.migration.Migration;
 import androidx.sqlite.db.SupportSQLiteDatabase;
 
 import java.util.Map;
@@ -28,12 +29,37 @@ import io.split.android.client.storage.db.rbs.RuleBasedSegmentEntity;
                 MySegmentEntity.class, SplitEntity.class, EventEntity.class,
                 ImpressionEntity.class, GeneralInfoEntity.class, ImpressionsCountEntity.class,
                 AttributesEntity.class, UniqueKeyEntity.class, ImpressionsObserverCacheEntity.class,
-                MyLargeSegmentEntity.class, RuleBasedSegmentEntity.class
+                MyLargeSegmentEntity.class, RuleBasedSegmentEntity.class, FlagSetEntity.class,
+                TrafficTypeEntity.class
         },
-        version = 7
+        version = 9
 )
 public abstract class SplitRoomDatabase extends RoomDatabase {
 
+    /**
+     * Adds the body format column to the splits table. Existing rows keep
+     * their JSON bodies, which stay readable and are rewritten when updated.
+     */
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE splits ADD COLUMN format INTEGER NOT NULL DEFAULT " + SplitEntity.FORMAT_JSON);
+        }
+    };
+
+    /**
+     * Adds the flag set and traffic type tables. Their content is moved from
+     * general info by the feature flags storage, since it may be encrypted.
+     */
+    static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `flag_sets` (`flag_set` TEXT NOT NULL, `flag_name` TEXT NOT NULL, PRIMARY KEY(`flag_set`, `flag_name`))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_flag_sets_flag_name` ON `flag_sets` (`flag_name`)");
+            database.execSQL("CREATE TABLE IF NOT EXISTS `traffic_types` (`name` TEXT NOT NULL, `count` INTEGER NOT NULL, PRIMARY KEY(`name`))");
+        }
+    };
+
     public abstract MySegmentDao mySegmentDao();
 
     public abstract MyLargeSegmentDao myLargeSegmentDao();
@@ -56,6 +82,10 @@ public abstract class SplitRoomDatabase extends RoomDatabase {
 
     public abstract RuleBasedSegmentDao ruleBasedSegmentDao();
 
+    public abstract FlagSetDao flagSetDao();
+
+    public abstract TrafficTypeDao trafficTypeDao();
+
     private volatile SplitQueryDao mSplitQueryDao;
 
     private static volatile Map<String, SplitRoomDatabase> mInstances = new ConcurrentHashMap<>();
@@ -76,6 +106,14 @@ public abstract class SplitRoomDatabase extends RoomDatabase {
     }
 
     public static SplitRoomDatabase getDatabase(final Context context, final String databaseName) {
+        return getDatabase(context, databaseName, true);
+    }
+
+    /**
+     * @param preloadFeatureFlags whether to start reading all stored feature flag bodies
+     *                            in the background as soon as the database is opened
+     */
+    public static SplitRoomDatabase getDatabase(final Context context, final String databaseName, boolean preloadFeatureFlags) {
         checkNotNull(context);
         checkNotNull(databaseName);
         checkArgument(!databaseName.isEmpty());
@@ -86,6 +124,7 @@ public abstract class SplitRoomDatabase extends RoomDatabase {
                 instance = Room.databaseBuilder(context.getApplicationContext(),
                                 SplitRoomDatabase.class, databaseName)
                         .setJournalMode(JournalMode.WRITE_AHEAD_LOGGING)
+                        .addMigrations(MIGRATION_7_8, MIGRATION_8_9)
                         .fallbackToDestructiveMigration()
                         .build();
 
@@ -107,13 +146,15 @@ public abstract class SplitRoomDatabase extends RoomDatabase {
                 } catch (Exception e) {
                     Logger.i("Failed to force Room initialization: " + e.getMessage());
                 }
-                new Thread(() -> {
-                    try {
-                        mInstances.get(databaseName).getSplitQueryDao();
-                    } catch (Exception e) {
-                        Logger.i("Failed to preload query DAO");
-                    }
-                }).start();
+                if (preloadFeatureFlags) {
+                    new Thread(() -> {
+                        try {
+                            mInstances.get(databaseName).getSplitQueryDao();
+                        } catch (Exception e) {
+                            Logger.i("Failed to preload query DAO");
+                        }
+                    }).start();
+                }
             }
         }
         return instance;
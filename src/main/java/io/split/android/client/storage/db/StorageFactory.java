@@ -2,6 +2,7 @@ package io.split.android.client.storage.db;
 
 import static androidx.annotation.RestrictTo.Scope.LIBRARY;
 
+import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
 
 import java.util.concurrent.ConcurrentHashMap;
@@ -22,6 +23,7 @@ import io.split.android.client.storage.events.PersistentEventsStorage;
 import io.split.android.client.storage.events.SqLitePersistentEventsStorage;
 import io.split.android.client.storage.general.GeneralInfoStorage;
 import io.split.android.client.storage.general.GeneralInfoStorageImpl;
+import io.split.android.client.storage.impressions.BufferedPersistentImpressionsStorage;
 import io.split.android.client.storage.impressions.ImpressionsStorage;
 import io.split.android.client.storage.impressions.PersistentImpressionsCountStorage;
 import io.split.android.client.storage.impressions.PersistentImpressionsStorage;
@@ -36,6 +38,9 @@ import io.split.android.client.storage.rbs.PersistentRuleBasedSegmentStorage;
 import io.split.android.client.storage.rbs.RuleBasedSegmentStorageProducer;
 import io.split.android.client.storage.rbs.RuleBasedSegmentStorageProducerImpl;
 import io.split.android.client.storage.rbs.SqLitePersistentRuleBasedSegmentStorageProvider;
+import io.split.android.client.storage.snapshot.CacheSnapshotManager;
+import io.split.android.client.storage.snapshot.SnapshotFilePersistentRuleBasedSegmentStorage;
+import io.split.android.client.storage.snapshot.SnapshotFilePersistentSplitsStorage;
 import io.split.android.client.storage.splits.PersistentSplitsStorage;
 import io.split.android.client.storage.splits.SplitsStorage;
 import io.split.android.client.storage.splits.SplitsStorageImpl;
@@ -48,9 +53,27 @@ import io.split.android.client.telemetry.storage.TelemetryStorage;
 public class StorageFactory {
 
     public static SplitsStorage getSplitsStorage(SplitRoomDatabase splitRoomDatabase, SplitCipher splitCipher) {
-        PersistentSplitsStorage persistentSplitsStorage
-                = getPersistentSplitsStorage(splitRoomDatabase, splitCipher);
-        return new SplitsStorageImpl(persistentSplitsStorage);
+        return getSplitsStorage(splitRoomDatabase, splitCipher, false, false);
+    }
+
+    public static SplitsStorage getSplitsStorage(SplitRoomDatabase splitRoomDatabase, SplitCipher splitCipher,
+                                                 boolean lazyLoadingEnabled, boolean binaryFormatEnabled) {
+        return getSplitsStorage(splitRoomDatabase, splitCipher, lazyLoadingEnabled, binaryFormatEnabled, null);
+    }
+
+    public static SplitsStorage getSplitsStorage(SplitRoomDatabase splitRoomDatabase, SplitCipher splitCipher,
+                                                 boolean lazyLoadingEnabled, boolean binaryFormatEnabled,
+                                                 @Nullable CacheSnapshotManager cacheSnapshotManager) {
+        return getSplitsStorage(getPersistentSplitsStorage(splitRoomDatabase, splitCipher, binaryFormatEnabled, cacheSnapshotManager),
+                lazyLoadingEnabled);
+    }
+
+    /**
+     * @param persistentSplitsStorage storage to load and write through; pass the same instance to the
+     *                                storage container, so that the cache snapshot file is tracked only once
+     */
+    public static SplitsStorage getSplitsStorage(PersistentSplitsStorage persistentSplitsStorage, boolean lazyLoadingEnabled) {
+        return new SplitsStorageImpl(persistentSplitsStorage, lazyLoadingEnabled);
     }
 
     public static MySegmentsStorageContainer getMySegmentsStorage(SplitRoomDatabase splitRoomDatabase, SplitCipher splitCipher) {
@@ -78,6 +101,17 @@ public class StorageFactory {
         return new SqLitePersistentSplitsStorage(splitRoomDatabase, splitCipher);
     }
 
+    public static PersistentSplitsStorage getPersistentSplitsStorage(SplitRoomDatabase splitRoomDatabase, SplitCipher splitCipher,
+                                                                     boolean binaryFormatEnabled,
+                                                                     @Nullable CacheSnapshotManager cacheSnapshotManager) {
+        PersistentSplitsStorage persistentSplitsStorage
+                = new SqLitePersistentSplitsStorage(splitRoomDatabase, splitCipher, binaryFormatEnabled);
+        if (cacheSnapshotManager != null) {
+            return new SnapshotFilePersistentSplitsStorage(persistentSplitsStorage, cacheSnapshotManager);
+        }
+        return persistentSplitsStorage;
+    }
+
     public static ImpressionsStorage getImpressionsStorage(PersistentImpressionsStorage persistentImpressionsStorage,
                                                            boolean isPersistenceEnabled) {
         return new ImpressionsStorage(persistentImpressionsStorage, isPersistenceEnabled);
@@ -89,6 +123,12 @@ public class StorageFactory {
                 ServiceConstants.RECORDED_DATA_EXPIRATION_PERIOD, splitCipher);
     }
 
+    public static BufferedPersistentImpressionsStorage getBufferedPersistentImpressionsStorage(
+            SplitRoomDatabase splitRoomDatabase, SplitCipher splitCipher, ScheduledThreadPoolExecutor executorService) {
+        return new BufferedPersistentImpressionsStorage(
+                getPersistentImpressionsStorage(splitRoomDatabase, splitCipher), executorService);
+    }
+
     public static PersistentImpressionsStorage getPersistentImpressionsStorageForWorker(
             SplitRoomDatabase splitRoomDatabase, String apiKey, boolean encryptionEnabled) {
         return getPersistentImpressionsStorage(splitRoomDatabase, SplitCipherFactory.create(apiKey, encryptionEnabled));
@@ -158,7 +198,18 @@ public class StorageFactory {
     }
 
     public static PersistentRuleBasedSegmentStorage getPersistentRuleBasedSegmentStorage(SplitRoomDatabase splitRoomDatabase, SplitCipher splitCipher, GeneralInfoStorage generalInfoStorage) {
-        return new SqLitePersistentRuleBasedSegmentStorageProvider(splitCipher, splitRoomDatabase, generalInfoStorage).get();
+        return getPersistentRuleBasedSegmentStorage(splitRoomDatabase, splitCipher, generalInfoStorage, null);
+    }
+
+    public static PersistentRuleBasedSegmentStorage getPersistentRuleBasedSegmentStorage(SplitRoomDatabase splitRoomDatabase, SplitCipher splitCipher,
+                                                                                         GeneralInfoStorage generalInfoStorage,
+                                                                                         @Nullable CacheSnapshotManager cacheSnapshotManager) {
+        PersistentRuleBasedSegmentStorage persistentStorage =
+                new SqLitePersistentRuleBasedSegmentStorageProvider(splitCipher, splitRoomDatabase, generalInfoStorage).get();
+        if (cacheSnapshotManager != null) {
+            return new SnapshotFilePersistentRuleBasedSegmentStorage(persistentStorage, cacheSnapshotManager);
+        }
+        return persistentStorage;
     }
 
     public static RuleBasedSegmentStorageProducer getRuleBasedSegmentStorageForWorker(SplitRoomDatabase splitRoomDatabase, SplitCipher splitCipher) {
@@ -0,0 +1,24 @@
+package io.split.android.client.storage.db;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface TrafficTypeDao {
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void insert(List<TrafficTypeEntity> trafficTypes);
+
+    @Query("DELETE FROM traffic_types WHERE name IN (:names)")
+    void delete(List<String> names);
+
+    @Query("SELECT name, count FROM traffic_types")
+    List<TrafficTypeEntity> getAll();
+
+    @Query("DELETE FROM traffic_types")
+    void deleteAll();
+}
@@ -0,0 +1,51 @@
+package io.split.android.client.storage.db;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Ignore;
+import androidx.room.PrimaryKey;
+
+/**
+ * Amount of stored feature flags for a traffic type. The name is stored encrypted
+ * when encryption is enabled.
+ */
+@Entity(tableName = "traffic_types")
+public class TrafficTypeEntity {
+
+    @PrimaryKey
+    @ColumnInfo(name = "name")
+    @NonNull
+    private String name;
+
+    @ColumnInfo(name = "count")
+    private int count;
+
+    // room constructor
+    public TrafficTypeEntity() {
+        name = "";
+    }
+
+    @Ignore
+    public TrafficTypeEntity(@NonNull String name, int count) {
+        this.name = name;
+        this.count = count;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public void setName(@NonNull String name) {
+        this.name = name;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+}
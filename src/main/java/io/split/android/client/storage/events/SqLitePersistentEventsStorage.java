@@ -75,11 +75,21 @@ public class SqLitePersistentEventsStorage
         mDao.delete(ids);
     }
 
+    @Override
+    protected void deleteById(long fromId, long toId) {
+        mDao.delete(fromId, toId);
+    }
+
     @Override
     protected void updateStatus(@NonNull List<Long> ids, int status) {
         mDao.updateStatus(ids, status);
     }
 
+    @Override
+    protected void updateStatus(long fromId, long toId, int status) {
+        mDao.updateStatus(fromId, toId, status);
+    }
+
     @Override
     protected void runInTransaction(List<EventEntity> entities, int finalCount, long expirationPeriod) {
         mDatabase.runInTransaction(new io.split.android.client.storage.events.SqLitePersistentEventsStorage.GetAndUpdate(mDao, entities, finalCount, expirationPeriod));
@@ -112,5 +122,10 @@ public class SqLitePersistentEventsStorage
         protected void updateStatus(List<Long> ids, int status) {
             mDao.updateStatus(ids, status);
         }
+
+        @Override
+        protected void updateStatus(long fromId, long toId, int status) {
+            mDao.updateStatus(fromId, toId, status);
+        }
     }
 }
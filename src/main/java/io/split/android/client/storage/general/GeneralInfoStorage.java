@@ -43,4 +43,11 @@ public interface GeneralInfoStorage {
     String getProxyConfig();
 
     void setProxyConfig(@Nullable String proxyConfig);
+
+    @Nullable
+    String getHttpValidators(@NonNull String resourceId);
+
+    void setHttpValidators(@NonNull String resourceId, @Nullable String validators);
+
+    void clearHttpValidators();
 }
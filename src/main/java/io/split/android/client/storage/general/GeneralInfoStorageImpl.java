@@ -15,6 +15,7 @@ public class GeneralInfoStorageImpl implements GeneralInfoStorage {
     private static final String RBS_CHANGE_NUMBER = "rbsChangeNumber";
     private static final String LAST_PROXY_CHECK_TIMESTAMP = "lastProxyCheckTimestamp";
     private static final String PROXY_CONFIG = "proxyConfig";
+    private static final String HTTP_VALIDATORS_PREFIX = "httpValidators:";
 
     private final GeneralInfoDao mGeneralInfoDao;
     private final SplitCipher mAlwaysEncryptedSplitCipher;
@@ -136,4 +137,21 @@ public class GeneralInfoStorageImpl implements GeneralInfoStorage {
         }
         mGeneralInfoDao.update(new GeneralInfoEntity(PROXY_CONFIG, proxyConfig));
     }
+
+    @Nullable
+    @Override
+    public String getHttpValidators(@NonNull String resourceId) {
+        GeneralInfoEntity entity = mGeneralInfoDao.getByName(HTTP_VALIDATORS_PREFIX + resourceId);
+        return entity != null ? entity.getStringValue() : null;
+    }
+
+    @Override
+    public void setHttpValidators(@NonNull String resourceId, @Nullable String validators) {
+        mGeneralInfoDao.update(new GeneralInfoEntity(HTTP_VALIDATORS_PREFIX + resourceId, validators));
+    }
+
+    @Override
+    public void clearHttpValidators() {
+        mGeneralInfoDao.deleteByNamePrefix(HTTP_VALIDATORS_PREFIX);
+    }
 }
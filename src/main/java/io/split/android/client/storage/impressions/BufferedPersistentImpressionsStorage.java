@@ -0,0 +1,144 @@
+package io.split.android.client.storage.impressions;
+
+import static io.split.android.client.utils.Utils.checkNotNull;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.split.android.client.dtos.KeyImpression;
+import io.split.android.client.lifecycle.SplitLifecycleAware;
+import io.split.android.client.service.ServiceConstants;
+import io.split.android.client.utils.logger.Logger;
+
+/**
+ * Write-behind buffer in front of a {@link PersistentImpressionsStorage}.
+ * <p>
+ * Pushed impressions are kept in memory and written in a single insert when the buffer is full,
+ * when the flush delay since the first buffered impression elapses, or when the app goes to background.
+ * Popping flushes the buffer first, so recorders always see every pushed impression.
+ */
+public class BufferedPersistentImpressionsStorage implements PersistentImpressionsStorage, SplitLifecycleAware {
+
+    private final PersistentImpressionsStorage mPersistentStorage;
+    private final ScheduledExecutorService mExecutor;
+    private final BlockingQueue<KeyImpression> mBuffer;
+    private final long mFlushDelayInMillis;
+    private final AtomicBoolean mFlushScheduled = new AtomicBoolean(false);
+    private final Runnable mFlushTask = new Runnable() {
+        @Override
+        public void run() {
+            mFlushScheduled.set(false);
+            flush();
+        }
+    };
+
+    public BufferedPersistentImpressionsStorage(@NonNull PersistentImpressionsStorage persistentStorage,
+                                                @NonNull ScheduledExecutorService executor) {
+        this(persistentStorage,
+                executor,
+                ServiceConstants.IMPRESSIONS_WRITE_BUFFER_SIZE,
+                ServiceConstants.IMPRESSIONS_WRITE_BUFFER_FLUSH_DELAY_MS);
+    }
+
+    @VisibleForTesting
+    BufferedPersistentImpressionsStorage(@NonNull PersistentImpressionsStorage persistentStorage,
+                                         @NonNull ScheduledExecutorService executor,
+                                         int bufferSize,
+                                         long flushDelayInMillis) {
+        mPersistentStorage = checkNotNull(persistentStorage);
+        mExecutor = checkNotNull(executor);
+        mBuffer = new ArrayBlockingQueue<>(bufferSize);
+        mFlushDelayInMillis = flushDelayInMillis;
+    }
+
+    @Override
+    public void push(@NonNull KeyImpression element) {
+        if (element == null) {
+            return;
+        }
+        while (!mBuffer.offer(element)) {
+            flush();
+        }
+        if (mBuffer.remainingCapacity() == 0) {
+            flush();
+        } else {
+            scheduleFlush();
+        }
+    }
+
+    @Override
+    public void pushMany(@NonNull List<KeyImpression> elements) {
+        flush();
+        mPersistentStorage.pushMany(elements);
+    }
+
+    @Override
+    public List<KeyImpression> pop(int count) {
+        flush();
+        return mPersistentStorage.pop(count);
+    }
+
+    @Override
+    public void setActive(@NonNull List<KeyImpression> elements) {
+        mPersistentStorage.setActive(elements);
+    }
+
+    @Override
+    public void delete(@NonNull List<KeyImpression> elements) {
+        mPersistentStorage.delete(elements);
+    }
+
+    @Override
+    public void deleteInvalid(long maxTimestamp) {
+        mPersistentStorage.deleteInvalid(maxTimestamp);
+    }
+
+    @Override
+    public void pause() {
+        try {
+            mExecutor.execute(mFlushTask);
+        } catch (Exception e) {
+            Logger.e("Error scheduling impressions buffer flush: " + e.getLocalizedMessage());
+        }
+    }
+
+    @Override
+    public void resume() {
+        // no - op
+    }
+
+    /**
+     * Writes the buffered impressions to the persistent storage.
+     */
+    public void flush() {
+        List<KeyImpression> impressions = new ArrayList<>(mBuffer.size());
+        mBuffer.drainTo(impressions);
+        if (impressions.isEmpty()) {
+            return;
+        }
+        try {
+            mPersistentStorage.pushMany(impressions);
+        } catch (Exception e) {
+            Logger.e("Error persisting buffered impressions: " + e.getLocalizedMessage());
+        }
+    }
+
+    private void scheduleFlush() {
+        if (mFlushScheduled.compareAndSet(false, true)) {
+            try {
+                mExecutor.schedule(mFlushTask, mFlushDelayInMillis, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                mFlushScheduled.set(false);
+                Logger.e("Error scheduling impressions buffer flush: " + e.getLocalizedMessage());
+            }
+        }
+    }
+}
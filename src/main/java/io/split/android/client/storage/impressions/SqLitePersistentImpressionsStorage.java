@@ -84,11 +84,21 @@ public class SqLitePersistentImpressionsStorage
         mDao.delete(ids);
     }
 
+    @Override
+    protected void deleteById(long fromId, long toId) {
+        mDao.delete(fromId, toId);
+    }
+
     @Override
     protected void updateStatus(@NonNull List<Long> ids, int status) {
         mDao.updateStatus(ids, status);
     }
 
+    @Override
+    protected void updateStatus(long fromId, long toId, int status) {
+        mDao.updateStatus(fromId, toId, status);
+    }
+
     @Override
     protected void runInTransaction(List<ImpressionEntity> entities, int finalCount, long expirationPeriod) {
         mDatabase.runInTransaction(new GetAndUpdate(mDao, entities, finalCount, expirationPeriod));
@@ -105,6 +115,10 @@ public class SqLitePersistentImpressionsStorage
             if (name != null && body != null) {
                 impression = Json.fromJson(body, KeyImpression.class);
                 impression.feature = name;
+                // Bodies missing required fields come from older formats and are serialized again
+                if (impression.keyName != null && impression.treatment != null) {
+                    impression.storedJson = body;
+                }
             }
         } catch (JsonParseException e) {
             // Try deprecated serialization
@@ -154,5 +168,10 @@ public class SqLitePersistentImpressionsStorage
         protected void updateStatus(List<Long> ids, int status) {
             mDao.updateStatus(ids, status);
         }
+
+        @Override
+        protected void updateStatus(long fromId, long toId, int status) {
+            mDao.updateStatus(fromId, toId, status);
+        }
     }
 }
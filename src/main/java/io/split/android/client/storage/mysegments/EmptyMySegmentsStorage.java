@@ -15,6 +15,11 @@ public class EmptyMySegmentsStorage implements MySegmentsStorage{
         return new HashSet<>();
     }
 
+    @Override
+    public boolean contains(int segmentId) {
+        return false;
+    }
+
     @Override
     public void set(SegmentsChange segmentsChange) {
     }
@@ -7,8 +7,17 @@ import io.split.android.client.storage.RolloutDefinitionsCache;
 
 public interface MySegmentsStorage extends RolloutDefinitionsCache {
 
+    /**
+     * @return unmodifiable snapshot of the segment names
+     */
     Set<String> getAll();
 
+    /**
+     * @param segmentId id of the segment, from {@link SegmentIdDictionary#idOf(String)}
+     * @return whether the key belongs to the segment
+     */
+    boolean contains(int segmentId);
+
     void set(SegmentsChange segmentsChange);
 
     long getChangeNumber();
@@ -9,8 +9,8 @@ import androidx.annotation.VisibleForTesting;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import io.split.android.client.dtos.Segment;
 import io.split.android.client.dtos.SegmentsChange;
@@ -20,26 +20,31 @@ class MySegmentsStorageImpl implements MySegmentsStorage {
     public static final int DEFAULT_CHANGE_NUMBER = -1;
     private final String mMatchingKey;
     private final PersistentMySegmentsStorage mPersistentStorage;
-    private final Set<String> mInMemoryMySegments;
+    private final AtomicReference<SegmentMembership> mMembership;
     private final AtomicLong mTill;
 
     public MySegmentsStorageImpl(@NonNull String matchingKey, @NonNull PersistentMySegmentsStorage persistentStorage) {
         mPersistentStorage = checkNotNull(persistentStorage);
         mMatchingKey = checkNotNull(matchingKey);
-        mInMemoryMySegments = Collections.newSetFromMap(new ConcurrentHashMap<>());
+        mMembership = new AtomicReference<>(SegmentMembership.EMPTY);
         mTill = new AtomicLong(DEFAULT_CHANGE_NUMBER);
     }
 
     @Override
     public void loadLocal() {
         SegmentsChange snapshot = mPersistentStorage.getSnapshot(mMatchingKey);
-        mInMemoryMySegments.addAll(toNames(snapshot.getSegments()));
+        mMembership.set(SegmentMembership.of(toNames(snapshot.getSegments())));
         mTill.set(getOrDefault(snapshot.getChangeNumber()));
     }
 
     @Override
     public Set<String> getAll() {
-        return mInMemoryMySegments;
+        return mMembership.get().names();
+    }
+
+    @Override
+    public boolean contains(int segmentId) {
+        return mMembership.get().contains(segmentId);
     }
 
     @Override
@@ -47,8 +52,7 @@ class MySegmentsStorageImpl implements MySegmentsStorage {
         if (segmentsChange == null) {
             return;
         }
-        mInMemoryMySegments.clear();
-        mInMemoryMySegments.addAll(toNames(segmentsChange.getSegments()));
+        mMembership.set(SegmentMembership.of(toNames(segmentsChange.getSegments())));
         mTill.set(getOrDefault(segmentsChange.getChangeNumber()));
         mPersistentStorage.set(mMatchingKey, segmentsChange);
     }
@@ -61,7 +65,7 @@ class MySegmentsStorageImpl implements MySegmentsStorage {
     @Override
     @VisibleForTesting
     public void clear() {
-        mInMemoryMySegments.clear();
+        mMembership.set(SegmentMembership.EMPTY);
         mTill.set(DEFAULT_CHANGE_NUMBER);
         mPersistentStorage.set(mMatchingKey, SegmentsChange.createEmpty());
     }
@@ -0,0 +1,40 @@
+package io.split.android.client.storage.mysegments;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Interns segment names into small sequential ids, so that segment memberships
+ * can be kept as bitsets and matchers can resolve their segment name only once.
+ * <p>
+ * Ids are never released; the amount of segment names an app sees is small and bounded
+ * by the flag definitions.
+ */
+public final class SegmentIdDictionary {
+
+    private static final ConcurrentMap<String, Integer> IDS = new ConcurrentHashMap<>();
+
+    private SegmentIdDictionary() {
+    }
+
+    /**
+     * @return the id of the segment, assigning a new one the first time the name is seen
+     */
+    public static int idOf(@NonNull String segmentName) {
+        Integer id = IDS.get(segmentName);
+        if (id != null) {
+            return id;
+        }
+
+        synchronized (IDS) {
+            id = IDS.get(segmentName);
+            if (id == null) {
+                id = IDS.size();
+                IDS.put(segmentName, id);
+            }
+            return id;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.split.android.client.storage.mysegments;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Immutable snapshot of the segments a key belongs to.
+ * <p>
+ * Membership is kept as a bitset indexed by {@link SegmentIdDictionary} ids, so checks
+ * don't hash the segment name. Names are kept too, for callers that need the whole set.
+ */
+final class SegmentMembership {
+
+    static final SegmentMembership EMPTY = new SegmentMembership(new long[0], Collections.<String>emptySet());
+
+    private final long[] mBits;
+    private final Set<String> mNames;
+
+    private SegmentMembership(long[] bits, Set<String> names) {
+        mBits = bits;
+        mNames = names;
+    }
+
+    @NonNull
+    static SegmentMembership of(@Nullable Collection<String> segmentNames) {
+        if (segmentNames == null || segmentNames.isEmpty()) {
+            return EMPTY;
+        }
+
+        Set<String> names = new HashSet<>(segmentNames);
+        names.remove(null);
+        int[] ids = new int[names.size()];
+        int maxId = -1;
+        int i = 0;
+        for (String name : names) {
+            ids[i] = SegmentIdDictionary.idOf(name);
+            maxId = Math.max(maxId, ids[i++]);
+        }
+
+        long[] bits = new long[(maxId >>> 6) + 1];
+        for (int id : ids) {
+            bits[id >>> 6] |= 1L << id;
+        }
+
+        return new SegmentMembership(bits, Collections.unmodifiableSet(names));
+    }
+
+    boolean contains(int segmentId) {
+        int word = segmentId >>> 6;
+        return word < mBits.length && (mBits[word] & (1L << segmentId)) != 0;
+    }
+
+    @NonNull
+    Set<String> names() {
+        return mNames;
+    }
+}
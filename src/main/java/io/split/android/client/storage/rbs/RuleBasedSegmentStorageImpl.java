@@ -14,18 +14,18 @@ import java.util.concurrent.atomic.AtomicLong;
 
 import io.split.android.client.dtos.RuleBasedSegment;
 import io.split.android.engine.experiments.ParsedRuleBasedSegment;
+import io.split.android.engine.experiments.ParsedRuleBasedSegmentsCache;
 import io.split.android.engine.experiments.RuleBasedSegmentParser;
 
 public class RuleBasedSegmentStorageImpl implements RuleBasedSegmentStorage {
 
     private final ConcurrentHashMap<String, RuleBasedSegment> mInMemorySegments;
-    @Nullable
-    private final RuleBasedSegmentParser mParser;
+    private final ParsedRuleBasedSegmentsCache mParsedSegmentsCache;
     private final RuleBasedSegmentStorageProducer mProducer;
 
     public RuleBasedSegmentStorageImpl(@NonNull PersistentRuleBasedSegmentStorage persistentStorage, @NonNull RuleBasedSegmentParser parser) {
         mInMemorySegments = new ConcurrentHashMap<>();
-        mParser = checkNotNull(parser);
+        mParsedSegmentsCache = new ParsedRuleBasedSegmentsCache(checkNotNull(parser));
         mProducer = new RuleBasedSegmentStorageProducerImpl(persistentStorage, mInMemorySegments, new AtomicLong(-1));
     }
 
@@ -34,7 +34,7 @@ public class RuleBasedSegmentStorageImpl implements RuleBasedSegmentStorage {
                                 @NonNull RuleBasedSegmentParser parser,
                                 @NonNull ConcurrentHashMap<String, RuleBasedSegment> inMemorySegmentsMap) {
         mInMemorySegments = checkNotNull(inMemorySegmentsMap);
-        mParser = checkNotNull(parser);
+        mParsedSegmentsCache = new ParsedRuleBasedSegmentsCache(checkNotNull(parser));
         mProducer = checkNotNull(producer);
     }
 
@@ -45,12 +45,18 @@ public class RuleBasedSegmentStorageImpl implements RuleBasedSegmentStorage {
             return null;
         }
 
-        return mParser.parse(ruleBasedSegment, matchingKey);
+        return mParsedSegmentsCache.get(ruleBasedSegment, matchingKey);
     }
 
     @Override
     public synchronized boolean update(@NonNull Set<RuleBasedSegment> toAdd, @NonNull Set<RuleBasedSegment> toRemove, long changeNumber, ExecutorService executor) {
-        return mProducer.update(toAdd, toRemove, changeNumber, null);
+        boolean updated = mProducer.update(toAdd, toRemove, changeNumber, null);
+        if (toRemove != null) {
+            for (RuleBasedSegment segment : toRemove) {
+                mParsedSegmentsCache.remove(segment.getName());
+            }
+        }
+        return updated;
     }
 
     @Override
@@ -82,5 +88,6 @@ public class RuleBasedSegmentStorageImpl implements RuleBasedSegmentStorage {
     @Override
     public void clear() {
         mProducer.clear();
+        mParsedSegmentsCache.clear();
     }
 }
@@ -0,0 +1,32 @@
+package io.split.android.client.storage.snapshot;
+
+import static io.split.android.client.utils.Utils.checkNotNull;
+
+import androidx.annotation.NonNull;
+
+import io.split.android.client.storage.rbs.RuleBasedSegmentSnapshot;
+import io.split.android.client.storage.splits.SplitsSnapshot;
+
+/**
+ * Contents of the cache snapshot file.
+ */
+final class CacheSnapshot {
+
+    private final SplitsSnapshot mSplitsSnapshot;
+    private final RuleBasedSegmentSnapshot mRuleBasedSegmentSnapshot;
+
+    CacheSnapshot(@NonNull SplitsSnapshot splitsSnapshot, @NonNull RuleBasedSegmentSnapshot ruleBasedSegmentSnapshot) {
+        mSplitsSnapshot = checkNotNull(splitsSnapshot);
+        mRuleBasedSegmentSnapshot = checkNotNull(ruleBasedSegmentSnapshot);
+    }
+
+    @NonNull
+    SplitsSnapshot getSplitsSnapshot() {
+        return mSplitsSnapshot;
+    }
+
+    @NonNull
+    RuleBasedSegmentSnapshot getRuleBasedSegmentSnapshot() {
+        return mRuleBasedSegmentSnapshot;
+    }
+}
@@ -0,0 +1,87 @@
+package io.split.android.client.storage.snapshot;
+
+import static io.split.android.client.utils.Utils.checkNotNull;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import io.split.android.client.utils.logger.Logger;
+
+/**
+ * Reads and writes the cache snapshot file.
+ * <p>
+ * The file is memory-mapped when read, and written to a temporary file that replaces
+ * the previous one once it is complete, so a partially written snapshot is never read.
+ */
+class CacheSnapshotFile {
+
+    private static final String TEMP_FILE_SUFFIX = ".tmp";
+
+    private final File mFile;
+    private final CacheSnapshotSerializer mSerializer;
+
+    CacheSnapshotFile(@NonNull File file) {
+        this(file, new CacheSnapshotSerializer());
+    }
+
+    CacheSnapshotFile(@NonNull File file, @NonNull CacheSnapshotSerializer serializer) {
+        mFile = checkNotNull(file);
+        mSerializer = checkNotNull(serializer);
+    }
+
+    @Nullable
+    CacheSnapshot read() {
+        if (!mFile.exists()) {
+            return null;
+        }
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(mFile, "r");
+             FileChannel channel = randomAccessFile.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return mSerializer.deserialize(buffer);
+        } catch (IOException e) {
+            Logger.e("Error reading cache snapshot: " + e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    boolean write(@NonNull CacheSnapshot snapshot) {
+        File tempFile = new File(mFile.getParentFile(), mFile.getName() + TEMP_FILE_SUFFIX);
+        try {
+            byte[] data = mSerializer.serialize(snapshot);
+            try (FileOutputStream outputStream = new FileOutputStream(tempFile)) {
+                outputStream.write(data);
+                outputStream.getFD().sync();
+            }
+
+            if (!tempFile.renameTo(mFile)) {
+                Logger.e("Error replacing cache snapshot");
+                deleteFile(tempFile);
+                return false;
+            }
+
+            return true;
+        } catch (IOException e) {
+            Logger.e("Error writing cache snapshot: " + e.getLocalizedMessage());
+            deleteFile(tempFile);
+            return false;
+        }
+    }
+
+    void delete() {
+        deleteFile(mFile);
+    }
+
+    private static void deleteFile(File file) {
+        if (file.exists() && !file.delete()) {
+            Logger.w("Error deleting " + file.getName());
+        }
+    }
+}
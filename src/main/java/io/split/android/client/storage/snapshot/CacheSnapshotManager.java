@@ -0,0 +1,137 @@
+package io.split.android.client.storage.snapshot;
+
+import static io.split.android.client.utils.Utils.checkNotNull;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.io.File;
+
+import io.split.android.client.storage.general.GeneralInfoStorage;
+import io.split.android.client.storage.rbs.RuleBasedSegmentSnapshot;
+import io.split.android.client.storage.splits.SplitsSnapshot;
+import io.split.android.client.utils.logger.Logger;
+
+/**
+ * Keeps the cache snapshot file in sync with the persistent storages.
+ * <p>
+ * The file is read once and is only served when its change numbers match the ones
+ * stored in the database; otherwise it is discarded and the database is used instead.
+ * A new file is written each time the feature flags or the rule-based segments snapshot is
+ * updated, once both of them are known.
+ */
+public class CacheSnapshotManager {
+
+    private final CacheSnapshotFile mFile;
+    private final GeneralInfoStorage mGeneralInfoStorage;
+    private boolean mFileRead = false;
+    @Nullable
+    private CacheSnapshot mStoredSnapshot;
+    @Nullable
+    private SplitsSnapshot mSplitsSnapshot;
+    @Nullable
+    private RuleBasedSegmentSnapshot mRuleBasedSegmentSnapshot;
+
+    public CacheSnapshotManager(@NonNull File file, @NonNull GeneralInfoStorage generalInfoStorage) {
+        this(new CacheSnapshotFile(file), generalInfoStorage);
+    }
+
+    @VisibleForTesting
+    CacheSnapshotManager(@NonNull CacheSnapshotFile file, @NonNull GeneralInfoStorage generalInfoStorage) {
+        mFile = checkNotNull(file);
+        mGeneralInfoStorage = checkNotNull(generalInfoStorage);
+    }
+
+    /**
+     * @return the feature flags stored in the snapshot file, or null if there is no valid file
+     */
+    @Nullable
+    public synchronized SplitsSnapshot readSplits() {
+        CacheSnapshot storedSnapshot = getStoredSnapshot();
+        if (storedSnapshot == null) {
+            return null;
+        }
+        mSplitsSnapshot = storedSnapshot.getSplitsSnapshot();
+
+        return mSplitsSnapshot;
+    }
+
+    /**
+     * @return the rule-based segments stored in the snapshot file, or null if there is no valid file
+     */
+    @Nullable
+    public synchronized RuleBasedSegmentSnapshot readRuleBasedSegments() {
+        CacheSnapshot storedSnapshot = getStoredSnapshot();
+        if (storedSnapshot == null) {
+            return null;
+        }
+        mRuleBasedSegmentSnapshot = storedSnapshot.getRuleBasedSegmentSnapshot();
+
+        return mRuleBasedSegmentSnapshot;
+    }
+
+    public synchronized void updateSplits(@NonNull SplitsSnapshot splitsSnapshot) {
+        mSplitsSnapshot = checkNotNull(splitsSnapshot);
+        writeIfComplete();
+    }
+
+    public synchronized void updateRuleBasedSegments(@NonNull RuleBasedSegmentSnapshot ruleBasedSegmentSnapshot) {
+        mRuleBasedSegmentSnapshot = checkNotNull(ruleBasedSegmentSnapshot);
+        writeIfComplete();
+    }
+
+    /**
+     * Removes the snapshot file. Must be called before the persistent storages are modified,
+     * so that the file is never newer than the database.
+     */
+    public synchronized void invalidate() {
+        mFileRead = true;
+        mStoredSnapshot = null;
+        mFile.delete();
+    }
+
+    /**
+     * Same as {@link #invalidate()}, but the known feature flags snapshot is also dropped, so that
+     * no file is written with it until {@link #updateSplits(SplitsSnapshot)} is called again.
+     */
+    public synchronized void invalidateSplits() {
+        mSplitsSnapshot = null;
+        invalidate();
+    }
+
+    @Nullable
+    private CacheSnapshot getStoredSnapshot() {
+        if (!mFileRead) {
+            mFileRead = true;
+            mStoredSnapshot = readValidSnapshot();
+        }
+
+        return mStoredSnapshot;
+    }
+
+    @Nullable
+    private CacheSnapshot readValidSnapshot() {
+        CacheSnapshot snapshot = mFile.read();
+        if (snapshot == null) {
+            return null;
+        }
+
+        if (snapshot.getSplitsSnapshot().getChangeNumber() != mGeneralInfoStorage.getFlagsChangeNumber() ||
+                snapshot.getRuleBasedSegmentSnapshot().getChangeNumber() != mGeneralInfoStorage.getRbsChangeNumber()) {
+            Logger.d("Discarding outdated cache snapshot");
+            mFile.delete();
+            return null;
+        }
+
+        return snapshot;
+    }
+
+    private void writeIfComplete() {
+        if (mSplitsSnapshot == null || mRuleBasedSegmentSnapshot == null) {
+            return;
+        }
+
+        mFile.write(new CacheSnapshot(mSplitsSnapshot, mRuleBasedSegmentSnapshot));
+    }
+}
@@ -0,0 +1,227 @@
+package io.split.android.client.storage.snapshot;
+
+import static io.split.android.client.utils.Utils.checkNotNull;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.split.android.client.dtos.RuleBasedSegment;
+import io.split.android.client.dtos.Split;
+import io.split.android.client.storage.rbs.RuleBasedSegmentSnapshot;
+import io.split.android.client.storage.splits.SplitBinarySerializer;
+import io.split.android.client.storage.splits.SplitsSnapshot;
+import io.split.android.client.utils.Json;
+import io.split.android.client.utils.logger.Logger;
+
+/**
+ * Encodes the cache snapshot file.
+ * <p>
+ * Layout: magic and version header, feature flags metadata (change number, update timestamp,
+ * filter query string, flags spec, traffic types and flag sets), feature flags and
+ * rule-based segments. Feature flags that were not parsed yet are kept as JSON, the rest
+ * are written in the compact binary format. All numbers are big endian so the file
+ * can be decoded straight from a memory-mapped buffer.
+ */
+class CacheSnapshotSerializer {
+
+    static final int MAGIC = 0x53504C43;
+    static final byte VERSION = 1;
+
+    private static final byte FORMAT_JSON = 0;
+    private static final byte FORMAT_BINARY = 1;
+    private static final int NULL_LENGTH = -1;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final SplitBinarySerializer mSplitSerializer;
+
+    CacheSnapshotSerializer() {
+        this(new SplitBinarySerializer());
+    }
+
+    CacheSnapshotSerializer(@NonNull SplitBinarySerializer splitSerializer) {
+        mSplitSerializer = checkNotNull(splitSerializer);
+    }
+
+    @NonNull
+    byte[] serialize(@NonNull CacheSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        writeSplits(out, snapshot.getSplitsSnapshot());
+        writeRuleBasedSegments(out, snapshot.getRuleBasedSegmentSnapshot());
+        out.flush();
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @return the decoded snapshot, or null if the data is not a valid snapshot
+     */
+    @Nullable
+    CacheSnapshot deserialize(@NonNull ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.get() != VERSION) {
+                Logger.d("Ignoring cache snapshot with unknown format");
+                return null;
+            }
+
+            SplitsSnapshot splitsSnapshot = readSplits(buffer);
+            if (splitsSnapshot == null) {
+                return null;
+            }
+
+            return new CacheSnapshot(splitsSnapshot, readRuleBasedSegments(buffer));
+        } catch (Exception e) {
+            Logger.e("Error decoding cache snapshot: " + e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    private void writeSplits(DataOutputStream out, SplitsSnapshot snapshot) throws IOException {
+        out.writeLong(snapshot.getChangeNumber());
+        out.writeLong(snapshot.getUpdateTimestamp());
+        writeString(out, snapshot.getSplitsFilterQueryString());
+        writeString(out, snapshot.getFlagsSpec());
+
+        Map<String, Integer> trafficTypes = snapshot.getTrafficTypesMap();
+        out.writeInt(trafficTypes.size());
+        for (Map.Entry<String, Integer> entry : trafficTypes.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(entry.getValue() != null ? entry.getValue() : 0);
+        }
+
+        Map<String, Set<String>> flagSets = snapshot.getFlagSetsMap();
+        out.writeInt(flagSets.size());
+        for (Map.Entry<String, Set<String>> entry : flagSets.entrySet()) {
+            writeString(out, entry.getKey());
+            Set<String> names = entry.getValue() != null ? entry.getValue() : new HashSet<>();
+            out.writeInt(names.size());
+            for (String name : names) {
+                writeString(out, name);
+            }
+        }
+
+        List<Split> splits = snapshot.getSplits();
+        out.writeInt(splits.size());
+        for (Split split : splits) {
+            writeString(out, split.name);
+            if (split.json != null) {
+                out.writeByte(FORMAT_JSON);
+                writeBytes(out, split.json.getBytes(UTF_8));
+            } else {
+                out.writeByte(FORMAT_BINARY);
+                writeBytes(out, mSplitSerializer.serialize(split));
+            }
+        }
+    }
+
+    private void writeRuleBasedSegments(DataOutputStream out, RuleBasedSegmentSnapshot snapshot) throws IOException {
+        out.writeLong(snapshot.getChangeNumber());
+        Map<String, RuleBasedSegment> segments = snapshot.getSegments();
+        out.writeInt(segments.size());
+        for (Map.Entry<String, RuleBasedSegment> entry : segments.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, Json.toJson(entry.getValue()));
+        }
+    }
+
+    @Nullable
+    private SplitsSnapshot readSplits(ByteBuffer buffer) {
+        long changeNumber = buffer.getLong();
+        long updateTimestamp = buffer.getLong();
+        String filterQueryString = readString(buffer);
+        String flagsSpec = readString(buffer);
+
+        int trafficTypesCount = buffer.getInt();
+        Map<String, Integer> trafficTypes = new HashMap<>();
+        for (int i = 0; i < trafficTypesCount; i++) {
+            trafficTypes.put(readString(buffer), buffer.getInt());
+        }
+
+        int flagSetsCount = buffer.getInt();
+        Map<String, Set<String>> flagSets = new HashMap<>();
+        for (int i = 0; i < flagSetsCount; i++) {
+            String flagSet = readString(buffer);
+            int namesCount = buffer.getInt();
+            Set<String> names = new HashSet<>();
+            for (int j = 0; j < namesCount; j++) {
+                names.add(readString(buffer));
+            }
+            flagSets.put(flagSet, names);
+        }
+
+        int splitsCount = buffer.getInt();
+        List<Split> splits = new ArrayList<>(splitsCount);
+        for (int i = 0; i < splitsCount; i++) {
+            String name = readString(buffer);
+            byte format = buffer.get();
+            byte[] body = readBytes(buffer);
+            Split split = (format == FORMAT_BINARY) ? mSplitSerializer.deserialize(body) :
+                    new Split(name, new String(body, UTF_8));
+            if (split == null) {
+                Logger.e("Error decoding feature flag " + name + " from cache snapshot");
+                return null;
+            }
+            splits.add(split);
+        }
+
+        return new SplitsSnapshot(splits, changeNumber, updateTimestamp, filterQueryString, flagsSpec,
+                trafficTypes, flagSets);
+    }
+
+    @NonNull
+    private static RuleBasedSegmentSnapshot readRuleBasedSegments(ByteBuffer buffer) {
+        long changeNumber = buffer.getLong();
+        int count = buffer.getInt();
+        Map<String, RuleBasedSegment> segments = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String name = readString(buffer);
+            segments.put(name, Json.fromJson(readString(buffer), RuleBasedSegment.class));
+        }
+
+        return new RuleBasedSegmentSnapshot(segments, changeNumber);
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        writeBytes(out, value != null ? value.getBytes(UTF_8) : null);
+    }
+
+    private static void writeBytes(DataOutputStream out, @Nullable byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    @Nullable
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = readBytes(buffer);
+        return bytes != null ? new String(bytes, UTF_8) : null;
+    }
+
+    @Nullable
+    private static byte[] readBytes(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,90 @@
+package io.split.android.client.storage.snapshot;
+
+import static io.split.android.client.utils.Utils.checkNotNull;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import io.split.android.client.dtos.RuleBasedSegment;
+import io.split.android.client.storage.rbs.PersistentRuleBasedSegmentStorage;
+import io.split.android.client.storage.rbs.RuleBasedSegmentSnapshot;
+
+/**
+ * {@link PersistentRuleBasedSegmentStorage} that serves the initial snapshot from the cache snapshot file
+ * when it is valid, and keeps the file up to date after every change written to the database.
+ */
+public class SnapshotFilePersistentRuleBasedSegmentStorage implements PersistentRuleBasedSegmentStorage {
+
+    private final PersistentRuleBasedSegmentStorage mPersistentStorage;
+    private final CacheSnapshotManager mSnapshotManager;
+    @Nullable
+    private Map<String, RuleBasedSegment> mSegments;
+    private long mChangeNumber;
+
+    public SnapshotFilePersistentRuleBasedSegmentStorage(@NonNull PersistentRuleBasedSegmentStorage persistentStorage,
+                                                         @NonNull CacheSnapshotManager snapshotManager) {
+        mPersistentStorage = checkNotNull(persistentStorage);
+        mSnapshotManager = checkNotNull(snapshotManager);
+    }
+
+    @Override
+    public synchronized RuleBasedSegmentSnapshot getSnapshot() {
+        RuleBasedSegmentSnapshot snapshot = mSnapshotManager.readRuleBasedSegments();
+        if (snapshot != null) {
+            track(snapshot);
+            return snapshot;
+        }
+
+        snapshot = mPersistentStorage.getSnapshot();
+        track(snapshot);
+        mSnapshotManager.updateRuleBasedSegments(buildSnapshot());
+
+        return snapshot;
+    }
+
+    @Override
+    public synchronized void update(Set<RuleBasedSegment> toAdd, Set<RuleBasedSegment> toRemove, long changeNumber) {
+        mSnapshotManager.invalidate();
+        mPersistentStorage.update(toAdd, toRemove, changeNumber);
+        if (mSegments == null) {
+            return;
+        }
+
+        if (toAdd != null) {
+            for (RuleBasedSegment segment : toAdd) {
+                mSegments.put(segment.getName(), segment);
+            }
+        }
+        if (toRemove != null) {
+            for (RuleBasedSegment segment : toRemove) {
+                mSegments.remove(segment.getName());
+            }
+        }
+        mChangeNumber = changeNumber;
+        mSnapshotManager.updateRuleBasedSegments(buildSnapshot());
+    }
+
+    @Override
+    public synchronized void clear() {
+        mSnapshotManager.invalidate();
+        mPersistentStorage.clear();
+        if (mSegments != null) {
+            mSegments.clear();
+            mChangeNumber = -1;
+            mSnapshotManager.updateRuleBasedSegments(buildSnapshot());
+        }
+    }
+
+    private void track(RuleBasedSegmentSnapshot snapshot) {
+        mSegments = new HashMap<>(snapshot.getSegments());
+        mChangeNumber = snapshot.getChangeNumber();
+    }
+
+    private RuleBasedSegmentSnapshot buildSnapshot() {
+        return new RuleBasedSegmentSnapshot(new HashMap<>(mSegments), mChangeNumber);
+    }
+}
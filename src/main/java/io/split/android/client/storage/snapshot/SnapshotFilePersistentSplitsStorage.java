@@ -0,0 +1,235 @@
+package io.split.android.client.storage.snapshot;
+
+import static io.split.android.client.utils.Utils.checkNotNull;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.split.android.client.dtos.Split;
+import io.split.android.client.service.ServiceConstants;
+import io.split.android.client.storage.splits.PersistentSplitsStorage;
+import io.split.android.client.storage.splits.ProcessedSplitChange;
+import io.split.android.client.storage.splits.SplitsSnapshot;
+import io.split.android.client.utils.logger.Logger;
+
+/**
+ * {@link PersistentSplitsStorage} that serves the initial snapshot from the cache snapshot file
+ * when it is valid, and keeps the file up to date with the changes written to the database.
+ * <p>
+ * Changes invalidate the file right away, but it is only written again from the database
+ * in the background, once the write delay since the first pending change elapses, so a whole sync
+ * or a burst of streaming updates results in a single write. Nothing is written before
+ * {@link #getSnapshot()} has been called.
+ */
+public class SnapshotFilePersistentSplitsStorage implements PersistentSplitsStorage {
+
+    private static final long WRITE_THREAD_KEEP_ALIVE_SECONDS = 30;
+
+    private final PersistentSplitsStorage mPersistentStorage;
+    private final CacheSnapshotManager mSnapshotManager;
+    private final ScheduledExecutorService mExecutor;
+    private final long mWriteDelayInMillis;
+    private final AtomicBoolean mWriteScheduled = new AtomicBoolean(false);
+    // Incremented on every change, so that snapshots read before a change are not written
+    private final AtomicLong mVersion = new AtomicLong(0);
+    private volatile boolean mLoaded = false;
+    private long mChangeNumber;
+    private final Runnable mWriteTask = new Runnable() {
+        @Override
+        public void run() {
+            mWriteScheduled.set(false);
+            long version = mVersion.get();
+            write(mPersistentStorage.getSnapshot(), version);
+        }
+    };
+
+    public SnapshotFilePersistentSplitsStorage(@NonNull PersistentSplitsStorage persistentStorage,
+                                               @NonNull CacheSnapshotManager snapshotManager) {
+        this(persistentStorage, snapshotManager, newWriteExecutor(), ServiceConstants.CACHE_SNAPSHOT_WRITE_DELAY_MS);
+    }
+
+    @VisibleForTesting
+    SnapshotFilePersistentSplitsStorage(@NonNull PersistentSplitsStorage persistentStorage,
+                                        @NonNull CacheSnapshotManager snapshotManager,
+                                        @NonNull ScheduledExecutorService executor,
+                                        long writeDelayInMillis) {
+        mPersistentStorage = checkNotNull(persistentStorage);
+        mSnapshotManager = checkNotNull(snapshotManager);
+        mExecutor = checkNotNull(executor);
+        mWriteDelayInMillis = writeDelayInMillis;
+    }
+
+    @Override
+    public synchronized SplitsSnapshot getSnapshot() {
+        SplitsSnapshot snapshot = mSnapshotManager.readSplits();
+        if (snapshot != null) {
+            track(snapshot);
+            return snapshot;
+        }
+
+        final SplitsSnapshot databaseSnapshot = mPersistentStorage.getSnapshot();
+        track(databaseSnapshot);
+        final long version = mVersion.get();
+        try {
+            mExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    write(databaseSnapshot, version);
+                }
+            });
+        } catch (Exception e) {
+            Logger.e("Error scheduling cache snapshot write: " + e.getLocalizedMessage());
+        }
+
+        return databaseSnapshot;
+    }
+
+    @Override
+    public SplitsSnapshot getMetadataSnapshot() {
+        return mPersistentStorage.getMetadataSnapshot();
+    }
+
+    @Override
+    public synchronized boolean update(ProcessedSplitChange splitChange, Map<String, Integer> trafficTypes, Map<String, Set<String>> flagSets) {
+        if (splitChange == null) {
+            return false;
+        }
+
+        boolean hasChanges = !isEmpty(splitChange.getActiveSplits()) || !isEmpty(splitChange.getArchivedSplits()) ||
+                splitChange.getChangeNumber() != mChangeNumber;
+        if (mLoaded && !hasChanges) {
+            return mPersistentStorage.update(splitChange, trafficTypes, flagSets);
+        }
+
+        onChange();
+        boolean updated = mPersistentStorage.update(splitChange, trafficTypes, flagSets);
+        if (updated) {
+            mChangeNumber = splitChange.getChangeNumber();
+            scheduleWrite();
+        }
+
+        return updated;
+    }
+
+    @Override
+    public List<Split> getAll() {
+        return mPersistentStorage.getAll();
+    }
+
+    @Nullable
+    @Override
+    public Split get(@NonNull String name) {
+        return mPersistentStorage.get(name);
+    }
+
+    @Override
+    public synchronized void update(Split split) {
+        onChange();
+        mPersistentStorage.update(split);
+        scheduleWrite();
+    }
+
+    @Nullable
+    @Override
+    public String getFilterQueryString() {
+        return mPersistentStorage.getFilterQueryString();
+    }
+
+    @Override
+    public synchronized void updateFilterQueryString(String queryString) {
+        onChange();
+        mPersistentStorage.updateFilterQueryString(queryString);
+        scheduleWrite();
+    }
+
+    @Nullable
+    @Override
+    public String getFlagsSpec() {
+        return mPersistentStorage.getFlagsSpec();
+    }
+
+    @Override
+    public synchronized void updateFlagsSpec(String flagsSpec) {
+        onChange();
+        mPersistentStorage.updateFlagsSpec(flagsSpec);
+        scheduleWrite();
+    }
+
+    @Override
+    public synchronized void delete(List<String> splitNames) {
+        onChange();
+        mPersistentStorage.delete(splitNames);
+        scheduleWrite();
+    }
+
+    @Override
+    public synchronized void clear() {
+        onChange();
+        mPersistentStorage.clear();
+        mChangeNumber = -1;
+        scheduleWrite();
+    }
+
+    @Override
+    public void close() {
+        mExecutor.shutdown();
+        mPersistentStorage.close();
+    }
+
+    private void track(SplitsSnapshot snapshot) {
+        mChangeNumber = snapshot.getChangeNumber();
+        mLoaded = true;
+    }
+
+    /**
+     * Must be called before modifying the database, so that the file is never newer than it.
+     */
+    private void onChange() {
+        mSnapshotManager.invalidateSplits();
+        mVersion.incrementAndGet();
+    }
+
+    private void scheduleWrite() {
+        if (mLoaded && mWriteScheduled.compareAndSet(false, true)) {
+            try {
+                mExecutor.schedule(mWriteTask, mWriteDelayInMillis, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                mWriteScheduled.set(false);
+                Logger.e("Error scheduling cache snapshot write: " + e.getLocalizedMessage());
+            }
+        }
+    }
+
+    private void write(SplitsSnapshot snapshot, long version) {
+        synchronized (this) {
+            // A change after the snapshot was read has scheduled a newer write
+            if (version == mVersion.get()) {
+                mSnapshotManager.updateSplits(snapshot);
+            }
+        }
+    }
+
+    private static boolean isEmpty(@Nullable List<Split> splits) {
+        return splits == null || splits.isEmpty();
+    }
+
+    private static ScheduledExecutorService newWriteExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        // Writes are rare, so the thread isn't kept alive between them
+        executor.setKeepAliveTime(WRITE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        // A pending write is dropped on close; the file was already invalidated
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
+    }
+}
@@ -1,5 +1,6 @@
 package io.split.android.client.storage.splits;
 
+import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import java.util.List;
@@ -11,8 +12,17 @@ import io.split.android.client.dtos.Split;
 public interface PersistentSplitsStorage {
     boolean update(ProcessedSplitChange splitChange, Map<String, Integer> mTrafficTypes, Map<String, Set<String>> mFlagSets);
     SplitsSnapshot getSnapshot();
+
+    /**
+     * Same as {@link #getSnapshot()} but without reading feature flag definitions;
+     * only their names are included.
+     */
+    SplitsSnapshot getMetadataSnapshot();
+
     List<Split> getAll();
 
+    @Nullable Split get(@NonNull String name);
+
     void update(Split splitName);
     @Nullable String getFilterQueryString();
     void updateFilterQueryString(String queryString);
@@ -0,0 +1,617 @@
+package io.split.android.client.storage.splits;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.split.android.client.dtos.BetweenMatcherData;
+import io.split.android.client.dtos.BetweenStringMatcherData;
+import io.split.android.client.dtos.Condition;
+import io.split.android.client.dtos.ConditionType;
+import io.split.android.client.dtos.DataType;
+import io.split.android.client.dtos.DependencyMatcherData;
+import io.split.android.client.dtos.KeySelector;
+import io.split.android.client.dtos.Matcher;
+import io.split.android.client.dtos.MatcherCombiner;
+import io.split.android.client.dtos.MatcherGroup;
+import io.split.android.client.dtos.MatcherType;
+import io.split.android.client.dtos.Partition;
+import io.split.android.client.dtos.Prerequisite;
+import io.split.android.client.dtos.Split;
+import io.split.android.client.dtos.Status;
+import io.split.android.client.dtos.UnaryNumericMatcherData;
+import io.split.android.client.dtos.UserDefinedLargeSegmentMatcherData;
+import io.split.android.client.dtos.UserDefinedSegmentMatcherData;
+import io.split.android.client.dtos.WhitelistMatcherData;
+import io.split.android.client.utils.logger.Logger;
+
+/**
+ * Compact binary encoding for persisted feature flag definitions.
+ * <p>
+ * Fields are written in declaration order without names, so decoding is a straight read
+ * with no reflection involved. Integers are variable length, strings and collections are
+ * length prefixed, and nullable values are preceded by a presence marker. Enums are stored
+ * by name so that reordering their constants doesn't invalidate stored data.
+ * <p>
+ * The first byte holds the format version. Any change to the layout must bump it.
+ */
+public class SplitBinarySerializer {
+
+    static final byte VERSION = 1;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final int MATCHER_SEGMENT = 1;
+    private static final int MATCHER_LARGE_SEGMENT = 1 << 1;
+    private static final int MATCHER_WHITELIST = 1 << 2;
+    private static final int MATCHER_UNARY_NUMERIC = 1 << 3;
+    private static final int MATCHER_BETWEEN = 1 << 4;
+    private static final int MATCHER_DEPENDENCY = 1 << 5;
+    private static final int MATCHER_BOOLEAN = 1 << 6;
+    private static final int MATCHER_STRING = 1 << 7;
+    private static final int MATCHER_BETWEEN_STRING = 1 << 8;
+
+    @NonNull
+    public byte[] serialize(@NonNull Split split) {
+        Writer writer = new Writer();
+        writer.writeByte(VERSION);
+        writer.writeString(split.name);
+        writer.writeInt(split.seed);
+        writer.writeEnum(split.status);
+        writer.writeBoolean(split.killed);
+        writer.writeString(split.defaultTreatment);
+        writeConditions(writer, split.conditions);
+        writer.writeString(split.trafficTypeName);
+        writer.writeLong(split.changeNumber);
+        writer.writeNullableInt(split.trafficAllocation);
+        writer.writeNullableInt(split.trafficAllocationSeed);
+        writer.writeInt(split.algo);
+        writeConfigurations(writer, split.configurations);
+        writer.writeStrings(split.sets);
+        writer.writeBoolean(split.impressionsDisabled);
+        writePrerequisites(writer, split.prerequisites);
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * @return the decoded feature flag, or null if the data is corrupted or was written
+     * with an unsupported version
+     */
+    @Nullable
+    public Split deserialize(@Nullable byte[] data) {
+        if (data == null || data.length == 0) {
+            return null;
+        }
+
+        try {
+            Reader reader = new Reader(data);
+            byte version = reader.readByte();
+            if (version != VERSION) {
+                Logger.w("Unsupported feature flag binary format version: " + version);
+                return null;
+            }
+
+            Split split = new Split();
+            split.name = reader.readString();
+            split.seed = reader.readInt();
+            split.status = reader.readEnum(Status.class);
+            split.killed = reader.readBoolean();
+            split.defaultTreatment = reader.readString();
+            split.conditions = readConditions(reader);
+            split.trafficTypeName = reader.readString();
+            split.changeNumber = reader.readLong();
+            split.trafficAllocation = reader.readNullableInt();
+            split.trafficAllocationSeed = reader.readNullableInt();
+            split.algo = reader.readInt();
+            split.configurations = readConfigurations(reader);
+            split.sets = reader.readStringSet();
+            split.impressionsDisabled = reader.readBoolean();
+            split.prerequisites = readPrerequisites(reader);
+
+            return split;
+        } catch (Exception e) {
+            Logger.e("Error decoding feature flag binary data: " + e.getLocalizedMessage());
+            return null;
+        }
+    }
+
+    private static void writeConditions(Writer writer, @Nullable List<Condition> conditions) {
+        if (!writer.writeSize(conditions)) {
+            return;
+        }
+
+        for (Condition condition : conditions) {
+            if (!writer.writePresence(condition)) {
+                continue;
+            }
+            writer.writeEnum(condition.conditionType);
+            writeMatcherGroup(writer, condition.matcherGroup);
+            writePartitions(writer, condition.partitions);
+            writer.writeString(condition.label);
+        }
+    }
+
+    @Nullable
+    private static List<Condition> readConditions(Reader reader) {
+        int size = reader.readSize();
+        if (size < 0) {
+            return null;
+        }
+
+        List<Condition> conditions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (!reader.readPresence()) {
+                conditions.add(null);
+                continue;
+            }
+            Condition condition = new Condition();
+            condition.conditionType = reader.readEnum(ConditionType.class);
+            condition.matcherGroup = readMatcherGroup(reader);
+            condition.partitions = readPartitions(reader);
+            condition.label = reader.readString();
+            conditions.add(condition);
+        }
+
+        return conditions;
+    }
+
+    private static void writeMatcherGroup(Writer writer, @Nullable MatcherGroup matcherGroup) {
+        if (!writer.writePresence(matcherGroup)) {
+            return;
+        }
+
+        writer.writeEnum(matcherGroup.combiner);
+        if (!writer.writeSize(matcherGroup.matchers)) {
+            return;
+        }
+
+        for (Matcher matcher : matcherGroup.matchers) {
+            writeMatcher(writer, matcher);
+        }
+    }
+
+    @Nullable
+    private static MatcherGroup readMatcherGroup(Reader reader) {
+        if (!reader.readPresence()) {
+            return null;
+        }
+
+        MatcherGroup matcherGroup = new MatcherGroup();
+        matcherGroup.combiner = reader.readEnum(MatcherCombiner.class);
+        int size = reader.readSize();
+        if (size >= 0) {
+            matcherGroup.matchers = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                matcherGroup.matchers.add(readMatcher(reader));
+            }
+        }
+
+        return matcherGroup;
+    }
+
+    private static void writeMatcher(Writer writer, @Nullable Matcher matcher) {
+        if (!writer.writePresence(matcher)) {
+            return;
+        }
+
+        if (writer.writePresence(matcher.keySelector)) {
+            writer.writeString(matcher.keySelector.trafficType);
+            writer.writeString(matcher.keySelector.attribute);
+        }
+        writer.writeEnum(matcher.matcherType);
+        writer.writeBoolean(matcher.negate);
+
+        int dataFlags = 0;
+        dataFlags |= (matcher.userDefinedSegmentMatcherData != null) ? MATCHER_SEGMENT : 0;
+        dataFlags |= (matcher.userDefinedLargeSegmentMatcherData != null) ? MATCHER_LARGE_SEGMENT : 0;
+        dataFlags |= (matcher.whitelistMatcherData != null) ? MATCHER_WHITELIST : 0;
+        dataFlags |= (matcher.unaryNumericMatcherData != null) ? MATCHER_UNARY_NUMERIC : 0;
+        dataFlags |= (matcher.betweenMatcherData != null) ? MATCHER_BETWEEN : 0;
+        dataFlags |= (matcher.dependencyMatcherData != null) ? MATCHER_DEPENDENCY : 0;
+        dataFlags |= (matcher.booleanMatcherData != null) ? MATCHER_BOOLEAN : 0;
+        dataFlags |= (matcher.stringMatcherData != null) ? MATCHER_STRING : 0;
+        dataFlags |= (matcher.betweenStringMatcherData != null) ? MATCHER_BETWEEN_STRING : 0;
+        writer.writeInt(dataFlags);
+
+        if ((dataFlags & MATCHER_SEGMENT) != 0) {
+            writer.writeString(matcher.userDefinedSegmentMatcherData.segmentName);
+        }
+        if ((dataFlags & MATCHER_LARGE_SEGMENT) != 0) {
+            writer.writeString(matcher.userDefinedLargeSegmentMatcherData.largeSegmentName);
+        }
+        if ((dataFlags & MATCHER_WHITELIST) != 0) {
+            writer.writeStrings(matcher.whitelistMatcherData.whitelist);
+        }
+        if ((dataFlags & MATCHER_UNARY_NUMERIC) != 0) {
+            writer.writeEnum(matcher.unaryNumericMatcherData.dataType);
+            writer.writeLong(matcher.unaryNumericMatcherData.value);
+        }
+        if ((dataFlags & MATCHER_BETWEEN) != 0) {
+            writer.writeEnum(matcher.betweenMatcherData.dataType);
+            writer.writeLong(matcher.betweenMatcherData.start);
+            writer.writeLong(matcher.betweenMatcherData.end);
+        }
+        if ((dataFlags & MATCHER_DEPENDENCY) != 0) {
+            writer.writeString(matcher.dependencyMatcherData.split);
+            writer.writeStrings(matcher.dependencyMatcherData.treatments);
+        }
+        if ((dataFlags & MATCHER_BOOLEAN) != 0) {
+            writer.writeBoolean(matcher.booleanMatcherData);
+        }
+        if ((dataFlags & MATCHER_STRING) != 0) {
+            writer.writeString(matcher.stringMatcherData);
+        }
+        if ((dataFlags & MATCHER_BETWEEN_STRING) != 0) {
+            writer.writeString(matcher.betweenStringMatcherData.start);
+            writer.writeString(matcher.betweenStringMatcherData.end);
+        }
+    }
+
+    @Nullable
+    private static Matcher readMatcher(Reader reader) {
+        if (!reader.readPresence()) {
+            return null;
+        }
+
+        Matcher matcher = new Matcher();
+        if (reader.readPresence()) {
+            matcher.keySelector = new KeySelector();
+            matcher.keySelector.trafficType = reader.readString();
+            matcher.keySelector.attribute = reader.readString();
+        }
+        matcher.matcherType = reader.readEnum(MatcherType.class);
+        matcher.negate = reader.readBoolean();
+
+        int dataFlags = reader.readInt();
+        if ((dataFlags & MATCHER_SEGMENT) != 0) {
+            matcher.userDefinedSegmentMatcherData = new UserDefinedSegmentMatcherData();
+            matcher.userDefinedSegmentMatcherData.segmentName = reader.readString();
+        }
+        if ((dataFlags & MATCHER_LARGE_SEGMENT) != 0) {
+            matcher.userDefinedLargeSegmentMatcherData = new UserDefinedLargeSegmentMatcherData();
+            matcher.userDefinedLargeSegmentMatcherData.largeSegmentName = reader.readString();
+        }
+        if ((dataFlags & MATCHER_WHITELIST) != 0) {
+            matcher.whitelistMatcherData = new WhitelistMatcherData();
+            matcher.whitelistMatcherData.whitelist = reader.readStringList();
+        }
+        if ((dataFlags & MATCHER_UNARY_NUMERIC) != 0) {
+            matcher.unaryNumericMatcherData = new UnaryNumericMatcherData();
+            matcher.unaryNumericMatcherData.dataType = reader.readEnum(DataType.class);
+            matcher.unaryNumericMatcherData.value = reader.readLong();
+        }
+        if ((dataFlags & MATCHER_BETWEEN) != 0) {
+            matcher.betweenMatcherData = new BetweenMatcherData();
+            matcher.betweenMatcherData.dataType = reader.readEnum(DataType.class);
+            matcher.betweenMatcherData.start = reader.readLong();
+            matcher.betweenMatcherData.end = reader.readLong();
+        }
+        if ((dataFlags & MATCHER_DEPENDENCY) != 0) {
+            matcher.dependencyMatcherData = new DependencyMatcherData();
+            matcher.dependencyMatcherData.split = reader.readString();
+            matcher.dependencyMatcherData.treatments = reader.readStringList();
+        }
+        if ((dataFlags & MATCHER_BOOLEAN) != 0) {
+            matcher.booleanMatcherData = reader.readBoolean();
+        }
+        if ((dataFlags & MATCHER_STRING) != 0) {
+            matcher.stringMatcherData = reader.readString();
+        }
+        if ((dataFlags & MATCHER_BETWEEN_STRING) != 0) {
+            matcher.betweenStringMatcherData = new BetweenStringMatcherData();
+            matcher.betweenStringMatcherData.start = reader.readString();
+            matcher.betweenStringMatcherData.end = reader.readString();
+        }
+
+        return matcher;
+    }
+
+    private static void writePartitions(Writer writer, @Nullable List<Partition> partitions) {
+        if (!writer.writeSize(partitions)) {
+            return;
+        }
+
+        for (Partition partition : partitions) {
+            if (writer.writePresence(partition)) {
+                writer.writeString(partition.treatment);
+                writer.writeInt(partition.size);
+            }
+        }
+    }
+
+    @Nullable
+    private static List<Partition> readPartitions(Reader reader) {
+        int size = reader.readSize();
+        if (size < 0) {
+            return null;
+        }
+
+        List<Partition> partitions = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Partition partition = null;
+            if (reader.readPresence()) {
+                partition = new Partition();
+                partition.treatment = reader.readString();
+                partition.size = reader.readInt();
+            }
+            partitions.add(partition);
+        }
+
+        return partitions;
+    }
+
+    private static void writeConfigurations(Writer writer, @Nullable Map<String, String> configurations) {
+        if (!writer.writeSize(configurations == null ? null : configurations.keySet())) {
+            return;
+        }
+
+        for (Map.Entry<String, String> entry : configurations.entrySet()) {
+            writer.writeString(entry.getKey());
+            writer.writeString(entry.getValue());
+        }
+    }
+
+    @Nullable
+    private static Map<String, String> readConfigurations(Reader reader) {
+        int size = reader.readSize();
+        if (size < 0) {
+            return null;
+        }
+
+        Map<String, String> configurations = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            configurations.put(reader.readString(), reader.readString());
+        }
+
+        return configurations;
+    }
+
+    private static void writePrerequisites(Writer writer, @Nullable List<Prerequisite> prerequisites) {
+        if (!writer.writeSize(prerequisites)) {
+            return;
+        }
+
+        for (Prerequisite prerequisite : prerequisites) {
+            if (writer.writePresence(prerequisite)) {
+                writer.writeString(prerequisite.getFlagName());
+                writer.writeStrings(prerequisite.getTreatments());
+            }
+        }
+    }
+
+    @Nullable
+    private static List<Prerequisite> readPrerequisites(Reader reader) {
+        int size = reader.readSize();
+        if (size < 0) {
+            return null;
+        }
+
+        List<Prerequisite> prerequisites = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Prerequisite prerequisite = null;
+            if (reader.readPresence()) {
+                prerequisite = new Prerequisite(reader.readString(), reader.readStringSet());
+            }
+            prerequisites.add(prerequisite);
+        }
+
+        return prerequisites;
+    }
+
+    private static final class Writer {
+
+        private byte[] mBuffer = new byte[512];
+        private int mPosition = 0;
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            mBuffer[mPosition++] = (byte) value;
+        }
+
+        void writeBoolean(boolean value) {
+            writeByte(value ? 1 : 0);
+        }
+
+        void writeInt(int value) {
+            writeLong(value);
+        }
+
+        void writeLong(long value) {
+            // ZigZag so that small negative values, like seeds, stay short
+            long encoded = (value << 1) ^ (value >> 63);
+            while ((encoded & ~0x7FL) != 0) {
+                writeByte((int) ((encoded & 0x7F) | 0x80));
+                encoded >>>= 7;
+            }
+            writeByte((int) encoded);
+        }
+
+        void writeNullableInt(@Nullable Integer value) {
+            if (writePresence(value)) {
+                writeInt(value);
+            }
+        }
+
+        void writeString(@Nullable String value) {
+            if (value == null) {
+                writeLong(-1);
+                return;
+            }
+
+            byte[] bytes = value.getBytes(UTF_8);
+            writeLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, mBuffer, mPosition, bytes.length);
+            mPosition += bytes.length;
+        }
+
+        void writeStrings(@Nullable Collection<String> values) {
+            if (!writeSize(values)) {
+                return;
+            }
+
+            for (String value : values) {
+                writeString(value);
+            }
+        }
+
+        void writeEnum(@Nullable Enum<?> value) {
+            writeString(value == null ? null : value.name());
+        }
+
+        /**
+         * @return whether the value is not null, in which case its content must follow
+         */
+        boolean writePresence(@Nullable Object value) {
+            writeBoolean(value != null);
+            return value != null;
+        }
+
+        /**
+         * @return whether the collection is not null, in which case its items must follow
+         */
+        boolean writeSize(@Nullable Collection<?> values) {
+            writeLong(values == null ? -1 : values.size());
+            return values != null;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(mBuffer, mPosition);
+        }
+
+        private void ensureCapacity(int length) {
+            if (mPosition + length > mBuffer.length) {
+                mBuffer = Arrays.copyOf(mBuffer, Math.max(mBuffer.length * 2, mPosition + length));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] mData;
+        private int mPosition = 0;
+
+        Reader(byte[] data) {
+            mData = data;
+        }
+
+        byte readByte() {
+            if (mPosition >= mData.length) {
+                throw new IllegalStateException("Unexpected end of data");
+            }
+            return mData[mPosition++];
+        }
+
+        boolean readBoolean() {
+            return readByte() != 0;
+        }
+
+        int readInt() {
+            return (int) readLong();
+        }
+
+        long readLong() {
+            long encoded = 0;
+            int shift = 0;
+            byte current;
+            do {
+                if (shift > 63) {
+                    throw new IllegalStateException("Malformed variable length number");
+                }
+                current = readByte();
+                encoded |= (long) (current & 0x7F) << shift;
+                shift += 7;
+            } while ((current & 0x80) != 0);
+
+            return (encoded >>> 1) ^ -(encoded & 1);
+        }
+
+        @Nullable
+        Integer readNullableInt() {
+            return readPresence() ? readInt() : null;
+        }
+
+        @Nullable
+        String readString() {
+            int length = readSize();
+            if (length < 0) {
+                return null;
+            }
+            if (length > mData.length - mPosition) {
+                throw new IllegalStateException("String length exceeds available data");
+            }
+
+            String value = new String(mData, mPosition, length, UTF_8);
+            mPosition += length;
+            return value;
+        }
+
+        @Nullable
+        List<String> readStringList() {
+            int size = readSize();
+            if (size < 0) {
+                return null;
+            }
+
+            List<String> values = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        @Nullable
+        Set<String> readStringSet() {
+            int size = readSize();
+            if (size < 0) {
+                return null;
+            }
+
+            Set<String> values = new HashSet<>();
+            for (int i = 0; i < size; i++) {
+                values.add(readString());
+            }
+            return values;
+        }
+
+        @Nullable
+        <T extends Enum<T>> T readEnum(Class<T> type) {
+            String name = readString();
+            if (name == null) {
+                return null;
+            }
+
+            try {
+                return Enum.valueOf(type, name);
+            } catch (IllegalArgumentException e) {
+                // Same as Gson, unknown constants are read as null
+                return null;
+            }
+        }
+
+        boolean readPresence() {
+            return readBoolean();
+        }
+
+        /**
+         * @return the size of the following collection or string, or -1 when it's null
+         */
+        int readSize() {
+            long size = readLong();
+            if (size < -1 || size > mData.length - mPosition) {
+                throw new IllegalStateException("Invalid size: " + size);
+            }
+            return (int) size;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.split.android.client.storage.splits;
+
+import static io.split.android.client.utils.Utils.checkNotNull;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import io.split.android.client.dtos.Split;
+import io.split.android.client.storage.db.SplitEntity;
+import io.split.android.client.utils.Base64Util;
+import io.split.android.client.utils.Json;
+
+/**
+ * Converts feature flags to and from the unencrypted body stored in {@link SplitEntity},
+ * according to the entity format.
+ */
+class SplitBodyCodec {
+
+    private final SplitBinarySerializer mBinarySerializer;
+
+    SplitBodyCodec() {
+        this(new SplitBinarySerializer());
+    }
+
+    SplitBodyCodec(@NonNull SplitBinarySerializer binarySerializer) {
+        mBinarySerializer = checkNotNull(binarySerializer);
+    }
+
+    @Nullable
+    String encode(@NonNull Split split, int format) {
+        if (format == SplitEntity.FORMAT_BINARY) {
+            return Base64Util.encode(mBinarySerializer.serialize(split));
+        }
+
+        return (split.rawJson != null) ? split.rawJson : Json.toJson(split);
+    }
+
+    /**
+     * @return the decoded feature flag for binary bodies, or a feature flag holding
+     * the JSON body to be parsed on demand otherwise
+     */
+    @Nullable
+    Split decode(@NonNull String name, @NonNull String body, int format) {
+        if (format == SplitEntity.FORMAT_BINARY) {
+            return mBinarySerializer.deserialize(Base64Util.bytesDecode(body));
+        }
+
+        return new Split(name, body);
+    }
+}
@@ -1,26 +1,48 @@
 package io.split.android.client.storage.splits;
 
 import static io.split.android.client.utils.Utils.checkNotNull;
+import static io.split.android.client.utils.Utils.partition;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.google.gson.JsonSyntaxException;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import io.split.android.client.dtos.Split;
+import io.split.android.client.service.executor.parallel.SplitDeferredTaskItem;
+import io.split.android.client.service.executor.parallel.SplitParallelTaskExecutor;
 import io.split.android.client.storage.cipher.SplitCipher;
 import io.split.android.client.storage.db.SplitEntity;
 import io.split.android.client.utils.logger.Logger;
 
 public class SplitEntityToSplitTransformer implements SplitListTransformer<SplitEntity, Split> {
 
+    // Below this amount of entities per thread, decoding in parallel isn't worth it
+    private static final int MIN_ENTITIES_PER_TASK = 32;
+
+    @Nullable
+    private final SplitParallelTaskExecutor<List<Split>> mTaskExecutor;
     private final SplitCipher mSplitCipher;
+    private final SplitBodyCodec mBodyCodec;
 
     public SplitEntityToSplitTransformer(@NonNull SplitCipher splitCipher) {
+        this(null, splitCipher);
+    }
+
+    /**
+     * @param taskExecutor when not null, large amounts of entities are decrypted and decoded
+     *                     in chunks, one per available thread.
+     */
+    public SplitEntityToSplitTransformer(@Nullable SplitParallelTaskExecutor<List<Split>> taskExecutor,
+                                         @NonNull SplitCipher splitCipher) {
+        mTaskExecutor = taskExecutor;
         mSplitCipher = checkNotNull(splitCipher);
+        mBodyCodec = new SplitBodyCodec();
     }
 
     @Override
@@ -35,8 +57,52 @@ public class SplitEntityToSplitTransformer implements SplitListTransformer<Split
             return new ArrayList<>();
         }
 
-        List<Split> splits = new ArrayList<>(allNamesAndBodies.size());
-        for (Map.Entry<String, SplitEntity> entry : allNamesAndBodies.entrySet()) {
+        List<Map.Entry<String, SplitEntity>> entries = new ArrayList<>(allNamesAndBodies.entrySet());
+        int threads = (mTaskExecutor != null) ? mTaskExecutor.getAvailableThreads() : 1;
+        if (threads > 1 && entries.size() >= threads * MIN_ENTITIES_PER_TASK) {
+            List<Split> splits = transformInParallel(entries, threads);
+            if (splits != null) {
+                return splits;
+            }
+            Logger.w("Could not decode feature flags in parallel, decoding sequentially");
+        }
+
+        return getSplits(entries);
+    }
+
+    @Nullable
+    private List<Split> transformInParallel(List<Map.Entry<String, SplitEntity>> entries, int threads) {
+        int partitionSize = (entries.size() + threads - 1) / threads;
+        List<List<Map.Entry<String, SplitEntity>>> partitions = partition(entries, partitionSize);
+        List<SplitDeferredTaskItem<List<Split>>> tasks = new ArrayList<>(partitions.size());
+        for (List<Map.Entry<String, SplitEntity>> partition : partitions) {
+            tasks.add(new SplitDeferredTaskItem<>(
+                    new Callable<List<Split>>() {
+                        @Override
+                        public List<Split> call() {
+                            return getSplits(partition);
+                        }
+                    }));
+        }
+
+        List<List<Split>> subLists = mTaskExecutor.execute(tasks);
+        // The executor returns no results when a task fails or times out
+        if (subLists.size() != tasks.size()) {
+            return null;
+        }
+
+        List<Split> splits = new ArrayList<>(entries.size());
+        for (List<Split> subList : subLists) {
+            splits.addAll(subList);
+        }
+
+        return splits;
+    }
+
+    @NonNull
+    private List<Split> getSplits(List<Map.Entry<String, SplitEntity>> entries) {
+        List<Split> splits = new ArrayList<>(entries.size());
+        for (Map.Entry<String, SplitEntity> entry : entries) {
             if (entry == null || entry.getValue() == null) {
                 continue;
             }
@@ -50,7 +116,13 @@ public class SplitEntityToSplitTransformer implements SplitListTransformer<Split
                     continue;
                 }
 
-                splits.add(new Split(decryptedName, decryptedBody));
+                Split split = mBodyCodec.decode(decryptedName, decryptedBody, entry.getValue().getFormat());
+                if (split == null) {
+                    Logger.e("Could not decode entity to split: " + entry.getKey());
+                    continue;
+                }
+
+                splits.add(split);
             } catch (JsonSyntaxException e) {
                 Logger.e("Could not parse entity to split: " + entry.getKey());
             }
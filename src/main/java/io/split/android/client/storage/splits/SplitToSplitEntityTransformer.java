@@ -16,18 +16,27 @@ import io.split.android.client.service.executor.parallel.SplitDeferredTaskItem;
 import io.split.android.client.service.executor.parallel.SplitParallelTaskExecutor;
 import io.split.android.client.storage.cipher.SplitCipher;
 import io.split.android.client.storage.db.SplitEntity;
-import io.split.android.client.utils.Json;
 import io.split.android.client.utils.logger.Logger;
 
 public class SplitToSplitEntityTransformer implements SplitListTransformer<Split, SplitEntity> {
 
     private final SplitParallelTaskExecutor<List<SplitEntity>> mTaskExecutor;
     private final SplitCipher mSplitCipher;
+    private final SplitBodyCodec mBodyCodec;
+    private final int mFormat;
     
     public SplitToSplitEntityTransformer(@NonNull SplitParallelTaskExecutor<List<SplitEntity>> taskExecutor,
                                          @NonNull SplitCipher splitCipher) {
+        this(taskExecutor, splitCipher, false);
+    }
+
+    public SplitToSplitEntityTransformer(@NonNull SplitParallelTaskExecutor<List<SplitEntity>> taskExecutor,
+                                         @NonNull SplitCipher splitCipher,
+                                         boolean binaryFormatEnabled) {
         mTaskExecutor = checkNotNull(taskExecutor);
         mSplitCipher = checkNotNull(splitCipher);
+        mBodyCodec = new SplitBodyCodec();
+        mFormat = binaryFormatEnabled ? SplitEntity.FORMAT_BINARY : SplitEntity.FORMAT_JSON;
     }
 
     @Override
@@ -68,14 +77,18 @@ public class SplitToSplitEntityTransformer implements SplitListTransformer<Split
         for (Split split : partition) {
             // Create entity
             String encryptedName = cipher.encrypt(split.name);
-            String encryptedJson = cipher.encrypt(Json.toJson(split));
-            if (encryptedName == null || encryptedJson == null) {
+            String body = mBodyCodec.encode(split, mFormat);
+            // The received definition is not needed once persisted
+            split.rawJson = null;
+            String encryptedBody = (body != null) ? cipher.encrypt(body) : null;
+            if (encryptedName == null || encryptedBody == null) {
                 Logger.e("Error encrypting split: " + split.name);
                 continue;
             }
             SplitEntity entity = new SplitEntity();
             entity.setName(encryptedName);
-            entity.setBody(encryptedJson);
+            entity.setBody(encryptedBody);
+            entity.setFormat(mFormat);
             
             entity.setUpdatedAt(System.currentTimeMillis() / 1000);
             result.add(entity);
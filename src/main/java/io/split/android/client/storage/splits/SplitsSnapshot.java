@@ -4,6 +4,7 @@ import androidx.annotation.NonNull;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -19,10 +20,17 @@ public class SplitsSnapshot {
     private final String mFlagsSpec;
     private final Map<String, Integer> mTrafficTypesMap;
     private final Map<String, Set<String>> mFlagSetsMap;
+    private final Set<String> mSplitNames;
 
     public SplitsSnapshot(List<Split> splits, long changeNumber, long updateTimestamp, 
                          String splitsFilterQueryString, String flagsSpec,
                          Map<String, Integer> trafficTypesMap, Map<String, Set<String>> flagSetsMap) {
+        this(splits, null, changeNumber, updateTimestamp, splitsFilterQueryString, flagsSpec, trafficTypesMap, flagSetsMap);
+    }
+
+    public SplitsSnapshot(List<Split> splits, Set<String> splitNames, long changeNumber, long updateTimestamp,
+                          String splitsFilterQueryString, String flagsSpec,
+                          Map<String, Integer> trafficTypesMap, Map<String, Set<String>> flagSetsMap) {
         mChangeNumber = changeNumber;
         mSplits = splits;
         mUpdateTimestamp = updateTimestamp;
@@ -30,6 +38,7 @@ public class SplitsSnapshot {
         mFlagsSpec = flagsSpec;
         mTrafficTypesMap = trafficTypesMap != null ? trafficTypesMap : new HashMap<>();
         mFlagSetsMap = flagSetsMap != null ? flagSetsMap : new HashMap<>();
+        mSplitNames = splitNames != null ? splitNames : new HashSet<>();
     }
 
     public long getChangeNumber() {
@@ -59,4 +68,11 @@ public class SplitsSnapshot {
     public @NonNull Map<String, Set<String>> getFlagSetsMap() {
         return mFlagSetsMap;
     }
+
+    /**
+     * Names of the stored feature flags when the snapshot was loaded without definitions.
+     */
+    public @NonNull Set<String> getSplitNames() {
+        return mSplitNames;
+    }
 }
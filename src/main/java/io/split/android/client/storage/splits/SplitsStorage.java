@@ -20,6 +20,14 @@ public interface SplitsStorage extends RolloutDefinitionsCache {
 
     Map<String, Split> getAll();
 
+    /**
+     * Names of every stored feature flag. Unlike {@link #getAll()}, definitions are not loaded.
+     */
+    @NonNull
+    Set<String> getNames();
+
+    int getCount();
+
     // Returns true if at least one split was updated
     boolean update(ProcessedSplitChange splitChange, ExecutorService mExecutor);
 
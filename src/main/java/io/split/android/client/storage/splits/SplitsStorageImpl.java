@@ -9,13 +9,16 @@ import static io.split.android.client.utils.Utils.checkNotNull;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 import androidx.annotation.WorkerThread;
 
 import com.google.gson.JsonSyntaxException;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -29,22 +32,48 @@ import io.split.android.client.utils.Json;
 public class SplitsStorageImpl implements SplitsStorage {
 
     private static final int ASYNC_WRITE_THRESHOLD = 50;
+    private static final int DEFAULT_MAX_LOADED_SPLITS = 500;
 
     private final PersistentSplitsStorage mPersistentStorage;
+    // When lazy loading is enabled, this only holds the most recently used definitions
     private final Map<String, Split> mInMemorySplits;
+    // Names of every stored feature flag; only used when lazy loading is enabled
+    private final Set<String> mSplitNames;
+    private final boolean mLazyLoadingEnabled;
+    private final Object mLazyLoadingLock = new Object();
     private final Map<String, Set<String>> mFlagSets;
     private long mChangeNumber;
     private long mUpdateTimestamp;
     private String mSplitsFilterQueryString;
     private String mFlagsSpec;
     private final Map<String, Integer> mTrafficTypes;
+    // Traffic type of each flag whose definition has been seen, to keep counts without reading definitions
+    private final Map<String, String> mTrafficTypeNames;
     private final AtomicBoolean mInitialized;
 
     public SplitsStorageImpl(@NonNull PersistentSplitsStorage persistentStorage) {
+        this(persistentStorage, false);
+    }
+
+    /**
+     * @param lazyLoadingEnabled when true, only names and metadata are loaded by {@link #loadLocal()}
+     *                           and definitions are read from persistent storage the first time they
+     *                           are requested. At most {@value DEFAULT_MAX_LOADED_SPLITS} of them are
+     *                           kept in memory.
+     */
+    public SplitsStorageImpl(@NonNull PersistentSplitsStorage persistentStorage, boolean lazyLoadingEnabled) {
+        this(persistentStorage, lazyLoadingEnabled, DEFAULT_MAX_LOADED_SPLITS);
+    }
+
+    @VisibleForTesting
+    SplitsStorageImpl(@NonNull PersistentSplitsStorage persistentStorage, boolean lazyLoadingEnabled, int maxLoadedSplits) {
         mInitialized = new AtomicBoolean(false);
         mPersistentStorage = checkNotNull(persistentStorage);
-        mInMemorySplits = new ConcurrentHashMap<>();
+        mLazyLoadingEnabled = lazyLoadingEnabled;
+        mInMemorySplits = lazyLoadingEnabled ? Collections.synchronizedMap(new LruSplitsMap(maxLoadedSplits)) : new ConcurrentHashMap<>();
+        mSplitNames = Collections.newSetFromMap(new ConcurrentHashMap<>());
         mTrafficTypes = new ConcurrentHashMap<>();
+        mTrafficTypeNames = new ConcurrentHashMap<>();
         mFlagSets = new ConcurrentHashMap<>();
     }
 
@@ -58,8 +87,9 @@ public class SplitsStorageImpl implements SplitsStorage {
         try {
             long startTime = System.currentTimeMillis();
 
-            SplitsSnapshot snapshot = mPersistentStorage.getSnapshot();
+            SplitsSnapshot snapshot = mLazyLoadingEnabled ? mPersistentStorage.getMetadataSnapshot() : mPersistentStorage.getSnapshot();
             List<Split> splits = snapshot.getSplits();
+            mSplitNames.addAll(snapshot.getSplitNames());
 
             mChangeNumber = snapshot.getChangeNumber();
             mUpdateTimestamp = snapshot.getUpdateTimestamp();
@@ -74,6 +104,7 @@ public class SplitsStorageImpl implements SplitsStorage {
 
             for (Split split : splits) {
                 mInMemorySplits.put(split.name, split);
+                trackTrafficType(split);
             }
         } finally {
             mInitialized.compareAndSet(false, true);
@@ -84,7 +115,7 @@ public class SplitsStorageImpl implements SplitsStorage {
     public Split get(@NonNull String name) {
         Split split = mInMemorySplits.get(name);
         if (split == null) {
-            return null;
+            return (mLazyLoadingEnabled) ? loadFromPersistentStorage(name) : null;
         }
 
         if (split.json == null) {
@@ -95,6 +126,7 @@ public class SplitsStorageImpl implements SplitsStorage {
             Split parsedSplit = Json.fromJson(split.json, Split.class);
             parsedSplit.json = null;
             mInMemorySplits.put(name, parsedSplit);
+            trackTrafficType(parsedSplit);
             return mInMemorySplits.get(name);
         } catch (JsonSyntaxException e) {
             return null;
@@ -105,8 +137,11 @@ public class SplitsStorageImpl implements SplitsStorage {
     public Map<String, Split> getMany(@Nullable List<String> splitNames) {
         Map<String, Split> splits = new HashMap<>();
         if (splitNames == null || splitNames.isEmpty()) {
-            for (String name : mInMemorySplits.keySet()) {
-                splits.put(name, get(name));
+            for (String name : getStoredNames()) {
+                Split split = get(name);
+                if (split != null) {
+                    splits.put(name, split);
+                }
             }
             return splits;
         }
@@ -125,6 +160,17 @@ public class SplitsStorageImpl implements SplitsStorage {
         return getMany(null);
     }
 
+    @NonNull
+    @Override
+    public Set<String> getNames() {
+        return new HashSet<>(getStoredNames());
+    }
+
+    @Override
+    public int getCount() {
+        return getStoredNames().size();
+    }
+
     @Override
     @WorkerThread
     public boolean update(ProcessedSplitChange splitChange, ExecutorService mExecutor) {
@@ -132,6 +178,18 @@ public class SplitsStorageImpl implements SplitsStorage {
             return false;
         }
 
+        if (mLazyLoadingEnabled) {
+            // Definitions can be evicted from memory and read back at any time,
+            // so they have to be persisted before a lazy load can happen
+            synchronized (mLazyLoadingLock) {
+                return updateInternal(splitChange, null);
+            }
+        }
+
+        return updateInternal(splitChange, mExecutor);
+    }
+
+    private boolean updateInternal(ProcessedSplitChange splitChange, @Nullable ExecutorService mExecutor) {
         boolean appliedUpdates = false;
 
         List<Split> activeSplits = splitChange.getActiveSplits();
@@ -142,19 +200,22 @@ public class SplitsStorageImpl implements SplitsStorage {
                 appliedUpdates = true;
             }
             for (Split split : activeSplits) {
-                Split loadedSplit = get(split.name);
-                if (loadedSplit != null && loadedSplit.trafficTypeName != null) {
-                    decreaseTrafficTypeCount(loadedSplit.trafficTypeName, mTrafficTypes);
+                String previousTrafficType = mTrafficTypeNames.get(split.name);
+                if (previousTrafficType != null) {
+                    decreaseTrafficTypeCount(previousTrafficType, mTrafficTypes);
+                } else if (isStored(split.name)) {
+                    // Not seen since startup; the traffic type of a flag can't be changed
+                    decreaseTrafficTypeCount(split.trafficTypeName, mTrafficTypes);
                 }
                 increaseTrafficTypeCount(split.trafficTypeName, mTrafficTypes);
-                mInMemorySplits.put(split.name, split);
+                putInMemory(split);
                 addOrUpdateFlagSets(split, mFlagSets);
             }
         }
 
         if (archivedSplits != null) {
             for (Split split : archivedSplits) {
-                if (mInMemorySplits.remove(split.name) != null) {
+                if (removeFromMemory(split.name)) {
                     // The flag was in memory, so it will be updated
                     appliedUpdates = true;
                     decreaseTrafficTypeCount(split.trafficTypeName, mTrafficTypes);
@@ -180,8 +241,10 @@ public class SplitsStorageImpl implements SplitsStorage {
     @Override
     @WorkerThread
     public void updateWithoutChecks(Split split) {
-        mInMemorySplits.put(split.name, split);
-        mPersistentStorage.update(split);
+        synchronized (mLazyLoadingLock) {
+            putInMemory(split);
+            mPersistentStorage.update(split);
+        }
         deleteFromFlagSets(split, mFlagSets);
     }
 
@@ -221,6 +284,8 @@ public class SplitsStorageImpl implements SplitsStorage {
     @WorkerThread
     public void clear() {
         mInMemorySplits.clear();
+        mSplitNames.clear();
+        mTrafficTypeNames.clear();
         mChangeNumber = -1;
         mPersistentStorage.clear();
         mFlagSets.clear();
@@ -252,4 +317,88 @@ public class SplitsStorageImpl implements SplitsStorage {
         }
         return (mTrafficTypes.get(name.toLowerCase()) != null);
     }
+
+    @Nullable
+    private Split loadFromPersistentStorage(@NonNull String name) {
+        if (!mSplitNames.contains(name)) {
+            return null;
+        }
+
+        synchronized (mLazyLoadingLock) {
+            // It could have been loaded or updated while waiting for the lock
+            Split split = mInMemorySplits.get(name);
+            if (split == null) {
+                split = mPersistentStorage.get(name);
+            }
+
+            if (split == null) {
+                return null;
+            }
+
+            if (split.json == null) {
+                mInMemorySplits.put(name, split);
+                trackTrafficType(split);
+                return split;
+            }
+
+            try {
+                Split parsedSplit = Json.fromJson(split.json, Split.class);
+                parsedSplit.json = null;
+                mInMemorySplits.put(name, parsedSplit);
+                trackTrafficType(parsedSplit);
+                return parsedSplit;
+            } catch (JsonSyntaxException e) {
+                return null;
+            }
+        }
+    }
+
+    private Set<String> getStoredNames() {
+        return (mLazyLoadingEnabled) ? mSplitNames : mInMemorySplits.keySet();
+    }
+
+    private boolean isStored(String name) {
+        return (mLazyLoadingEnabled) ? mSplitNames.contains(name) : mInMemorySplits.containsKey(name);
+    }
+
+    private void trackTrafficType(Split split) {
+        if (split.name != null && split.trafficTypeName != null) {
+            mTrafficTypeNames.put(split.name, split.trafficTypeName);
+        }
+    }
+
+    private void putInMemory(Split split) {
+        mInMemorySplits.put(split.name, split);
+        trackTrafficType(split);
+        if (mLazyLoadingEnabled) {
+            mSplitNames.add(split.name);
+        }
+    }
+
+    private boolean removeFromMemory(String name) {
+        mTrafficTypeNames.remove(name);
+        boolean wasLoaded = mInMemorySplits.remove(name) != null;
+        if (mLazyLoadingEnabled) {
+            return mSplitNames.remove(name);
+        }
+
+        return wasLoaded;
+    }
+
+    private static class LruSplitsMap extends LinkedHashMap<String, Split> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int mMaxSize;
+
+        LruSplitsMap(int maxSize) {
+            super(16, 0.75f, true);
+            mMaxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Split> eldest) {
+            return size() > mMaxSize;
+        }
+    }
 }
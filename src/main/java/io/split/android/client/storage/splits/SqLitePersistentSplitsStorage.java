@@ -15,6 +15,8 @@ import com.google.gson.reflect.TypeToken;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -25,9 +27,11 @@ import io.split.android.client.dtos.Status;
 import io.split.android.client.service.executor.parallel.SplitParallelTaskExecutorFactory;
 import io.split.android.client.service.executor.parallel.SplitParallelTaskExecutorFactoryImpl;
 import io.split.android.client.storage.cipher.SplitCipher;
+import io.split.android.client.storage.db.FlagSetEntity;
 import io.split.android.client.storage.db.GeneralInfoEntity;
 import io.split.android.client.storage.db.SplitEntity;
 import io.split.android.client.storage.db.SplitRoomDatabase;
+import io.split.android.client.storage.db.TrafficTypeEntity;
 import io.split.android.client.utils.Json;
 import io.split.android.client.utils.logger.Logger;
 
@@ -38,9 +42,22 @@ public class SqLitePersistentSplitsStorage implements PersistentSplitsStorage {
     private final SplitListTransformer<Split, SplitEntity> mSplitToEntityTransformer;
     private final SplitRoomDatabase mDatabase;
     private final SplitCipher mCipher;
+    private final SplitBodyCodec mBodyCodec;
+    private final boolean mBinaryFormatEnabled;
+    // Traffic type counts as stored, so that only the changed ones are written
+    private final Map<String, Integer> mPersistedTrafficTypes = new HashMap<>();
+    private boolean mPersistedTrafficTypesLoaded = false;
 
     public SqLitePersistentSplitsStorage(@NonNull SplitRoomDatabase database, @NonNull SplitCipher splitCipher) {
-        this(database, new SplitParallelTaskExecutorFactoryImpl(), splitCipher);
+        this(database, splitCipher, false);
+    }
+
+    /**
+     * @param binaryFormatEnabled whether feature flags should be written using {@link SplitBinarySerializer}.
+     *                            Stored feature flags are read in either format.
+     */
+    public SqLitePersistentSplitsStorage(@NonNull SplitRoomDatabase database, @NonNull SplitCipher splitCipher, boolean binaryFormatEnabled) {
+        this(database, new SplitParallelTaskExecutorFactoryImpl(), splitCipher, binaryFormatEnabled);
     }
 
     @VisibleForTesting
@@ -48,19 +65,32 @@ public class SqLitePersistentSplitsStorage implements PersistentSplitsStorage {
                                          @NonNull SplitListTransformer<SplitEntity, Split> entityToSplitTransformer,
                                          @NonNull SplitListTransformer<Split, SplitEntity> splitToEntityTransformer,
                                          @NonNull SplitCipher cipher) {
+        this(database, entityToSplitTransformer, splitToEntityTransformer, cipher, false);
+    }
+
+    @VisibleForTesting
+    public SqLitePersistentSplitsStorage(@NonNull SplitRoomDatabase database,
+                                         @NonNull SplitListTransformer<SplitEntity, Split> entityToSplitTransformer,
+                                         @NonNull SplitListTransformer<Split, SplitEntity> splitToEntityTransformer,
+                                         @NonNull SplitCipher cipher,
+                                         boolean binaryFormatEnabled) {
         mDatabase = checkNotNull(database);
         mEntityToSplitTransformer = checkNotNull(entityToSplitTransformer);
         mSplitToEntityTransformer = checkNotNull(splitToEntityTransformer);
         mCipher = checkNotNull(cipher);
+        mBodyCodec = new SplitBodyCodec();
+        mBinaryFormatEnabled = binaryFormatEnabled;
     }
 
     private SqLitePersistentSplitsStorage(@NonNull SplitRoomDatabase database,
                                           @NonNull SplitParallelTaskExecutorFactory executorFactory,
-                                          @NonNull SplitCipher splitCipher) {
+                                          @NonNull SplitCipher splitCipher,
+                                          boolean binaryFormatEnabled) {
         this(database,
-                new SplitEntityToSplitTransformer(splitCipher),
-                new SplitToSplitEntityTransformer(executorFactory.createForList(SplitEntity.class), splitCipher),
-                splitCipher);
+                new SplitEntityToSplitTransformer(executorFactory.createForList(Split.class), splitCipher),
+                new SplitToSplitEntityTransformer(executorFactory.createForList(SplitEntity.class), splitCipher, binaryFormatEnabled),
+                splitCipher,
+                binaryFormatEnabled);
     }
 
     @Override
@@ -70,47 +100,101 @@ public class SqLitePersistentSplitsStorage implements PersistentSplitsStorage {
             return false;
         }
 
-        List<String> removedSplits = splitNameList(splitChange.getArchivedSplits());
+        Map<String, String> encryptedChangedNames = new HashMap<>();
+        putEncryptedNames(splitChange.getArchivedSplits(), encryptedChangedNames);
+        List<String> removedSplits = new ArrayList<>(encryptedChangedNames.values());
+        putEncryptedNames(splitChange.getActiveSplits(), encryptedChangedNames);
         List<SplitEntity> splitEntities = convertSplitListToEntities(splitChange.getActiveSplits());
-
-        mDatabase.runInTransaction(new Runnable() {
-            @Override
-            public void run() {
-                mDatabase.generalInfoDao().update(
-                        new GeneralInfoEntity(GeneralInfoEntity.CHANGE_NUMBER_INFO, splitChange.getChangeNumber()));
-                if (!splitEntities.isEmpty()) {
-                    mDatabase.splitDao().insert(splitEntities);
-                }
-                if (!removedSplits.isEmpty()) {
-                    mDatabase.splitDao().delete(removedSplits);
-                }
-                if (!mTrafficTypes.isEmpty()) {
-                    String encryptedTrafficTypes = mCipher.encrypt(Json.toJson(mTrafficTypes));
-                    mDatabase.generalInfoDao().update(new GeneralInfoEntity(GeneralInfoEntity.TRAFFIC_TYPES_MAP,
-                            encryptedTrafficTypes));
-                }
-                if (!mFlagSets.isEmpty()) {
-                    String encryptedFlagSets = mCipher.encrypt(Json.toJson(mFlagSets));
-                    mDatabase.generalInfoDao().update(new GeneralInfoEntity(GeneralInfoEntity.FLAG_SETS_MAP,
-                            encryptedFlagSets));
+        List<FlagSetEntity> flagSetEntities = getFlagSetEntities(encryptedChangedNames, mFlagSets);
+
+        synchronized (mPersistedTrafficTypes) {
+            loadPersistedTrafficTypesIfNeeded();
+            List<TrafficTypeEntity> changedTrafficTypes = new ArrayList<>();
+            List<String> removedTrafficTypes = new ArrayList<>();
+            getTrafficTypeChanges(mTrafficTypes, changedTrafficTypes, removedTrafficTypes);
+
+            mDatabase.runInTransaction(new Runnable() {
+                @Override
+                public void run() {
+                    mDatabase.generalInfoDao().update(
+                            new GeneralInfoEntity(GeneralInfoEntity.CHANGE_NUMBER_INFO, splitChange.getChangeNumber()));
+                    if (!splitEntities.isEmpty()) {
+                        mDatabase.splitDao().insert(splitEntities);
+                    }
+                    if (!removedSplits.isEmpty()) {
+                        mDatabase.splitDao().delete(removedSplits);
+                    }
+                    if (!encryptedChangedNames.isEmpty()) {
+                        for (List<String> names : partition(new ArrayList<>(encryptedChangedNames.values()), SQL_PARAM_BIND_SIZE)) {
+                            mDatabase.flagSetDao().deleteByFlagNames(names);
+                        }
+                    }
+                    if (!flagSetEntities.isEmpty()) {
+                        mDatabase.flagSetDao().insert(flagSetEntities);
+                    }
+                    if (!changedTrafficTypes.isEmpty()) {
+                        mDatabase.trafficTypeDao().insert(changedTrafficTypes);
+                    }
+                    if (!removedTrafficTypes.isEmpty()) {
+                        mDatabase.trafficTypeDao().delete(removedTrafficTypes);
+                    }
+                    mDatabase.generalInfoDao().update(
+                            new GeneralInfoEntity(GeneralInfoEntity.SPLITS_UPDATE_TIMESTAMP, splitChange.getUpdateTimestamp()));
                 }
-                mDatabase.generalInfoDao().update(
-                        new GeneralInfoEntity(GeneralInfoEntity.SPLITS_UPDATE_TIMESTAMP, splitChange.getUpdateTimestamp()));
-            }
-        });
+            });
+
+            mPersistedTrafficTypes.clear();
+            mPersistedTrafficTypes.putAll(mTrafficTypes);
+        }
 
         return true;
     }
 
     @Override
     public SplitsSnapshot getSnapshot() {
-        SplitsSnapshotLoader loader = new SplitsSnapshotLoader(mDatabase, loadSplits(), mCipher);
+        List<Split> splits = loadSplits();
+        if (mBinaryFormatEnabled) {
+            migrateJsonSplitsToBinary(splits);
+        }
+        SplitsSnapshotLoader loader = new SplitsSnapshotLoader(mDatabase, splits, null, mCipher, mBodyCodec);
         loader.run();
+        setPersistedTrafficTypes(loader.getTrafficTypes());
         return new SplitsSnapshot(loader.getSplits(), loader.getChangeNumber(),
                 loader.getUpdateTimestamp(), loader.getSplitsFilterQueryString(), loader.getFlagsSpec(),
                 loader.getTrafficTypes(), loader.getFlagSets());
     }
 
+    @Override
+    public SplitsSnapshot getMetadataSnapshot() {
+        SplitsSnapshotLoader loader = new SplitsSnapshotLoader(mDatabase, null, loadNames(), mCipher, mBodyCodec);
+        loader.run();
+        setPersistedTrafficTypes(loader.getTrafficTypes());
+        return new SplitsSnapshot(null, loader.getSplitNames(), loader.getChangeNumber(),
+                loader.getUpdateTimestamp(), loader.getSplitsFilterQueryString(), loader.getFlagsSpec(),
+                loader.getTrafficTypes(), loader.getFlagSets());
+    }
+
+    @Nullable
+    @Override
+    public Split get(@NonNull String name) {
+        String encryptedName = mCipher.encrypt(name);
+        if (encryptedName == null) {
+            return null;
+        }
+
+        SplitEntity entity = mDatabase.splitDao().getByName(encryptedName);
+        if (entity == null) {
+            return null;
+        }
+
+        String decryptedBody = mCipher.decrypt(entity.getBody());
+        if (decryptedBody == null) {
+            return null;
+        }
+
+        return mBodyCodec.decode(name, decryptedBody, entity.getFormat());
+    }
+
     @Override
     public void update(Split split) {
         List<Split> splits = new ArrayList<>();
@@ -159,12 +243,13 @@ public class SqLitePersistentSplitsStorage implements PersistentSplitsStorage {
             @Override
             public void run() {
                 mDatabase.generalInfoDao().update(new GeneralInfoEntity(GeneralInfoEntity.CHANGE_NUMBER_INFO, -1));
-                mDatabase.generalInfoDao().update(new GeneralInfoEntity(GeneralInfoEntity.FLAG_SETS_MAP, ""));
-                mDatabase.generalInfoDao().update(new GeneralInfoEntity(GeneralInfoEntity.TRAFFIC_TYPES_MAP, ""));
+                mDatabase.flagSetDao().deleteAll();
+                mDatabase.trafficTypeDao().deleteAll();
                 mDatabase.getSplitQueryDao().invalidate();
                 mDatabase.splitDao().deleteAll();
             }
         });
+        setPersistedTrafficTypes(new HashMap<>());
     }
 
     @Override
@@ -185,6 +270,52 @@ public class SqLitePersistentSplitsStorage implements PersistentSplitsStorage {
         return mEntityToSplitTransformer.transform(allNamesAndBodies);
     }
 
+    /**
+     * Feature flags stored while the binary format was disabled are still JSON. They are parsed
+     * here, once, and written back so that following loads skip JSON parsing.
+     */
+    private void migrateJsonSplitsToBinary(List<Split> splits) {
+        List<Split> parsedSplits = new ArrayList<>();
+        try {
+            for (int i = 0; i < splits.size(); i++) {
+                Split split = splits.get(i);
+                if (split.json == null) {
+                    continue;
+                }
+
+                Split parsedSplit = Json.fromJson(split.json, Split.class);
+                if (parsedSplit != null) {
+                    splits.set(i, parsedSplit);
+                    parsedSplits.add(parsedSplit);
+                }
+            }
+
+            if (!parsedSplits.isEmpty()) {
+                Logger.v("Migrating " + parsedSplits.size() + " feature flags to binary format");
+                mDatabase.splitDao().insert(convertSplitListToEntities(parsedSplits));
+            }
+        } catch (Exception e) {
+            Logger.e("Failed to migrate feature flags to binary format", e);
+        }
+    }
+
+    private Set<String> loadNames() {
+        List<String> encryptedNames = mDatabase.splitDao().getAllNames();
+        Set<String> names = new HashSet<>();
+        if (encryptedNames == null) {
+            return names;
+        }
+
+        for (String encryptedName : encryptedNames) {
+            String name = mCipher.decrypt(encryptedName);
+            if (name != null) {
+                names.add(name);
+            }
+        }
+
+        return names;
+    }
+
     private List<SplitEntity> convertSplitListToEntities(List<Split> splits) {
         if (splits == null) {
             return new ArrayList<>();
@@ -192,15 +323,110 @@ public class SqLitePersistentSplitsStorage implements PersistentSplitsStorage {
         return mSplitToEntityTransformer.transform(splits);
     }
 
-    private List<String> splitNameList(List<Split> splits) {
-        List<String> names = new ArrayList<>();
+    private void setPersistedTrafficTypes(Map<String, Integer> trafficTypes) {
+        synchronized (mPersistedTrafficTypes) {
+            mPersistedTrafficTypes.clear();
+            mPersistedTrafficTypes.putAll(trafficTypes);
+            mPersistedTrafficTypesLoaded = true;
+        }
+    }
+
+    private void loadPersistedTrafficTypesIfNeeded() {
+        if (mPersistedTrafficTypesLoaded) {
+            return;
+        }
+
+        List<TrafficTypeEntity> entities = mDatabase.trafficTypeDao().getAll();
+        if (entities != null) {
+            for (TrafficTypeEntity entity : entities) {
+                String name = mCipher.decrypt(entity.getName());
+                if (name != null) {
+                    mPersistedTrafficTypes.put(name, entity.getCount());
+                }
+            }
+        }
+        mPersistedTrafficTypesLoaded = true;
+    }
+
+    private void getTrafficTypeChanges(Map<String, Integer> trafficTypes,
+                                       List<TrafficTypeEntity> changedTrafficTypes,
+                                       List<String> removedTrafficTypes) {
+        for (Map.Entry<String, Integer> entry : trafficTypes.entrySet()) {
+            if (entry.getValue().equals(mPersistedTrafficTypes.get(entry.getKey()))) {
+                continue;
+            }
+
+            String encryptedName = mCipher.encrypt(entry.getKey());
+            if (encryptedName != null) {
+                changedTrafficTypes.add(new TrafficTypeEntity(encryptedName, entry.getValue()));
+            }
+        }
+
+        for (String name : mPersistedTrafficTypes.keySet()) {
+            if (!trafficTypes.containsKey(name)) {
+                String encryptedName = mCipher.encrypt(name);
+                if (encryptedName != null) {
+                    removedTrafficTypes.add(encryptedName);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the flag set rows of the changed feature flags from the flag sets map,
+     * iterating over the smallest of each set and the changed flags.
+     */
+    private List<FlagSetEntity> getFlagSetEntities(Map<String, String> encryptedChangedNames, Map<String, Set<String>> flagSets) {
+        List<FlagSetEntity> entities = new ArrayList<>();
+        if (encryptedChangedNames.isEmpty()) {
+            return entities;
+        }
+
+        for (Map.Entry<String, Set<String>> entry : flagSets.entrySet()) {
+            Set<String> flagNames = entry.getValue();
+            if (flagNames == null || flagNames.isEmpty()) {
+                continue;
+            }
+
+            String encryptedFlagSet = null;
+            if (flagNames.size() < encryptedChangedNames.size()) {
+                for (String flagName : flagNames) {
+                    String encryptedName = encryptedChangedNames.get(flagName);
+                    if (encryptedName != null) {
+                        encryptedFlagSet = (encryptedFlagSet == null) ? mCipher.encrypt(entry.getKey()) : encryptedFlagSet;
+                        addFlagSetEntity(entities, encryptedFlagSet, encryptedName);
+                    }
+                }
+            } else {
+                for (Map.Entry<String, String> changedName : encryptedChangedNames.entrySet()) {
+                    if (flagNames.contains(changedName.getKey())) {
+                        encryptedFlagSet = (encryptedFlagSet == null) ? mCipher.encrypt(entry.getKey()) : encryptedFlagSet;
+                        addFlagSetEntity(entities, encryptedFlagSet, changedName.getValue());
+                    }
+                }
+            }
+        }
+
+        return entities;
+    }
+
+    private static void addFlagSetEntity(List<FlagSetEntity> entities, @Nullable String encryptedFlagSet, String encryptedName) {
+        if (encryptedFlagSet != null) {
+            entities.add(new FlagSetEntity(encryptedFlagSet, encryptedName));
+        }
+    }
+
+    private void putEncryptedNames(@Nullable List<Split> splits, Map<String, String> encryptedNames) {
         if (splits == null) {
-            return names;
+            return;
         }
+
         for (Split split : splits) {
-            names.add(mCipher.encrypt(split.name));
+            String encryptedName = mCipher.encrypt(split.name);
+            if (encryptedName != null) {
+                encryptedNames.put(split.name, encryptedName);
+            }
         }
-        return names;
     }
 
     private static class SplitsSnapshotLoader implements Runnable {
@@ -211,13 +437,23 @@ public class SqLitePersistentSplitsStorage implements PersistentSplitsStorage {
         private String mFlagsSpec = "";
         private Map<String, Integer> mTrafficTypes = new ConcurrentHashMap<>();
         private Map<String, Set<String>> mFlagSets = new ConcurrentHashMap<>();
+        @Nullable
         private final List<Split> mSplits;
+        @Nullable
+        private final Set<String> mSplitNames;
         private final SplitCipher mCipher;
+        private final SplitBodyCodec mBodyCodec;
 
-        public SplitsSnapshotLoader(SplitRoomDatabase database, List<Split> splits, SplitCipher cipher) {
+        /**
+         * Either the loaded feature flags or only their names are expected.
+         */
+        public SplitsSnapshotLoader(SplitRoomDatabase database, @Nullable List<Split> splits, @Nullable Set<String> splitNames,
+                                    SplitCipher cipher, SplitBodyCodec bodyCodec) {
             mDatabase = database;
             mSplits = splits;
+            mSplitNames = splitNames;
             mCipher = cipher;
+            mBodyCodec = bodyCodec;
         }
 
         @Override
@@ -226,8 +462,6 @@ public class SqLitePersistentSplitsStorage implements PersistentSplitsStorage {
             GeneralInfoEntity changeNumberEntity = mDatabase.generalInfoDao().getByName(GeneralInfoEntity.CHANGE_NUMBER_INFO);
             GeneralInfoEntity filterQueryStringEntity = mDatabase.generalInfoDao().getByName(GeneralInfoEntity.SPLITS_FILTER_QUERY_STRING);
             GeneralInfoEntity flagsSpecEntity = mDatabase.generalInfoDao().getByName(GeneralInfoEntity.FLAGS_SPEC);
-            GeneralInfoEntity trafficTypesEntity = mDatabase.generalInfoDao().getByName(GeneralInfoEntity.TRAFFIC_TYPES_MAP);
-            GeneralInfoEntity flagSetsEntity = mDatabase.generalInfoDao().getByName(GeneralInfoEntity.FLAG_SETS_MAP);
 
             if (changeNumberEntity != null) {
                 mChangeNumber = changeNumberEntity.getLongValue();
@@ -245,74 +479,180 @@ public class SqLitePersistentSplitsStorage implements PersistentSplitsStorage {
                 mFlagsSpec = flagsSpecEntity.getStringValue();
             }
 
-            boolean splitsAreNotEmpty = !mSplits.isEmpty();
-            boolean trafficTypesEntityIsEmpty = trafficTypesEntity == null || trafficTypesEntity.getStringValue().isEmpty();
-            boolean flagSetsEntityIsEmpty = flagSetsEntity == null || flagSetsEntity.getStringValue().isEmpty();
-            boolean trafficTypesAndSetsMigrationRequired = splitsAreNotEmpty &&
-                    (trafficTypesEntityIsEmpty || flagSetsEntityIsEmpty);
-            if (trafficTypesAndSetsMigrationRequired) {
-                migrateTrafficTypesAndSetsFromStoredData();
+            boolean splitsAreNotEmpty = (mSplits != null) ? !mSplits.isEmpty() : (mSplitNames != null && !mSplitNames.isEmpty());
+            List<TrafficTypeEntity> trafficTypeEntities = mDatabase.trafficTypeDao().getAll();
+            boolean trafficTypesAreEmpty = trafficTypeEntities == null || trafficTypeEntities.isEmpty();
+            if (splitsAreNotEmpty && trafficTypesAreEmpty) {
+                // Every feature flag has a traffic type, so metadata has not been stored in its tables yet
+                migrateTrafficTypesAndSets();
+            } else {
+                readTrafficTypesAndSets(trafficTypeEntities);
             }
-
-            parseTrafficTypesAndSets(trafficTypesEntity, flagSetsEntity);
         }
 
-        private synchronized void parseTrafficTypesAndSets(@Nullable GeneralInfoEntity trafficTypesEntity, @Nullable GeneralInfoEntity flagSetsEntity) {
-            Logger.v("Parsing traffic types and sets");
-            if (trafficTypesEntity != null && !trafficTypesEntity.getStringValue().isEmpty()) {
-                Type mapType = new TypeToken<Map<String, Integer>>(){}.getType();
-                String encryptedTrafficTypes = trafficTypesEntity.getStringValue();
-                String decryptedTrafficTypes = mCipher.decrypt(encryptedTrafficTypes);
-                mTrafficTypes = Json.fromJson(decryptedTrafficTypes, mapType);
+        private void readTrafficTypesAndSets(@Nullable List<TrafficTypeEntity> trafficTypeEntities) {
+            Logger.v("Reading traffic types and sets");
+            if (trafficTypeEntities != null) {
+                for (TrafficTypeEntity entity : trafficTypeEntities) {
+                    String name = mCipher.decrypt(entity.getName());
+                    if (name != null) {
+                        mTrafficTypes.put(name, entity.getCount());
+                    }
+                }
             }
 
-            if (flagSetsEntity != null && !flagSetsEntity.getStringValue().isEmpty()) {
-                Type flagsMapType = new TypeToken<Map<String, Set<String>>>(){}.getType();
-                String encryptedFlagSets = flagSetsEntity.getStringValue();
-                String decryptedFlagSets = mCipher.decrypt(encryptedFlagSets);
-                mFlagSets = Json.fromJson(decryptedFlagSets, flagsMapType);
+            List<FlagSetEntity> flagSetEntities = mDatabase.flagSetDao().getAll();
+            if (flagSetEntities == null) {
+                return;
+            }
+
+            // Names are decrypted once per distinct value
+            Map<String, String> decryptedValues = new HashMap<>();
+            for (FlagSetEntity entity : flagSetEntities) {
+                String flagSet = decryptOnce(entity.getFlagSet(), decryptedValues);
+                String flagName = decryptOnce(entity.getFlagName(), decryptedValues);
+                if (flagSet == null || flagName == null) {
+                    continue;
+                }
+
+                Set<String> flagNames = mFlagSets.get(flagSet);
+                if (flagNames == null) {
+                    flagNames = new HashSet<>();
+                    mFlagSets.put(flagSet, flagNames);
+                }
+                flagNames.add(flagName);
             }
         }
 
-        private void migrateTrafficTypesAndSetsFromStoredData() {
+        @Nullable
+        private String decryptOnce(String value, Map<String, String> decryptedValues) {
+            String decryptedValue = decryptedValues.get(value);
+            if (decryptedValue == null) {
+                decryptedValue = mCipher.decrypt(value);
+                if (decryptedValue != null) {
+                    decryptedValues.put(value, decryptedValue);
+                }
+            }
+
+            return decryptedValue;
+        }
+
+        /**
+         * Moves the metadata stored as JSON in general info to its tables, computing it
+         * from the stored feature flags when it is not available.
+         */
+        private void migrateTrafficTypesAndSets() {
             Logger.i("Migration required for cached traffic types and flag sets. Migrating now.");
             try {
-                for (Split split : mSplits) {
-                    Split parsedSplit = Json.fromJson(split.json, Split.class);
-                    if (parsedSplit != null) {
-                        if (parsedSplit.status == Status.ACTIVE) {
-                            increaseTrafficTypeCount(parsedSplit.trafficTypeName, mTrafficTypes);
-                            addOrUpdateFlagSets(parsedSplit, mFlagSets);
-                        } else {
-                            decreaseTrafficTypeCount(parsedSplit.trafficTypeName, mTrafficTypes);
-                            deleteFromFlagSetsIfNecessary(parsedSplit, mFlagSets);
+                GeneralInfoEntity trafficTypesEntity = mDatabase.generalInfoDao().getByName(GeneralInfoEntity.TRAFFIC_TYPES_MAP);
+                GeneralInfoEntity flagSetsEntity = mDatabase.generalInfoDao().getByName(GeneralInfoEntity.FLAG_SETS_MAP);
+                boolean trafficTypesEntityIsEmpty = trafficTypesEntity == null || trafficTypesEntity.getStringValue().isEmpty();
+                boolean flagSetsEntityIsEmpty = flagSetsEntity == null || flagSetsEntity.getStringValue().isEmpty();
+                if (trafficTypesEntityIsEmpty || flagSetsEntityIsEmpty) {
+                    computeTrafficTypesAndSetsFromStoredData();
+                }
+                parseTrafficTypesAndSets(trafficTypesEntity, flagSetsEntity);
+
+                List<TrafficTypeEntity> trafficTypeEntities = new ArrayList<>();
+                for (Map.Entry<String, Integer> entry : mTrafficTypes.entrySet()) {
+                    String encryptedName = mCipher.encrypt(entry.getKey());
+                    if (encryptedName != null) {
+                        trafficTypeEntities.add(new TrafficTypeEntity(encryptedName, entry.getValue()));
+                    }
+                }
+
+                List<FlagSetEntity> flagSetEntities = new ArrayList<>();
+                for (Map.Entry<String, Set<String>> entry : mFlagSets.entrySet()) {
+                    String encryptedFlagSet = mCipher.encrypt(entry.getKey());
+                    if (encryptedFlagSet == null) {
+                        continue;
+                    }
+                    for (String flagName : entry.getValue()) {
+                        String encryptedName = mCipher.encrypt(flagName);
+                        if (encryptedName != null) {
+                            flagSetEntities.add(new FlagSetEntity(encryptedFlagSet, encryptedName));
                         }
                     }
                 }
 
-                // persist TTs
-                if (mTrafficTypes != null && !mTrafficTypes.isEmpty()) {
-                    String decryptedTrafficTypes = Json.toJson(mTrafficTypes);
-                    String encryptedTrafficTypes = mCipher.encrypt(decryptedTrafficTypes);
-                    mDatabase.generalInfoDao().update(new GeneralInfoEntity(GeneralInfoEntity.TRAFFIC_TYPES_MAP, encryptedTrafficTypes));
+                mDatabase.runInTransaction(new Runnable() {
+                    @Override
+                    public void run() {
+                        mDatabase.trafficTypeDao().deleteAll();
+                        mDatabase.flagSetDao().deleteAll();
+                        mDatabase.trafficTypeDao().insert(trafficTypeEntities);
+                        mDatabase.flagSetDao().insert(flagSetEntities);
+                        mDatabase.generalInfoDao().update(new GeneralInfoEntity(GeneralInfoEntity.TRAFFIC_TYPES_MAP, ""));
+                        mDatabase.generalInfoDao().update(new GeneralInfoEntity(GeneralInfoEntity.FLAG_SETS_MAP, ""));
+                    }
+                });
+            } catch (Exception e) {
+                Logger.e("Failed to migrate traffic types and flag sets", e);
+            }
+        }
+
+        private void parseTrafficTypesAndSets(@Nullable GeneralInfoEntity trafficTypesEntity, @Nullable GeneralInfoEntity flagSetsEntity) {
+            if (trafficTypesEntity != null && !trafficTypesEntity.getStringValue().isEmpty()) {
+                Type mapType = new TypeToken<Map<String, Integer>>(){}.getType();
+                String decryptedTrafficTypes = mCipher.decrypt(trafficTypesEntity.getStringValue());
+                Map<String, Integer> trafficTypes = Json.fromJson(decryptedTrafficTypes, mapType);
+                if (trafficTypes != null) {
+                    mTrafficTypes = trafficTypes;
                 }
+            }
 
-                if (mFlagSets != null && !mFlagSets.isEmpty()) {
-                    // persist flag sets
-                    String decryptedFlagSets = Json.toJson(mFlagSets);
-                    String encryptedFlagSets = mCipher.encrypt(decryptedFlagSets);
+            if (flagSetsEntity != null && !flagSetsEntity.getStringValue().isEmpty()) {
+                Type flagsMapType = new TypeToken<Map<String, Set<String>>>(){}.getType();
+                String decryptedFlagSets = mCipher.decrypt(flagSetsEntity.getStringValue());
+                Map<String, Set<String>> flagSets = Json.fromJson(decryptedFlagSets, flagsMapType);
+                if (flagSets != null) {
+                    mFlagSets = flagSets;
+                }
+            }
+        }
 
-                    mDatabase.generalInfoDao().update(new GeneralInfoEntity(GeneralInfoEntity.FLAG_SETS_MAP, encryptedFlagSets));
+        private void computeTrafficTypesAndSetsFromStoredData() {
+            for (Split split : getSplitsForMigration()) {
+                Split parsedSplit = (split.json != null) ? Json.fromJson(split.json, Split.class) : split;
+                if (parsedSplit != null) {
+                    if (parsedSplit.status == Status.ACTIVE) {
+                        increaseTrafficTypeCount(parsedSplit.trafficTypeName, mTrafficTypes);
+                        addOrUpdateFlagSets(parsedSplit, mFlagSets);
+                    } else {
+                        decreaseTrafficTypeCount(parsedSplit.trafficTypeName, mTrafficTypes);
+                        deleteFromFlagSetsIfNecessary(parsedSplit, mFlagSets);
+                    }
                 }
-            } catch (Exception e) {
-                Logger.e("Failed to migrate traffic types and flag sets", e);
             }
         }
 
+        private List<Split> getSplitsForMigration() {
+            if (mSplits != null) {
+                return mSplits;
+            }
+
+            // Only names were loaded, so definitions have to be read once for the migration
+            List<Split> splits = new ArrayList<>();
+            for (SplitEntity entity : mDatabase.splitDao().getAll()) {
+                String name = mCipher.decrypt(entity.getName());
+                String body = mCipher.decrypt(entity.getBody());
+                Split split = (name != null && body != null) ? mBodyCodec.decode(name, body, entity.getFormat()) : null;
+                if (split != null) {
+                    splits.add(split);
+                }
+            }
+
+            return splits;
+        }
+
         public List<Split> getSplits() {
             return mSplits;
         }
 
+        public Set<String> getSplitNames() {
+            return mSplitNames;
+        }
+
         public Long getChangeNumber() {
             return mChangeNumber;
         }
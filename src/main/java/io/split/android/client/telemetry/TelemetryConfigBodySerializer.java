@@ -2,14 +2,21 @@ package io.split.android.client.telemetry;
 
 import androidx.annotation.NonNull;
 
-import io.split.android.client.service.http.HttpRequestBodySerializer;
+import java.io.Writer;
+
+import io.split.android.client.service.http.StreamingHttpRequestBodySerializer;
 import io.split.android.client.telemetry.model.Config;
 import io.split.android.client.utils.Json;
 
-public class TelemetryConfigBodySerializer implements HttpRequestBodySerializer<Config> {
+public class TelemetryConfigBodySerializer implements StreamingHttpRequestBodySerializer<Config> {
 
     @Override
     public String serialize(@NonNull Config data) {
         return Json.toJsonIgnoringNulls(data);
     }
+
+    @Override
+    public void serialize(@NonNull Config data, @NonNull Writer writer) {
+        Json.toJsonIgnoringNulls(data, writer);
+    }
 }
@@ -2,14 +2,21 @@ package io.split.android.client.telemetry;
 
 import androidx.annotation.NonNull;
 
-import io.split.android.client.service.http.HttpRequestBodySerializer;
+import java.io.Writer;
+
+import io.split.android.client.service.http.StreamingHttpRequestBodySerializer;
 import io.split.android.client.telemetry.model.Stats;
 import io.split.android.client.utils.Json;
 
-public class TelemetryStatsBodySerializer implements HttpRequestBodySerializer<Stats> {
+public class TelemetryStatsBodySerializer implements StreamingHttpRequestBodySerializer<Stats> {
 
     @Override
     public String serialize(@NonNull Stats data) {
         return Json.toJsonIgnoringNulls(data);
     }
+
+    @Override
+    public void serialize(@NonNull Stats data, @NonNull Writer writer) {
+        Json.toJsonIgnoringNulls(data, writer);
+    }
 }
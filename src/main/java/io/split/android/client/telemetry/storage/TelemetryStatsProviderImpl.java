@@ -55,7 +55,7 @@ public class TelemetryStatsProviderImpl implements TelemetryStatsProvider {
         addDefaultTags();
 
         stats.setStreamingEvents(mTelemetryStorageConsumer.popStreamingEvents());
-        stats.setSplitCount(mSplitsStorage.getAll().size());
+        stats.setSplitCount(mSplitsStorage.getCount());
         stats.setTags(mTelemetryStorageConsumer.popTags());
         stats.setMethodLatencies(mTelemetryStorageConsumer.popLatencies());
         stats.setSegmentCount(mMySegmentsStorageContainer.getUniqueAmount());
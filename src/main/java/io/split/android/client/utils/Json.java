@@ -5,9 +5,14 @@ import androidx.annotation.NonNull;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonElement;
+import com.google.gson.JsonIOException;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.List;
@@ -31,10 +36,30 @@ public class Json {
         return mJson.toJson(obj);
     }
 
+    public static void toJson(Object obj, Appendable writer) throws JsonIOException {
+        mJson.toJson(obj, writer);
+    }
+
+    public static void toJson(Object obj, Type typeOfObj, JsonWriter writer) throws JsonIOException {
+        mJson.toJson(obj, typeOfObj, writer);
+    }
+
+    /**
+     * Creates a {@link JsonWriter} with the same settings used by {@link #toJson(Object)},
+     * so values written with it and values serialized separately can be mixed.
+     */
+    public static JsonWriter newJsonWriter(Writer writer) throws IOException {
+        return mJson.newJsonWriter(writer);
+    }
+
     public static String toJsonIgnoringNulls(Object obj) {
         return getNonNullsGsonInstance().toJson(obj);
     }
 
+    public static void toJsonIgnoringNulls(Object obj, Appendable writer) throws JsonIOException {
+        getNonNullsGsonInstance().toJson(obj, writer);
+    }
+
     public static <T> T fromJson(String json, Type typeOfT) throws JsonSyntaxException {
         return mJson.fromJson(json, typeOfT);
     }
@@ -49,6 +74,17 @@ public class Json {
         return mJson.fromJson(json, clz);
     }
 
+    public static <T> T fromJson(JsonElement json, Class<T> clz) throws JsonSyntaxException {
+        return mJson.fromJson(json, clz);
+    }
+
+    /**
+     * Reads the next value from the reader, leaving it positioned after that value.
+     */
+    public static <T> T fromJson(JsonReader reader, Type typeOfT) throws JsonIOException, JsonSyntaxException {
+        return mJson.fromJson(reader, typeOfT);
+    }
+
     @NonNull
     public static Map<String, Object> genericValueMapFromJson(String json, Type attributesMapType) {
         Map<String, Object> map = mJson.fromJson(json, attributesMapType);
@@ -164,6 +164,138 @@ public final class MurmurHash3 {
         return h1 & 0xFFFFFFFFL;
     }
 
+    /**
+     * Incremental version of {@link #murmurhash3_x86_32(CharSequence, int, int, int)}.
+     * Appending several values produces the same hash as hashing their concatenation,
+     * without building it. Instances are reusable through {@link #reset(int)} and not thread safe.
+     */
+    public static final class IncrementalX86_32 {
+
+        private static final int C1 = 0xcc9e2d51;
+        private static final int C2 = 0x1b873593;
+        private static final String MIN_LONG = String.valueOf(Long.MIN_VALUE);
+
+        private int h1;
+        private int k1;
+        private int shift;
+        private int nBytes;
+        // Surrogate waiting for the next char, or -1
+        private int pendingSurrogate = -1;
+
+        public IncrementalX86_32 reset(int seed) {
+            h1 = seed;
+            k1 = 0;
+            shift = 0;
+            nBytes = 0;
+            pendingSurrogate = -1;
+            return this;
+        }
+
+        public IncrementalX86_32 append(CharSequence data) {
+            for (int i = 0; i < data.length(); i++) {
+                append(data.charAt(i));
+            }
+            return this;
+        }
+
+        /**
+         * Appends the decimal representation of the value, as {@link Long#toString(long)} would.
+         */
+        public IncrementalX86_32 append(long value) {
+            if (value == Long.MIN_VALUE) {
+                return append(MIN_LONG);
+            }
+            if (value < 0) {
+                append('-');
+                value = -value;
+            }
+            long divisor = 1;
+            while (value / divisor >= 10) {
+                divisor *= 10;
+            }
+            while (divisor > 0) {
+                append((char) ('0' + value / divisor));
+                value %= divisor;
+                divisor /= 10;
+            }
+            return this;
+        }
+
+        public IncrementalX86_32 append(char c) {
+            int code = c;
+            if (pendingSurrogate != -1) {
+                int utf32 = ((pendingSurrogate - 0xD7C0) << 10) + (code & 0x3FF);
+                pendingSurrogate = -1;
+                mix((0xff & (0xF0 | (utf32 >> 18)))
+                        | ((0x80 | ((utf32 >> 12) & 0x3F))) << 8
+                        | ((0x80 | ((utf32 >> 6) & 0x3F))) << 16
+                        | (0x80 | (utf32 & 0x3F)) << 24, 32);
+            } else if (code < 0x80) {
+                mix(code, 8);
+            } else if (code < 0x800) {
+                mix((0xC0 | (code >> 6))
+                        | ((0x80 | (code & 0x3F)) << 8), 16);
+            } else if (code < 0xD800 || code > 0xDFFF) {
+                mix(threeBytes(code), 24);
+            } else {
+                // Combined with the next char, unless it is the last one
+                pendingSurrogate = code;
+            }
+            return this;
+        }
+
+        public long hash() {
+            if (pendingSurrogate != -1) {
+                // unpaired surrogate at the end is encoded as 3 bytes
+                int code = pendingSurrogate;
+                pendingSurrogate = -1;
+                mix(threeBytes(code), 24);
+            }
+
+            int h = h1;
+            int k = k1;
+            int n = nBytes;
+            if (shift > 0) {
+                n += shift >> 3;
+                k *= C1;
+                k = (k << 15) | (k >>> 17);
+                k *= C2;
+                h ^= k;
+            }
+
+            h ^= n;
+            return fmix32(h) & 0xFFFFFFFFL;
+        }
+
+        private static int threeBytes(int code) {
+            return (0xE0 | (code >> 12))
+                    | ((0x80 | ((code >> 6) & 0x3F)) << 8)
+                    | ((0x80 | (code & 0x3F)) << 16);
+        }
+
+        private void mix(int k2, int bits) {
+            k1 |= k2 << shift;
+            shift += bits;
+            if (shift >= 32) {
+                k1 *= C1;
+                k1 = (k1 << 15) | (k1 >>> 17);
+                k1 *= C2;
+
+                h1 ^= k1;
+                h1 = (h1 << 13) | (h1 >>> 19);
+                h1 = h1 * 5 + 0xe6546b64;
+
+                shift -= 32;
+                if (shift != 0) {
+                    k1 = k2 >>> (bits - shift);
+                } else {
+                    k1 = 0;
+                }
+                nBytes += 4;
+            }
+        }
+    }
+
     // The following set of methods and constants are borrowed from:
     // `This method is borrowed from `org.apache.commons.codec.digest.MurmurHash3`
 
@@ -111,4 +111,11 @@ public class Utils {
     public static <T> T getOrDefault(@Nullable T value, @NonNull T defaultValue) {
         return value != null ? value : defaultValue;
     }
+
+    /**
+     * Initial capacity for a HashMap that will hold the given number of entries without resizing.
+     */
+    public static int mapCapacityFor(int expectedSize) {
+        return (int) (expectedSize / 0.75f) + 1;
+    }
 }
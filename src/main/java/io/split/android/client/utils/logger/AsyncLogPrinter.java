@@ -0,0 +1,147 @@
+package io.split.android.client.utils.logger;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.VisibleForTesting;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * {@link LogPrinter} that queues messages in a bounded buffer and prints them
+ * from a single background thread. Messages are dropped when the buffer is full,
+ * so logging never blocks the calling thread.
+ */
+class AsyncLogPrinter implements LogPrinter {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final String THREAD_NAME = "Split-LogPrinter";
+
+    private final LogPrinter mPrinter;
+    private final BlockingQueue<Entry> mQueue;
+    private final Thread mThread;
+
+    AsyncLogPrinter(@NonNull LogPrinter printer) {
+        this(printer, DEFAULT_CAPACITY);
+    }
+
+    @VisibleForTesting
+    AsyncLogPrinter(@NonNull LogPrinter printer, int capacity) {
+        mPrinter = printer;
+        mQueue = new LinkedBlockingQueue<>(capacity);
+        mThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                drain();
+            }
+        }, THREAD_NAME);
+        mThread.setDaemon(true);
+        mThread.start();
+    }
+
+    @Override
+    public void v(String tag, String msg, Throwable tr) {
+        mQueue.offer(new Entry(SplitLogLevel.VERBOSE, tag, msg, tr));
+    }
+
+    @Override
+    public void d(String tag, String msg, Throwable tr) {
+        mQueue.offer(new Entry(SplitLogLevel.DEBUG, tag, msg, tr));
+    }
+
+    @Override
+    public void i(String tag, String msg, Throwable tr) {
+        mQueue.offer(new Entry(SplitLogLevel.INFO, tag, msg, tr));
+    }
+
+    @Override
+    public void w(String tag, String msg, Throwable tr) {
+        mQueue.offer(new Entry(SplitLogLevel.WARNING, tag, msg, tr));
+    }
+
+    @Override
+    public void e(String tag, String msg, Throwable tr) {
+        mQueue.offer(new Entry(SplitLogLevel.ERROR, tag, msg, tr));
+    }
+
+    @Override
+    public void wtf(String tag, String msg, Throwable tr) {
+        mQueue.offer(new Entry(SplitLogLevel.ASSERT, tag, msg, tr));
+    }
+
+    LogPrinter getPrinter() {
+        return mPrinter;
+    }
+
+    /**
+     * Stops the background thread once the messages queued so far have been printed.
+     */
+    void stop() {
+        mThread.interrupt();
+    }
+
+    private void drain() {
+        while (true) {
+            Entry entry;
+            try {
+                entry = mQueue.take();
+            } catch (InterruptedException e) {
+                flush();
+                return;
+            }
+            print(entry);
+        }
+    }
+
+    private void flush() {
+        Entry entry;
+        while ((entry = mQueue.poll()) != null) {
+            print(entry);
+        }
+    }
+
+    private void print(Entry entry) {
+        try {
+            switch (entry.level) {
+                case SplitLogLevel.VERBOSE:
+                    mPrinter.v(entry.tag, entry.msg, entry.tr);
+                    break;
+
+                case SplitLogLevel.DEBUG:
+                    mPrinter.d(entry.tag, entry.msg, entry.tr);
+                    break;
+
+                case SplitLogLevel.INFO:
+                    mPrinter.i(entry.tag, entry.msg, entry.tr);
+                    break;
+
+                case SplitLogLevel.WARNING:
+                    mPrinter.w(entry.tag, entry.msg, entry.tr);
+                    break;
+
+                case SplitLogLevel.ERROR:
+                    mPrinter.e(entry.tag, entry.msg, entry.tr);
+                    break;
+
+                case SplitLogLevel.ASSERT:
+                    mPrinter.wtf(entry.tag, entry.msg, entry.tr);
+                    break;
+            }
+        } catch (Exception ignored) {
+            // A failing printer must not stop the printing thread
+        }
+    }
+
+    private static final class Entry {
+        final int level;
+        final String tag;
+        final String msg;
+        final Throwable tr;
+
+        Entry(int level, String tag, String msg, Throwable tr) {
+            this.level = level;
+            this.tag = tag;
+            this.msg = msg;
+            this.tr = tr;
+        }
+    }
+}
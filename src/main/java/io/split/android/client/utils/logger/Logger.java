@@ -7,66 +7,108 @@ package io.split.android.client.utils.logger;
 public class Logger {
 
     private static final String TAG = "SplitSDK";
-    private int mLevel = SplitLogLevel.NONE;
-    private static volatile Logger instance;
-    private LogPrinter mLogPrinter = new LogPrinterImpl();
+    private static final Logger INSTANCE = new Logger();
+    private volatile int mLevel = SplitLogLevel.NONE;
+    private volatile LogPrinter mLogPrinter = new LogPrinterImpl();
+    private volatile boolean mAsync = false;
 
     private Logger() {
     }
 
-    public static synchronized Logger instance() {
-        if (instance == null) {
-            synchronized (Logger.class) { // double checked locking principle to improve performance
-                if (instance == null) {
-                    instance = new Logger();
-                }
-            }
-        }
-        return instance;
+    public static Logger instance() {
+        return INSTANCE;
     }
 
     public void setLevel(int logLevel) {
         mLevel = logLevel;
     }
 
-    public void setPrinter(LogPrinter printer) {
-        mLogPrinter = printer;
+    public synchronized void setPrinter(LogPrinter printer) {
+        stopAsyncPrinter();
+        mLogPrinter = mAsync ? new AsyncLogPrinter(printer) : printer;
+    }
+
+    /**
+     * When enabled, messages are handed to the printer from a background thread,
+     * so the thread that logs doesn't wait for the printer.
+     */
+    public synchronized void setAsync(boolean async) {
+        if (mAsync == async) {
+            return;
+        }
+
+        mAsync = async;
+        LogPrinter printer = mLogPrinter;
+        if (async) {
+            mLogPrinter = new AsyncLogPrinter(printer);
+        } else if (printer instanceof AsyncLogPrinter) {
+            mLogPrinter = ((AsyncLogPrinter) printer).getPrinter();
+            ((AsyncLogPrinter) printer).stop();
+        }
+    }
+
+    /**
+     * @return whether messages with the given level are currently printed. Callers can use it
+     * to avoid building expensive messages that won't be logged.
+     */
+    public static boolean isLoggable(int level) {
+        return INSTANCE.isEnabled(level);
+    }
+
+    private boolean isEnabled(int priority) {
+        int level = mLevel;
+        return level != SplitLogLevel.NONE && priority >= SplitLogLevel.VERBOSE && level <= priority;
+    }
+
+    private void stopAsyncPrinter() {
+        if (mLogPrinter instanceof AsyncLogPrinter) {
+            ((AsyncLogPrinter) mLogPrinter).stop();
+        }
     }
 
     private void log(int priority, String msg, Throwable tr) {
 
-        if (mLevel == SplitLogLevel.NONE || priority < SplitLogLevel.VERBOSE ||
-                mLevel > priority) {
+        if (!isEnabled(priority)) {
             return;
         }
 
+        LogPrinter printer = mLogPrinter;
         switch (priority) {
             case SplitLogLevel.VERBOSE:
-                mLogPrinter.v(TAG, msg, tr);
+                printer.v(TAG, msg, tr);
                 break;
 
             case SplitLogLevel.DEBUG:
-                mLogPrinter.d(TAG, msg, tr);
+                printer.d(TAG, msg, tr);
                 break;
 
             case SplitLogLevel.INFO:
-                mLogPrinter.i(TAG, msg, tr);
+                printer.i(TAG, msg, tr);
                 break;
 
             case SplitLogLevel.WARNING:
-                mLogPrinter.w(TAG, msg, tr);
+                printer.w(TAG, msg, tr);
                 break;
 
             case SplitLogLevel.ERROR:
-                mLogPrinter.e(TAG, msg, tr);
+                printer.e(TAG, msg, tr);
                 break;
 
             case SplitLogLevel.ASSERT:
-                mLogPrinter.wtf(TAG, msg, tr);
+                printer.wtf(TAG, msg, tr);
                 break;
         }
     }
 
+    /**
+     * Formats the message only if it is going to be printed.
+     */
+    private void log(int priority, String msg, Object[] args, Throwable tr) {
+        if (isEnabled(priority)) {
+            log(priority, formatMessage(msg, args), tr);
+        }
+    }
+
     private static String formatMessage(String message, Object[] args) {
         if (args != null && args.length > 0) {
             message = String.format(message, args);
@@ -75,86 +117,86 @@ public class Logger {
     }
 
     public static void v(String msg, Object... args) {
-        v(formatMessage(msg, args));
+        INSTANCE.log(SplitLogLevel.VERBOSE, msg, args, null);
     }
 
     public static void v(String msg) {
-        instance().log(SplitLogLevel.VERBOSE, msg, null);
+        INSTANCE.log(SplitLogLevel.VERBOSE, msg, null);
     }
 
     public static void v(String msg, Throwable tr) {
-        instance().log(SplitLogLevel.VERBOSE, msg, tr);
+        INSTANCE.log(SplitLogLevel.VERBOSE, msg, tr);
     }
 
     public static void d(String msg, Object... args) {
-        d(formatMessage(msg, args));
+        INSTANCE.log(SplitLogLevel.DEBUG, msg, args, null);
     }
 
     public static void d(String msg) {
-        instance().log(SplitLogLevel.DEBUG, msg, null);
+        INSTANCE.log(SplitLogLevel.DEBUG, msg, null);
     }
 
     public static void d(String msg, Throwable tr) {
-        instance().log(SplitLogLevel.DEBUG, msg, tr);
+        INSTANCE.log(SplitLogLevel.DEBUG, msg, tr);
     }
 
     public static void i(String msg, Object... args) {
-        i(formatMessage(msg, args));
+        INSTANCE.log(SplitLogLevel.INFO, msg, args, null);
     }
 
     public static void i(String msg) {
-        instance().log(SplitLogLevel.INFO, msg, null);
+        INSTANCE.log(SplitLogLevel.INFO, msg, null);
     }
 
     public static void i(String msg, Throwable tr) {
-        instance().log(SplitLogLevel.INFO, msg, tr);
+        INSTANCE.log(SplitLogLevel.INFO, msg, tr);
     }
 
     public static void w(String msg, Object... args) {
-        w(formatMessage(msg, args));
+        INSTANCE.log(SplitLogLevel.WARNING, msg, args, null);
     }
 
     public static void w(Throwable tr, String msg, Object... args) {
-        w(formatMessage(msg, args), tr);
+        INSTANCE.log(SplitLogLevel.WARNING, msg, args, tr);
     }
 
     public static void w(String msg) {
-        instance().log(SplitLogLevel.WARNING, msg, null);
+        INSTANCE.log(SplitLogLevel.WARNING, msg, null);
     }
 
     public static void w(String msg, Throwable tr) {
-        instance().log(SplitLogLevel.WARNING, msg, tr);
+        INSTANCE.log(SplitLogLevel.WARNING, msg, tr);
     }
 
     public static void e(String msg, Object... args) {
-        e(formatMessage(msg, args));
+        INSTANCE.log(SplitLogLevel.ERROR, msg, args, null);
     }
 
     public static void e(Throwable tr, String msg, Object... args) {
-        e(formatMessage(msg, args), tr);
+        INSTANCE.log(SplitLogLevel.ERROR, msg, args, tr);
     }
 
     public static void e(String msg) {
-        instance().log(SplitLogLevel.ERROR, msg, null);
+        INSTANCE.log(SplitLogLevel.ERROR, msg, null);
     }
 
     public static void e(String msg, Throwable tr) {
-        instance().log(SplitLogLevel.ERROR, msg, tr);
+        INSTANCE.log(SplitLogLevel.ERROR, msg, tr);
     }
 
     public static void e(Throwable tr) {
-        instance().log(SplitLogLevel.ERROR, "", tr);
+        INSTANCE.log(SplitLogLevel.ERROR, "", tr);
     }
 
     public static void wtf(String msg, Object... args) {
-        wtf(formatMessage(msg, args));
+        INSTANCE.log(SplitLogLevel.ASSERT, msg, args, null);
     }
 
     public static void wtf(String msg) {
-        instance().log(SplitLogLevel.ASSERT, msg, null);
+        INSTANCE.log(SplitLogLevel.ASSERT, msg, null);
     }
 
     public static void wtf(String msg, Throwable tr) {
-        instance().log(SplitLogLevel.ASSERT, msg, tr);
+        INSTANCE.log(SplitLogLevel.ASSERT, msg, tr);
     }
 }
@@ -26,6 +26,10 @@ class TreatmentManagerHelper {
         return results;
     }
 
+    static void validateSplitName(SplitValidator splitValidator, ValidationMessageLogger validationLogger, String split, String validationTag) {
+        isInvalidSplit(splitValidator, validationTag, validationLogger, split);
+    }
+
     private static boolean isInvalidSplit(@Nullable SplitValidator validator, @Nullable String validationTag, @Nullable ValidationMessageLogger logger, String split) {
         if (validator != null) {
             ValidationErrorInfo errorInfo = validator.validateName(split);
@@ -1,13 +1,16 @@
 package io.split.android.client.validators;
 
 import static io.split.android.client.utils.Utils.checkNotNull;
+import static io.split.android.client.utils.Utils.mapCapacityFor;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -95,15 +98,13 @@ public class TreatmentManagerImpl implements TreatmentManager {
     @Override
     public String getTreatment(String split, Map<String, Object> attributes, EvaluationOptions evaluationOptions, boolean isClientDestroyed) {
         try {
-            String treatment = getTreatmentsWithConfigGeneric(
-                    Collections.singletonList(split),
-                    null,
+            String treatment = getTreatmentWithConfigForSingleFlag(
+                    split,
                     attributes,
                     evaluationOptions,
                     isClientDestroyed,
-                    SplitResult::treatment,
                     Method.TREATMENT
-            ).get(split);
+            ).treatment();
 
             if (treatment == null) {
                 FallbackTreatment fallback = mFallbackCalculator.resolve(split);
@@ -124,21 +125,13 @@ public class TreatmentManagerImpl implements TreatmentManager {
     @Override
     public SplitResult getTreatmentWithConfig(String split, Map<String, Object> attributes, EvaluationOptions evaluationOptions, boolean isClientDestroyed) {
         try {
-            SplitResult splitResult = getTreatmentsWithConfigGeneric(
-                    Collections.singletonList(split),
-                    null,
+            return getTreatmentWithConfigForSingleFlag(
+                    split,
                     attributes,
                     evaluationOptions,
                     isClientDestroyed,
-                    ResultTransformer::identity,
                     Method.TREATMENT_WITH_CONFIG
-            ).get(split);
-
-            if (splitResult == null) {
-                FallbackTreatment fallback = mFallbackCalculator.resolve(split);
-                return new SplitResult(fallback.getTreatment(), fallback.getConfig());
-            }
-            return splitResult;
+            );
         } catch (Exception ex) {
             // In case get fails for some reason
             Logger.e("Client " + Method.TREATMENT_WITH_CONFIG.getMethod() + " exception", ex);
@@ -221,6 +214,54 @@ public class TreatmentManagerImpl implements TreatmentManager {
                 Method.TREATMENTS_WITH_CONFIG_BY_FLAG_SETS);
     }
 
+    /**
+     * Single feature flag version of {@link #getTreatmentsWithConfigGeneric}. It performs the same
+     * validations and telemetry recording, but avoids wrapping the name in a list and the result in a map.
+     */
+    @NonNull
+    private SplitResult getTreatmentWithConfigForSingleFlag(String split,
+                                                            @Nullable Map<String, Object> attributes,
+                                                            EvaluationOptions evaluationOptions,
+                                                            boolean isClientDestroyed,
+                                                            Method telemetryMethodName) {
+        String validationTag = telemetryMethodName.getMethod();
+        try {
+            // Check if client is destroyed. If so, return control treatment
+            if (isClientDestroyed) {
+                mValidationLogger.e("Client has already been destroyed - no calls possible", validationTag);
+
+                return getControlTreatmentForSplitWithConfig(split, validationTag);
+            }
+
+            // Validate Key
+            ValidationErrorInfo errorInfo = mKeyValidator.validate(mMatchingKey, mBucketingKey);
+            if (errorInfo != null) {
+                mValidationLogger.e(errorInfo, validationTag);
+                return getControlTreatmentForSplitWithConfig(split, validationTag);
+            }
+
+            // Mark the start timestamp of the evaluation, to use for telemetry
+            long start = System.currentTimeMillis();
+            boolean exceptionOccurred = false;
+            try {
+                TreatmentResult evaluationResult = getTreatmentWithConfigWithoutMetrics(split, mergeAttributes(attributes), validationTag, evaluationOptions);
+                exceptionOccurred = evaluationResult.isException();
+
+                return evaluationResult.getSplitResult();
+            } finally {
+                recordLatency(telemetryMethodName, start);
+                if (exceptionOccurred) {
+                    mTelemetryStorageProducer.recordException(telemetryMethodName);
+                }
+            }
+        } catch (Exception exception) {
+            Logger.e("Client " + validationTag + " exception", exception);
+            mTelemetryStorageProducer.recordException(telemetryMethodName);
+
+            return getControlTreatmentForSplitWithConfig(split, validationTag);
+        }
+    }
+
     private <T> Map<String, T> getTreatmentsWithConfigGeneric(@Nullable List<String> names,
                                                               @Nullable List<String> flagSets,
                                                               @Nullable Map<String, Object> attributes,
@@ -232,6 +273,7 @@ public class TreatmentManagerImpl implements TreatmentManager {
         // in which case an exception will be recorded in telemetry
         boolean exceptionsOccurred = false;
         String validationTag = telemetryMethodName.getMethod();
+        Collection<String> namesToEvaluate = names;
         try {
             // Check if client is destroyed. If so, return control treatments or empty map in the case of flag sets
             if (isClientDestroyed) {
@@ -247,12 +289,15 @@ public class TreatmentManagerImpl implements TreatmentManager {
                 return getControlTreatmentsForSplitsWithConfig(names, validationTag, resultTransformer);
             }
 
-            // If there are no names but we have flag sets, get the names from the flag sets
-            if (names == null) {
+            // If there are no names but we have flag sets, get the names from the flag sets.
+            // These come from storage, so they don't need to be validated
+            boolean validateNames = true;
+            if (namesToEvaluate == null) {
                 if (flagSets != null) {
-                    names = getNamesFromSet(validationTag, flagSets);
+                    namesToEvaluate = getNamesFromSet(validationTag, flagSets);
+                    validateNames = false;
                 } else {
-                    names = new ArrayList<>();
+                    namesToEvaluate = Collections.emptyList();
                 }
             }
 
@@ -260,14 +305,42 @@ public class TreatmentManagerImpl implements TreatmentManager {
             long start = System.currentTimeMillis();
             try {
                 // Merge the stored attributes with the attributes passed in for this evaluation
-                final Map<String, Object> mergedAttributes = mAttributesMerger.merge(mAttributesManager.getAllAttributes(), attributes);
+                final Map<String, Object> mergedAttributes = mergeAttributes(attributes);
 
                 // Create the result map
-                Map<String, T> result = new HashMap<>();
+                Map<String, T> result = new HashMap<>(mapCapacityFor(namesToEvaluate.size()));
+
+                // Validate the names first, so that the valid ones can be evaluated together.
+                // Invalid names are kept as null, to be resolved to their fallback treatment
+                Collection<String> validatedNames = namesToEvaluate;
+                Collection<String> namesToBulkEvaluate = namesToEvaluate;
+                if (validateNames) {
+                    validatedNames = new ArrayList<>(namesToEvaluate.size());
+                    namesToBulkEvaluate = new ArrayList<>(namesToEvaluate.size());
+                    for (String featureFlagName : namesToEvaluate) {
+                        String validatedName = validateName(featureFlagName, validationTag);
+                        validatedNames.add(validatedName);
+                        if (validatedName != null) {
+                            namesToBulkEvaluate.add(validatedName);
+                        }
+                    }
+                }
+
+                Map<String, EvaluationResult> bulkResults = null;
+                String propertiesJson = null;
+                if (!namesToBulkEvaluate.isEmpty() && isReady()) {
+                    bulkResults = mEvaluator.getTreatments(mMatchingKey, mBucketingKey, namesToBulkEvaluate, mergedAttributes);
+                    propertiesJson = serializeProperties(evaluationOptions, validationTag);
+                }
 
-                // Perform evaluations for every feature flag
-                for (String featureFlagName : names) {
-                    TreatmentResult evaluationResult = getTreatmentWithConfigWithoutMetrics(featureFlagName, mergedAttributes, validationTag, evaluationOptions);
+                // Perform evaluations for every feature flag. Flags without a bulk result are evaluated individually
+                Iterator<String> validatedNamesIterator = validatedNames.iterator();
+                for (String featureFlagName : namesToEvaluate) {
+                    String validatedName = validatedNamesIterator.next();
+                    EvaluationResult bulkResult = (bulkResults != null && validatedName != null) ? bulkResults.get(validatedName) : null;
+                    TreatmentResult evaluationResult = (bulkResult != null) ?
+                            processBulkEvaluationResult(validatedName, bulkResult, mergedAttributes, evaluationOptions, propertiesJson, validationTag) :
+                            getTreatmentWithConfigWithoutMetrics(featureFlagName, validatedName, mergedAttributes, validationTag, evaluationOptions);
 
                     result.put(featureFlagName, resultTransformer.transform(evaluationResult.getSplitResult()));
                     if (evaluationResult.isException()) {
@@ -286,75 +359,136 @@ public class TreatmentManagerImpl implements TreatmentManager {
             Logger.e("Client " + validationTag + " exception", exception);
             mTelemetryStorageProducer.recordException(telemetryMethodName);
 
-            return getControlTreatmentsForSplitsWithConfig(names, validationTag, resultTransformer);
+            return getControlTreatmentsForSplitsWithConfig((namesToEvaluate != null) ? new ArrayList<>(namesToEvaluate) : null, validationTag, resultTransformer);
         }
     }
 
     private TreatmentResult getTreatmentWithConfigWithoutMetrics(String split, Map<String, Object> mergedAttributes, String validationTag, EvaluationOptions evaluationOptions) {
-        EvaluationResult evaluationResult = null;
+        String splitName;
         try {
-
             // Validate feature flag name
-            String splitName = split;
-            ValidationErrorInfo errorInfo = mSplitValidator.validateName(split);
-            if (errorInfo != null) {
-                if (errorInfo.isError()) {
-                    mValidationLogger.e(errorInfo, validationTag);
-                    FallbackTreatment fallback = mFallbackCalculator.resolve(split.trim());
-                    return new TreatmentResult(new SplitResult(fallback.getTreatment(), fallback.getConfig()), false);
-                }
-                mValidationLogger.w(errorInfo, validationTag);
-                splitName = split.trim();
+            splitName = validateName(split, validationTag);
+        } catch (Exception ex) {
+            return exceptionTreatmentResult(split, null, mergedAttributes, evaluationOptions, validationTag);
+        }
+
+        return getTreatmentWithConfigWithoutMetrics(split, splitName, mergedAttributes, validationTag, evaluationOptions);
+    }
+
+    /**
+     * Same as {@link #getTreatmentWithConfigWithoutMetrics(String, Map, String, EvaluationOptions)}
+     * for a feature flag name that has already been validated.
+     *
+     * @param splitName the name returned by {@link #validateName}, null when the name is not valid
+     */
+    private TreatmentResult getTreatmentWithConfigWithoutMetrics(String split, @Nullable String splitName, Map<String, Object> mergedAttributes, String validationTag, EvaluationOptions evaluationOptions) {
+        EvaluationResult evaluationResult = null;
+        try {
+            if (splitName == null) {
+                FallbackTreatment fallback = mFallbackCalculator.resolve(split.trim());
+                return new TreatmentResult(new SplitResult(fallback.getTreatment(), fallback.getConfig()), false);
             }
 
             // Perform evaluation and create SplitResult object
             evaluationResult = evaluateIfReady(splitName, mergedAttributes, validationTag);
-            SplitResult splitResult = new SplitResult(evaluationResult.getTreatment(), evaluationResult.getConfigurations());
 
-            // If the feature flag was not found, log the message and return the result
-            if (evaluationResult.getLabel().contains(TreatmentLabels.DEFINITION_NOT_FOUND)) {
-                mValidationLogger.w(mSplitValidator.splitNotFoundMessage(splitName), validationTag);
-                return new TreatmentResult(splitResult, false);
-            }
+            return processEvaluationResult(splitName, evaluationResult, mergedAttributes, evaluationOptions, null, validationTag);
+        } catch (Exception ex) {
+            return exceptionTreatmentResult(split, evaluationResult, mergedAttributes, evaluationOptions, validationTag);
+        }
+    }
+
+    /**
+     * Validates a feature flag name, logging the validation error or warning if there is one.
+     *
+     * @return the name to evaluate, trimmed if needed, or null when the name is not valid
+     */
+    @Nullable
+    private String validateName(String split, String validationTag) {
+        ValidationErrorInfo errorInfo = mSplitValidator.validateName(split);
+        if (errorInfo == null) {
+            return split;
+        }
+
+        if (errorInfo.isError()) {
+            mValidationLogger.e(errorInfo, validationTag);
+            return null;
+        }
+
+        mValidationLogger.w(errorInfo, validationTag);
+        return split.trim();
+    }
+
+    /**
+     * Same as {@link #getTreatmentWithConfigWithoutMetrics(String, String, Map, String, EvaluationOptions)} for a result obtained by evaluating
+     * several feature flags at once. The impression properties are serialized once for all of them.
+     *
+     * @param evaluationOptions only used for the impression logged when processing the result fails
+     */
+    private TreatmentResult processBulkEvaluationResult(String split, EvaluationResult evaluationResult, Map<String, Object> mergedAttributes,
+                                                       @Nullable EvaluationOptions evaluationOptions, @Nullable String serializedProperties, String validationTag) {
+        try {
+            return processEvaluationResult(split, evaluationResult, mergedAttributes, null, serializedProperties, validationTag);
+        } catch (Exception ex) {
+            return exceptionTreatmentResult(split, evaluationResult, mergedAttributes, evaluationOptions, validationTag);
+        }
+    }
 
-            // Log impression
+    /**
+     * @param serializedProperties when not null, used instead of serializing the properties of evaluationOptions
+     */
+    private TreatmentResult processEvaluationResult(String splitName, EvaluationResult evaluationResult, Map<String, Object> mergedAttributes,
+                                                    @Nullable EvaluationOptions evaluationOptions, @Nullable String serializedProperties, String validationTag) {
+        SplitResult splitResult = new SplitResult(evaluationResult.getTreatment(), evaluationResult.getConfigurations());
+
+        // If the feature flag was not found, log the message and return the result
+        if (evaluationResult.getLabel().contains(TreatmentLabels.DEFINITION_NOT_FOUND)) {
+            mValidationLogger.w(mSplitValidator.splitNotFoundMessage(splitName), validationTag);
+            return new TreatmentResult(splitResult, false);
+        }
+
+        // Log impression
+        logImpression(
+                mMatchingKey,
+                mBucketingKey,
+                splitName,
+                evaluationResult.getTreatment(),
+                mLabelsEnabled ? evaluationResult.getLabel() : null,
+                evaluationResult.getChangeNumber(),
+                mergedAttributes,
+                evaluationResult.isImpressionsDisabled(),
+                evaluationOptions,
+                serializedProperties,
+                validationTag);
+
+        return new TreatmentResult(splitResult, false);
+    }
+
+    private TreatmentResult exceptionTreatmentResult(String split, @Nullable EvaluationResult evaluationResult, Map<String, Object> mergedAttributes, @Nullable EvaluationOptions evaluationOptions, String validationTag) {
+        // Since this only logs an impression with EXCEPTION label, we don't log anything if labels are disabled
+        FallbackTreatment resolvedTreatment = mFallbackCalculator.resolve(split);
+        if (mLabelsEnabled) {
             logImpression(
                     mMatchingKey,
                     mBucketingKey,
-                    splitName,
-                    evaluationResult.getTreatment(),
-                    mLabelsEnabled ? evaluationResult.getLabel() : null,
-                    evaluationResult.getChangeNumber(),
+                    split,
+                    resolvedTreatment.getTreatment(),
+                    TreatmentLabels.EXCEPTION,
+                    (evaluationResult != null) ? evaluationResult.getChangeNumber() : null,
                     mergedAttributes,
-                    evaluationResult.isImpressionsDisabled(),
+                    evaluationResult != null && evaluationResult.isImpressionsDisabled(),
                     evaluationOptions,
+                    null,
                     validationTag);
-
-            return new TreatmentResult(splitResult, false);
-        } catch (Exception ex) {
-            // Since this only logs an impression with EXCEPTION label, we don't log anything if labels are disabled
-            FallbackTreatment resolvedTreatment = mFallbackCalculator.resolve(split);
-            if (mLabelsEnabled) {
-                logImpression(
-                        mMatchingKey,
-                        mBucketingKey,
-                        split,
-                        resolvedTreatment.getTreatment(),
-                        TreatmentLabels.EXCEPTION,
-                        (evaluationResult != null) ? evaluationResult.getChangeNumber() : null,
-                        mergedAttributes,
-                        evaluationResult != null && evaluationResult.isImpressionsDisabled(),
-                        evaluationOptions,
-                        validationTag);
-            }
-
-            return new TreatmentResult(new SplitResult(resolvedTreatment.getTreatment(), resolvedTreatment.getConfig()), true);
         }
+
+        return new TreatmentResult(new SplitResult(resolvedTreatment.getTreatment(), resolvedTreatment.getConfig()), true);
     }
 
-    private void logImpression(String matchingKey, String bucketingKey, String splitName, String result, String label, Long changeNumber, Map<String, Object> attributes, boolean impressionsDisabled, EvaluationOptions evaluationOptions, String validationTag) {
+    private void logImpression(String matchingKey, String bucketingKey, String splitName, String result, String label, Long changeNumber, Map<String, Object> attributes, boolean impressionsDisabled,
+                               @Nullable EvaluationOptions evaluationOptions, @Nullable String serializedProperties, String validationTag) {
         try {
-            String propertiesJson = serializeProperties(evaluationOptions, validationTag);
+            String propertiesJson = (serializedProperties != null) ? serializedProperties : serializeProperties(evaluationOptions, validationTag);
             Impression impression = new Impression(matchingKey, bucketingKey, splitName, result, System.currentTimeMillis(), label, changeNumber, attributes, propertiesJson);
             DecoratedImpression decoratedImpression = new DecoratedImpression(impression, impressionsDisabled);
             mImpressionListener.log(decoratedImpression);
@@ -390,6 +524,28 @@ public class TreatmentManagerImpl implements TreatmentManager {
         }
     }
 
+    /**
+     * Merges the stored attributes with the ones passed in for this evaluation.
+     * When there are none of either, the shared empty map is returned instead of a new one.
+     */
+    @NonNull
+    private Map<String, Object> mergeAttributes(@Nullable Map<String, Object> attributes) {
+        Map<String, Object> storedAttributes = mAttributesManager.getAllAttributes();
+        if ((storedAttributes == null || storedAttributes.isEmpty()) && (attributes == null || attributes.isEmpty())) {
+            return Collections.emptyMap();
+        }
+
+        return mAttributesMerger.merge(storedAttributes, attributes);
+    }
+
+    @NonNull
+    private SplitResult getControlTreatmentForSplitWithConfig(String split, String validationTag) {
+        TreatmentManagerHelper.validateSplitName(mSplitValidator, mValidationLogger, split, validationTag);
+
+        FallbackTreatment fallback = mFallbackCalculator.resolve(split);
+        return new SplitResult(fallback.getTreatment(), fallback.getConfig());
+    }
+
     @NonNull
     private <T> Map<String, T> getControlTreatmentsForSplitsWithConfig(@Nullable List<String> names, String validationTag, ResultTransformer<T> resultTransformer) {
         return TreatmentManagerHelper.controlTreatmentsForSplitsWithConfig(
@@ -401,10 +557,14 @@ public class TreatmentManagerImpl implements TreatmentManager {
                 mFallbackCalculator);
     }
 
+    private boolean isReady() {
+        return mEventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY) ||
+                mEventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY_FROM_CACHE);
+    }
+
     private EvaluationResult evaluateIfReady(String featureFlagName,
                                              Map<String, Object> attributes, String validationTag) {
-        if (!mEventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY) &&
-                !mEventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY_FROM_CACHE)) {
+        if (!isReady()) {
             mValidationLogger.w("the SDK is not ready, results may be incorrect for feature flag " + featureFlagName + ". Make sure to wait for SDK readiness before using this method", validationTag);
             mTelemetryStorageProducer.recordNonReadyUsage();
 
@@ -419,14 +579,14 @@ public class TreatmentManagerImpl implements TreatmentManager {
     }
 
     @NonNull
-    private List<String> getNamesFromSet(@NonNull String method, @NonNull List<String> flagSets) {
+    private Set<String> getNamesFromSet(@NonNull String method, @NonNull List<String> flagSets) {
         Set<String> setsToEvaluate = mFlagSetsValidator.items(method, flagSets, mFlagSetsFilter);
 
         if (setsToEvaluate.isEmpty()) {
-            return new ArrayList<>();
+            return Collections.emptySet();
         }
 
-        return new ArrayList<>(mSplitsStorage.getNamesByFlagSets(setsToEvaluate));
+        return mSplitsStorage.getNamesByFlagSets(setsToEvaluate);
     }
 
     interface ResultTransformer<T> {
@@ -3,6 +3,7 @@ package io.split.android.engine.experiments;
 import io.split.android.client.dtos.ConditionType;
 import io.split.android.client.dtos.Partition;
 import io.split.android.engine.matchers.CombiningMatcher;
+import io.split.android.engine.splitter.PartitionTable;
 
 import java.util.List;
 
@@ -15,12 +16,14 @@ public final class ParsedCondition {
     private final CombiningMatcher _matcher;
     private final List<Partition> _partitions;
     private final String _label;
+    private final PartitionTable _partitionTable;
 
     public ParsedCondition(ConditionType conditionType, CombiningMatcher matcher, List<Partition> partitions, String label) {
         _conditionType = conditionType;
         _matcher = matcher;
         _partitions = partitions;
         _label = label;
+        _partitionTable = new PartitionTable(partitions);
     }
 
 
@@ -40,6 +43,10 @@ public final class ParsedCondition {
         return _label;
     }
 
+    public PartitionTable partitionTable() {
+        return _partitionTable;
+    }
+
     @Override
     public int hashCode() {
         int result = 17;
@@ -0,0 +1,125 @@
+package io.split.android.engine.experiments;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the parsed version of each (definition, matching key) pair so that definitions
+ * fetched from storage are not parsed again on every evaluation.
+ * <p>
+ * An entry is reused only while the definition it was parsed from is still the instance
+ * held in storage and {@link #isStillValid(Object, long)} holds for it. Subclasses provide
+ * how definitions are named, versioned and parsed.
+ *
+ * @param <D> type of the stored definition
+ * @param <P> type of its parsed version
+ */
+public abstract class ParsedDefinitionsCache<D, P> {
+
+    static final int MAX_CACHED_KEYS = 50;
+
+    private final ConcurrentHashMap<String, Map<String, Entry<D, P>>> mEntriesByKey;
+    private final int mMaxCachedKeys;
+
+    ParsedDefinitionsCache(int maxCachedKeys) {
+        mEntriesByKey = new ConcurrentHashMap<>();
+        mMaxCachedKeys = maxCachedKeys;
+    }
+
+    /**
+     * Returns the parsed version of the given definition for the matching key,
+     * parsing it only when there's no valid cached version.
+     *
+     * @param definition  current definition, as held in storage
+     * @param matchingKey key the parsed matchers will be bound to
+     * @return the parsed definition, or null if it could not be parsed
+     */
+    @Nullable
+    public P get(@Nullable D definition, @Nullable String matchingKey) {
+        String name = (definition != null) ? nameOf(definition) : null;
+        if (name == null || matchingKey == null) {
+            return parse(definition, matchingKey);
+        }
+
+        Map<String, Entry<D, P>> entries = getEntriesForKey(matchingKey);
+        Entry<D, P> entry = entries.get(name);
+        if (entry != null && entry.mSource == definition && isStillValid(definition, entry.mVersion)) {
+            return entry.mParsed;
+        }
+
+        P parsed = parse(definition, matchingKey);
+        if (parsed == null) {
+            entries.remove(name);
+        } else {
+            entries.put(name, new Entry<>(definition, versionOf(definition), parsed));
+        }
+
+        return parsed;
+    }
+
+    /**
+     * Removes every cached version of the given definition.
+     */
+    public void remove(@NonNull String name) {
+        for (Map<String, Entry<D, P>> entries : mEntriesByKey.values()) {
+            entries.remove(name);
+        }
+    }
+
+    public void clear() {
+        mEntriesByKey.clear();
+    }
+
+    @Nullable
+    protected abstract String nameOf(@NonNull D definition);
+
+    @Nullable
+    protected abstract P parse(@Nullable D definition, @Nullable String matchingKey);
+
+    /**
+     * Version recorded along with a cached entry, to be checked by {@link #isStillValid(Object, long)}.
+     */
+    protected long versionOf(@NonNull D definition) {
+        return 0;
+    }
+
+    /**
+     * Whether an entry parsed from this same definition instance, at the given version, can still be served.
+     */
+    protected boolean isStillValid(@NonNull D definition, long cachedVersion) {
+        return true;
+    }
+
+    @NonNull
+    private Map<String, Entry<D, P>> getEntriesForKey(@NonNull String matchingKey) {
+        Map<String, Entry<D, P>> entries = mEntriesByKey.get(matchingKey);
+        if (entries != null) {
+            return entries;
+        }
+
+        // Keys are usually only a handful in a client app; if there are too many, start over
+        if (mEntriesByKey.size() >= mMaxCachedKeys) {
+            mEntriesByKey.clear();
+        }
+
+        Map<String, Entry<D, P>> newEntries = new ConcurrentHashMap<>();
+        Map<String, Entry<D, P>> existing = mEntriesByKey.putIfAbsent(matchingKey, newEntries);
+
+        return (existing != null) ? existing : newEntries;
+    }
+
+    private static class Entry<D, P> {
+        private final D mSource;
+        private final long mVersion;
+        private final P mParsed;
+
+        Entry(D source, long version, P parsed) {
+            mSource = source;
+            mVersion = version;
+            mParsed = parsed;
+        }
+    }
+}
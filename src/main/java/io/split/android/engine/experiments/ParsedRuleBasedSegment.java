@@ -1,15 +1,19 @@
 package io.split.android.engine.experiments;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 import io.split.android.client.dtos.ExcludedSegment;
+import io.split.android.client.storage.mysegments.SegmentIdDictionary;
 
 public class ParsedRuleBasedSegment {
     private final String mName;
     private final Set<String> mExcludedKeys;
     private final Set<ExcludedSegment> mExcludedSegments;
+    private final int[] mExcludedStandardSegmentIds;
+    private final int[] mExcludedLargeSegmentIds;
     private final List<ParsedCondition> mParsedConditions;
     private final String mTrafficTypeName;
     private final long mChangeNumber;
@@ -18,6 +22,8 @@ public class ParsedRuleBasedSegment {
         mName = name;
         mExcludedKeys = excludedKeys == null ? new HashSet<>() : excludedKeys;
         mExcludedSegments = excludedSegments == null ? new HashSet<>() : excludedSegments;
+        mExcludedStandardSegmentIds = segmentIds(mExcludedSegments, false);
+        mExcludedLargeSegmentIds = segmentIds(mExcludedSegments, true);
         mParsedConditions = parsedConditions;
         mTrafficTypeName = trafficTypeName;
         mChangeNumber = changeNumber;
@@ -35,6 +41,20 @@ public class ParsedRuleBasedSegment {
         return mExcludedSegments;
     }
 
+    /**
+     * @return ids of the excluded standard segments, from {@link SegmentIdDictionary}
+     */
+    public int[] getExcludedStandardSegmentIds() {
+        return mExcludedStandardSegmentIds;
+    }
+
+    /**
+     * @return ids of the excluded large segments, from {@link SegmentIdDictionary}
+     */
+    public int[] getExcludedLargeSegmentIds() {
+        return mExcludedLargeSegmentIds;
+    }
+
     public List<ParsedCondition> getParsedConditions() {
         return mParsedConditions;
     }
@@ -46,4 +66,15 @@ public class ParsedRuleBasedSegment {
     public long getChangeNumber() {
         return mChangeNumber;
     }
-}
\ No newline at end of file
+
+    private static int[] segmentIds(Set<ExcludedSegment> excludedSegments, boolean large) {
+        int[] ids = new int[excludedSegments.size()];
+        int count = 0;
+        for (ExcludedSegment segment : excludedSegments) {
+            if (segment.getName() != null && (large ? segment.isLarge() : segment.isStandard())) {
+                ids[count++] = SegmentIdDictionary.idOf(segment.getName());
+            }
+        }
+        return Arrays.copyOf(ids, count);
+    }
+}
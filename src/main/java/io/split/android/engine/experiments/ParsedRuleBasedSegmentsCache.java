@@ -0,0 +1,44 @@
+package io.split.android.engine.experiments;
+
+import static io.split.android.client.utils.Utils.checkNotNull;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import io.split.android.client.dtos.RuleBasedSegment;
+
+/**
+ * Keeps the {@link ParsedRuleBasedSegment} built for each (rule-based segment, matching key) pair,
+ * so that its conditions are not parsed again every time a matcher references it.
+ * <p>
+ * An entry is reused only while the {@link RuleBasedSegment} it was parsed from is still the
+ * instance held in storage. Updates replace definitions with new instances, so stale entries
+ * are never served.
+ */
+public class ParsedRuleBasedSegmentsCache extends ParsedDefinitionsCache<RuleBasedSegment, ParsedRuleBasedSegment> {
+
+    private final RuleBasedSegmentParser mParser;
+
+    public ParsedRuleBasedSegmentsCache(@NonNull RuleBasedSegmentParser parser) {
+        this(parser, MAX_CACHED_KEYS);
+    }
+
+    @VisibleForTesting
+    ParsedRuleBasedSegmentsCache(@NonNull RuleBasedSegmentParser parser, int maxCachedKeys) {
+        super(maxCachedKeys);
+        mParser = checkNotNull(parser);
+    }
+
+    @Nullable
+    @Override
+    protected String nameOf(@NonNull RuleBasedSegment segment) {
+        return segment.getName();
+    }
+
+    @Nullable
+    @Override
+    protected ParsedRuleBasedSegment parse(@Nullable RuleBasedSegment segment, @Nullable String matchingKey) {
+        return mParser.parse(segment, matchingKey);
+    }
+}
@@ -0,0 +1,56 @@
+package io.split.android.engine.experiments;
+
+import static io.split.android.client.utils.Utils.checkNotNull;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
+
+import io.split.android.client.dtos.Split;
+
+/**
+ * Keeps the {@link ParsedSplit} built for each (feature flag, matching key) pair so that
+ * matchers, regexes and semver values are not rebuilt on every evaluation.
+ * <p>
+ * An entry is reused only while the {@link Split} it was parsed from is still the instance
+ * held in storage and its change number hasn't changed. Updates in {@link io.split.android.client.storage.splits.SplitsStorage}
+ * replace definitions with new instances, and in-place kills bump the change number, so stale
+ * entries are never served. Segment and rule-based segment memberships are resolved by the
+ * matchers at match time, which is why they don't need to invalidate this cache.
+ */
+public class ParsedSplitsCache extends ParsedDefinitionsCache<Split, ParsedSplit> {
+
+    private final SplitParser mSplitParser;
+
+    public ParsedSplitsCache(@NonNull SplitParser splitParser) {
+        this(splitParser, MAX_CACHED_KEYS);
+    }
+
+    @VisibleForTesting
+    ParsedSplitsCache(@NonNull SplitParser splitParser, int maxCachedKeys) {
+        super(maxCachedKeys);
+        mSplitParser = checkNotNull(splitParser);
+    }
+
+    @Nullable
+    @Override
+    protected String nameOf(@NonNull Split split) {
+        return split.name;
+    }
+
+    @Nullable
+    @Override
+    protected ParsedSplit parse(@Nullable Split split, @Nullable String matchingKey) {
+        return mSplitParser.parse(split, matchingKey);
+    }
+
+    @Override
+    protected long versionOf(@NonNull Split split) {
+        return split.changeNumber;
+    }
+
+    @Override
+    protected boolean isStillValid(@NonNull Split split, long cachedVersion) {
+        return split.changeNumber == cachedVersion;
+    }
+}
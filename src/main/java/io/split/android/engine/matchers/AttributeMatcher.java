@@ -36,7 +36,6 @@ public final class AttributeMatcher {
             return false;
         }
 
-
         return _matcher.match(value, bucketingKey, null, null);
     }
 
@@ -4,20 +4,42 @@ import static io.split.android.client.utils.Utils.checkArgument;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
 import io.split.android.client.Evaluator;
 import io.split.android.client.dtos.MatcherCombiner;
+import io.split.android.engine.matchers.collections.ContainsAllOfSetMatcher;
+import io.split.android.engine.matchers.collections.ContainsAnyOfSetMatcher;
+import io.split.android.engine.matchers.collections.EqualToSetMatcher;
+import io.split.android.engine.matchers.collections.PartOfSetMatcher;
+import io.split.android.engine.matchers.semver.BetweenSemverMatcher;
+import io.split.android.engine.matchers.semver.EqualToSemverMatcher;
+import io.split.android.engine.matchers.semver.GreaterThanOrEqualToSemverMatcher;
+import io.split.android.engine.matchers.semver.InListSemverMatcher;
+import io.split.android.engine.matchers.semver.LessThanOrEqualToSemverMatcher;
+import io.split.android.engine.matchers.strings.ContainsAnyOfMatcher;
+import io.split.android.engine.matchers.strings.EndsWithAnyOfMatcher;
+import io.split.android.engine.matchers.strings.RegularExpressionMatcher;
+import io.split.android.engine.matchers.strings.StartsWithAnyOfMatcher;
 
 /**
  * Combines the results of multiple matchers using the logical OR or AND.
- *
+ * <p>
+ * Matchers are evaluated cheapest first and evaluation stops at the first one that
+ * doesn't match.
  */
 public class CombiningMatcher {
 
+    private static final int COST_LOOKUP = 0;
+    private static final int COST_SCAN = 1;
+    private static final int COST_PARSE = 2;
+    private static final int COST_EVALUATION = 3;
+
     private final List<AttributeMatcher> _delegates;
     private final MatcherCombiner _combiner;
+    private final AttributeMatcher[] _evaluationOrder;
 
     public static CombiningMatcher of(Matcher matcher) {
         return new CombiningMatcher(MatcherCombiner.AND,
@@ -34,6 +56,16 @@ public class CombiningMatcher {
         _combiner = combiner;
 
         checkArgument(_delegates.size() > 0);
+
+        List<AttributeMatcher> evaluationOrder = new ArrayList<>(_delegates);
+        // Stable, so matchers with the same cost keep their order
+        Collections.sort(evaluationOrder, new Comparator<AttributeMatcher>() {
+            @Override
+            public int compare(AttributeMatcher o1, AttributeMatcher o2) {
+                return Integer.compare(evaluationCost(o1), evaluationCost(o2));
+            }
+        });
+        _evaluationOrder = evaluationOrder.toArray(new AttributeMatcher[0]);
     }
 
     public boolean match(String key, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
@@ -49,11 +81,46 @@ public class CombiningMatcher {
     }
 
     private boolean and(String key, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
-        boolean result = true;
-        for (AttributeMatcher delegate : _delegates) {
-            result &= (delegate.match(key, bucketingKey, attributes, evaluator));
+        for (AttributeMatcher delegate : _evaluationOrder) {
+            if (!delegate.match(key, bucketingKey, attributes, evaluator)) {
+                return false;
+            }
         }
-        return result;
+        return true;
+    }
+
+    private static int evaluationCost(AttributeMatcher attributeMatcher) {
+        Matcher matcher = attributeMatcher.matcher();
+        if (matcher instanceof AttributeMatcher.NegatableMatcher) {
+            matcher = ((AttributeMatcher.NegatableMatcher) matcher).delegate();
+        }
+
+        if (matcher instanceof DependencyMatcher ||
+                matcher instanceof InRuleBasedSegmentMatcher ||
+                matcher instanceof PrerequisitesMatcher) {
+            return COST_EVALUATION;
+        }
+
+        if (matcher instanceof RegularExpressionMatcher ||
+                matcher instanceof EqualToSemverMatcher ||
+                matcher instanceof GreaterThanOrEqualToSemverMatcher ||
+                matcher instanceof LessThanOrEqualToSemverMatcher ||
+                matcher instanceof BetweenSemverMatcher ||
+                matcher instanceof InListSemverMatcher) {
+            return COST_PARSE;
+        }
+
+        if (matcher instanceof StartsWithAnyOfMatcher ||
+                matcher instanceof EndsWithAnyOfMatcher ||
+                matcher instanceof ContainsAnyOfMatcher ||
+                matcher instanceof ContainsAllOfSetMatcher ||
+                matcher instanceof ContainsAnyOfSetMatcher ||
+                matcher instanceof EqualToSetMatcher ||
+                matcher instanceof PartOfSetMatcher) {
+            return COST_SCAN;
+        }
+
+        return COST_LOOKUP;
     }
 
     public List<AttributeMatcher> attributeMatchers() {
@@ -36,8 +36,29 @@ public class InRuleBasedSegmentMatcher implements Matcher {
             return false;
         }
 
-        final String matchingKey = (String) matchValue;
-        final ParsedRuleBasedSegment parsedRuleBasedSegment = mRuleBasedSegmentStorage.get(mSegmentName, matchingKey);
+        return inSegment(mSegmentName, (String) matchValue, bucketingKey, attributes, evaluator);
+    }
+
+    private boolean inSegment(String segmentName, String matchingKey, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
+        RuleBasedSegmentMembershipCache membershipCache = (evaluator instanceof RuleBasedSegmentMembershipCache) ?
+                (RuleBasedSegmentMembershipCache) evaluator : null;
+        if (membershipCache != null) {
+            Boolean isMember = membershipCache.getMembership(segmentName, matchingKey, bucketingKey);
+            if (isMember != null) {
+                return isMember;
+            }
+        }
+
+        boolean isMember = resolveMembership(segmentName, matchingKey, bucketingKey, attributes, evaluator);
+        if (membershipCache != null) {
+            membershipCache.putMembership(segmentName, matchingKey, bucketingKey, isMember);
+        }
+
+        return isMember;
+    }
+
+    private boolean resolveMembership(String segmentName, String matchingKey, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
+        final ParsedRuleBasedSegment parsedRuleBasedSegment = mRuleBasedSegmentStorage.get(segmentName, matchingKey);
 
         if (parsedRuleBasedSegment == null) {
             return false;
@@ -58,20 +79,23 @@ public class InRuleBasedSegmentMatcher implements Matcher {
         return parsedRuleBasedSegment.getExcludedKeys().contains(matchingKey);
     }
 
-    private boolean inExcludedSegment(ParsedRuleBasedSegment parsedRuleBasedSegment, Object matchingKey, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
+    private boolean inExcludedSegment(ParsedRuleBasedSegment parsedRuleBasedSegment, String matchingKey, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
+        if (inAnySegment(mMySegmentsStorage, parsedRuleBasedSegment.getExcludedStandardSegmentIds()) ||
+                inAnySegment(mMyLargeSegmentsStorage, parsedRuleBasedSegment.getExcludedLargeSegmentIds())) {
+            return true;
+        }
+
         for (ExcludedSegment segment : parsedRuleBasedSegment.getExcludedSegments()) {
-            if (segment.isStandard() && mMySegmentsStorage.getAll().contains(segment.getName())) {
+            if (segment.isRuleBased() && inSegment(segment.getName(), matchingKey, bucketingKey, attributes, evaluator)) {
                 return true;
             }
+        }
+        return false;
+    }
 
-            if (segment.isRuleBased()) {
-                InRuleBasedSegmentMatcher inRuleBasedSegmentMatcher = new InRuleBasedSegmentMatcher(mRuleBasedSegmentStorage, mMySegmentsStorage, mMyLargeSegmentsStorage, segment.getName());
-                if (inRuleBasedSegmentMatcher.match(matchingKey, bucketingKey, attributes, evaluator)) {
-                    return true;
-                }
-            }
-
-            if (segment.isLarge() && mMyLargeSegmentsStorage.getAll().contains(segment.getName())) {
+    private static boolean inAnySegment(MySegmentsStorage storage, int[] segmentIds) {
+        for (int segmentId : segmentIds) {
+            if (storage.contains(segmentId)) {
                 return true;
             }
         }
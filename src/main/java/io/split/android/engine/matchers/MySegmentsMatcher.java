@@ -4,6 +4,7 @@ import java.util.Map;
 
 import io.split.android.client.Evaluator;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
+import io.split.android.client.storage.mysegments.SegmentIdDictionary;
 
 /**
  * Created by guillermo on 12/12/17.
@@ -12,15 +13,17 @@ import io.split.android.client.storage.mysegments.MySegmentsStorage;
 public class MySegmentsMatcher implements Matcher {
 
     private final String mSegmentName;
+    private final int mSegmentId;
     private final MySegmentsStorage mMySegmentsStorage;
 
     public MySegmentsMatcher(MySegmentsStorage mySegmentsStorage, String segmentName) {
         mMySegmentsStorage = mySegmentsStorage;
         mSegmentName = segmentName;
+        mSegmentId = SegmentIdDictionary.idOf(segmentName);
     }
 
     @Override
     public boolean match(Object matchValue, String bucketingKey, Map<String, Object> attributes, Evaluator evaluator) {
-        return mMySegmentsStorage.getAll().contains(mSegmentName);
+        return mMySegmentsStorage.contains(mSegmentId);
     }
 }
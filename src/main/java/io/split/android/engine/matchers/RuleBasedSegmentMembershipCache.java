@@ -0,0 +1,22 @@
+package io.split.android.engine.matchers;
+
+import androidx.annotation.Nullable;
+
+/**
+ * Memoizes rule-based segment memberships, so that a segment referenced by several
+ * feature flags or exclusions is only resolved once.
+ * <p>
+ * Implemented by the {@link io.split.android.client.Evaluator} handed to matchers during an
+ * evaluation batch. Memberships are kept only for that batch, so definition updates, segment
+ * membership changes and attribute changes are always seen by the next evaluation.
+ */
+public interface RuleBasedSegmentMembershipCache {
+
+    /**
+     * @return the cached membership, or null if it hasn't been resolved yet
+     */
+    @Nullable
+    Boolean getMembership(String segmentName, String matchingKey, @Nullable String bucketingKey);
+
+    void putMembership(String segmentName, String matchingKey, @Nullable String bucketingKey, boolean isMember);
+}
@@ -8,8 +8,6 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
-import static io.split.android.engine.matchers.Transformers.toSetOfStrings;
-
 public class ContainsAnyOfSetMatcher implements Matcher {
 
     private final Set<String> _compareTo = new HashSet<>();
@@ -31,10 +29,9 @@ public class ContainsAnyOfSetMatcher implements Matcher {
             return false;
         }
 
-        Set<String> keyAsSet = toSetOfStrings((Collection) matchValue);
-
-        for (String s : _compareTo) {
-            if ((keyAsSet.contains(s))) {
+        // Elements are looked up directly, instead of being copied to a set first
+        for (Object o : (Collection) matchValue) {
+            if (_compareTo.contains(o.toString())) {
                 return true;
             }
         }
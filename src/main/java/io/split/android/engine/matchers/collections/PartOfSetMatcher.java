@@ -2,7 +2,6 @@ package io.split.android.engine.matchers.collections;
 
 import io.split.android.client.Evaluator;
 import io.split.android.engine.matchers.Matcher;
-import io.split.android.engine.matchers.Transformers;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -30,13 +29,19 @@ public class PartOfSetMatcher implements Matcher {
             return false;
         }
 
-        Set<String> keyAsSet = Transformers.toSetOfStrings((Collection) matchValue);
-
-        if (keyAsSet.isEmpty()) {
+        Collection<?> key = (Collection<?>) matchValue;
+        if (key.isEmpty()) {
             return false;
         }
 
-        return _compareTo.containsAll(keyAsSet);
+        // Elements are looked up directly, instead of being copied to a set first
+        for (Object o : key) {
+            if (!_compareTo.contains(o.toString())) {
+                return false;
+            }
+        }
+
+        return true;
     }
 
     @Override
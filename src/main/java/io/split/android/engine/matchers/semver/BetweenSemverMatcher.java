@@ -33,7 +33,7 @@ public class BetweenSemverMatcher implements Matcher {
 
         boolean result = keySemver.compare(mStartTarget) >= 0 && keySemver.compare(mEndTarget) <= 0;
 
-        Logger.d(mStartTarget.getVersion() + " <= " + keySemver.getVersion() + " <= " + mEndTarget.getVersion() + " | Result: " + result);
+        Logger.d("%s <= %s <= %s | Result: %s", mStartTarget.getVersion(), keySemver.getVersion(), mEndTarget.getVersion(), result);
 
         return result;
     }
@@ -31,7 +31,7 @@ public class EqualToSemverMatcher implements Matcher {
 
         boolean result = keySemver.equals(mTarget);
 
-        Logger.d(keySemver.getVersion() + " == " + mTarget.getVersion() + " | Result: " + result);
+        Logger.d("%s == %s | Result: %s", keySemver.getVersion(), mTarget.getVersion(), result);
 
         return result;
     }
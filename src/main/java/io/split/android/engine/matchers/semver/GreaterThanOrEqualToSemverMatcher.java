@@ -31,7 +31,7 @@ public class GreaterThanOrEqualToSemverMatcher implements Matcher {
 
         boolean result = keySemver.compare(mTarget) >= 0;
 
-        Logger.d(keySemver.getVersion() + " >= " + mTarget.getVersion() + " | Result: " + result);
+        Logger.d("%s >= %s | Result: %s", keySemver.getVersion(), mTarget.getVersion(), result);
 
         return result;
     }
@@ -0,0 +1,109 @@
+package io.split.android.engine.matchers.strings;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable trie to check whether a string starts, or ends, with any of a set of values
+ * walking the string once, instead of comparing it with every value.
+ * <p>
+ * Empty values are ignored.
+ */
+final class AffixTrie {
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node mRoot;
+    private final boolean mSuffixes;
+
+    private AffixTrie(Collection<String> values, boolean suffixes) {
+        mSuffixes = suffixes;
+        BuildNode root = new BuildNode();
+        for (String value : values) {
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+
+            BuildNode node = root;
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(suffixes ? value.length() - 1 - i : i);
+                BuildNode child = node.children.get(c);
+                if (child == null) {
+                    child = new BuildNode();
+                    node.children.put(c, child);
+                }
+                node = child;
+            }
+            node.terminal = true;
+        }
+        mRoot = root.freeze();
+    }
+
+    static AffixTrie forPrefixes(Collection<String> values) {
+        return new AffixTrie(values, false);
+    }
+
+    static AffixTrie forSuffixes(Collection<String> values) {
+        return new AffixTrie(values, true);
+    }
+
+    /**
+     * @return whether the value starts (or ends, for suffix tries) with any of the values of the trie
+     */
+    boolean matches(String value) {
+        Node node = mRoot;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            node = node.child(value.charAt(mSuffixes ? length - 1 - i : i));
+            if (node == null) {
+                return false;
+            }
+            if (node.terminal) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static final class Node {
+        private final char[] labels;
+        private final Node[] children;
+        private final boolean terminal;
+
+        private Node(char[] labels, Node[] children, boolean terminal) {
+            this.labels = labels;
+            this.children = children;
+            this.terminal = terminal;
+        }
+
+        private Node child(char c) {
+            int index = Arrays.binarySearch(labels, c);
+            return (index >= 0) ? children[index] : null;
+        }
+    }
+
+    private static final class BuildNode {
+        private final Map<Character, BuildNode> children = new TreeMap<>();
+        private boolean terminal;
+
+        private Node freeze() {
+            if (children.isEmpty()) {
+                return new Node(NO_LABELS, NO_CHILDREN, terminal);
+            }
+
+            char[] labels = new char[children.size()];
+            Node[] frozenChildren = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, BuildNode> entry : children.entrySet()) {
+                labels[i] = entry.getKey();
+                frozenChildren[i] = entry.getValue().freeze();
+                i++;
+            }
+            return new Node(labels, frozenChildren, terminal);
+        }
+    }
+}
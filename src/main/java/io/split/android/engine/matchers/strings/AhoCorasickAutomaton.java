@@ -0,0 +1,125 @@
+package io.split.android.engine.matchers.strings;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * Immutable Aho–Corasick automaton to check whether a string contains any of a set of values
+ * in a single pass over the string, instead of searching it once per value.
+ * <p>
+ * Empty values are ignored.
+ */
+final class AhoCorasickAutomaton {
+
+    private static final int ROOT = 0;
+
+    // Transitions of each state, sorted by label
+    private final char[][] mLabels;
+    private final int[][] mTargets;
+    private final int[] mFailure;
+    // Whether a value ends in the state or in any of its failure states
+    private final boolean[] mOutput;
+
+    AhoCorasickAutomaton(Collection<String> values) {
+        List<Map<Character, Integer>> transitions = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        transitions.add(new TreeMap<Character, Integer>());
+        terminal.add(false);
+
+        for (String value : values) {
+            if (value == null || value.isEmpty()) {
+                continue;
+            }
+
+            int state = ROOT;
+            for (int i = 0; i < value.length(); i++) {
+                Integer next = transitions.get(state).get(value.charAt(i));
+                if (next == null) {
+                    next = transitions.size();
+                    transitions.add(new TreeMap<Character, Integer>());
+                    terminal.add(false);
+                    transitions.get(state).put(value.charAt(i), next);
+                }
+                state = next;
+            }
+            terminal.set(state, true);
+        }
+
+        int stateCount = transitions.size();
+        mLabels = new char[stateCount][];
+        mTargets = new int[stateCount][];
+        mFailure = new int[stateCount];
+        mOutput = new boolean[stateCount];
+        for (int state = 0; state < stateCount; state++) {
+            Map<Character, Integer> stateTransitions = transitions.get(state);
+            mLabels[state] = new char[stateTransitions.size()];
+            mTargets[state] = new int[stateTransitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> entry : stateTransitions.entrySet()) {
+                mLabels[state][i] = entry.getKey();
+                mTargets[state][i] = entry.getValue();
+                i++;
+            }
+            mOutput[state] = terminal.get(state);
+        }
+
+        buildFailureLinks();
+    }
+
+    /**
+     * @return whether the value contains any of the values of the automaton
+     */
+    boolean matches(String value) {
+        int state = ROOT;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            int next;
+            while ((next = transition(state, c)) < 0 && state != ROOT) {
+                state = mFailure[state];
+            }
+            state = (next < 0) ? ROOT : next;
+            if (mOutput[state]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void buildFailureLinks() {
+        // Breadth first, so failure states are resolved before the states that use them
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int target : mTargets[ROOT]) {
+            mFailure[target] = ROOT;
+            queue.add(target);
+        }
+
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < mLabels[state].length; i++) {
+                char c = mLabels[state][i];
+                int target = mTargets[state][i];
+
+                int failure = mFailure[state];
+                int next;
+                while ((next = transition(failure, c)) < 0 && failure != ROOT) {
+                    failure = mFailure[failure];
+                }
+                mFailure[target] = (next < 0) ? ROOT : next;
+                mOutput[target] |= mOutput[mFailure[target]];
+                queue.add(target);
+            }
+        }
+    }
+
+    private int transition(int state, char c) {
+        int index = Arrays.binarySearch(mLabels[state], c);
+        return (index >= 0) ? mTargets[state][index] : -1;
+    }
+}
@@ -11,12 +11,14 @@ import java.util.Set;
 public class ContainsAnyOfMatcher implements Matcher {
 
     private final Set<String> _compareTo = new HashSet<>();
+    private final AhoCorasickAutomaton _automaton;
 
     public ContainsAnyOfMatcher(Collection<String> compareTo) {
         if (compareTo == null) {
             throw new IllegalArgumentException("Null whitelist");
         }
         _compareTo.addAll(compareTo);
+        _automaton = new AhoCorasickAutomaton(_compareTo);
     }
 
     @Override
@@ -34,19 +36,7 @@ public class ContainsAnyOfMatcher implements Matcher {
             return false;
         }
 
-        String keyAsString = (String) matchValue;
-
-        for (String s : _compareTo) {
-            if (s.isEmpty()) {
-                // ignore empty strings.
-                continue;
-            }
-            if (keyAsString.contains(s)) {
-                return true;
-            }
-        }
-
-        return false;
+        return _automaton.matches((String) matchValue);
     }
 
 
@@ -11,12 +11,14 @@ import java.util.Set;
 public class EndsWithAnyOfMatcher implements Matcher {
 
     private final Set<String> _compareTo = new HashSet<>();
+    private final AffixTrie _suffixes;
 
     public EndsWithAnyOfMatcher(Collection<String> compareTo) {
         if (compareTo == null) {
             throw new IllegalArgumentException("Null whitelist");
         }
         _compareTo.addAll(compareTo);
+        _suffixes = AffixTrie.forSuffixes(_compareTo);
     }
 
     @Override
@@ -34,19 +36,7 @@ public class EndsWithAnyOfMatcher implements Matcher {
             return false;
         }
 
-        String keyAsString = (String) matchValue;
-
-        for (String s : _compareTo) {
-            if (s.isEmpty()) {
-                // ignore empty strings.
-                continue;
-            }
-            if (keyAsString.endsWith(s)) {
-                return true;
-            }
-        }
-
-        return false;
+        return _suffixes.matches((String) matchValue);
     }
 
 
@@ -11,12 +11,14 @@ import java.util.Set;
 public class StartsWithAnyOfMatcher implements Matcher {
 
     private final Set<String> _compareTo = new HashSet<>();
+    private final AffixTrie _prefixes;
 
     public StartsWithAnyOfMatcher(Collection<String> compareTo) {
         if (compareTo == null) {
             throw new IllegalArgumentException("Null whitelist");
         }
         _compareTo.addAll(compareTo);
+        _prefixes = AffixTrie.forPrefixes(_compareTo);
     }
 
     @Override
@@ -33,20 +35,7 @@ public class StartsWithAnyOfMatcher implements Matcher {
             return false;
         }
 
-        String keyAsString = (String) matchValue;
-
-        for (String s : _compareTo) {
-            if (s.isEmpty()) {
-                // ignore empty strings.
-                continue;
-            }
-            if (keyAsString.startsWith(s)) {
-                return true;
-            }
-
-        }
-
-        return false;
+        return _prefixes.matches((String) matchValue);
     }
 
 
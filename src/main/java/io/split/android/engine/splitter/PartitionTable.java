@@ -0,0 +1,67 @@
+package io.split.android.engine.splitter;
+
+import androidx.annotation.Nullable;
+
+import java.util.List;
+
+import io.split.android.client.dtos.Partition;
+
+/**
+ * Treatment for each of the 100 buckets of a list of partitions, computed once
+ * so that selecting the treatment for a bucket doesn't need to walk the partitions.
+ */
+public final class PartitionTable {
+
+    private static final int BUCKETS = 100;
+
+    private final String[] mTreatments;
+    private final boolean mEmpty;
+    @Nullable
+    private final String mSingleTreatment;
+
+    public PartitionTable(@Nullable List<Partition> partitions) {
+        mEmpty = partitions == null || partitions.isEmpty();
+        mSingleTreatment = (!mEmpty && partitions.size() == 1 && partitions.get(0).size == 100) ?
+                partitions.get(0).treatment : null;
+        mTreatments = new String[BUCKETS];
+        if (!mEmpty) {
+            for (int bucket = 1; bucket <= BUCKETS; bucket++) {
+                mTreatments[bucket - 1] = treatmentForBucket(bucket, partitions);
+            }
+        }
+    }
+
+    boolean isEmpty() {
+        return mEmpty;
+    }
+
+    /**
+     * @return the treatment when there is a single partition covering all buckets, null otherwise
+     */
+    @Nullable
+    String singleTreatment() {
+        return mSingleTreatment;
+    }
+
+    /**
+     * @param bucket between 1 and 100, inclusive
+     * @return the treatment for the bucket, or null if no partition covers it
+     */
+    @Nullable
+    String get(int bucket) {
+        return mTreatments[bucket - 1];
+    }
+
+    @Nullable
+    private static String treatmentForBucket(int bucket, List<Partition> partitions) {
+        int bucketsCoveredThusFar = 0;
+        for (Partition partition : partitions) {
+            bucketsCoveredThusFar += partition.size;
+            if (bucketsCoveredThusFar >= bucket) {
+                return partition.treatment;
+            }
+        }
+
+        return null;
+    }
+}
@@ -30,6 +30,24 @@ public class Splitter {
         return getTreatment(bucket(hash(key, seed, algo)), partitions, controlTreatment);
     }
 
+    /**
+     * Same as {@link #getTreatment(String, int, List, int, FallbackTreatmentsCalculator)}, using
+     * the precomputed partition table of the condition.
+     */
+    public static String getTreatment(String key, int seed, PartitionTable partitionTable, int algo, FallbackTreatmentsCalculator fallbackCalculator) {
+        if (partitionTable.isEmpty()) {
+            return fallbackCalculator.resolve(key).getTreatment();
+        }
+
+        String singleTreatment = partitionTable.singleTreatment();
+        if (singleTreatment != null) {
+            return singleTreatment;
+        }
+
+        String treatment = partitionTable.get(bucket(hash(key, seed, algo)));
+        return (treatment != null) ? treatment : fallbackCalculator.resolve(key).getTreatment();
+    }
+
     static long hash(String key, int seed, int algo) {
         switch (algo) {
             case ALGO_MURMUR:
@@ -10,4 +10,8 @@ public class Base64 {
     public static String encodeToString(byte[] input, int flags) {
         return java.util.Base64.getEncoder().encodeToString(input);
     }
+
+    public static byte[] decode(String str, int flags) {
+        return java.util.Base64.getMimeDecoder().decode(str);
+    }
 }
@@ -0,0 +1,43 @@
+package io.split.android.client;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.RETURNS_MOCKS;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+import io.split.android.client.lifecycle.SplitLifecycleManager;
+import io.split.android.client.shared.UserConsent;
+import io.split.android.client.storage.cipher.SplitCipher;
+import io.split.android.client.storage.common.SplitStorageContainer;
+import io.split.android.client.storage.db.SplitRoomDatabase;
+import io.split.android.client.storage.snapshot.CacheSnapshotManager;
+import io.split.android.client.storage.splits.PersistentSplitsStorage;
+import io.split.android.client.storage.splits.SplitsStorage;
+import io.split.android.client.telemetry.storage.TelemetryStorage;
+
+public class SplitFactoryHelperStorageContainerTest {
+
+    @Test
+    public void containerUsesSamePersistentSplitsStorageAsSplitsStorage() {
+        PersistentSplitsStorage persistentSplitsStorage = mock(PersistentSplitsStorage.class);
+
+        SplitStorageContainer container = new SplitFactoryHelper().buildStorageContainer(UserConsent.GRANTED,
+                mock(SplitRoomDatabase.class, RETURNS_MOCKS),
+                false,
+                mock(SplitCipher.class),
+                mock(TelemetryStorage.class),
+                1000L,
+                mock(ScheduledThreadPoolExecutor.class),
+                mock(SplitsStorage.class),
+                persistentSplitsStorage,
+                null,
+                mock(CacheSnapshotManager.class),
+                false,
+                mock(SplitLifecycleManager.class));
+
+        assertSame(persistentSplitsStorage, container.getPersistentSplitsStorage());
+    }
+}
@@ -9,6 +9,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.junit.Before;
@@ -131,7 +133,7 @@ public class SplitManagerImplTest {
 
     @Test
     public void splitNamesCallWithNoSplit() {
-        when(mSplitsStorage.getAll()).thenReturn(new HashMap<>());
+        when(mSplitsStorage.getNames()).thenReturn(new HashSet<>());
         SplitManager splitManager = mSplitManager;
         assertThat(splitManager.splitNames(), is(empty()));
     }
@@ -142,11 +144,10 @@ public class SplitManagerImplTest {
         Split split = SplitHelper.createSplit("FeatureName", 123, true,
                 "off", Arrays.asList(getTestCondition()),
                 "traffic", 456L, 1, null);
-        splitsMap.put(split.name, split);
-
-        when(mSplitsStorage.getAll()).thenReturn(splitsMap);
+        when(mSplitsStorage.getNames()).thenReturn(Collections.singleton(split.name));
         SplitManager splitManager = mSplitManager;
         List<String> splitNames = splitManager.splitNames();
+        verify(mSplitsStorage, never()).getAll();
         assertThat(splitNames.size(), is(equalTo(1)));
         assertThat(splitNames.get(0), is(equalTo(split.name)));
     }
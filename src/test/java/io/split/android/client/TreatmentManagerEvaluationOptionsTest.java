@@ -14,11 +14,13 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentMatcher;
 
+import java.util.Collections;
 import java.util.HashMap;
 
 import io.split.android.client.attributes.AttributesManager;
 import io.split.android.client.attributes.AttributesMerger;
 import io.split.android.client.events.ListenableEventsManager;
+import io.split.android.client.events.SplitEvent;
 import io.split.android.client.fallback.FallbackTreatmentsConfiguration;
 import io.split.android.client.fallback.FallbackTreatmentsCalculatorImpl;
 import io.split.android.client.impressions.Impression;
@@ -39,6 +41,7 @@ public class TreatmentManagerEvaluationOptionsTest {
     private PropertyValidator mPropertyValidator;
     private ValidationMessageLogger mValidationMessageLogger;
     private Evaluator mEvaluator;
+    private ListenableEventsManager mEventsManager;
 
     @Before
     public void setUp() {
@@ -46,7 +49,7 @@ public class TreatmentManagerEvaluationOptionsTest {
         KeyValidator mKeyValidator = mock(KeyValidator.class);
         SplitValidator mSplitValidator = mock(SplitValidator.class);
         mImpressionListener = mock(ImpressionListener.FederatedImpressionListener.class);
-        ListenableEventsManager mEventsManager = mock(ListenableEventsManager.class);
+        mEventsManager = mock(ListenableEventsManager.class);
         AttributesManager mAttributesManager = mock(AttributesManager.class);
         AttributesMerger mAttributesMerger = mock(AttributesMerger.class);
         TelemetryStorageProducer mTelemetryStorageProducer = mock(TelemetryStorageProducer.class);
@@ -144,6 +147,27 @@ public class TreatmentManagerEvaluationOptionsTest {
         verify(mPropertyValidator).validate(evaluationOptions.getProperties(), "getTreatmentWithConfig");
     }
 
+    @Test
+    public void exceptionImpressionFromBulkEvaluationHasProperties() {
+        when(mEventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY)).thenReturn(true);
+        // A result without label makes processing it fail
+        when(mEvaluator.getTreatments(anyString(), anyString(), any(), anyMap()))
+                .thenReturn(Collections.singletonMap("test", new EvaluationResult("on", null)));
+        EvaluationOptions evaluationOptions = getEvaluationOptions();
+        when(mPropertyValidator.validate(any(), any())).thenReturn(PropertyValidator.Result.valid(evaluationOptions.getProperties(), 0));
+
+        mTreatmentManager.getTreatments(Collections.singletonList("test"), null, evaluationOptions, false);
+
+        verify(mImpressionListener).log(argThat(new ArgumentMatcher<Impression>() {
+            @Override
+            public boolean matches(Impression argument) {
+                return TreatmentLabels.EXCEPTION.equals(argument.appliedRule()) &&
+                        argument.properties() != null &&
+                        argument.split().equals("test");
+            }
+        }));
+    }
+
     @NonNull
     private static EvaluationOptions getEvaluationOptions() {
         HashMap<String, Object> properties = new HashMap<>();
@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -33,6 +34,7 @@ import io.split.android.client.fallback.FallbackTreatmentsCalculatorImpl;
 import io.split.android.client.impressions.DecoratedImpression;
 import io.split.android.client.impressions.ImpressionListener;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
+import io.split.android.client.storage.mysegments.MySegmentsStorageStubs;
 import io.split.android.client.storage.mysegments.MySegmentsStorageContainer;
 import io.split.android.client.storage.rbs.RuleBasedSegmentStorage;
 import io.split.android.client.storage.splits.SplitsStorage;
@@ -60,6 +62,7 @@ public class TreatmentManagerTest {
     ImpressionListener.FederatedImpressionListener impressionListener;
     ListenableEventsManager eventsManagerStub;
     AttributesManager attributesManager = mock(AttributesManager.class);
+    AttributesMerger attributesMerger = mock(AttributesMerger.class);
     TelemetryStorageProducer telemetryStorageProducer = mock(TelemetryStorageProducer.class);
     private FlagSetsFilter mFlagSetsFilter;
     TreatmentManagerImpl treatmentManager;
@@ -80,7 +83,7 @@ public class TreatmentManagerTest {
             RuleBasedSegmentStorage ruleBasedSegmentStorage = mock(RuleBasedSegmentStorage.class);
             SplitsStorage splitsStorage = mock(SplitsStorage.class);
 
-            Set<String> mySegments = new HashSet(Arrays.asList("s1", "s2", "test_copy"));
+            Set<String> mySegments = new HashSet<>(Arrays.asList("s1", "s2", "test_copy"));
             List<Split> splits = fileHelper.loadAndParseSplitChangeFile("split_changes_1.json");
             SplitParser splitParser = new SplitParser(new ParserCommons(mySegmentsStorageContainer, myLargeSegmentsStorageContainer));
 
@@ -91,7 +94,7 @@ public class TreatmentManagerTest {
             when(splitsStorage.get("Test")).thenReturn(splitsMap.get("Test"));
 
             when(mySegmentsStorageContainer.getStorageForKey(any())).thenReturn(mySegmentsStorage);
-            when(mySegmentsStorage.getAll()).thenReturn(mySegments);
+            MySegmentsStorageStubs.stubSegments(mySegmentsStorage, mySegments);
 
             evaluator = new EvaluatorImpl(splitsStorage, splitParser);
         }
@@ -304,6 +307,44 @@ public class TreatmentManagerTest {
         verify(attributesManager).getAllAttributes();
     }
 
+    @Test
+    public void getTreatmentsEvaluatesValidNamesTogether() {
+        Evaluator evaluatorMock = mock(Evaluator.class);
+        Map<String, EvaluationResult> bulkResults = new HashMap<>();
+        bulkResults.put("test_split_1", new EvaluationResult("on", "label"));
+        bulkResults.put("test_split_2", new EvaluationResult("off", "label"));
+        when(evaluatorMock.getTreatments(eq("my_key"), eq(null), any(), anyMap())).thenReturn(bulkResults);
+        ListenableEventsManager eventsManager = mock(ListenableEventsManager.class);
+        when(eventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY)).thenReturn(true);
+
+        Map<String, String> treatments = createTreatmentManager("my_key", null, mValidationMessageLogger, new SplitValidatorImpl(), evaluatorMock, eventsManager)
+                .getTreatments(Arrays.asList("test_split_1", " test_split_2 ", ""), null, null, false);
+
+        Assert.assertEquals("on", treatments.get("test_split_1"));
+        Assert.assertEquals("off", treatments.get(" test_split_2 "));
+        Assert.assertEquals(Treatments.CONTROL, treatments.get(""));
+        verify(evaluatorMock).getTreatments(eq("my_key"), eq(null), eq(Arrays.asList("test_split_1", "test_split_2")), anyMap());
+        verify(evaluatorMock, never()).getTreatment(any(), any(), any(), any());
+    }
+
+    @Test
+    public void getTreatmentWithoutAttributesDoesNotMergeAttributes() {
+
+        treatmentManager.getTreatment("test_split", null, null, false);
+
+        verify(attributesMerger, never()).merge(any(), any());
+    }
+
+    @Test
+    public void getTreatmentWithAttributesMergesAttributes() {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("att", "value");
+
+        treatmentManager.getTreatment("test_split", attributes, null, false);
+
+        verify(attributesMerger).merge(any(), eq(attributes));
+    }
+
     @Test
     public void evaluationWhenNotReadyLogsCorrectMessage() {
         ValidationMessageLogger validationMessageLogger = mock(ValidationMessageLogger.class);
@@ -399,7 +440,7 @@ public class TreatmentManagerTest {
                 SplitClientConfig.builder().build().labelsEnabled(),
                 eventsManager,
                 attributesManager,
-                mock(AttributesMerger.class),
+                attributesMerger,
                 telemetryStorageProducer,
                 mFlagSetsFilter,
                 mSplitsStorage,
@@ -6,6 +6,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -18,6 +19,7 @@ import org.mockito.MockitoAnnotations;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -28,6 +30,7 @@ import io.split.android.client.events.ListenableEventsManager;
 import io.split.android.client.events.SplitEvent;
 import io.split.android.client.fallback.FallbackTreatmentsConfiguration;
 import io.split.android.client.fallback.FallbackTreatmentsCalculatorImpl;
+import io.split.android.client.impressions.Impression;
 import io.split.android.client.impressions.ImpressionListener;
 import io.split.android.client.storage.splits.SplitsStorage;
 import io.split.android.client.telemetry.model.Method;
@@ -185,6 +188,36 @@ public class TreatmentManagerWithFlagSetsTest {
         verify(mTelemetryStorageProducer).recordLatency(eq(Method.TREATMENTS_BY_FLAG_SET), anyLong());
     }
 
+    @Test
+    public void getTreatmentsByFlagSetEvaluatesNamesFromStorageInSingleBulkEvaluation() {
+        Set<String> names = new HashSet<>(Arrays.asList("test_1", "test_2"));
+        when(mSplitsStorage.getNamesByFlagSets(Collections.singleton("set_1"))).thenReturn(names);
+        Map<String, EvaluationResult> bulkResults = new HashMap<>();
+        bulkResults.put("test_1", new EvaluationResult("bulk_1", "label"));
+        bulkResults.put("test_2", new EvaluationResult("bulk_2", "label"));
+        when(mEvaluator.getTreatments(eq("matching_key"), eq("bucketing_key"), eq(names), anyMap())).thenReturn(bulkResults);
+
+        Map<String, String> result = mTreatmentManager.getTreatmentsByFlagSet("set_1", null, null, false);
+
+        assertEquals("bulk_1", result.get("test_1"));
+        assertEquals("bulk_2", result.get("test_2"));
+        verify(mEvaluator).getTreatments(eq("matching_key"), eq("bucketing_key"), eq(names), anyMap());
+        verify(mEvaluator, never()).getTreatment(any(), any(), any(), anyMap());
+        verify(mImpressionListener, times(2)).log(any(Impression.class));
+    }
+
+    @Test
+    public void getTreatmentsByFlagSetIsNotEvaluatedInBulkWhenNotReady() {
+        when(mEventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY)).thenReturn(false);
+        when(mEventsManager.eventAlreadyTriggered(SplitEvent.SDK_READY_FROM_CACHE)).thenReturn(false);
+        when(mSplitsStorage.getNamesByFlagSets(Collections.singleton("set_1"))).thenReturn(Collections.singleton("test_1"));
+
+        Map<String, String> result = mTreatmentManager.getTreatmentsByFlagSet("set_1", null, null, false);
+
+        assertEquals("control", result.get("test_1"));
+        verify(mEvaluator, never()).getTreatments(any(), any(), any(), anyMap());
+    }
+
     ///
     @Test
     public void getTreatmentsByFlagSetsDestroyedDoesNotUseEvaluator() {
@@ -1,5 +1,6 @@
 package io.split.android.client.events;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.when;
@@ -194,6 +195,36 @@ public class EventsManagerTest {
         assertFalse(eventManager.eventAlreadyTriggered(SplitEvent.SDK_READY_TIMED_OUT));
     }
 
+    @Test
+    public void eventsOfManyManagersAreProcessedByTheSharedScheduler() throws InterruptedException {
+        int managersCount = 100;
+        CountDownLatch readyLatch = new CountDownLatch(managersCount);
+        CountDownLatch timeoutLatch = new CountDownLatch(managersCount);
+        for (int i = 0; i < managersCount; i++) {
+            SplitEventsManager eventManager = new SplitEventsManager(new SplitTaskExecutorStub(), 500);
+            eventManager.register(SplitEvent.SDK_READY_TIMED_OUT, new SplitEventTask() {
+                @Override
+                public void onPostExecutionView(SplitClient client) {
+                    timeoutLatch.countDown();
+                }
+            });
+            eventManager.register(SplitEvent.SDK_READY, new SplitEventTask() {
+                @Override
+                public void onPostExecutionView(SplitClient client) {
+                    readyLatch.countDown();
+                }
+            });
+            if (i % 2 == 0) {
+                eventManager.notifyInternalEvent(SplitInternalEvent.SPLITS_UPDATED);
+                eventManager.notifyInternalEvent(SplitInternalEvent.MY_SEGMENTS_UPDATED);
+            }
+        }
+
+        assertFalse(readyLatch.await(2, TimeUnit.SECONDS));
+        assertEquals(managersCount / 2, readyLatch.getCount());
+        assertEquals(managersCount / 2, timeoutLatch.getCount());
+    }
+
     private static void sdkUpdateTest(SplitInternalEvent eventToCheck, boolean negate) throws InterruptedException {
         SplitEventsManager eventManager = new SplitEventsManager(SplitClientConfig.builder()
                 .build(), new SplitTaskExecutorStub());
@@ -26,6 +26,8 @@ import org.mockito.stubbing.Answer;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
 import java.lang.reflect.Type;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -41,6 +43,8 @@ import io.split.android.client.dtos.Event;
 import io.split.android.client.dtos.SplitChange;
 import io.split.android.client.dtos.TargetingRulesChange;
 import io.split.android.client.dtos.TestImpressions;
+import io.split.android.client.service.http.HttpResponseParserException;
+import io.split.android.client.service.rules.TargetingRulesResponseParser;
 import io.split.android.client.utils.Json;
 import io.split.android.helpers.FileHelper;
 import okhttp3.Headers;
@@ -49,6 +53,8 @@ import okhttp3.mockwebserver.Dispatcher;
 import okhttp3.mockwebserver.MockResponse;
 import okhttp3.mockwebserver.MockWebServer;
 import okhttp3.mockwebserver.RecordedRequest;
+import okio.GzipSource;
+import okio.Okio;
 
 public class HttpClientTest {
 
@@ -206,6 +212,84 @@ public class HttpClientTest {
         Assert.assertNull(badResp.getData());
     }
 
+    @Test
+    public void streamedResponseIsReadFromConnection() throws Exception {
+        HttpUrl url = mWebServer.url("/test3/");
+        HttpRequest splitChangeReq = client.request(url.uri(), HttpMethod.GET);
+
+        ParsedHttpResponse<TargetingRulesChange> response = splitChangeReq.execute(new HttpResponseBodyReader<TargetingRulesChange>() {
+            @Override
+            public TargetingRulesChange read(@NonNull Reader body) throws IOException {
+                try {
+                    return new TargetingRulesResponseParser().parseStream(body);
+                } catch (HttpResponseParserException e) {
+                    throw new IOException(e);
+                }
+            }
+        });
+        mWebServer.takeRequest();
+
+        Assert.assertEquals(200, response.getHttpStatus());
+        assertTrue(response.isSuccess());
+        Assert.assertEquals(1506703262916L, response.getData().getFeatureFlagsChange().till);
+        Assert.assertEquals(31, response.getData().getFeatureFlagsChange().splits.size());
+    }
+
+    @Test
+    public void streamedResponseBodyIsNotReadWhenRequestFails() throws Exception {
+        HttpUrl url = mWebServer.url("/limit_wrong/");
+        HttpRequest request = client.request(url.uri(), HttpMethod.GET);
+
+        ParsedHttpResponse<String> response = request.execute(new HttpResponseBodyReader<String>() {
+            @Override
+            public String read(@NonNull Reader body) {
+                throw new IllegalStateException("Body should not be read");
+            }
+        });
+        mWebServer.takeRequest();
+
+        Assert.assertEquals(300, response.getHttpStatus());
+        Assert.assertFalse(response.isSuccess());
+        assertNull(response.getData());
+    }
+
+    @Test
+    public void compressedBodyIsWrittenWithGzip() throws Exception {
+        final String body = new FileHelper().loadFileContent("tracks_1.json");
+        HttpUrl url = mWebServer.url("/tracks/");
+        HttpRequest request = client.request(url.uri(), HttpMethod.POST, new HttpRequestBodyWriter() {
+            @Override
+            public void write(@NonNull Writer writer) throws IOException {
+                writer.write(body);
+            }
+        }, true);
+
+        HttpResponse response = request.execute();
+        RecordedRequest recordedRequest = mWebServer.takeRequest();
+        String receivedBody = Okio.buffer(new GzipSource(recordedRequest.getBody())).readUtf8();
+
+        assertTrue(response.isSuccess());
+        assertEquals("gzip", recordedRequest.getHeader("Content-Encoding"));
+        assertEquals(body, receivedBody);
+    }
+
+    @Test
+    public void uncompressedBodyIsWrittenFromWriter() throws Exception {
+        HttpUrl url = mWebServer.url("/tracks/");
+        HttpRequest request = client.request(url.uri(), HttpMethod.POST, new HttpRequestBodyWriter() {
+            @Override
+            public void write(@NonNull Writer writer) throws IOException {
+                writer.write("[]");
+            }
+        }, false);
+
+        request.execute();
+        RecordedRequest recordedRequest = mWebServer.takeRequest();
+
+        assertNull(recordedRequest.getHeader("Content-Encoding"));
+        assertEquals("[]", recordedRequest.getBody().readUtf8());
+    }
+
     @Test
     public void addHeaders() throws InterruptedException, URISyntaxException, HttpException {
         client.addHeaders(Collections.singletonMap("my_header", "my_header_value"));
@@ -4,6 +4,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,7 +16,10 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import java.io.StringReader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.HashMap;
@@ -33,7 +38,10 @@ import io.split.android.client.network.HttpException;
 import io.split.android.client.network.HttpMethod;
 import io.split.android.client.network.HttpRequest;
 import io.split.android.client.network.HttpResponse;
+import io.split.android.client.network.HttpResponseBodyReader;
 import io.split.android.client.network.HttpResponseImpl;
+import io.split.android.client.network.ParsedHttpResponse;
+import io.split.android.client.network.ParsedHttpResponseImpl;
 import io.split.android.client.network.SdkTargetPath;
 import io.split.android.client.network.URIBuilder;
 import io.split.android.client.service.http.HttpFetcher;
@@ -42,6 +50,7 @@ import io.split.android.client.service.http.HttpFetcherImpl;
 import io.split.android.client.service.http.HttpResponseParser;
 import io.split.android.client.service.mysegments.AllSegmentsResponseParser;
 import io.split.android.client.service.rules.TargetingRulesResponseParser;
+import io.split.android.client.storage.general.GeneralInfoStorage;
 
 public class HttpFetcherTest {
 
@@ -88,7 +97,7 @@ public class HttpFetcherTest {
         HttpRequest request = mock(HttpRequest.class);
 
         HttpResponse response = new HttpResponseImpl(200, dummySplitChangeResponse());
-        when(request.execute()).thenReturn(response);
+        stubResponse(request, response);
         when(mClientMock.request(uri, HttpMethod.GET, null, null)).thenReturn(request);
 
         HttpFetcher<TargetingRulesChange> fetcher = new HttpFetcherImpl<>(mClientMock, mSplitChangesUrl, mSplitChangeResponseParser);
@@ -119,7 +128,7 @@ public class HttpFetcherTest {
         HttpRequest request = mock(HttpRequest.class);
         HttpResponse response = new HttpResponseImpl(200, dummySplitChangeResponse());
 
-        when(request.execute()).thenReturn(response);
+        stubResponse(request, response);
         when(mClientMock.request(uri, HttpMethod.GET, null, headers)).thenReturn(request);
 
         HttpFetcher<TargetingRulesChange> fetcher = new HttpFetcherImpl<>(mClientMock, mSplitChangesUrl, mSplitChangeResponseParser);
@@ -145,7 +154,7 @@ public class HttpFetcherTest {
         HttpRequest request = mock(HttpRequest.class);
 
         HttpResponse response = new HttpResponseImpl(500, "");
-        when(request.execute()).thenReturn(response);
+        stubResponse(request, response);
         when(mClientMock.request(uri, HttpMethod.GET, null, null)).thenReturn(request);
 
         HttpFetcher<TargetingRulesChange> fetcher = new HttpFetcherImpl<>(mClientMock, mSplitChangesUrl, mSplitChangeResponseParser);
@@ -169,7 +178,7 @@ public class HttpFetcherTest {
         HttpRequest request = mock(HttpRequest.class);
 
         HttpResponse response = new HttpResponseImpl(200, "");
-        when(request.execute()).thenReturn(response);
+        stubResponse(request, response);
         when(mClientMock.request(uri, HttpMethod.GET, null, null)).thenReturn(request);
 
         HttpFetcher<TargetingRulesChange> fetcher = new HttpFetcherImpl<>(mClientMock, mSplitChangesUrl, mSplitChangeResponseParser);
@@ -194,7 +203,7 @@ public class HttpFetcherTest {
         HttpRequest request = mock(HttpRequest.class);
 
         HttpResponse response = new HttpResponseImpl(200, dummyMySegmentsResponse());
-        when(request.execute()).thenReturn(response);
+        stubResponse(request, response);
         when(mClientMock.request(mMySegmentsUrl, HttpMethod.GET, null, null)).thenReturn(request);
 
         HttpFetcher<AllSegmentsChange> fetcher = new HttpFetcherImpl<>(mClientMock, mMySegmentsUrl, mMySegmentsResponseParser);
@@ -224,7 +233,7 @@ public class HttpFetcherTest {
         HttpRequest request = mock(HttpRequest.class);
 
         HttpResponse response = new HttpResponseImpl(200, dummyMySegmentsResponse());
-        when(request.execute()).thenReturn(response);
+        stubResponse(request, response);
         when(mClientMock.request(mMySegmentsUrl, HttpMethod.GET, null, headers)).thenReturn(request);
 
         HttpFetcher<AllSegmentsChange> fetcher = new HttpFetcherImpl<>(mClientMock, mMySegmentsUrl, mMySegmentsResponseParser);
@@ -247,7 +256,7 @@ public class HttpFetcherTest {
         HttpRequest request = mock(HttpRequest.class);
 
         HttpResponse response = new HttpResponseImpl(200, "wrong response here");
-        when(request.execute()).thenReturn(response);
+        stubResponse(request, response);
         when(mClientMock.request(mMySegmentsUrl, HttpMethod.GET)).thenReturn(request);
 
 
@@ -328,7 +337,7 @@ public class HttpFetcherTest {
         HttpFetcher<TargetingRulesChange> fetcher = getSplitChangeHttpFetcher();
 
         HttpRequest request = mock(HttpRequest.class);
-        when(request.execute()).thenThrow(new HttpException("Not found", 404));
+        when(request.execute(any())).thenThrow(new HttpException("Not found", 404));
         when(mClientMock.request(any(), any(), any(), any())).thenReturn(request);
 
         Map<String, Object> params = new LinkedHashMap<>();
@@ -346,13 +355,136 @@ public class HttpFetcherTest {
     @NonNull
     private HttpFetcher<TargetingRulesChange> getSplitChangeHttpFetcher() throws HttpException {
         HttpRequest mockRequest = mock(HttpRequest.class);
-        when(mockRequest.execute()).thenReturn(new HttpResponseImpl(200, dummySplitChangeResponse()));
+        stubResponse(mockRequest, new HttpResponseImpl(200, dummySplitChangeResponse()));
         when(mClientMock.request(any(), any(), any(), any())).thenReturn(mockRequest);
 
         HttpFetcher<TargetingRulesChange> fetcher = new HttpFetcherImpl<>(mClientMock, mSplitChangesUrl, mSplitChangeResponseParser);
         return fetcher;
     }
 
+    @Test
+    public void streamingParserReadsBodyWithoutBufferingIt() throws HttpException, HttpFetcherException {
+        HttpRequest request = mock(HttpRequest.class);
+        stubResponse(request, new HttpResponseImpl(200, dummySplitChangeResponse()));
+        when(mClientMock.request(any(), any(), any(), any())).thenReturn(request);
+        HttpFetcher<TargetingRulesChange> fetcher = new HttpFetcherImpl<>(mClientMock, mSplitChangesUrl, mSplitChangeResponseParser);
+
+        TargetingRulesChange change = fetcher.execute(new HashMap<>(), null);
+
+        Assert.assertEquals("sample_feature", change.getFeatureFlagsChange().splits.get(0).name);
+        verify(request).execute(any());
+        verify(request, never()).execute();
+    }
+
+    @Test
+    public void validatorsOfLastResponseAreSentAndNotModifiedResponseReturnsNull() throws HttpException, HttpFetcherException {
+        GeneralInfoStorage validatorsStorage = mock(GeneralInfoStorage.class);
+        Map<String, String> responseHeaders = new HashMap<>();
+        responseHeaders.put("etag", "\"v1\"");
+        responseHeaders.put("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT");
+        HttpRequest firstRequest = mock(HttpRequest.class);
+        when(firstRequest.execute(any())).thenReturn(new ParsedHttpResponseImpl<>(200, mock(TargetingRulesChange.class), responseHeaders));
+        HttpRequest secondRequest = mock(HttpRequest.class);
+        when(secondRequest.execute(any())).thenReturn(new ParsedHttpResponseImpl<>(304, null));
+        when(mClientMock.request(any(), any(), any(), any())).thenReturn(firstRequest, secondRequest);
+        HttpFetcher<TargetingRulesChange> fetcher = new HttpFetcherImpl<>(mClientMock, mSplitChangesUrl, mSplitChangeResponseParser, validatorsStorage);
+        Map<String, Object> params = new HashMap<>();
+        params.put("since", 100);
+
+        TargetingRulesChange firstResult = fetcher.execute(new HashMap<>(params), null);
+        fetcher.commitValidators(firstResult);
+        ArgumentCaptor<String> resourceIdCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> validatorsCaptor = ArgumentCaptor.forClass(String.class);
+        verify(validatorsStorage).setHttpValidators(resourceIdCaptor.capture(), validatorsCaptor.capture());
+        when(validatorsStorage.getHttpValidators(resourceIdCaptor.getValue())).thenReturn(validatorsCaptor.getValue());
+        TargetingRulesChange result = fetcher.execute(new HashMap<>(params), null);
+
+        ArgumentCaptor<Map<String, String>> headersCaptor = ArgumentCaptor.forClass(Map.class);
+        verify(mClientMock, times(2)).request(any(), any(), any(), headersCaptor.capture());
+        Assert.assertNull(headersCaptor.getAllValues().get(0));
+        Assert.assertEquals("\"v1\"", headersCaptor.getAllValues().get(1).get("If-None-Match"));
+        Assert.assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", headersCaptor.getAllValues().get(1).get("If-Modified-Since"));
+        Assert.assertNull(result);
+    }
+
+    @Test
+    public void validatorsAreNotSentForDifferentQuery() throws HttpException, HttpFetcherException {
+        GeneralInfoStorage validatorsStorage = mock(GeneralInfoStorage.class);
+        Map<String, String> responseHeaders = new HashMap<>();
+        responseHeaders.put("ETag", "\"v1\"");
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.execute(any())).thenReturn(new ParsedHttpResponseImpl<>(200, mock(TargetingRulesChange.class), responseHeaders));
+        when(mClientMock.request(any(), any(), any(), any())).thenReturn(request);
+        HttpFetcher<TargetingRulesChange> fetcher = new HttpFetcherImpl<>(mClientMock, mSplitChangesUrl, mSplitChangeResponseParser, validatorsStorage);
+        Map<String, Object> params = new HashMap<>();
+        params.put("since", 100);
+
+        fetcher.commitValidators(fetcher.execute(params, null));
+        ArgumentCaptor<String> resourceIdCaptor = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> validatorsCaptor = ArgumentCaptor.forClass(String.class);
+        verify(validatorsStorage).setHttpValidators(resourceIdCaptor.capture(), validatorsCaptor.capture());
+        when(validatorsStorage.getHttpValidators(resourceIdCaptor.getValue())).thenReturn(validatorsCaptor.getValue());
+        Map<String, Object> newParams = new HashMap<>();
+        newParams.put("since", 200);
+        fetcher.execute(newParams, null);
+
+        verify(mClientMock, times(2)).request(any(), any(), any(), eq(null));
+    }
+
+    @Test
+    public void validatorsAreOnlyStoredWhenCommitted() throws HttpException, HttpFetcherException {
+        GeneralInfoStorage validatorsStorage = mock(GeneralInfoStorage.class);
+        Map<String, String> responseHeaders = new HashMap<>();
+        responseHeaders.put("ETag", "\"v1\"");
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.execute(any())).thenReturn(new ParsedHttpResponseImpl<>(200, mock(TargetingRulesChange.class), responseHeaders));
+        when(mClientMock.request(any(), any(), any(), any())).thenReturn(request);
+        HttpFetcher<TargetingRulesChange> fetcher = new HttpFetcherImpl<>(mClientMock, mSplitChangesUrl, mSplitChangeResponseParser, validatorsStorage);
+
+        TargetingRulesChange result = fetcher.execute(new HashMap<>(), null);
+        verify(validatorsStorage, never()).setHttpValidators(any(), any());
+
+        fetcher.commitValidators(result);
+        verify(validatorsStorage).setHttpValidators(any(), argThat(validators -> validators.contains("v1")));
+    }
+
+    @Test
+    public void committingAnOlderResponseDoesNotStoreItsValidators() throws HttpException, HttpFetcherException {
+        GeneralInfoStorage validatorsStorage = mock(GeneralInfoStorage.class);
+        Map<String, String> responseHeaders = new HashMap<>();
+        responseHeaders.put("ETag", "\"v1\"");
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.execute(any())).thenReturn(
+                new ParsedHttpResponseImpl<>(200, mock(TargetingRulesChange.class), responseHeaders),
+                new ParsedHttpResponseImpl<>(200, mock(TargetingRulesChange.class), responseHeaders));
+        when(mClientMock.request(any(), any(), any(), any())).thenReturn(request);
+        HttpFetcher<TargetingRulesChange> fetcher = new HttpFetcherImpl<>(mClientMock, mSplitChangesUrl, mSplitChangeResponseParser, validatorsStorage);
+
+        TargetingRulesChange olderResult = fetcher.execute(new HashMap<>(), null);
+        fetcher.execute(new HashMap<>(), null);
+        fetcher.commitValidators(olderResult);
+
+        verify(validatorsStorage, never()).setHttpValidators(any(), any());
+    }
+
+    /**
+     * Stubs both the buffered and the streamed execution of the request.
+     */
+    private static void stubResponse(HttpRequest request, HttpResponse response) throws HttpException {
+        when(request.execute()).thenReturn(response);
+        when(request.execute(any())).thenAnswer(new Answer<ParsedHttpResponse<Object>>() {
+            @Override
+            public ParsedHttpResponse<Object> answer(InvocationOnMock invocation) throws Throwable {
+                HttpResponseBodyReader<Object> bodyReader = invocation.getArgument(0);
+                Object data = null;
+                if (response.isSuccess() && response.getData() != null) {
+                    data = bodyReader.read(new StringReader(response.getData()));
+                }
+                return new ParsedHttpResponseImpl<>(response.getHttpStatus(), data);
+            }
+        });
+    }
+
     private void verifyQuery(String anObject) {
         verify(mClientMock).request(argThat(new ArgumentMatcher<URI>() {
             @Override
@@ -2,6 +2,7 @@ package io.split.android.client.service;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -10,8 +11,12 @@ import static org.mockito.Mockito.when;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -26,6 +31,7 @@ import io.split.android.client.network.HttpClient;
 import io.split.android.client.network.HttpException;
 import io.split.android.client.network.HttpMethod;
 import io.split.android.client.network.HttpRequest;
+import io.split.android.client.network.HttpRequestBodyWriter;
 import io.split.android.client.network.HttpResponse;
 import io.split.android.client.network.HttpResponseImpl;
 import io.split.android.client.network.SdkTargetPath;
@@ -75,7 +81,7 @@ public class HttpRecorderTest {
     }
 
     @Test
-    public void testSuccessfulEventsSend() throws HttpException {
+    public void testSuccessfulEventsSend() throws HttpException, IOException {
         boolean exceptionWasThrown = false;
         List<Event> events = createEvents();
         List<SerializableEvent> serializableEvents = createSerializedEventsObjects(events);
@@ -84,7 +90,7 @@ public class HttpRecorderTest {
 
         HttpResponse response = new HttpResponseImpl(200, "");
         when(request.execute()).thenReturn(response);
-        when(mClientMock.request(mEventsUrl, HttpMethod.POST, jsonEvents)).thenReturn(request);
+        when(mClientMock.request(eq(mEventsUrl), eq(HttpMethod.POST), any(HttpRequestBodyWriter.class), eq(false))).thenReturn(request);
 
         HttpRecorder<List<Event>> recorder = new HttpRecorderImpl<>(mClientMock, mEventsUrl, mEventsRequestSerializer);
         try {
@@ -94,13 +100,13 @@ public class HttpRecorderTest {
         }
 
         Assert.assertFalse(exceptionWasThrown);
-        verify(mClientMock, times(1)).request(mEventsUrl, HttpMethod.POST, jsonEvents);
+        Assert.assertEquals(jsonEvents, writtenBody(mEventsUrl, false));
         verify(request, times(1)).execute();
 
     }
 
     @Test
-    public void failedResponse() throws HttpException {
+    public void failedResponse() throws HttpException, IOException {
 
         HttpRequest request = mock(HttpRequest.class);
 
@@ -109,7 +115,7 @@ public class HttpRecorderTest {
 
         HttpResponse response = new HttpResponseImpl(500, "");
         when(request.execute()).thenReturn(response);
-        when(mClientMock.request(mEventsUrl, HttpMethod.POST, jsonEvents)).thenReturn(request);
+        when(mClientMock.request(eq(mEventsUrl), eq(HttpMethod.POST), any(HttpRequestBodyWriter.class), eq(false))).thenReturn(request);
 
         HttpRecorder<List<Event>> recorder = new HttpRecorderImpl<>(mClientMock, mEventsUrl, mEventsRequestSerializer);
         boolean exceptionWasThrown = false;
@@ -120,7 +126,7 @@ public class HttpRecorderTest {
         }
 
         Assert.assertTrue(exceptionWasThrown);
-        verify(mClientMock, times(1)).request(mEventsUrl, HttpMethod.POST, jsonEvents);
+        Assert.assertEquals(jsonEvents, writtenBody(mEventsUrl, false));
         verify(request, times(1)).execute();
     }
 
@@ -133,7 +139,7 @@ public class HttpRecorderTest {
 
         HttpResponse response = new HttpResponseImpl(200, "wrong response here");
         when(request.execute()).thenThrow(RuntimeException.class);
-        when(mClientMock.request(mEventsUrl, HttpMethod.POST, jsonEvents)).thenReturn(request);
+        when(mClientMock.request(eq(mEventsUrl), eq(HttpMethod.POST), any(HttpRequestBodyWriter.class), eq(false))).thenReturn(request);
 
 
         HttpRecorder<List<Event>> recorder = new HttpRecorderImpl<>(mClientMock, mEventsUrl, mEventsRequestSerializer);
@@ -147,7 +153,7 @@ public class HttpRecorderTest {
     }
 
     @Test
-    public void successfulImpressionsSend() throws HttpException {
+    public void successfulImpressionsSend() throws HttpException, IOException {
         boolean exceptionWasThrown = false;
 
         TestImpressions testImpression1 = new TestImpressions();
@@ -167,9 +173,12 @@ public class HttpRecorderTest {
 
         HttpResponse response = new HttpResponseImpl(200, "");
         when(request.execute()).thenReturn(response);
-        when(mClientMock.request(mImpressionsUrl, HttpMethod.POST, jsonImpressions)).thenReturn(request);
+        when(mClientMock.request(eq(mImpressionsUrl), eq(HttpMethod.POST), any(HttpRequestBodyWriter.class), eq(false))).thenReturn(request);
         ImpressionsRequestBodySerializer parser = (ImpressionsRequestBodySerializer) Mockito.mock(ImpressionsRequestBodySerializer.class);
-        when(parser.serialize(impressions)).thenReturn(jsonImpressions);
+        doAnswer(invocation -> {
+            ((Writer) invocation.getArgument(1)).write(jsonImpressions);
+            return null;
+        }).when(parser).serialize(eq(impressions), any(Writer.class));
 
         HttpRecorder<List<KeyImpression>> recorder = new HttpRecorderImpl<>(mClientMock, mImpressionsUrl, parser);
 
@@ -180,14 +189,14 @@ public class HttpRecorderTest {
         }
 
         Assert.assertFalse(exceptionWasThrown);
-        verify(mClientMock, times(1)).request(mImpressionsUrl, HttpMethod.POST, jsonImpressions);
+        Assert.assertEquals(jsonImpressions, writtenBody(mImpressionsUrl, false));
         verify(request, times(1)).execute();
     }
 
     @Test
     public void httpExceptionThrowsHttpRecorderExceptionWithStatusCode() throws HttpException {
         HttpRequest httpRequest = mock(HttpRequest.class);
-        when(mClientMock.request(any(), eq(HttpMethod.POST), any())).thenReturn(httpRequest);
+        when(mClientMock.request(any(), eq(HttpMethod.POST), any(HttpRequestBodyWriter.class), eq(false))).thenReturn(httpRequest);
         when(httpRequest.execute()).thenThrow(new HttpException("Not found", 404));
         HttpRecorder<List<Event>> recorder = new HttpRecorderImpl<>(mClientMock, mUrl,
                 mEventsRequestSerializer);
@@ -201,6 +210,96 @@ public class HttpRecorderTest {
         Assert.assertEquals(404, exception.getHttpStatus().intValue());
     }
 
+    @Test
+    public void compressedRecorderWritesSerializedBodyIntoRequest() throws HttpException, IOException, HttpRecorderException {
+        List<Event> events = createEvents();
+        String jsonEvents = Json.toJson(createSerializedEventsObjects(events));
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.execute()).thenReturn(new HttpResponseImpl(200, ""));
+        when(mClientMock.request(eq(mEventsUrl), eq(HttpMethod.POST), any(HttpRequestBodyWriter.class), eq(true))).thenReturn(request);
+
+        HttpRecorder<List<Event>> recorder = new HttpRecorderImpl<>(mClientMock, mEventsUrl, mEventsRequestSerializer, true);
+        recorder.execute(events);
+
+        ArgumentCaptor<HttpRequestBodyWriter> bodyWriterCaptor = ArgumentCaptor.forClass(HttpRequestBodyWriter.class);
+        verify(mClientMock).request(eq(mEventsUrl), eq(HttpMethod.POST), bodyWriterCaptor.capture(), eq(true));
+        verify(mClientMock, Mockito.never()).request(any(), any(), any(String.class));
+        verify(request).execute();
+
+        // The writer can be invoked again, e.g. when retrying with proxy authentication
+        for (int i = 0; i < 2; i++) {
+            StringWriter writer = new StringWriter();
+            bodyWriterCaptor.getValue().write(writer);
+            Assert.assertEquals(jsonEvents, writer.toString());
+        }
+    }
+
+    @Test
+    public void compressedRecorderWithNonStreamingSerializerWritesSerializedBody() throws HttpException, IOException, HttpRecorderException {
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.execute()).thenReturn(new HttpResponseImpl(200, ""));
+        when(mClientMock.request(eq(mUrl), eq(HttpMethod.POST), any(HttpRequestBodyWriter.class), eq(true))).thenReturn(request);
+        HttpRequestBodySerializer<String> serializer = new HttpRequestBodySerializer<String>() {
+            @Override
+            public String serialize(String data) {
+                return "{\"data\":\"" + data + "\"}";
+            }
+        };
+
+        new HttpRecorderImpl<>(mClientMock, mUrl, serializer, true).execute("value");
+
+        ArgumentCaptor<HttpRequestBodyWriter> bodyWriterCaptor = ArgumentCaptor.forClass(HttpRequestBodyWriter.class);
+        verify(mClientMock).request(eq(mUrl), eq(HttpMethod.POST), bodyWriterCaptor.capture(), eq(true));
+        StringWriter writer = new StringWriter();
+        bodyWriterCaptor.getValue().write(writer);
+        Assert.assertEquals("{\"data\":\"value\"}", writer.toString());
+    }
+
+    @Test
+    public void nonStreamingSerializerSendsSerializedBody() throws HttpException, HttpRecorderException {
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.execute()).thenReturn(new HttpResponseImpl(200, ""));
+        when(mClientMock.request(mUrl, HttpMethod.POST, "{\"data\":\"value\"}")).thenReturn(request);
+        HttpRequestBodySerializer<String> serializer = new HttpRequestBodySerializer<String>() {
+            @Override
+            public String serialize(String data) {
+                return "{\"data\":\"" + data + "\"}";
+            }
+        };
+
+        new HttpRecorderImpl<>(mClientMock, mUrl, serializer).execute("value");
+
+        verify(mClientMock).request(mUrl, HttpMethod.POST, "{\"data\":\"value\"}");
+        verify(request).execute();
+    }
+
+    @Test
+    public void failedCompressedResponseThrowsHttpRecorderException() throws HttpException {
+        HttpRequest request = mock(HttpRequest.class);
+        when(request.execute()).thenReturn(new HttpResponseImpl(500, ""));
+        when(mClientMock.request(eq(mEventsUrl), eq(HttpMethod.POST), any(HttpRequestBodyWriter.class), eq(true))).thenReturn(request);
+
+        HttpRecorder<List<Event>> recorder = new HttpRecorderImpl<>(mClientMock, mEventsUrl, mEventsRequestSerializer, true);
+        HttpRecorderException exception = null;
+        try {
+            recorder.execute(createEvents());
+        } catch (HttpRecorderException ex) {
+            exception = ex;
+        }
+
+        Assert.assertNotNull(exception);
+        Assert.assertEquals(500, exception.getHttpStatus().intValue());
+    }
+
+    private String writtenBody(URI url, boolean compressBody) throws IOException {
+        ArgumentCaptor<HttpRequestBodyWriter> bodyWriterCaptor = ArgumentCaptor.forClass(HttpRequestBodyWriter.class);
+        verify(mClientMock, times(1)).request(eq(url), eq(HttpMethod.POST), bodyWriterCaptor.capture(), eq(compressBody));
+        StringWriter writer = new StringWriter();
+        bodyWriterCaptor.getValue().write(writer);
+
+        return writer.toString();
+    }
+
     private List<KeyImpression> createImpressions(String feature) {
         List<KeyImpression> impressions = new ArrayList<>();
         for(int i = 0; i <= 5; i++) {
@@ -4,8 +4,11 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Random;
+
 import io.split.android.client.impressions.Impression;
 import io.split.android.client.service.impressions.ImpressionHasher;
+import io.split.android.client.utils.MurmurHash3;
 
 public class ImpressionHasherTest {
 
@@ -204,6 +207,66 @@ public class ImpressionHasherTest {
         Assert.assertNull(hash);
     }
 
+    @Test
+    public void hashIsSameAsHashOfConcatenatedFields() {
+        String[] values = {"someKey", "", "ключ", "键", "\uD83D\uDE00emoji", "trailing\uD83D", "\uDE00lone", null};
+        Long[] changeNumbers = {123L, null, -5L, 0L, Long.MAX_VALUE, Long.MIN_VALUE};
+
+        for (String value : values) {
+            for (Long changeNumber : changeNumbers) {
+                Impression impression = new Impression(value,
+                        null,
+                        "feature_" + value,
+                        value,
+                        System.currentTimeMillis(),
+                        value,
+                        changeNumber,
+                        null,
+                        null);
+
+                Assert.assertEquals(concatenatedHash(impression), ImpressionHasher.process(impression).longValue());
+            }
+        }
+    }
+
+    @Test
+    public void incrementalHashMatchesHashOfWholeString() {
+        Random random = new Random(3);
+        MurmurHash3.IncrementalX86_32 hasher = new MurmurHash3.IncrementalX86_32();
+
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int length = random.nextInt(40);
+            for (int j = 0; j < length; j++) {
+                builder.append((char) random.nextInt(0x10000));
+            }
+            String data = builder.toString();
+            int split = length == 0 ? 0 : random.nextInt(length);
+
+            long expected = MurmurHash3.murmurhash3_x86_32(data, 0, data.length(), 7);
+            long hash = hasher.reset(7)
+                    .append(data.substring(0, split))
+                    .append(data.substring(split))
+                    .hash();
+
+            Assert.assertEquals(expected, hash);
+        }
+    }
+
+    private static long concatenatedHash(Impression impression) {
+        String data = unknownIfNull(impression.key()) + ":" +
+                unknownIfNull(impression.split()) + ":" +
+                unknownIfNull(impression.treatment()) + ":" +
+                unknownIfNull(impression.appliedRule()) + ":" +
+                (impression.changeNumber() == null ? 0 : impression.changeNumber());
+
+        return MurmurHash3.murmurhash3_x86_32(data, 0, data.length(), 0);
+    }
+
+    private static String unknownIfNull(String value) {
+        return value == null ? "UNKNOWN" : value;
+    }
+
     private Impression baseImpression() {
         return new Impression("someKey",
                 null,
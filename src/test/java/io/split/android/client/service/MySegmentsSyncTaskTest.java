@@ -5,6 +5,7 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -18,6 +19,7 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.stubbing.Answer;
@@ -232,6 +234,59 @@ public class MySegmentsSyncTaskTest {
         verify(mEventsManager).notifyInternalEvent(SplitInternalEvent.MY_SEGMENTS_FETCHED);
     }
 
+    @Test
+    public void notModifiedResponseEmitsFetchedEventWithoutUpdatingStorage() throws HttpFetcherException {
+        when(mMySegmentsFetcher.execute(noParams, null)).thenReturn(null);
+
+        mTask = new MySegmentsSyncTask(mMySegmentsFetcher, mySegmentsStorage, myLargeSegmentsStorage, false, mEventsManager, mMySegmentsChangeChecker, mTelemetryRuntimeProducer, MySegmentsSyncTaskConfig.get(), null, null, mock(BackoffCounter.class), 1);
+        SplitTaskExecutionInfo result = mTask.execute();
+
+        verify(mMySegmentsFetcher, times(1)).execute(any(), any());
+        verify(mySegmentsStorage, never()).set(any());
+        verify(myLargeSegmentsStorage, never()).set(any());
+        verify(mEventsManager).notifyInternalEvent(SplitInternalEvent.MY_SEGMENTS_FETCHED);
+        Assert.assertEquals(SplitTaskExecutionStatus.SUCCESS, result.getStatus());
+    }
+
+    @Test
+    public void validatorsAreCommittedAfterUpdatingStorage() throws HttpFetcherException {
+        AllSegmentsChange change = createChange(1L);
+        when(mMySegmentsFetcher.execute(noParams, null)).thenReturn(change);
+
+        mTask = new MySegmentsSyncTask(mMySegmentsFetcher, mySegmentsStorage, myLargeSegmentsStorage, false, mEventsManager, mMySegmentsChangeChecker, mTelemetryRuntimeProducer, MySegmentsSyncTaskConfig.get(), null, null, mock(BackoffCounter.class), 1);
+        mTask.execute();
+
+        InOrder inOrder = inOrder(mySegmentsStorage, mMySegmentsFetcher);
+        inOrder.verify(mySegmentsStorage).set(any());
+        inOrder.verify(mMySegmentsFetcher).commitValidators(change);
+    }
+
+    @Test
+    public void validatorsAreNotCommittedWhenStorageUpdateFails() throws HttpFetcherException {
+        when(mMySegmentsFetcher.execute(noParams, null)).thenReturn(createChange(1L));
+        doThrow(new RuntimeException("error")).when(mySegmentsStorage).set(any());
+
+        mTask = new MySegmentsSyncTask(mMySegmentsFetcher, mySegmentsStorage, myLargeSegmentsStorage, false, mEventsManager, mMySegmentsChangeChecker, mTelemetryRuntimeProducer, MySegmentsSyncTaskConfig.get(), null, null, mock(BackoffCounter.class), 1);
+        mTask.execute();
+
+        verify(mMySegmentsFetcher, never()).commitValidators(any());
+    }
+
+    @Test
+    public void notModifiedResponseIsRetriedWithTillWhenTargetIsNotReached() throws HttpFetcherException {
+        when(mySegmentsStorage.getChangeNumber()).thenReturn(2L);
+        when(mMySegmentsFetcher.execute(noParams, null)).thenReturn(null);
+        when(mMySegmentsFetcher.execute(Collections.singletonMap("till", 5L), null))
+                .thenReturn(createChange(5L, null));
+
+        mTask = new MySegmentsSyncTask(mMySegmentsFetcher, mySegmentsStorage, myLargeSegmentsStorage, false, mEventsManager, mMySegmentsChangeChecker, mTelemetryRuntimeProducer, MySegmentsSyncTaskConfig.get(), 5L, null, mock(BackoffCounter.class), 1);
+        mTask.execute();
+
+        verify(mMySegmentsFetcher).execute(noParams, null);
+        verify(mMySegmentsFetcher).execute(Collections.singletonMap("till", 5L), null);
+        verify(mySegmentsStorage).set(any());
+    }
+
     @Test
     public void updatedEventIsEmittedWhenChangesInSegments() throws HttpFetcherException {
         when(mMySegmentsChangeChecker.mySegmentsHaveChanged(any(), any())).thenReturn(true);
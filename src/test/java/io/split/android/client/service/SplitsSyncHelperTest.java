@@ -8,9 +8,12 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
 import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -21,6 +24,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.ArgumentMatcher;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.Spy;
@@ -356,8 +360,63 @@ public class SplitsSyncHelperTest {
         verify(mBackoffCounter, times(2)).getNextRetryTime();
     }
 
+    @Test
+    public void notModifiedResponseDoesNotUpdateStorage() throws HttpFetcherException {
+        when(mSplitsStorage.getTill()).thenReturn(100L);
+        when(mRuleBasedSegmentStorageProducer.getChangeNumber()).thenReturn(200L);
+        when(mSplitsFetcher.execute(any(), any())).thenReturn(null);
+
+        SplitTaskExecutionInfo result = mSplitsSyncHelper.sync(getSinceChangeNumbers(100, 200L), ServiceConstants.ON_DEMAND_FETCH_BACKOFF_MAX_RETRIES);
+
+        verify(mSplitsFetcher, times(1)).execute(any(), any());
+        verify(mSplitsStorage, never()).update(any(), any());
+        verify(mRuleBasedSegmentStorageProducer, never()).update(any(), any(), anyLong(), any());
+        verify(mGeneralInfoStorage).setSplitsUpdateTimestamp(anyLong());
+        assertEquals(SplitTaskExecutionStatus.SUCCESS, result.getStatus());
+    }
+
+    @Test
+    public void validatorsAreCommittedAfterUpdatingStorage() throws HttpFetcherException {
+        TargetingRulesChange change = TargetingRulesChange.create(SplitChange.create(100L, 100L, Collections.emptyList()),
+                RuleBasedSegmentChange.create(200L, 200L, Collections.emptyList()));
+        when(mSplitsFetcher.execute(any(), any())).thenReturn(change);
+        when(mSplitsStorage.getTill()).thenReturn(100L);
+        when(mRuleBasedSegmentStorageProducer.getChangeNumber()).thenReturn(200L);
+
+        mSplitsSyncHelper.sync(getSinceChangeNumbers(100, 200L), ServiceConstants.ON_DEMAND_FETCH_BACKOFF_MAX_RETRIES);
+
+        InOrder inOrder = inOrder(mSplitsStorage, mRuleBasedSegmentStorageProducer, mSplitsFetcher);
+        inOrder.verify(mSplitsStorage).update(any(), any());
+        inOrder.verify(mRuleBasedSegmentStorageProducer).update(any(), any(), anyLong(), any());
+        inOrder.verify(mSplitsFetcher, timeout(1000)).commitValidators(change);
+    }
+
+    @Test
+    public void validatorsAreNotCommittedWhenStorageUpdateFails() throws HttpFetcherException {
+        TargetingRulesChange change = TargetingRulesChange.create(SplitChange.create(100L, 100L, Collections.emptyList()),
+                RuleBasedSegmentChange.create(200L, 200L, Collections.emptyList()));
+        when(mSplitsFetcher.execute(any(), any())).thenReturn(change);
+        when(mSplitsStorage.getTill()).thenReturn(100L);
+        when(mRuleBasedSegmentStorageProducer.getChangeNumber()).thenReturn(200L);
+        doThrow(new RuntimeException("error")).when(mSplitsStorage).update(any(), any());
+
+        mSplitsSyncHelper.sync(getSinceChangeNumbers(100, 200L), ServiceConstants.ON_DEMAND_FETCH_BACKOFF_MAX_RETRIES);
+
+        verify(mSplitsFetcher, after(200).never()).commitValidators(any());
+    }
+
+    @Test
+    public void validatorsAreClearedBeforeClearingStorage() throws HttpFetcherException {
+        when(mSplitsFetcher.execute(any(), any())).thenThrow(new HttpFetcherException("error", "error", 500));
+
+        mSplitsSyncHelper.sync(getSinceChangeNumbers(14829471, -1), true, true, ServiceConstants.ON_DEMAND_FETCH_BACKOFF_MAX_RETRIES);
+
+        verify(mGeneralInfoStorage).clearHttpValidators();
+    }
+
     @Test
     public void replaceTillWhenFilterHasChanged() throws HttpFetcherException {
+        when(mSplitsFetcher.execute(any(), any())).thenThrow(new HttpFetcherException("error", "error", 500));
         mSplitsSyncHelper.sync(getSinceChangeNumbers(14829471, -1), true, true, ServiceConstants.ON_DEMAND_FETCH_BACKOFF_MAX_RETRIES);
 
         Map<String, Object> params = new HashMap<>();
@@ -414,6 +473,7 @@ public class SplitsSyncHelperTest {
 
     @Test
     public void defaultQueryParamOrderIsCorrect() throws HttpFetcherException {
+        when(mSplitsFetcher.execute(any(), any())).thenThrow(new HttpFetcherException("error", "error", 500));
         mSplitsSyncHelper.sync(getSinceChangeNumbers(100, -1), ServiceConstants.ON_DEMAND_FETCH_BACKOFF_MAX_RETRIES);
 
         verify(mSplitsFetcher).execute(argThat(new ArgumentMatcher<Map<String, Object>>() {
@@ -5,6 +5,8 @@ import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -48,4 +50,22 @@ public class EventsRequestBodySerializerTest {
 
         assertEquals(expectedJson, mSerializer.serialize(events));
     }
+
+    @Test
+    public void serializeIntoWriterWritesSameJson() throws IOException {
+        Event event = new Event();
+        event.eventTypeId = "test";
+        event.key = "user_key";
+        event.timestamp = 1645461035249L;
+        event.trafficTypeName = "default";
+        event.value = 0.0;
+        event.properties = new HashMap<>();
+        event.properties.put("test_prop_1", "test");
+        List<Event> events = Arrays.asList(event, event);
+        StringWriter writer = new StringWriter();
+
+        mSerializer.serialize(events, writer);
+
+        assertEquals(mSerializer.serialize(events), writer.toString());
+    }
 }
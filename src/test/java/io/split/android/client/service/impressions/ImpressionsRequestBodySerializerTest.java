@@ -6,11 +6,15 @@ import static org.junit.Assert.assertTrue;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import io.split.android.client.dtos.KeyImpression;
+import io.split.android.client.utils.Json;
 
 public class ImpressionsRequestBodySerializerTest {
 
@@ -102,6 +106,53 @@ public class ImpressionsRequestBodySerializerTest {
         assertEquals("[]", serialized);
     }
 
+    @Test
+    public void serializeIntoWriterWritesSameJson() throws IOException {
+        KeyImpression impression1 = createBasicImpression("user1", "feature1", "on");
+        impression1.properties = "{\"prop\":\"value\"}";
+        KeyImpression impression2 = createBasicImpression("user2", "feature2", "off");
+        impression2.changeNumber = 1234L;
+        KeyImpression impression3 = createBasicImpression("user1", "feature1", "control");
+        List<KeyImpression> impressions = Arrays.asList(impression1, impression2, impression3);
+        StringWriter writer = new StringWriter();
+
+        mSerializer.serialize(impressions, writer);
+
+        assertEquals(mSerializer.serialize(impressions), writer.toString());
+    }
+
+    @Test
+    public void storedJsonIsWrittenWithoutSerializingImpressionAgain() throws IOException {
+        KeyImpression storedImpression = createBasicImpression("user1", "feature1", "on");
+        storedImpression.storedJson = "{\"k\":\"stored_user\",\"t\":\"on\"}";
+        KeyImpression impression = createBasicImpression("user2", "feature1", "off");
+        StringWriter writer = new StringWriter();
+
+        mSerializer.serialize(Arrays.asList(storedImpression, impression), writer);
+
+        assertEquals("[{\"f\":\"feature1\",\"i\":[" +
+                "{\"k\":\"stored_user\",\"t\":\"on\"}," +
+                "{\"k\":\"user2\",\"b\":null,\"t\":\"off\",\"r\":null,\"m\":1650000000,\"c\":null,\"pt\":null}" +
+                "]}]", writer.toString());
+    }
+
+    @Test
+    public void storedJsonOfPersistedImpressionMatchesSerializedImpression() throws IOException {
+        KeyImpression impression = createBasicImpression("user1", "feature1", "on");
+        impression.label = "default rule";
+        impression.changeNumber = 1234L;
+        impression.previousTime = 1649999999L;
+        KeyImpression storedImpression = createBasicImpression("user1", "feature1", "on");
+        storedImpression.storedJson = Json.toJson(impression);
+        StringWriter storedWriter = new StringWriter();
+        StringWriter writer = new StringWriter();
+
+        mSerializer.serialize(Collections.singletonList(storedImpression), storedWriter);
+        mSerializer.serialize(Collections.singletonList(impression), writer);
+
+        assertEquals(writer.toString(), storedWriter.toString());
+    }
+
     /**
      * Helper method to create a basic KeyImpression with common fields
      */
@@ -1,8 +1,7 @@
 package io.split.android.client.service.impressions.observer;
 
 import static org.junit.Assert.assertEquals;
-import static org.junit.Assert.assertNull;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -17,13 +16,13 @@ import org.mockito.Mockito;
 public class ImpressionsObserverCacheImplTest {
 
     private PersistentImpressionsObserverCacheStorage mPersistentStorage;
-    private ListenableLruCache<Long, Long> mCache;
+    private LongLongClockCache mCache;
     private ImpressionsObserverCacheImpl mImpressionsObserverCacheImpl;
 
     @Before
     public void setUp() {
         mPersistentStorage = mock(PersistentImpressionsObserverCacheStorage.class);
-        mCache = mock(ListenableLruCache.class);
+        mCache = mock(LongLongClockCache.class);
         mImpressionsObserverCacheImpl = new ImpressionsObserverCacheImpl(mPersistentStorage, mCache);
     }
 
@@ -31,9 +30,9 @@ public class ImpressionsObserverCacheImplTest {
     public void getReturnsValueFromCacheIfPresent() {
         when(mCache.get(1L)).thenReturn(2L);
 
-        Long result = mImpressionsObserverCacheImpl.get(1L);
+        long result = mImpressionsObserverCacheImpl.get(1L);
 
-        assertEquals(2L, result.longValue());
+        assertEquals(2L, result);
     }
 
     @Test
@@ -47,17 +46,17 @@ public class ImpressionsObserverCacheImplTest {
 
     @Test
     public void getReturnsValueFromPersistentStorageIfNotPresentInCache() {
-        when(mCache.get(1L)).thenReturn(null);
+        when(mCache.get(1L)).thenReturn(LongLongClockCache.NO_VALUE);
         when(mPersistentStorage.get(1L)).thenReturn(2L);
 
-        Long result = mImpressionsObserverCacheImpl.get(1L);
+        long result = mImpressionsObserverCacheImpl.get(1L);
 
-        assertEquals(2L, result.longValue());
+        assertEquals(2L, result);
     }
 
     @Test
     public void getChecksPersistentStorageIfValueNotPresentInCache() {
-        when(mCache.get(1L)).thenReturn(null);
+        when(mCache.get(1L)).thenReturn(LongLongClockCache.NO_VALUE);
         when(mPersistentStorage.get(1L)).thenReturn(2L);
 
         mImpressionsObserverCacheImpl.get(1L);
@@ -77,7 +76,7 @@ public class ImpressionsObserverCacheImplTest {
 
     @Test
     public void getPutsValueInCacheIfValueExistsInPersistentStorage() {
-        when(mCache.get(1L)).thenReturn(null);
+        when(mCache.get(1L)).thenReturn(LongLongClockCache.NO_VALUE);
         when(mPersistentStorage.get(1L)).thenReturn(2L);
 
         mImpressionsObserverCacheImpl.get(1L);
@@ -87,45 +86,45 @@ public class ImpressionsObserverCacheImplTest {
 
     @Test
     public void getReturnsValueFromPersistedStorageWhenPutInCacheFails() {
-        when(mCache.get(1L)).thenReturn(null);
+        when(mCache.get(1L)).thenReturn(LongLongClockCache.NO_VALUE);
         when(mPersistentStorage.get(1L)).thenReturn(2L);
         Mockito.doThrow(new RuntimeException()).when(mCache).put(1L, 2L);
 
-        Long result = mImpressionsObserverCacheImpl.get(1L);
+        long result = mImpressionsObserverCacheImpl.get(1L);
 
-        assertEquals(2L, result.longValue());
+        assertEquals(2L, result);
     }
 
     @Test
     public void getDoesNotPutValueInCacheIfNotPresentInPersistentStorage() {
-        when(mCache.get(1L)).thenReturn(null);
-        when(mPersistentStorage.get(1L)).thenReturn(null);
+        when(mCache.get(1L)).thenReturn(LongLongClockCache.NO_VALUE);
+        when(mPersistentStorage.get(1L)).thenReturn(ImpressionsObserverCache.NO_VALUE);
 
         mImpressionsObserverCacheImpl.get(1L);
 
-        verify(mCache, times(0)).put(any(), any());
+        verify(mCache, times(0)).put(anyLong(), anyLong());
     }
 
     @Test
-    public void getReturnsNullWhenValueNotPresentInCacheAndPersistentStorageGetFails() {
-        when(mCache.get(1L)).thenReturn(null);
+    public void getReturnsNoValueWhenValueNotPresentInCacheAndPersistentStorageGetFails() {
+        when(mCache.get(1L)).thenReturn(LongLongClockCache.NO_VALUE);
         when(mPersistentStorage.get(1L)).thenThrow(new RuntimeException());
 
-        Long result = mImpressionsObserverCacheImpl.get(1L);
+        long result = mImpressionsObserverCacheImpl.get(1L);
 
-        assertNull(result);
+        assertEquals(ImpressionsObserverCache.NO_VALUE, result);
     }
 
     @Test
     public void getReturnsValueFromCacheIfSecondHitSucceeds() {
         when(mCache.get(1L))
-                .thenReturn(null)
+                .thenReturn(LongLongClockCache.NO_VALUE)
                 .thenReturn(2L);
 
-        Long result = mImpressionsObserverCacheImpl.get(1L);
+        long result = mImpressionsObserverCacheImpl.get(1L);
 
         verifyNoInteractions(mPersistentStorage);
-        assertEquals(2L, result.longValue());
+        assertEquals(2L, result);
     }
 
     @Test
@@ -138,7 +137,7 @@ public class ImpressionsObserverCacheImplTest {
 
     @Test
     public void putStillPutsValueInPersistentStorageIfPutInCacheFails() {
-        when(mCache.put(1L, 2L)).thenThrow(new RuntimeException());
+        doThrow(new RuntimeException()).when(mCache).put(1L, 2L);
 
         mImpressionsObserverCacheImpl.put(1L, 2L);
 
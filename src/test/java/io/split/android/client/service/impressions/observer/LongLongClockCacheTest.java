@@ -0,0 +1,121 @@
+package io.split.android.client.service.impressions.observer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class LongLongClockCacheTest {
+
+    @Test
+    public void getReturnsNoValueForMissingKey() {
+        LongLongClockCache cache = new LongLongClockCache(3, null);
+
+        assertEquals(LongLongClockCache.NO_VALUE, cache.get(1L));
+    }
+
+    @Test
+    public void putUpdatesExistingValue() {
+        LongLongClockCache cache = new LongLongClockCache(3, null);
+
+        cache.put(0L, 1L);
+        cache.put(0L, 2L);
+
+        assertEquals(2L, cache.get(0L));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void oldestEntriesAreEvictedWhenNotRead() {
+        List<Long> removedKeys = new ArrayList<>();
+        LongLongClockCache cache = new LongLongClockCache(3, removedKeys::add);
+
+        for (long i = 1; i < 6; i++) {
+            cache.put(i, i * 10);
+        }
+
+        assertEquals(3, cache.size());
+        assertEquals(2, removedKeys.size());
+        assertEquals(1L, removedKeys.get(0).longValue());
+        assertEquals(2L, removedKeys.get(1).longValue());
+        assertEquals(LongLongClockCache.NO_VALUE, cache.get(1L));
+        assertEquals(30L, cache.get(3L));
+        assertEquals(50L, cache.get(5L));
+    }
+
+    @Test
+    public void readEntriesGetSecondChance() {
+        List<Long> removedKeys = new ArrayList<>();
+        LongLongClockCache cache = new LongLongClockCache(3, removedKeys::add);
+        cache.put(1L, 1L);
+        cache.put(2L, 2L);
+        cache.put(3L, 3L);
+
+        cache.get(1L);
+        cache.put(4L, 4L);
+
+        assertEquals(1, removedKeys.size());
+        assertEquals(2L, removedKeys.get(0).longValue());
+        assertEquals(1L, cache.get(1L));
+    }
+
+    @Test
+    public void nullRemovalListenerIsAllowed() {
+        LongLongClockCache cache = new LongLongClockCache(3, null);
+
+        for (long i = 1; i < 5; i++) {
+            cache.put(i, i);
+        }
+
+        assertEquals(3, cache.size());
+        assertEquals(4L, cache.get(4L));
+    }
+
+    @Test
+    public void keepsSameEntriesAsMapWithSameEvictions() {
+        int maxSize = 64;
+        Map<Long, Long> expected = new HashMap<>();
+        LongLongClockCache cache = new LongLongClockCache(maxSize, expected::remove);
+        Random random = new Random(7);
+
+        for (int i = 0; i < 20000; i++) {
+            // narrow key range so there are plenty of hits, collisions and evictions
+            long key = random.nextInt(200) - 100;
+            if (random.nextBoolean()) {
+                long value = random.nextLong();
+                cache.put(key, value);
+                expected.put(key, value);
+            } else {
+                Long expectedValue = expected.get(key);
+                assertEquals(expectedValue == null ? LongLongClockCache.NO_VALUE : expectedValue, cache.get(key));
+            }
+            assertTrue(cache.size() <= maxSize);
+            assertEquals(expected.size(), cache.size());
+        }
+
+        for (Map.Entry<Long, Long> entry : expected.entrySet()) {
+            assertEquals(entry.getValue().longValue(), cache.get(entry.getKey()));
+        }
+    }
+
+    @Test
+    public void unreadEntriesAreEvictedInInsertionOrder() {
+        List<Long> removedKeys = new ArrayList<>();
+        LongLongClockCache cache = new LongLongClockCache(10, removedKeys::add);
+
+        for (long i = 0; i < 30; i++) {
+            cache.put(i * 1024, i);
+        }
+
+        assertEquals(20, removedKeys.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i * 1024L, removedKeys.get(i).longValue());
+        }
+    }
+}
@@ -60,10 +60,15 @@ public class SqlitePersistentImpressionsObserverCacheStorageTest {
     public void getReturnsTimeFromEntity() {
         when(mImpressionsObserverCacheDao.get(1L)).thenReturn(new ImpressionsObserverCacheEntity(1, 2, 3));
 
-        Long value = mStorage.get(1);
+        long value = mStorage.get(1);
 
         verify(mImpressionsObserverCacheDao).get(1L);
-        assertEquals(2L, value.longValue());
+        assertEquals(2L, value);
+    }
+
+    @Test
+    public void getReturnsNoValueWhenThereIsNoEntity() {
+        assertEquals(ImpressionsObserverCache.NO_VALUE, mStorage.get(1));
     }
 
     @Test
@@ -84,4 +84,40 @@ public class UniqueKeysTrackerImplTest {
 
         assertTrue(mUniqueKeysTracker.popAll().isEmpty());
     }
+
+    @Test
+    public void isFullWhenMaxKeysIsReached() {
+        UniqueKeysTrackerImpl tracker = new UniqueKeysTrackerImpl(2, Long.MAX_VALUE);
+
+        tracker.track("key1", "split_1");
+        tracker.track("key1", "split_2");
+        assertFalse(tracker.isFull());
+
+        tracker.track("key2", "split_1");
+        assertTrue(tracker.isFull());
+    }
+
+    @Test
+    public void isFullWhenMaxBytesIsReached() {
+        UniqueKeysTrackerImpl tracker = new UniqueKeysTrackerImpl(Integer.MAX_VALUE, 1000);
+
+        tracker.track("key1", "split_1");
+        assertFalse(tracker.isFull());
+
+        for (int i = 0; i < 10; i++) {
+            tracker.track("key1", "split_" + i);
+        }
+        assertTrue(tracker.isFull());
+    }
+
+    @Test
+    public void popAllResetsFullState() {
+        UniqueKeysTrackerImpl tracker = new UniqueKeysTrackerImpl(1, 1000);
+        tracker.track("key1", "split_1");
+        assertTrue(tracker.isFull());
+
+        tracker.popAll();
+
+        assertFalse(tracker.isFull());
+    }
 }
@@ -17,6 +17,7 @@ import io.split.android.client.dtos.Prerequisite;
 import io.split.android.client.dtos.Split;
 import io.split.android.client.dtos.TargetingRulesChange;
 import io.split.android.client.service.http.HttpResponseParserException;
+import io.split.android.client.utils.Json;
 import io.split.android.helpers.FileHelper;
 
 public class TargetingRulesResponseParserTest {
@@ -108,4 +109,44 @@ public class TargetingRulesResponseParserTest {
         TargetingRulesChange result = parser.parse("");
         assertNull(result);
     }
+
+    @Test
+    public void parsedFeatureFlagsKeepTheirJsonDefinition() throws Exception {
+        String json = fileHelper.loadFileContent("split_changes_small.json");
+        TargetingRulesChange result = parser.parse(json);
+
+        for (Split split : result.getFeatureFlagsChange().splits) {
+            assertNotNull(split.rawJson);
+            Split reparsed = Json.fromJson(split.rawJson, Split.class);
+            assertEquals(split.name, reparsed.name);
+            assertEquals(split.changeNumber, reparsed.changeNumber);
+            assertEquals(split.conditions.size(), reparsed.conditions.size());
+            assertEquals(Json.toJson(split), Json.toJson(reparsed));
+        }
+    }
+
+    @Test
+    public void legacyFeatureFlagsKeepTheirJsonDefinition() throws Exception {
+        String json = "{\"splits\":[{\"name\":\"flag\",\"trafficTypeName\":\"user\",\"unknownField\":1}],\"since\":1,\"till\":2}";
+        TargetingRulesChange result = parser.parse(json);
+
+        Split split = result.getFeatureFlagsChange().splits.get(0);
+        assertEquals("flag", split.name);
+        assertEquals(2, result.getFeatureFlagsChange().till);
+        assertEquals("{\"name\":\"flag\",\"trafficTypeName\":\"user\",\"unknownField\":1}", split.rawJson);
+    }
+
+    @Test
+    public void featureFlagsDoNotKeepTheirJsonDefinitionWhenDisabled() throws Exception {
+        String json = fileHelper.loadFileContent("split_changes_small.json");
+        TargetingRulesChange expected = parser.parse(json);
+        TargetingRulesChange result = new TargetingRulesResponseParser(false).parse(json);
+
+        List<Split> splits = result.getFeatureFlagsChange().splits;
+        assertEquals(expected.getFeatureFlagsChange().splits.size(), splits.size());
+        for (int i = 0; i < splits.size(); i++) {
+            assertNull(splits.get(i).rawJson);
+            assertEquals(Json.toJson(expected.getFeatureFlagsChange().splits.get(i)), Json.toJson(splits.get(i)));
+        }
+    }
 }
@@ -1,6 +1,7 @@
 package io.split.android.client.service.splits;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.startsWith;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -12,6 +13,7 @@ import org.junit.Test;
 import io.split.android.client.service.executor.SplitTaskExecutionInfo;
 import io.split.android.client.service.executor.SplitTaskExecutionStatus;
 import io.split.android.client.storage.splits.SplitsStorage;
+import io.split.android.client.telemetry.storage.TelemetryRuntimeProducer;
 
 public class LoadSplitsTaskTest {
 
@@ -30,6 +32,16 @@ public class LoadSplitsTaskTest {
         verify(mSplitsStorage).loadLocal();
     }
 
+    @Test
+    public void loadTimeIsRecordedInTelemetry() {
+        TelemetryRuntimeProducer telemetryRuntimeProducer = mock(TelemetryRuntimeProducer.class);
+
+        mLoadSplitsTask = new LoadSplitsTask(mSplitsStorage, null, null, telemetryRuntimeProducer);
+        mLoadSplitsTask.execute();
+
+        verify(telemetryRuntimeProducer).addTag(startsWith(LoadSplitsTask.LOAD_TIME_TAG_PREFIX));
+    }
+
     @Test
     public void resultIsSuccessWhenTillFromStorageIsNotInitialAndFilterAndSpecHaveNotChanged() {
         when(mSplitsStorage.getFlagsSpec()).thenReturn("spec");
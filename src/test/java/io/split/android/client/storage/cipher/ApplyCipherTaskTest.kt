@@ -4,6 +4,8 @@ import io.split.android.client.service.executor.SplitTaskExecutionStatus
 import io.split.android.client.service.executor.SplitTaskType
 import io.split.android.client.storage.db.EventDao
 import io.split.android.client.storage.db.EventEntity
+import io.split.android.client.storage.db.FlagSetDao
+import io.split.android.client.storage.db.FlagSetEntity
 import io.split.android.client.storage.db.GeneralInfoDao
 import io.split.android.client.storage.db.GeneralInfoEntity
 import io.split.android.client.storage.db.ImpressionDao
@@ -18,6 +20,8 @@ import io.split.android.client.storage.db.SplitDao
 import io.split.android.client.storage.db.SplitEntity
 import io.split.android.client.storage.db.SplitQueryDao
 import io.split.android.client.storage.db.SplitRoomDatabase
+import io.split.android.client.storage.db.TrafficTypeDao
+import io.split.android.client.storage.db.TrafficTypeEntity
 import io.split.android.client.storage.db.attributes.AttributesDao
 import io.split.android.client.storage.db.attributes.AttributesEntity
 import io.split.android.client.storage.db.impressions.unique.UniqueKeyEntity
@@ -81,6 +85,12 @@ class ApplyCipherTaskTest {
     @Mock
     private lateinit var ruleBasedSegmentDao: RuleBasedSegmentDao
 
+    @Mock
+    private lateinit var flagSetDao: FlagSetDao
+
+    @Mock
+    private lateinit var trafficTypeDao: TrafficTypeDao
+
     private lateinit var applyCipherTask: ApplyCipherTask
 
     @Before
@@ -97,6 +107,8 @@ class ApplyCipherTaskTest {
         `when`(splitDatabase.attributesDao()).thenReturn(attributesDao)
         `when`(splitDatabase.generalInfoDao()).thenReturn(generalInfoDao)
         `when`(splitDatabase.ruleBasedSegmentDao()).thenReturn(ruleBasedSegmentDao)
+        `when`(splitDatabase.flagSetDao()).thenReturn(flagSetDao)
+        `when`(splitDatabase.trafficTypeDao()).thenReturn(trafficTypeDao)
 
         `when`(fromCipher.decrypt(anyString())).thenAnswer { invocation -> "decrypted_${invocation.arguments[0]}" }
         `when`(toCipher.encrypt(anyString())).thenAnswer { invocation -> "encrypted_${invocation.arguments[0]}" }
@@ -156,6 +168,34 @@ class ApplyCipherTaskTest {
         })
     }
 
+    @Test
+    fun `traffic type rows are migrated`() {
+        `when`(trafficTypeDao.all).thenReturn(listOf(TrafficTypeEntity("user", 2)))
+
+        applyCipherTask.execute()
+
+        verify(fromCipher).decrypt("user")
+        verify(toCipher).encrypt("decrypted_user")
+        verify(trafficTypeDao).deleteAll()
+        verify(trafficTypeDao).insert(argThat<List<TrafficTypeEntity>> {
+            it.size == 1 && it[0].name == "encrypted_decrypted_user" && it[0].count == 2
+        })
+    }
+
+    @Test
+    fun `flag set rows are migrated`() {
+        `when`(flagSetDao.all).thenReturn(listOf(FlagSetEntity("set_1", "flag_1")))
+
+        applyCipherTask.execute()
+
+        verify(fromCipher).decrypt("set_1")
+        verify(fromCipher).decrypt("flag_1")
+        verify(flagSetDao).deleteAll()
+        verify(flagSetDao).insert(argThat<List<FlagSetEntity>> {
+            it.size == 1 && it[0].flagSet == "encrypted_decrypted_set_1" && it[0].flagName == "encrypted_decrypted_flag_1"
+        })
+    }
+
     @Test
     fun `flag sets are migrated`() {
         `when`(generalInfoDao.getByName(GeneralInfoEntity.FLAG_SETS_MAP)).thenReturn(
@@ -123,6 +123,35 @@ public class SplitRoomDatabaseTest {
         }
     }
 
+    @Test
+    public void formatColumnMigrationIsRegistered() {
+        String databaseName = "test_database_unique_5";
+
+        try (MockedStatic<Room> mockedRoom = mockStatic(Room.class)) {
+            mockRoom(mockedRoom, databaseName);
+
+            SplitRoomDatabase.getDatabase(mockContext, databaseName);
+
+            verify(mockBuilder).addMigrations(SplitRoomDatabase.MIGRATION_7_8, SplitRoomDatabase.MIGRATION_8_9);
+        }
+    }
+
+    @Test
+    public void formatColumnMigrationAddsColumnWithJsonDefault() {
+        SplitRoomDatabase.MIGRATION_7_8.migrate(mockSqliteDatabase);
+
+        verify(mockSqliteDatabase).execSQL("ALTER TABLE splits ADD COLUMN format INTEGER NOT NULL DEFAULT 0");
+    }
+
+    @Test
+    public void metadataTablesMigrationCreatesIndexedTables() {
+        SplitRoomDatabase.MIGRATION_8_9.migrate(mockSqliteDatabase);
+
+        verify(mockSqliteDatabase).execSQL("CREATE TABLE IF NOT EXISTS `flag_sets` (`flag_set` TEXT NOT NULL, `flag_name` TEXT NOT NULL, PRIMARY KEY(`flag_set`, `flag_name`))");
+        verify(mockSqliteDatabase).execSQL("CREATE INDEX IF NOT EXISTS `index_flag_sets_flag_name` ON `flag_sets` (`flag_name`)");
+        verify(mockSqliteDatabase).execSQL("CREATE TABLE IF NOT EXISTS `traffic_types` (`name` TEXT NOT NULL, `count` INTEGER NOT NULL, PRIMARY KEY(`name`))");
+    }
+
     private void mockRoom(MockedStatic<Room> mockedRoom, String databaseName) {
         mockedRoom.when(() -> Room.databaseBuilder(
             eq(mockApplicationContext),
@@ -135,6 +164,7 @@ public class SplitRoomDatabaseTest {
 
     private void mockReturn() {
         when(mockBuilder.setJournalMode(any())).thenReturn(mockBuilder);
+        when(mockBuilder.addMigrations(any())).thenReturn(mockBuilder);
         when(mockBuilder.fallbackToDestructiveMigration()).thenReturn(mockBuilder);
         when(mockBuilder.build()).thenReturn(mockDatabase);
     }
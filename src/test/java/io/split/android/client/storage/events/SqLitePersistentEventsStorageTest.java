@@ -1,8 +1,15 @@
 package io.split.android.client.storage.events;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -21,6 +28,8 @@ import io.split.android.client.storage.cipher.SplitCipher;
 import io.split.android.client.storage.db.EventDao;
 import io.split.android.client.storage.db.EventEntity;
 import io.split.android.client.storage.db.SplitRoomDatabase;
+import io.split.android.client.storage.db.StorageRecordStatus;
+import io.split.android.client.utils.Json;
 
 public class SqLitePersistentEventsStorageTest {
 
@@ -160,6 +169,61 @@ public class SqLitePersistentEventsStorageTest {
         verify(mDatabase).runInTransaction(any(SqLitePersistentEventsStorage.GetAndUpdate.class));
     }
 
+    @Test
+    public void popSelectsAndMarksRowsInSingleTransaction() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(mDatabase).runInTransaction(any(Runnable.class));
+        when(mSplitCipher.decrypt(anyString())).thenReturn(Json.toJson(createTestEvent(0)));
+        when(mDao.getBy(anyLong(), eq(StorageRecordStatus.ACTIVE), eq(500)))
+                .thenReturn(Arrays.asList(createEntity(1), createEntity(2), createEntity(3), createEntity(7)));
+
+        List<Event> events = mStorage.pop(500);
+
+        assertEquals(4, events.size());
+        verify(mDatabase).runInTransaction(any(Runnable.class));
+        verify(mDao).updateStatus(1L, 3L, StorageRecordStatus.DELETED);
+        verify(mDao).updateStatus(7L, 7L, StorageRecordStatus.DELETED);
+        verify(mDao, never()).updateStatus(anyList(), anyInt());
+    }
+
+    @Test
+    public void deleteRemovesRangesOfConsecutiveIds() {
+        mStorage.delete(Arrays.asList(createStoredEvent(12), createStoredEvent(10),
+                createStoredEvent(11), createStoredEvent(20), createStoredEvent(13)));
+
+        verify(mDao).delete(10L, 13L);
+        verify(mDao).delete(20L, 20L);
+        verify(mDao, never()).delete(anyList());
+    }
+
+    @Test
+    public void setActiveUpdatesRangesOfConsecutiveIds() {
+        mStorage.setActive(Arrays.asList(createStoredEvent(3), createStoredEvent(1), createStoredEvent(5)));
+
+        verify(mDao).updateStatus(1L, 1L, StorageRecordStatus.ACTIVE);
+        verify(mDao).updateStatus(3L, 3L, StorageRecordStatus.ACTIVE);
+        verify(mDao).updateStatus(5L, 5L, StorageRecordStatus.ACTIVE);
+        verify(mDao, never()).updateStatus(anyList(), anyInt());
+    }
+
+    private EventEntity createEntity(long id) {
+        EventEntity entity = new EventEntity();
+        entity.setId(id);
+        entity.setBody("encrypted_body_" + id);
+        entity.setStatus(StorageRecordStatus.ACTIVE);
+
+        return entity;
+    }
+
+    private Event createStoredEvent(long id) {
+        Event event = createTestEvent((int) id);
+        event.storageId = id;
+
+        return event;
+    }
+
     private Event createTestEvent(int index) {
         Event event = new Event();
         event.eventTypeId = "test_event_" + index;
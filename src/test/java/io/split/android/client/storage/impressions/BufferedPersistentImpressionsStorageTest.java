@@ -0,0 +1,147 @@
+package io.split.android.client.storage.impressions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.split.android.client.dtos.KeyImpression;
+
+public class BufferedPersistentImpressionsStorageTest {
+
+    private static final int BUFFER_SIZE = 3;
+    private static final long FLUSH_DELAY = 2000L;
+
+    private PersistentImpressionsStorage mPersistentStorage;
+    private ScheduledExecutorService mExecutor;
+    private BufferedPersistentImpressionsStorage mStorage;
+
+    @Before
+    public void setUp() {
+        mPersistentStorage = mock(PersistentImpressionsStorage.class);
+        mExecutor = mock(ScheduledExecutorService.class);
+        mStorage = new BufferedPersistentImpressionsStorage(mPersistentStorage, mExecutor, BUFFER_SIZE, FLUSH_DELAY);
+    }
+
+    @Test
+    public void pushKeepsImpressionsInMemoryUntilBufferIsFull() {
+        mStorage.push(newImpression("key1"));
+        mStorage.push(newImpression("key2"));
+
+        verify(mPersistentStorage, never()).push(any());
+        verify(mPersistentStorage, never()).pushMany(anyList());
+    }
+
+    @Test
+    public void fullBufferIsWrittenInSingleInsert() {
+        KeyImpression impression1 = newImpression("key1");
+        KeyImpression impression2 = newImpression("key2");
+        KeyImpression impression3 = newImpression("key3");
+
+        mStorage.push(impression1);
+        mStorage.push(impression2);
+        mStorage.push(impression3);
+
+        List<KeyImpression> written = captureWritten();
+        assertEquals(3, written.size());
+        assertSame(impression1, written.get(0));
+        assertSame(impression3, written.get(2));
+    }
+
+    @Test
+    public void flushIsScheduledOnceAfterFirstPush() {
+        mStorage.push(newImpression("key1"));
+        mStorage.push(newImpression("key2"));
+
+        verify(mExecutor, times(1)).schedule(any(Runnable.class), eq(FLUSH_DELAY), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void scheduledFlushWritesBufferAndAllowsNextSchedule() {
+        mStorage.push(newImpression("key1"));
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(mExecutor).schedule(captor.capture(), anyLong(), any());
+
+        captor.getValue().run();
+        mStorage.push(newImpression("key2"));
+
+        assertEquals(1, captureWritten().size());
+        verify(mExecutor, times(2)).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    public void popWritesBufferedImpressionsFirst() {
+        List<KeyImpression> popped = Collections.singletonList(newImpression("key1"));
+        when(mPersistentStorage.pop(10)).thenReturn(popped);
+        mStorage.push(newImpression("key1"));
+
+        List<KeyImpression> result = mStorage.pop(10);
+
+        assertEquals(1, captureWritten().size());
+        assertSame(popped, result);
+    }
+
+    @Test
+    public void pauseWritesBufferOnExecutor() {
+        mStorage.push(newImpression("key1"));
+
+        mStorage.pause();
+
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(mExecutor).execute(captor.capture());
+        captor.getValue().run();
+        assertEquals(1, captureWritten().size());
+    }
+
+    @Test
+    public void flushWithEmptyBufferDoesNotWrite() {
+        mStorage.flush();
+
+        verify(mPersistentStorage, never()).pushMany(anyList());
+    }
+
+    @Test
+    public void otherOperationsAreDelegated() {
+        List<KeyImpression> impressions = new ArrayList<>();
+
+        mStorage.setActive(impressions);
+        mStorage.delete(impressions);
+        mStorage.deleteInvalid(100L);
+
+        verify(mPersistentStorage).setActive(impressions);
+        verify(mPersistentStorage).delete(impressions);
+        verify(mPersistentStorage).deleteInvalid(100L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<KeyImpression> captureWritten() {
+        ArgumentCaptor<List<KeyImpression>> captor = ArgumentCaptor.forClass(List.class);
+        verify(mPersistentStorage).pushMany(captor.capture());
+        return captor.getValue();
+    }
+
+    private static KeyImpression newImpression(String key) {
+        KeyImpression impression = new KeyImpression();
+        impression.keyName = key;
+        impression.feature = "split";
+        impression.treatment = "on";
+        return impression;
+    }
+}
@@ -2,6 +2,8 @@ package io.split.android.client.storage.impressions;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -41,6 +43,21 @@ public class SqlitePersistentImpressionsCountStorageTest {
         mStorage = new SqLitePersistentImpressionsCountStorage(mDatabase, 1000L, mSplitCipher);
     }
 
+    @Test
+    public void deleteUsesIdListsWhenDaoHasNoRangeQuery() {
+        ImpressionsCountPerFeature count1 = new ImpressionsCountPerFeature("feature", 1000L, 1);
+        count1.storageId = 2;
+        ImpressionsCountPerFeature count2 = new ImpressionsCountPerFeature("feature", 1000L, 1);
+        count2.storageId = 1;
+        ImpressionsCountPerFeature count3 = new ImpressionsCountPerFeature("feature", 1000L, 1);
+        count3.storageId = 5;
+
+        mStorage.delete(Arrays.asList(count1, count2, count3));
+
+        verify(mDao).delete(Arrays.asList(1L, 2L));
+        verify(mDao).delete(Arrays.asList(5L));
+    }
+
     @Test
     public void entityIsInsertedUsingDao() {
         ImpressionsCountEntity entity = mStorage.entityForModel(createTestImpressionsCountPerFeature());
@@ -3,6 +3,13 @@ package io.split.android.client.storage.impressions;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,6 +21,7 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -22,6 +30,7 @@ import io.split.android.client.storage.cipher.SplitCipher;
 import io.split.android.client.storage.db.ImpressionDao;
 import io.split.android.client.storage.db.ImpressionEntity;
 import io.split.android.client.storage.db.SplitRoomDatabase;
+import io.split.android.client.storage.db.StorageRecordStatus;
 
 public class SqlitePersistentImpressionsStorageTest {
 
@@ -138,6 +147,95 @@ public class SqlitePersistentImpressionsStorageTest {
         verify(mSplitCipher).decrypt("encrypted_test_name");
     }
 
+    @Test
+    public void entityToModelKeepsStoredJson() throws JsonParseException {
+        ImpressionEntity entity = new ImpressionEntity();
+        entity.setBody("encrypted_body");
+        entity.setTestName("encrypted_test_name");
+        entity.setId(1L);
+        String decryptedBody = "{\"k\":\"key\",\"b\":null,\"t\":\"on\",\"r\":\"default rule\",\"m\":1000,\"c\":123,\"pt\":null}";
+
+        when(mSplitCipher.decrypt("encrypted_body")).thenReturn(decryptedBody);
+        when(mSplitCipher.decrypt("encrypted_test_name")).thenReturn("test");
+
+        KeyImpression keyImpression = mStorage.entityToModel(entity);
+
+        assertEquals("key", keyImpression.keyName);
+        assertEquals(decryptedBody, keyImpression.storedJson);
+    }
+
+    @Test
+    public void entityToModelDoesNotKeepStoredJsonWithoutRequiredFields() throws JsonParseException {
+        ImpressionEntity entity = new ImpressionEntity();
+        entity.setBody("encrypted_body");
+        entity.setTestName("encrypted_test_name");
+        entity.setId(1L);
+
+        when(mSplitCipher.decrypt("encrypted_body")).thenReturn("{\"feature\":\"test\"}");
+        when(mSplitCipher.decrypt("encrypted_test_name")).thenReturn("test");
+
+        KeyImpression keyImpression = mStorage.entityToModel(entity);
+
+        assertNull(keyImpression.storedJson);
+    }
+
+    @Test
+    public void popSelectsAndMarksRowsInSingleTransaction() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(mDatabase).runInTransaction(any(Runnable.class));
+        when(mSplitCipher.decrypt(anyString())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<ImpressionEntity> entities = new ArrayList<>();
+        for (long id : new long[]{4, 1, 2}) {
+            ImpressionEntity entity = createImpressionEntity(100L, StorageRecordStatus.ACTIVE, "{\"k\":\"key\",\"f\":\"split\",\"t\":\"on\"}");
+            entity.setBody("{\"k\":\"key\",\"f\":\"split\",\"t\":\"on\"}");
+            entity.setId(id);
+            entities.add(entity);
+        }
+        when(mDao.getBy(anyLong(), eq(StorageRecordStatus.ACTIVE), eq(100))).thenReturn(entities);
+
+        List<KeyImpression> impressions = mStorage.pop(100);
+
+        assertEquals(3, impressions.size());
+        verify(mDatabase).runInTransaction(any(Runnable.class));
+        verify(mDao).updateStatus(1L, 2L, StorageRecordStatus.DELETED);
+        verify(mDao).updateStatus(4L, 4L, StorageRecordStatus.DELETED);
+        verify(mDao, never()).updateStatus(anyList(), anyInt());
+    }
+
+    @Test
+    public void deleteRemovesRangesOfConsecutiveIds() {
+        mStorage.delete(Arrays.asList(createStoredImpression(3), createStoredImpression(1),
+                createStoredImpression(2), createStoredImpression(2), createStoredImpression(9)));
+
+        verify(mDao).delete(1L, 3L);
+        verify(mDao).delete(9L, 9L);
+        verify(mDao, never()).delete(anyList());
+    }
+
+    @Test
+    public void setActiveUpdatesRangesOfConsecutiveIds() {
+        mStorage.setActive(Arrays.asList(createStoredImpression(6), createStoredImpression(5)));
+
+        verify(mDao).updateStatus(5L, 6L, StorageRecordStatus.ACTIVE);
+        verify(mDao, never()).updateStatus(anyList(), anyInt());
+    }
+
+    @Test
+    public void popWithoutCountDoesNotQueryDatabase() {
+        List<KeyImpression> impressions = mStorage.pop(0);
+
+        assertEquals(0, impressions.size());
+        verify(mDatabase, never()).runInTransaction(any(Runnable.class));
+    }
+
+    private KeyImpression createStoredImpression(long id) {
+        KeyImpression impression = new KeyImpression();
+        impression.storageId = id;
+        return impression;
+    }
+
     private ImpressionEntity createImpressionEntity(long createdAt, int status, String name) {
         ImpressionEntity entity = new ImpressionEntity();
         entity.setBody("{" + name + "}");
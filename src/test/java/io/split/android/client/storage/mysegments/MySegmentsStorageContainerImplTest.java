@@ -1,8 +1,10 @@
 package io.split.android.client.storage.mysegments;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -65,4 +67,32 @@ public class MySegmentsStorageContainerImplTest {
 
         assertEquals(4, distinctAmount);
     }
+
+    @Test
+    public void storageContainsSegmentsSetForKey() {
+        MySegmentsStorage storage = mContainer.getStorageForKey("user_key");
+
+        storage.set(SegmentsChange.create(new HashSet<>(Arrays.asList("s1", "s2")), 1L));
+
+        assertTrue(storage.contains(SegmentIdDictionary.idOf("s1")));
+        assertTrue(storage.contains(SegmentIdDictionary.idOf("s2")));
+        assertFalse(storage.contains(SegmentIdDictionary.idOf("s3")));
+
+        storage.set(SegmentsChange.create(new HashSet<>(Arrays.asList("s2", "s3")), 2L));
+
+        assertFalse(storage.contains(SegmentIdDictionary.idOf("s1")));
+        assertTrue(storage.contains(SegmentIdDictionary.idOf("s3")));
+        assertEquals(new HashSet<>(Arrays.asList("s2", "s3")), storage.getAll());
+    }
+
+    @Test
+    public void clearRemovesMemberships() {
+        MySegmentsStorage storage = mContainer.getStorageForKey("user_key");
+        storage.set(SegmentsChange.create(new HashSet<>(Arrays.asList("s1", "s2")), 1L));
+
+        storage.clear();
+
+        assertFalse(storage.contains(SegmentIdDictionary.idOf("s1")));
+        assertTrue(storage.getAll().isEmpty());
+    }
 }
@@ -0,0 +1,18 @@
+package io.split.android.client.storage.mysegments;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+import java.util.Set;
+
+public class MySegmentsStorageStubs {
+
+    /**
+     * Stubs a {@link MySegmentsStorage} mock so that the key belongs exactly to the given segments.
+     */
+    public static void stubSegments(MySegmentsStorage storage, Set<String> segmentNames) {
+        SegmentMembership membership = SegmentMembership.of(segmentNames);
+        when(storage.getAll()).thenReturn(segmentNames);
+        when(storage.contains(anyInt())).thenAnswer(invocation -> membership.contains(invocation.getArgument(0)));
+    }
+}
@@ -0,0 +1,19 @@
+package io.split.android.client.storage.mysegments;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Test;
+
+public class SegmentIdDictionaryTest {
+
+    @Test
+    public void sameNameGetsSameId() {
+        assertEquals(SegmentIdDictionary.idOf("dictionary_segment"), SegmentIdDictionary.idOf(new String("dictionary_segment")));
+    }
+
+    @Test
+    public void differentNamesGetDifferentIds() {
+        assertNotEquals(SegmentIdDictionary.idOf("dictionary_segment_1"), SegmentIdDictionary.idOf("dictionary_segment_2"));
+    }
+}
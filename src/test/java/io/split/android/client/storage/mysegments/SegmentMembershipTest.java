@@ -0,0 +1,70 @@
+package io.split.android.client.storage.mysegments;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+public class SegmentMembershipTest {
+
+    @Test
+    public void containsOnlyGivenSegments() {
+        SegmentMembership membership = SegmentMembership.of(Arrays.asList("segment_a", "segment_b"));
+
+        assertTrue(membership.contains(SegmentIdDictionary.idOf("segment_a")));
+        assertTrue(membership.contains(SegmentIdDictionary.idOf("segment_b")));
+        assertFalse(membership.contains(SegmentIdDictionary.idOf("segment_c")));
+        assertEquals(new HashSet<>(Arrays.asList("segment_a", "segment_b")), membership.names());
+    }
+
+    @Test
+    public void idsBeyondBitsetAreNotContained() {
+        SegmentMembership membership = SegmentMembership.of(Collections.singletonList("segment_a"));
+
+        assertFalse(membership.contains(SegmentIdDictionary.idOf("segment_a") + 1000));
+    }
+
+    @Test
+    public void emptyOrNullNamesReturnEmptyMembership() {
+        assertSame(SegmentMembership.EMPTY, SegmentMembership.of(null));
+        assertSame(SegmentMembership.EMPTY, SegmentMembership.of(Collections.<String>emptySet()));
+        assertTrue(SegmentMembership.EMPTY.names().isEmpty());
+    }
+
+    @Test
+    public void membershipIsNotAffectedByChangesToSourceCollection() {
+        List<String> names = new ArrayList<>(Collections.singletonList("segment_a"));
+        SegmentMembership membership = SegmentMembership.of(names);
+
+        names.add("segment_b");
+
+        assertFalse(membership.contains(SegmentIdDictionary.idOf("segment_b")));
+        assertEquals(1, membership.names().size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void namesCannotBeModified() {
+        SegmentMembership.of(Collections.singletonList("segment_a")).names().add("segment_b");
+    }
+
+    @Test
+    public void manySegmentsAreContained() {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            names.add("many_segment_" + i);
+        }
+        SegmentMembership membership = SegmentMembership.of(names.subList(0, 150));
+
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i < 150, membership.contains(SegmentIdDictionary.idOf(names.get(i))));
+        }
+    }
+}
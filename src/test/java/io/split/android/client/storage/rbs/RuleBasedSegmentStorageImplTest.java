@@ -4,7 +4,9 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -230,6 +232,30 @@ public class RuleBasedSegmentStorageImplTest {
         verify(producer).loadLocal();
     }
 
+    @Test
+    public void getReturnsSameParsedSegmentUntilDefinitionIsUpdated() {
+        storage.update(Set.of(createRuleBasedSegment("segment1")), null, 1, null);
+
+        ParsedRuleBasedSegment first = storage.get("segment1", "matchingKey");
+        ParsedRuleBasedSegment second = storage.get("segment1", "matchingKey");
+        storage.update(Set.of(createRuleBasedSegment("segment1")), null, 2, null);
+        ParsedRuleBasedSegment third = storage.get("segment1", "matchingKey");
+
+        assertSame(first, second);
+        assertNotSame(first, third);
+    }
+
+    @Test
+    public void getReturnsNullAfterSegmentRemovalEvenIfItWasParsed() {
+        RuleBasedSegment segment = createRuleBasedSegment("segment1");
+        storage.update(Set.of(segment), null, 1, null);
+        assertNotNull(storage.get("segment1", "matchingKey"));
+
+        storage.update(null, Set.of(segment), 2, null);
+
+        assertNull(storage.get("segment1", "matchingKey"));
+    }
+
     public static RuleBasedSegment createRuleBasedSegment(String name, Status status) {
         return new RuleBasedSegment(name,
                 "user",
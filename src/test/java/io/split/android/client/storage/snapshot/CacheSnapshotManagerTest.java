@@ -0,0 +1,179 @@
+package io.split.android.client.storage.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import io.split.android.client.dtos.RuleBasedSegment;
+import io.split.android.client.dtos.Split;
+import io.split.android.client.dtos.Status;
+import io.split.android.client.storage.general.GeneralInfoStorage;
+import io.split.android.client.storage.rbs.RuleBasedSegmentSnapshot;
+import io.split.android.client.storage.splits.SplitsSnapshot;
+import io.split.android.client.utils.Json;
+
+public class CacheSnapshotManagerTest {
+
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    private File mFile;
+    private GeneralInfoStorage mGeneralInfoStorage;
+
+    @Before
+    public void setUp() {
+        mFile = new File(mFolder.getRoot(), "snapshot");
+        mGeneralInfoStorage = mock(GeneralInfoStorage.class);
+        when(mGeneralInfoStorage.getFlagsChangeNumber()).thenReturn(100L);
+        when(mGeneralInfoStorage.getRbsChangeNumber()).thenReturn(200L);
+    }
+
+    @Test
+    public void writtenSnapshotIsReadBack() {
+        writeSnapshot();
+
+        CacheSnapshotManager manager = new CacheSnapshotManager(mFile, mGeneralInfoStorage);
+        SplitsSnapshot splitsSnapshot = manager.readSplits();
+        RuleBasedSegmentSnapshot ruleBasedSegmentSnapshot = manager.readRuleBasedSegments();
+
+        assertEquals(100, splitsSnapshot.getChangeNumber());
+        assertEquals(300, splitsSnapshot.getUpdateTimestamp());
+        assertEquals("names=split_1", splitsSnapshot.getSplitsFilterQueryString());
+        assertEquals("1.3", splitsSnapshot.getFlagsSpec());
+        assertEquals(Integer.valueOf(2), splitsSnapshot.getTrafficTypesMap().get("user"));
+        assertEquals(new HashSet<>(Arrays.asList("split_1", "split_2")), splitsSnapshot.getFlagSetsMap().get("set_1"));
+        assertEquals(2, splitsSnapshot.getSplits().size());
+        Split parsedSplit = splitsSnapshot.getSplits().get(0);
+        assertEquals("split_1", parsedSplit.name);
+        assertEquals(Status.ACTIVE, parsedSplit.status);
+        assertNull(parsedSplit.json);
+        Split jsonSplit = splitsSnapshot.getSplits().get(1);
+        assertEquals("split_2", jsonSplit.name);
+        assertEquals("{\"name\":\"split_2\"}", jsonSplit.json);
+        assertEquals(200, ruleBasedSegmentSnapshot.getChangeNumber());
+        assertEquals("segment_1", ruleBasedSegmentSnapshot.getSegments().get("segment_1").getName());
+    }
+
+    @Test
+    public void fileIsNotWrittenUntilBothSnapshotsAreKnown() {
+        CacheSnapshotManager manager = new CacheSnapshotManager(mFile, mGeneralInfoStorage);
+
+        manager.updateSplits(newSplitsSnapshot(100));
+        assertFalse(mFile.exists());
+
+        manager.updateRuleBasedSegments(newRuleBasedSegmentSnapshot(200));
+        assertTrue(mFile.exists());
+    }
+
+    @Test
+    public void outdatedFlagsChangeNumberDiscardsFile() {
+        writeSnapshot();
+        when(mGeneralInfoStorage.getFlagsChangeNumber()).thenReturn(101L);
+
+        CacheSnapshotManager manager = new CacheSnapshotManager(mFile, mGeneralInfoStorage);
+
+        assertNull(manager.readSplits());
+        assertNull(manager.readRuleBasedSegments());
+        assertFalse(mFile.exists());
+    }
+
+    @Test
+    public void outdatedRuleBasedSegmentsChangeNumberDiscardsFile() {
+        writeSnapshot();
+        when(mGeneralInfoStorage.getRbsChangeNumber()).thenReturn(199L);
+
+        CacheSnapshotManager manager = new CacheSnapshotManager(mFile, mGeneralInfoStorage);
+
+        assertNull(manager.readRuleBasedSegments());
+        assertFalse(mFile.exists());
+    }
+
+    @Test
+    public void invalidateDeletesFileAndStopsServingIt() {
+        writeSnapshot();
+        CacheSnapshotManager manager = new CacheSnapshotManager(mFile, mGeneralInfoStorage);
+
+        manager.invalidate();
+
+        assertNull(manager.readSplits());
+        assertFalse(mFile.exists());
+    }
+
+    @Test
+    public void fileIsNotWrittenWithInvalidatedSplitsUntilTheyAreUpdated() {
+        CacheSnapshotManager manager = new CacheSnapshotManager(mFile, mGeneralInfoStorage);
+        manager.updateSplits(newSplitsSnapshot(100));
+        manager.updateRuleBasedSegments(newRuleBasedSegmentSnapshot(200));
+
+        manager.invalidateSplits();
+        manager.updateRuleBasedSegments(newRuleBasedSegmentSnapshot(201));
+        assertFalse(mFile.exists());
+
+        manager.updateSplits(newSplitsSnapshot(101));
+        assertTrue(mFile.exists());
+    }
+
+    @Test
+    public void corruptedFileIsNotServed() throws IOException {
+        try (FileOutputStream outputStream = new FileOutputStream(mFile)) {
+            outputStream.write(new byte[]{0x53, 0x50, 0x4C, 0x43, 1, 0, 0});
+        }
+
+        CacheSnapshotManager manager = new CacheSnapshotManager(mFile, mGeneralInfoStorage);
+
+        assertNull(manager.readSplits());
+    }
+
+    @Test
+    public void missingFileIsNotServed() {
+        CacheSnapshotManager manager = new CacheSnapshotManager(mFile, mGeneralInfoStorage);
+
+        assertNull(manager.readSplits());
+        assertNull(manager.readRuleBasedSegments());
+    }
+
+    private void writeSnapshot() {
+        CacheSnapshotManager writer = new CacheSnapshotManager(mFile, mGeneralInfoStorage);
+        writer.updateSplits(newSplitsSnapshot(100));
+        writer.updateRuleBasedSegments(newRuleBasedSegmentSnapshot(200));
+    }
+
+    private static SplitsSnapshot newSplitsSnapshot(long changeNumber) {
+        Split split = new Split();
+        split.name = "split_1";
+        split.status = Status.ACTIVE;
+        split.trafficTypeName = "user";
+        split.sets = Collections.singleton("set_1");
+        Map<String, Integer> trafficTypes = new HashMap<>();
+        trafficTypes.put("user", 2);
+        Map<String, Set<String>> flagSets = new HashMap<>();
+        flagSets.put("set_1", new HashSet<>(Arrays.asList("split_1", "split_2")));
+
+        return new SplitsSnapshot(Arrays.asList(split, new Split("split_2", "{\"name\":\"split_2\"}")),
+                changeNumber, 300, "names=split_1", "1.3", trafficTypes, flagSets);
+    }
+
+    private static RuleBasedSegmentSnapshot newRuleBasedSegmentSnapshot(long changeNumber) {
+        RuleBasedSegment segment = Json.fromJson("{\"name\":\"segment_1\",\"trafficTypeName\":\"user\",\"changeNumber\":200,\"status\":\"ACTIVE\",\"conditions\":[]}", RuleBasedSegment.class);
+
+        return new RuleBasedSegmentSnapshot(Collections.singletonMap("segment_1", segment), changeNumber);
+    }
+}
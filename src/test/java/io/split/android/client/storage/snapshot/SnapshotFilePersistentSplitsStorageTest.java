@@ -0,0 +1,204 @@
+package io.split.android.client.storage.snapshot;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.split.android.client.dtos.Split;
+import io.split.android.client.storage.splits.PersistentSplitsStorage;
+import io.split.android.client.storage.splits.ProcessedSplitChange;
+import io.split.android.client.storage.splits.SplitsSnapshot;
+
+public class SnapshotFilePersistentSplitsStorageTest {
+
+    private PersistentSplitsStorage mPersistentStorage;
+    private CacheSnapshotManager mSnapshotManager;
+    private ScheduledExecutorService mExecutor;
+    private List<Runnable> mPendingTasks;
+    private SnapshotFilePersistentSplitsStorage mStorage;
+
+    @Before
+    public void setUp() {
+        mPersistentStorage = mock(PersistentSplitsStorage.class);
+        mSnapshotManager = mock(CacheSnapshotManager.class);
+        mExecutor = mock(ScheduledExecutorService.class);
+        mPendingTasks = new ArrayList<>();
+        doAnswer(invocation -> mPendingTasks.add(invocation.getArgument(0))).when(mExecutor).execute(any());
+        when(mExecutor.schedule(any(Runnable.class), anyLong(), any())).thenAnswer(invocation -> {
+            mPendingTasks.add(invocation.getArgument(0));
+            return null;
+        });
+        when(mPersistentStorage.update(any(ProcessedSplitChange.class), any(), any())).thenReturn(true);
+        mStorage = new SnapshotFilePersistentSplitsStorage(mPersistentStorage, mSnapshotManager, mExecutor, 1000);
+    }
+
+    @Test
+    public void snapshotIsServedFromFileWhenAvailable() {
+        SplitsSnapshot fileSnapshot = newSnapshot(100, newSplit("split_1"));
+        when(mSnapshotManager.readSplits()).thenReturn(fileSnapshot);
+
+        SplitsSnapshot snapshot = mStorage.getSnapshot();
+        runPendingTasks();
+
+        assertSame(fileSnapshot, snapshot);
+        verify(mPersistentStorage, never()).getSnapshot();
+        verify(mSnapshotManager, never()).updateSplits(any());
+    }
+
+    @Test
+    public void snapshotIsLoadedFromDatabaseAndStoredInBackgroundWhenFileIsNotAvailable() {
+        SplitsSnapshot databaseSnapshot = newSnapshot(100, newSplit("split_1"));
+        when(mPersistentStorage.getSnapshot()).thenReturn(databaseSnapshot);
+
+        SplitsSnapshot snapshot = mStorage.getSnapshot();
+
+        assertSame(databaseSnapshot, snapshot);
+        verify(mSnapshotManager, never()).updateSplits(any());
+        runPendingTasks();
+        verify(mSnapshotManager).updateSplits(databaseSnapshot);
+        verify(mPersistentStorage, times(1)).getSnapshot();
+    }
+
+    @Test
+    public void fileIsInvalidatedBeforeUpdatingDatabaseAndRewrittenLater() {
+        when(mSnapshotManager.readSplits()).thenReturn(newSnapshot(100, newSplit("split_1"), newSplit("split_2")));
+        mStorage.getSnapshot();
+        SplitsSnapshot databaseSnapshot = newSnapshot(101, newSplit("split_2"), newSplit("split_3"));
+        when(mPersistentStorage.getSnapshot()).thenReturn(databaseSnapshot);
+        ProcessedSplitChange change = new ProcessedSplitChange(Collections.singletonList(newSplit("split_3")),
+                Collections.singletonList(newSplit("split_1")), 101, 500);
+
+        mStorage.update(change, new HashMap<>(), new HashMap<>());
+
+        InOrder inOrder = inOrder(mSnapshotManager, mPersistentStorage, mExecutor);
+        inOrder.verify(mSnapshotManager).invalidateSplits();
+        inOrder.verify(mPersistentStorage).update(change, new HashMap<>(), new HashMap<>());
+        inOrder.verify(mExecutor).schedule(any(Runnable.class), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        verify(mSnapshotManager, never()).updateSplits(any());
+        runPendingTasks();
+        verify(mSnapshotManager).updateSplits(databaseSnapshot);
+    }
+
+    @Test
+    public void consecutiveChangesAreWrittenOnce() {
+        when(mSnapshotManager.readSplits()).thenReturn(newSnapshot(100, newSplit("split_1")));
+        mStorage.getSnapshot();
+        when(mPersistentStorage.getSnapshot()).thenReturn(newSnapshot(102, newSplit("split_1")));
+
+        mStorage.update(new ProcessedSplitChange(Collections.singletonList(newSplit("split_1")), Collections.emptyList(), 101, 500), new HashMap<>(), new HashMap<>());
+        mStorage.update(newSplit("split_1"));
+        mStorage.update(new ProcessedSplitChange(Collections.singletonList(newSplit("split_1")), Collections.emptyList(), 102, 600), new HashMap<>(), new HashMap<>());
+        runPendingTasks();
+
+        verify(mExecutor, times(1)).schedule(any(Runnable.class), anyLong(), any());
+        verify(mPersistentStorage, times(1)).getSnapshot();
+        verify(mSnapshotManager, times(1)).updateSplits(any());
+    }
+
+    @Test
+    public void snapshotReadBeforeAChangeIsNotWritten() {
+        when(mSnapshotManager.readSplits()).thenReturn(newSnapshot(100, newSplit("split_1")));
+        mStorage.getSnapshot();
+        when(mPersistentStorage.getSnapshot()).thenAnswer(invocation -> {
+            // Change applied while the database snapshot is being read
+            mStorage.delete(Collections.singletonList("split_1"));
+            return newSnapshot(101, newSplit("split_1"));
+        });
+        mStorage.update(new ProcessedSplitChange(Collections.singletonList(newSplit("split_1")), Collections.emptyList(), 101, 500), new HashMap<>(), new HashMap<>());
+
+        Runnable writeTask = mPendingTasks.remove(0);
+        writeTask.run();
+
+        verify(mSnapshotManager, never()).updateSplits(any());
+        assertEquals(1, mPendingTasks.size());
+    }
+
+    @Test
+    public void updateWithoutChangesDoesNotRewriteFile() {
+        when(mSnapshotManager.readSplits()).thenReturn(newSnapshot(100, newSplit("split_1")));
+        mStorage.getSnapshot();
+
+        mStorage.update(new ProcessedSplitChange(Collections.emptyList(), Collections.emptyList(), 100, 500), new HashMap<>(), new HashMap<>());
+        runPendingTasks();
+
+        verify(mPersistentStorage).update(any(ProcessedSplitChange.class), any(), any());
+        verify(mSnapshotManager, never()).invalidateSplits();
+        verify(mSnapshotManager, never()).updateSplits(any());
+    }
+
+    @Test
+    public void changesBeforeLoadingOnlyInvalidateFile() {
+        mStorage.delete(Collections.singletonList("split_1"));
+        runPendingTasks();
+
+        verify(mSnapshotManager).invalidateSplits();
+        verify(mPersistentStorage).delete(Collections.singletonList("split_1"));
+        verify(mSnapshotManager, never()).updateSplits(any());
+        verify(mPersistentStorage, never()).getSnapshot();
+    }
+
+    @Test
+    public void clearStoresSnapshotOfClearedDatabase() {
+        when(mSnapshotManager.readSplits()).thenReturn(newSnapshot(100, newSplit("split_1")));
+        mStorage.getSnapshot();
+        SplitsSnapshot emptySnapshot = newSnapshot(-1);
+        when(mPersistentStorage.getSnapshot()).thenReturn(emptySnapshot);
+
+        mStorage.clear();
+        runPendingTasks();
+
+        verify(mSnapshotManager).invalidateSplits();
+        verify(mPersistentStorage).clear();
+        verify(mSnapshotManager).updateSplits(emptySnapshot);
+    }
+
+    @Test
+    public void closeStopsPendingWrites() {
+        mStorage.close();
+
+        verify(mExecutor).shutdown();
+        verify(mPersistentStorage).close();
+    }
+
+    private void runPendingTasks() {
+        while (!mPendingTasks.isEmpty()) {
+            mPendingTasks.remove(0).run();
+        }
+    }
+
+    private static SplitsSnapshot newSnapshot(long changeNumber, Split... splits) {
+        List<Split> splitList = new ArrayList<>();
+        Collections.addAll(splitList, splits);
+        Map<String, Integer> trafficTypes = new HashMap<>();
+        trafficTypes.put("user", splits.length);
+        return new SplitsSnapshot(splitList, changeNumber, 400, "", "1.3", trafficTypes, null);
+    }
+
+    private static Split newSplit(String name) {
+        Split split = new Split();
+        split.name = name;
+        split.trafficTypeName = "user";
+        return split;
+    }
+}
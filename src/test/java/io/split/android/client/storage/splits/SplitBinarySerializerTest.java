@@ -0,0 +1,182 @@
+package io.split.android.client.storage.splits;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+
+import io.split.android.client.dtos.BetweenMatcherData;
+import io.split.android.client.dtos.BetweenStringMatcherData;
+import io.split.android.client.dtos.Condition;
+import io.split.android.client.dtos.ConditionType;
+import io.split.android.client.dtos.DataType;
+import io.split.android.client.dtos.DependencyMatcherData;
+import io.split.android.client.dtos.KeySelector;
+import io.split.android.client.dtos.Matcher;
+import io.split.android.client.dtos.MatcherCombiner;
+import io.split.android.client.dtos.MatcherGroup;
+import io.split.android.client.dtos.MatcherType;
+import io.split.android.client.dtos.Partition;
+import io.split.android.client.dtos.Prerequisite;
+import io.split.android.client.dtos.Split;
+import io.split.android.client.dtos.Status;
+import io.split.android.client.dtos.UnaryNumericMatcherData;
+import io.split.android.client.dtos.UserDefinedLargeSegmentMatcherData;
+import io.split.android.client.dtos.UserDefinedSegmentMatcherData;
+import io.split.android.client.dtos.WhitelistMatcherData;
+import io.split.android.client.utils.Json;
+
+public class SplitBinarySerializerTest {
+
+    private SplitBinarySerializer mSerializer;
+
+    @Before
+    public void setUp() {
+        mSerializer = new SplitBinarySerializer();
+    }
+
+    @Test
+    public void allFieldsAreKeptAfterRoundTrip() {
+        Split split = newSplit();
+
+        Split result = mSerializer.deserialize(mSerializer.serialize(split));
+
+        assertEquals(Json.toJson(split), Json.toJson(result));
+    }
+
+    @Test
+    public void nullFieldsAreKeptAfterRoundTrip() {
+        Split split = new Split();
+        split.name = "split";
+        Condition condition = new Condition();
+        condition.matcherGroup = new MatcherGroup();
+        condition.matcherGroup.matchers = Collections.singletonList(new Matcher());
+        split.conditions = Collections.singletonList(condition);
+
+        Split result = mSerializer.deserialize(mSerializer.serialize(split));
+
+        assertEquals(Json.toJson(split), Json.toJson(result));
+        assertNull(result.status);
+        assertNull(result.trafficAllocation);
+        assertNull(result.configurations);
+        assertNull(result.sets);
+        assertNull(result.prerequisites);
+        assertNull(result.conditions.get(0).partitions);
+        assertNull(result.conditions.get(0).matcherGroup.matchers.get(0).keySelector);
+        assertNull(result.json);
+    }
+
+    @Test
+    public void binaryDataIsSmallerThanJson() {
+        Split split = newSplit();
+
+        assertTrue(mSerializer.serialize(split).length < Json.toJson(split).getBytes().length);
+    }
+
+    @Test
+    public void unsupportedVersionIsNotDecoded() {
+        byte[] data = mSerializer.serialize(newSplit());
+        data[0] = SplitBinarySerializer.VERSION + 1;
+
+        assertNull(mSerializer.deserialize(data));
+    }
+
+    @Test
+    public void truncatedDataIsNotDecoded() {
+        byte[] data = mSerializer.serialize(newSplit());
+
+        assertNull(mSerializer.deserialize(Arrays.copyOf(data, data.length / 2)));
+    }
+
+    @Test
+    public void emptyDataIsNotDecoded() {
+        assertNull(mSerializer.deserialize(null));
+        assertNull(mSerializer.deserialize(new byte[0]));
+    }
+
+    private static Split newSplit() {
+        Split split = new Split();
+        split.name = "split_ñandú";
+        split.seed = -1_234_567;
+        split.status = Status.ACTIVE;
+        split.killed = true;
+        split.defaultTreatment = "off";
+        split.trafficTypeName = "user";
+        split.changeNumber = 1_700_000_000_000L;
+        split.trafficAllocation = 50;
+        split.trafficAllocationSeed = Integer.MIN_VALUE;
+        split.algo = 2;
+        split.configurations = new HashMap<>();
+        split.configurations.put("on", "{\"color\":\"blue\"}");
+        split.sets = new HashSet<>(Arrays.asList("set_1", "set_2"));
+        split.impressionsDisabled = true;
+        split.prerequisites = Collections.singletonList(new Prerequisite("other_split", new HashSet<>(Collections.singletonList("on"))));
+
+        Matcher segmentMatcher = newMatcher(MatcherType.IN_SEGMENT);
+        segmentMatcher.negate = true;
+        segmentMatcher.userDefinedSegmentMatcherData = new UserDefinedSegmentMatcherData();
+        segmentMatcher.userDefinedSegmentMatcherData.segmentName = "segment";
+        Matcher largeSegmentMatcher = newMatcher(MatcherType.IN_LARGE_SEGMENT);
+        largeSegmentMatcher.userDefinedLargeSegmentMatcherData = new UserDefinedLargeSegmentMatcherData();
+        largeSegmentMatcher.userDefinedLargeSegmentMatcherData.largeSegmentName = "large_segment";
+        Matcher whitelistMatcher = newMatcher(MatcherType.WHITELIST);
+        whitelistMatcher.whitelistMatcherData = new WhitelistMatcherData();
+        whitelistMatcher.whitelistMatcherData.whitelist = Arrays.asList("key_1", "key_2");
+        Matcher unaryMatcher = newMatcher(MatcherType.GREATER_THAN_OR_EQUAL_TO);
+        unaryMatcher.keySelector.attribute = "age";
+        unaryMatcher.unaryNumericMatcherData = new UnaryNumericMatcherData();
+        unaryMatcher.unaryNumericMatcherData.dataType = DataType.NUMBER;
+        unaryMatcher.unaryNumericMatcherData.value = -18;
+        Matcher betweenMatcher = newMatcher(MatcherType.BETWEEN);
+        betweenMatcher.betweenMatcherData = new BetweenMatcherData();
+        betweenMatcher.betweenMatcherData.dataType = DataType.DATETIME;
+        betweenMatcher.betweenMatcherData.start = Long.MIN_VALUE;
+        betweenMatcher.betweenMatcherData.end = Long.MAX_VALUE;
+        Matcher dependencyMatcher = newMatcher(MatcherType.IN_SPLIT_TREATMENT);
+        dependencyMatcher.dependencyMatcherData = new DependencyMatcherData();
+        dependencyMatcher.dependencyMatcherData.split = "other_split";
+        dependencyMatcher.dependencyMatcherData.treatments = Arrays.asList("on", "v1");
+        Matcher booleanMatcher = newMatcher(MatcherType.EQUAL_TO_BOOLEAN);
+        booleanMatcher.booleanMatcherData = false;
+        Matcher stringMatcher = newMatcher(MatcherType.MATCHES_STRING);
+        stringMatcher.stringMatcherData = "^[a-z]+$";
+        Matcher betweenStringMatcher = newMatcher(MatcherType.BETWEEN_SEMVER);
+        betweenStringMatcher.betweenStringMatcherData = new BetweenStringMatcherData();
+        betweenStringMatcher.betweenStringMatcherData.start = "1.0.0";
+        betweenStringMatcher.betweenStringMatcherData.end = "2.0.0";
+
+        Condition condition = new Condition();
+        condition.conditionType = ConditionType.ROLLOUT;
+        condition.label = "rule";
+        condition.matcherGroup = new MatcherGroup();
+        condition.matcherGroup.combiner = MatcherCombiner.AND;
+        condition.matcherGroup.matchers = Arrays.asList(segmentMatcher, largeSegmentMatcher, whitelistMatcher,
+                unaryMatcher, betweenMatcher, dependencyMatcher, booleanMatcher, stringMatcher, betweenStringMatcher);
+        condition.partitions = Arrays.asList(newPartition("on", 30), newPartition("off", 70));
+        split.conditions = Collections.singletonList(condition);
+
+        return split;
+    }
+
+    private static Matcher newMatcher(MatcherType matcherType) {
+        Matcher matcher = new Matcher();
+        matcher.matcherType = matcherType;
+        matcher.keySelector = new KeySelector();
+        matcher.keySelector.trafficType = "user";
+        return matcher;
+    }
+
+    private static Partition newPartition(String treatment, int size) {
+        Partition partition = new Partition();
+        partition.treatment = treatment;
+        partition.size = size;
+        return partition;
+    }
+}
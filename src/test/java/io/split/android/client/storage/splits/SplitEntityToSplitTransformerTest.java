@@ -1,11 +1,15 @@
 package io.split.android.client.storage.splits;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.stubbing.Answer;
@@ -14,13 +18,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import io.split.android.client.dtos.Split;
+import io.split.android.client.service.executor.parallel.SplitDeferredTaskItem;
 import io.split.android.client.service.executor.parallel.SplitParallelTaskExecutor;
 import io.split.android.client.storage.cipher.SplitCipher;
 import io.split.android.client.storage.db.SplitEntity;
+import io.split.android.client.utils.Base64Util;
 
 public class SplitEntityToSplitTransformerTest {
 
@@ -91,6 +99,104 @@ public class SplitEntityToSplitTransformerTest {
         assertEquals(0, splits.size());
     }
 
+    @Test
+    public void binaryEntitiesAreDecoded() {
+        Split split = new Split();
+        split.name = "split-1";
+        split.changeNumber = 9999;
+        SplitEntity entity = new SplitEntity();
+        entity.setName("split-1");
+        entity.setBody(Base64Util.encode(new SplitBinarySerializer().serialize(split)));
+        entity.setFormat(SplitEntity.FORMAT_BINARY);
+
+        List<Split> splits = mConverter.transform(Collections.singletonMap("split-1", entity));
+
+        assertEquals(1, splits.size());
+        assertEquals("split-1", splits.get(0).name);
+        assertEquals(9999, splits.get(0).changeNumber);
+        assertNull(splits.get(0).json);
+    }
+
+    @Test
+    public void jsonEntitiesAreKeptForDeferredParsing() {
+        SplitEntity entity = getMockEntities(1).get(0);
+
+        List<Split> splits = mConverter.transform(Collections.singletonMap(entity.getName(), entity));
+
+        assertEquals(1, splits.size());
+        assertEquals("split-0", splits.get(0).name);
+        assertEquals(entity.getBody(), splits.get(0).json);
+    }
+
+    @Test
+    public void invalidBinaryEntitiesAreIgnored() {
+        SplitEntity entity = new SplitEntity();
+        entity.setName("split-1");
+        entity.setBody(Base64Util.encode(new byte[]{1, 2, 3}));
+        entity.setFormat(SplitEntity.FORMAT_BINARY);
+
+        List<Split> splits = mConverter.transform(Collections.singletonMap("split-1", entity));
+
+        assertEquals(0, splits.size());
+    }
+
+    @Test
+    public void largeAmountOfEntitiesIsDecodedInOneTaskPerThread() {
+        SplitEntityToSplitTransformer converter = new SplitEntityToSplitTransformer(mSplitTaskExecutor, mSplitCipher);
+        when(mSplitTaskExecutor.getAvailableThreads()).thenReturn(4);
+        when(mSplitTaskExecutor.execute(any())).then(invocation -> runTasks(invocation.getArgument(0)));
+        ArgumentCaptor<List<SplitDeferredTaskItem<List<Split>>>> argumentCaptor = ArgumentCaptor.forClass(List.class);
+
+        List<Split> splits = converter.transform(getMockEntitiesMap(2001));
+
+        verify(mSplitTaskExecutor).execute(argumentCaptor.capture());
+        assertEquals(4, argumentCaptor.getValue().size());
+        assertEquals(2001, splits.size());
+        Set<String> names = new HashSet<>();
+        for (Split split : splits) {
+            names.add(split.name);
+        }
+        assertEquals(2001, names.size());
+    }
+
+    @Test
+    public void smallAmountOfEntitiesIsDecodedInCallingThread() {
+        SplitEntityToSplitTransformer converter = new SplitEntityToSplitTransformer(mSplitTaskExecutor, mSplitCipher);
+        when(mSplitTaskExecutor.getAvailableThreads()).thenReturn(4);
+
+        List<Split> splits = converter.transform(getMockEntitiesMap(100));
+
+        verify(mSplitTaskExecutor, never()).execute(any());
+        assertEquals(100, splits.size());
+    }
+
+    @Test
+    public void entitiesAreDecodedInCallingThreadWhenParallelExecutionFails() {
+        SplitEntityToSplitTransformer converter = new SplitEntityToSplitTransformer(mSplitTaskExecutor, mSplitCipher);
+        when(mSplitTaskExecutor.getAvailableThreads()).thenReturn(4);
+        when(mSplitTaskExecutor.execute(any())).thenReturn(new ArrayList<>());
+
+        List<Split> splits = converter.transform(getMockEntitiesMap(500));
+
+        assertEquals(500, splits.size());
+    }
+
+    private static List<List<Split>> runTasks(List<SplitDeferredTaskItem<List<Split>>> tasks) throws Exception {
+        List<List<Split>> results = new ArrayList<>();
+        for (SplitDeferredTaskItem<List<Split>> task : tasks) {
+            results.add(task.call());
+        }
+        return results;
+    }
+
+    private Map<String, SplitEntity> getMockEntitiesMap(int amount) {
+        Map<String, SplitEntity> map = new HashMap<>();
+        for (SplitEntity entity : getMockEntities(amount)) {
+            map.put(entity.getName(), entity);
+        }
+        return map;
+    }
+
     private List<SplitEntity> getMockEntities(int amount) {
         ArrayList<SplitEntity> entities = new ArrayList<>();
         String jsonTemplate = "{\"name\":\"%s\", \"changeNumber\": %d}";
@@ -1,6 +1,7 @@
 package io.split.android.client.storage.splits;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
@@ -24,6 +25,8 @@ import io.split.android.client.service.executor.parallel.SplitDeferredTaskItem;
 import io.split.android.client.service.executor.parallel.SplitParallelTaskExecutor;
 import io.split.android.client.storage.cipher.SplitCipher;
 import io.split.android.client.storage.db.SplitEntity;
+import io.split.android.client.utils.Base64Util;
+import io.split.android.client.utils.Json;
 
 public class SplitToSplitEntityTransformerTest {
 
@@ -56,6 +59,20 @@ public class SplitToSplitEntityTransformerTest {
         assertEquals(expectedNumberOfLists, argumentCaptor.getValue().size());
     }
 
+    @Test
+    public void receivedJsonDefinitionIsStoredAsBody() {
+        when(mSplitTaskExecutor.getAvailableThreads()).thenReturn(4);
+        when(mSplitCipher.encrypt(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Split split = new Split();
+        split.name = "split-1";
+        split.rawJson = "{\"name\":\"split-1\",\"extra\":true}";
+
+        List<SplitEntity> entities = mConverter.transform(Collections.singletonList(split));
+
+        assertEquals("{\"name\":\"split-1\",\"extra\":true}", entities.get(0).getBody());
+        assertNull(split.rawJson);
+    }
+
     @Test
     public void amountOfSplitsEqualsAmountOfEntities() {
         when(mSplitTaskExecutor.getAvailableThreads()).thenReturn(4);
@@ -124,6 +141,36 @@ public class SplitToSplitEntityTransformerTest {
         }
     }
 
+    @Test
+    public void jsonFormatIsUsedByDefault() {
+        when(mSplitTaskExecutor.getAvailableThreads()).thenReturn(4);
+        when(mSplitCipher.encrypt(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Split split = new Split();
+        split.name = "split-1";
+
+        List<SplitEntity> entities = mConverter.transform(Collections.singletonList(split));
+
+        assertEquals(SplitEntity.FORMAT_JSON, entities.get(0).getFormat());
+        assertEquals("split-1", Json.fromJson(entities.get(0).getBody(), Split.class).name);
+    }
+
+    @Test
+    public void binaryFormatIsUsedWhenEnabled() {
+        when(mSplitTaskExecutor.getAvailableThreads()).thenReturn(4);
+        when(mSplitCipher.encrypt(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        SplitToSplitEntityTransformer converter = new SplitToSplitEntityTransformer(mSplitTaskExecutor, mSplitCipher, true);
+        Split split = new Split();
+        split.name = "split-1";
+        split.changeNumber = 9999;
+
+        List<SplitEntity> entities = converter.transform(Collections.singletonList(split));
+
+        assertEquals(SplitEntity.FORMAT_BINARY, entities.get(0).getFormat());
+        Split decodedSplit = new SplitBinarySerializer().deserialize(Base64Util.bytesDecode(entities.get(0).getBody()));
+        assertEquals("split-1", decodedSplit.name);
+        assertEquals(9999, decodedSplit.changeNumber);
+    }
+
     private List<Split> getMockSplits(int size) {
         List<Split> splits = new ArrayList<>();
 
@@ -0,0 +1,227 @@
+package io.split.android.client.storage.splits;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import io.split.android.client.dtos.Split;
+
+public class SplitsStorageImplTest {
+
+    private PersistentSplitsStorage mPersistentStorage;
+    private SplitsStorageImpl mStorage;
+
+    @Before
+    public void setUp() {
+        mPersistentStorage = mock(PersistentSplitsStorage.class);
+        Map<String, Integer> trafficTypes = new HashMap<>();
+        trafficTypes.put("user", 3);
+        Map<String, Set<String>> flagSets = new HashMap<>();
+        flagSets.put("set_1", new HashSet<>(Arrays.asList("split_1", "split_2")));
+        when(mPersistentStorage.getMetadataSnapshot()).thenReturn(new SplitsSnapshot(null,
+                new HashSet<>(Arrays.asList("split_1", "split_2", "split_3")),
+                100, 200, "", "1.3", trafficTypes, flagSets));
+        when(mPersistentStorage.get(any())).thenAnswer(invocation -> {
+            String name = invocation.getArgument(0);
+            return new Split(name, "{\"name\":\"" + name + "\",\"trafficTypeName\":\"user\",\"changeNumber\":100}");
+        });
+
+        mStorage = new SplitsStorageImpl(mPersistentStorage, true, 2);
+    }
+
+    @Test
+    public void loadLocalOnlyLoadsMetadataWhenLazyLoadingIsEnabled() {
+        mStorage.loadLocal();
+
+        verify(mPersistentStorage).getMetadataSnapshot();
+        verify(mPersistentStorage, never()).getSnapshot();
+        verify(mPersistentStorage, never()).get(any());
+        assertEquals(100, mStorage.getTill());
+        assertTrue(mStorage.isValidTrafficType("user"));
+        assertEquals(new HashSet<>(Arrays.asList("split_1", "split_2")), mStorage.getNamesByFlagSets(Collections.singletonList("set_1")));
+    }
+
+    @Test
+    public void loadLocalLoadsFullSnapshotWhenLazyLoadingIsDisabled() {
+        when(mPersistentStorage.getSnapshot()).thenReturn(new SplitsSnapshot(Collections.emptyList(), 100, 200, "", "1.3", null, null));
+        SplitsStorageImpl storage = new SplitsStorageImpl(mPersistentStorage);
+
+        storage.loadLocal();
+
+        verify(mPersistentStorage).getSnapshot();
+        verify(mPersistentStorage, never()).getMetadataSnapshot();
+    }
+
+    @Test
+    public void flagIsLoadedFromPersistentStorageOnFirstGet() {
+        mStorage.loadLocal();
+
+        Split first = mStorage.get("split_1");
+        Split second = mStorage.get("split_1");
+
+        assertEquals("split_1", first.name);
+        assertEquals(100, first.changeNumber);
+        assertNull(first.json);
+        assertSame(first, second);
+        verify(mPersistentStorage, times(1)).get("split_1");
+    }
+
+    @Test
+    public void unknownFlagIsNotLookedUpInPersistentStorage() {
+        mStorage.loadLocal();
+
+        assertNull(mStorage.get("unknown"));
+
+        verify(mPersistentStorage, never()).get("unknown");
+    }
+
+    @Test
+    public void leastRecentlyUsedFlagIsEvictedWhenMaxSizeIsReached() {
+        mStorage.loadLocal();
+
+        mStorage.get("split_1");
+        mStorage.get("split_2");
+        mStorage.get("split_1");
+        mStorage.get("split_3");
+        mStorage.get("split_1");
+        mStorage.get("split_2");
+
+        verify(mPersistentStorage, times(1)).get("split_1");
+        verify(mPersistentStorage, times(2)).get("split_2");
+        verify(mPersistentStorage, times(1)).get("split_3");
+    }
+
+    @Test
+    public void getAllReturnsEveryStoredFlag() {
+        mStorage.loadLocal();
+
+        Map<String, Split> all = mStorage.getAll();
+
+        assertEquals(new HashSet<>(Arrays.asList("split_1", "split_2", "split_3")), all.keySet());
+    }
+
+    @Test
+    public void getAllSkipsFlagsThatCannotBeLoaded() {
+        when(mPersistentStorage.get("split_2")).thenReturn(null);
+        mStorage.loadLocal();
+
+        Map<String, Split> all = mStorage.getAll();
+
+        assertEquals(new HashSet<>(Arrays.asList("split_1", "split_3")), all.keySet());
+    }
+
+    @Test
+    public void namesAndCountDoNotLoadDefinitions() {
+        mStorage.loadLocal();
+
+        assertEquals(new HashSet<>(Arrays.asList("split_1", "split_2", "split_3")), mStorage.getNames());
+        assertEquals(3, mStorage.getCount());
+        verify(mPersistentStorage, never()).get(any());
+    }
+
+    @Test
+    public void updatedFlagIsServedFromMemory() {
+        mStorage.loadLocal();
+        Split newSplit = newSplit("split_4");
+
+        mStorage.update(new ProcessedSplitChange(Collections.singletonList(newSplit), Collections.emptyList(), 101, 0), null);
+
+        assertSame(newSplit, mStorage.get("split_4"));
+        verify(mPersistentStorage, never()).get("split_4");
+    }
+
+    @Test
+    public void archivedFlagIsNotLoadedAgain() {
+        mStorage.loadLocal();
+
+        boolean updated = mStorage.update(new ProcessedSplitChange(Collections.emptyList(), Collections.singletonList(newSplit("split_3")), 101, 0), null);
+
+        assertTrue(updated);
+        assertNull(mStorage.get("split_3"));
+        verify(mPersistentStorage, never()).get("split_3");
+    }
+
+    @Test
+    public void updatingFlagsDoesNotLoadTheirPreviousDefinitions() {
+        mStorage.loadLocal();
+
+        mStorage.update(new ProcessedSplitChange(Arrays.asList(newSplit("split_1"), newSplit("split_4")), Collections.emptyList(), 101, 0), null);
+
+        verify(mPersistentStorage, never()).get(any());
+        Map<String, Integer> trafficTypes = captureTrafficTypes();
+        assertEquals(Integer.valueOf(4), trafficTypes.get("user"));
+    }
+
+    @Test
+    public void trafficTypeCountIsMovedWhenKnownFlagChangesTrafficType() {
+        mStorage.loadLocal();
+        mStorage.get("split_1");
+        Split updatedSplit = newSplit("split_1");
+        updatedSplit.trafficTypeName = "account";
+
+        mStorage.update(new ProcessedSplitChange(Collections.singletonList(updatedSplit), Collections.emptyList(), 101, 0), null);
+        mStorage.update(new ProcessedSplitChange(Collections.emptyList(), Arrays.asList(newSplit("split_2"), newSplit("split_3")), 102, 0), null);
+
+        assertTrue(mStorage.isValidTrafficType("account"));
+        assertFalse(mStorage.isValidTrafficType("user"));
+    }
+
+    @Test
+    public void largeUpdatesArePersistedSynchronouslyWhenLazyLoadingIsEnabled() {
+        mStorage.loadLocal();
+        ExecutorService executor = mock(ExecutorService.class);
+        Split[] splits = new Split[60];
+        for (int i = 0; i < splits.length; i++) {
+            splits[i] = newSplit("new_split_" + i);
+        }
+        ProcessedSplitChange change = new ProcessedSplitChange(Arrays.asList(splits), Collections.emptyList(), 101, 0);
+
+        mStorage.update(change, executor);
+
+        verify(executor, never()).submit(any(Runnable.class));
+        verify(mPersistentStorage).update(any(ProcessedSplitChange.class), any(), any());
+    }
+
+    @Test
+    public void clearRemovesKnownNames() {
+        mStorage.loadLocal();
+
+        mStorage.clear();
+
+        assertNull(mStorage.get("split_1"));
+        assertTrue(mStorage.getAll().isEmpty());
+    }
+
+    private Map<String, Integer> captureTrafficTypes() {
+        ArgumentCaptor<Map<String, Integer>> captor = ArgumentCaptor.forClass(Map.class);
+        verify(mPersistentStorage).update(any(ProcessedSplitChange.class), captor.capture(), any());
+        return captor.getValue();
+    }
+
+    private static Split newSplit(String name) {
+        Split split = new Split();
+        split.name = name;
+        split.trafficTypeName = "user";
+        return split;
+    }
+}
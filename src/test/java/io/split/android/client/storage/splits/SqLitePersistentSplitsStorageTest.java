@@ -2,10 +2,14 @@ package io.split.android.client.storage.splits;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -19,20 +23,27 @@ import org.mockito.MockitoAnnotations;
 import org.mockito.stubbing.Answer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
 import io.split.android.client.dtos.Split;
 import io.split.android.client.storage.cipher.SplitCipher;
+import io.split.android.client.storage.db.FlagSetDao;
+import io.split.android.client.storage.db.FlagSetEntity;
 import io.split.android.client.storage.db.GeneralInfoDao;
 import io.split.android.client.storage.db.GeneralInfoEntity;
 import io.split.android.client.storage.db.SplitDao;
 import io.split.android.client.storage.db.SplitEntity;
 import io.split.android.client.storage.db.SplitQueryDao;
 import io.split.android.client.storage.db.SplitRoomDatabase;
+import io.split.android.client.storage.db.TrafficTypeDao;
+import io.split.android.client.storage.db.TrafficTypeEntity;
+import io.split.android.client.utils.Base64Util;
 
 public class SqLitePersistentSplitsStorageTest {
 
@@ -48,6 +59,10 @@ public class SqLitePersistentSplitsStorageTest {
     private SplitQueryDao mSplitQueryDao;
     @Mock
     private SplitCipher mCipher;
+    @Mock
+    private FlagSetDao mFlagSetDao;
+    @Mock
+    private TrafficTypeDao mTrafficTypeDao;
     private SqLitePersistentSplitsStorage mStorage;
     private AutoCloseable mAutoCloseable;
     private final Map<String, Set<String>> mFlagSets = new HashMap<>();
@@ -59,6 +74,8 @@ public class SqLitePersistentSplitsStorageTest {
         when(mDatabase.generalInfoDao()).thenReturn(mock(GeneralInfoDao.class));
         when(mDatabase.splitDao()).thenReturn(mSplitDao);
         when(mDatabase.getSplitQueryDao()).thenReturn(mSplitQueryDao);
+        when(mDatabase.flagSetDao()).thenReturn(mFlagSetDao);
+        when(mDatabase.trafficTypeDao()).thenReturn(mTrafficTypeDao);
         doAnswer((Answer<Void>) invocation -> {
             ((Runnable) invocation.getArgument(0)).run();
             return null;
@@ -175,6 +192,52 @@ public class SqLitePersistentSplitsStorageTest {
         verify(mSplitToSplitEntityTransformer).transform(activeSplits);
     }
 
+    @Test
+    public void onlyChangedTrafficTypesAreWritten() {
+        ProcessedSplitChange change = new ProcessedSplitChange(Collections.emptyList(), Collections.emptyList(), 1, 1);
+        mTrafficTypes.put("user", 1);
+        mStorage.update(change, mTrafficTypes, mFlagSets);
+        mTrafficTypes.put("account", 2);
+        mStorage.update(change, mTrafficTypes, mFlagSets);
+        mTrafficTypes.remove("user");
+        mStorage.update(change, mTrafficTypes, mFlagSets);
+
+        verify(mTrafficTypeDao).insert(argThat(list -> list.size() == 1 && list.get(0).getName().equals("user") && list.get(0).getCount() == 1));
+        verify(mTrafficTypeDao).insert(argThat(list -> list.size() == 1 && list.get(0).getName().equals("account") && list.get(0).getCount() == 2));
+        verify(mTrafficTypeDao).delete(Collections.singletonList("user"));
+        verify(mDatabase.generalInfoDao(), never()).update(argThat(entity -> entity.getName().equals(GeneralInfoEntity.TRAFFIC_TYPES_MAP)));
+    }
+
+    @Test
+    public void storedTrafficTypesAreComparedBeforeFirstLoad() {
+        when(mCipher.decrypt(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mTrafficTypeDao.getAll()).thenReturn(Collections.singletonList(new TrafficTypeEntity("user", 1)));
+        mTrafficTypes.put("user", 1);
+
+        mStorage.update(new ProcessedSplitChange(Collections.emptyList(), Collections.emptyList(), 1, 1), mTrafficTypes, mFlagSets);
+
+        verify(mTrafficTypeDao, never()).insert(anyList());
+        verify(mTrafficTypeDao, never()).delete(anyList());
+    }
+
+    @Test
+    public void flagSetRowsAreReplacedOnlyForChangedFlags() {
+        Split activeSplit = new Split();
+        activeSplit.name = "split-1";
+        Split archivedSplit = new Split();
+        archivedSplit.name = "split-2";
+        mFlagSets.put("set_1", new HashSet<>(Arrays.asList("split-1", "split-3")));
+        mFlagSets.put("set_2", new HashSet<>(Collections.singletonList("split-4")));
+        when(mCipher.encrypt(any())).thenAnswer((Answer<String>) invocation -> invocation.getArgument(0) + "_encrypted");
+
+        mStorage.update(new ProcessedSplitChange(Collections.singletonList(activeSplit), Collections.singletonList(archivedSplit), 1, 1), mTrafficTypes, mFlagSets);
+
+        verify(mFlagSetDao).deleteByFlagNames(argThat(list -> list.size() == 2 && list.contains("split-1_encrypted") && list.contains("split-2_encrypted")));
+        verify(mFlagSetDao).insert(argThat(list -> list.size() == 1 &&
+                list.get(0).getFlagSet().equals("set_1_encrypted") && list.get(0).getFlagName().equals("split-1_encrypted")));
+        verify(mDatabase.generalInfoDao(), never()).update(argThat(entity -> entity.getName().equals(GeneralInfoEntity.FLAG_SETS_MAP)));
+    }
+
     @Test
     public void updatingNullSplitChangeDoesNotInteractWithDatabase() {
         mStorage.update((ProcessedSplitChange) null, mTrafficTypes, mFlagSets);
@@ -204,6 +267,8 @@ public class SqLitePersistentSplitsStorageTest {
             }
         }));
         verify(mDatabase.splitDao()).deleteAll();
+        verify(mFlagSetDao).deleteAll();
+        verify(mTrafficTypeDao).deleteAll();
         verify(mDatabase.getSplitQueryDao()).invalidate();
     }
 
@@ -253,6 +318,149 @@ public class SqLitePersistentSplitsStorageTest {
         verify(mSplitToSplitEntityTransformer).transform(Collections.singletonList(split));
     }
 
+    @Test
+    public void getMetadataSnapshotLoadsDecryptedNamesWithoutBodies() {
+        when(mCipher.decrypt(any())).thenAnswer((Answer<String>) invocation -> ((String) invocation.getArgument(0)).replace("_encrypted", ""));
+        when(mSplitDao.getAllNames()).thenReturn(Arrays.asList("split-1_encrypted", "split-2_encrypted"));
+        when(mDatabase.generalInfoDao().getByName(GeneralInfoEntity.TRAFFIC_TYPES_MAP)).thenReturn(new GeneralInfoEntity(GeneralInfoEntity.TRAFFIC_TYPES_MAP, "{\"user\":2}"));
+        when(mDatabase.generalInfoDao().getByName(GeneralInfoEntity.FLAG_SETS_MAP)).thenReturn(new GeneralInfoEntity(GeneralInfoEntity.FLAG_SETS_MAP, "{\"set_1\":[\"split-1\"]}"));
+
+        SplitsSnapshot snapshot = mStorage.getMetadataSnapshot();
+
+        assertEquals(2, snapshot.getSplitNames().size());
+        assertTrue(snapshot.getSplitNames().contains("split-1"));
+        assertTrue(snapshot.getSplitNames().contains("split-2"));
+        assertTrue(snapshot.getSplits().isEmpty());
+        assertEquals(Integer.valueOf(2), snapshot.getTrafficTypesMap().get("user"));
+        assertTrue(snapshot.getFlagSetsMap().get("set_1").contains("split-1"));
+        verify(mDatabase, never()).getSplitQueryDao();
+        verify(mSplitDao, never()).getAll();
+    }
+
+    @Test
+    public void getMetadataSnapshotReadsBodiesWhenTrafficTypesAndSetsMigrationIsRequired() {
+        when(mCipher.decrypt(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mSplitDao.getAllNames()).thenReturn(Collections.singletonList("split-1"));
+        SplitEntity entity = new SplitEntity();
+        entity.setName("split-1");
+        entity.setBody("{\"name\":\"split-1\",\"trafficTypeName\":\"user\",\"status\":\"ACTIVE\",\"sets\":[\"set_1\"]}");
+        when(mSplitDao.getAll()).thenReturn(Collections.singletonList(entity));
+
+        SplitsSnapshot snapshot = mStorage.getMetadataSnapshot();
+
+        assertEquals(Integer.valueOf(1), snapshot.getTrafficTypesMap().get("user"));
+        assertTrue(snapshot.getFlagSetsMap().get("set_1").contains("split-1"));
+        verify(mDatabase, never()).getSplitQueryDao();
+    }
+
+    @Test
+    public void getMetadataSnapshotReadsTrafficTypesAndSetsFromTheirTables() {
+        when(mCipher.decrypt(any())).thenAnswer((Answer<String>) invocation -> ((String) invocation.getArgument(0)).replace("_encrypted", ""));
+        when(mSplitDao.getAllNames()).thenReturn(Arrays.asList("split-1_encrypted", "split-2_encrypted"));
+        when(mTrafficTypeDao.getAll()).thenReturn(Collections.singletonList(new TrafficTypeEntity("user_encrypted", 2)));
+        when(mFlagSetDao.getAll()).thenReturn(Arrays.asList(
+                new FlagSetEntity("set_1_encrypted", "split-1_encrypted"),
+                new FlagSetEntity("set_1_encrypted", "split-2_encrypted")));
+
+        SplitsSnapshot snapshot = mStorage.getMetadataSnapshot();
+
+        assertEquals(Integer.valueOf(2), snapshot.getTrafficTypesMap().get("user"));
+        assertEquals(new HashSet<>(Arrays.asList("split-1", "split-2")), snapshot.getFlagSetsMap().get("set_1"));
+        verify(mDatabase.generalInfoDao(), never()).getByName(GeneralInfoEntity.TRAFFIC_TYPES_MAP);
+        verify(mDatabase.generalInfoDao(), never()).getByName(GeneralInfoEntity.FLAG_SETS_MAP);
+        verify(mSplitDao, never()).getAll();
+    }
+
+    @Test
+    public void getMetadataSnapshotMovesGeneralInfoMetadataToTables() {
+        when(mCipher.decrypt(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mSplitDao.getAllNames()).thenReturn(Collections.singletonList("split-1"));
+        when(mDatabase.generalInfoDao().getByName(GeneralInfoEntity.TRAFFIC_TYPES_MAP)).thenReturn(new GeneralInfoEntity(GeneralInfoEntity.TRAFFIC_TYPES_MAP, "{\"user\":1}"));
+        when(mDatabase.generalInfoDao().getByName(GeneralInfoEntity.FLAG_SETS_MAP)).thenReturn(new GeneralInfoEntity(GeneralInfoEntity.FLAG_SETS_MAP, "{\"set_1\":[\"split-1\"]}"));
+
+        mStorage.getMetadataSnapshot();
+
+        verify(mTrafficTypeDao).insert(argThat(list -> list.size() == 1 && list.get(0).getName().equals("user") && list.get(0).getCount() == 1));
+        verify(mFlagSetDao).insert(argThat(list -> list.size() == 1 &&
+                list.get(0).getFlagSet().equals("set_1") && list.get(0).getFlagName().equals("split-1")));
+        verify(mDatabase.generalInfoDao()).update(argThat(entity -> entity.getName().equals(GeneralInfoEntity.TRAFFIC_TYPES_MAP) && entity.getStringValue().isEmpty()));
+        verify(mDatabase.generalInfoDao()).update(argThat(entity -> entity.getName().equals(GeneralInfoEntity.FLAG_SETS_MAP) && entity.getStringValue().isEmpty()));
+        verify(mSplitDao, never()).getAll();
+    }
+
+    @Test
+    public void getFetchesAndDecryptsSingleFlag() {
+        SplitEntity entity = new SplitEntity();
+        entity.setName("split-1_encrypted");
+        entity.setBody("body_encrypted");
+        when(mCipher.encrypt(any())).thenAnswer((Answer<String>) invocation -> invocation.getArgument(0) + "_encrypted");
+        when(mCipher.decrypt("body_encrypted")).thenReturn("{\"name\":\"split-1\"}");
+        when(mSplitDao.getByName("split-1_encrypted")).thenReturn(entity);
+
+        Split split = mStorage.get("split-1");
+
+        assertEquals("split-1", split.name);
+        assertEquals("{\"name\":\"split-1\"}", split.json);
+    }
+
+    @Test
+    public void getDecodesBinaryFlag() {
+        Split storedSplit = new Split();
+        storedSplit.name = "split-1";
+        storedSplit.changeNumber = 100;
+        SplitEntity entity = new SplitEntity();
+        entity.setName("split-1");
+        entity.setBody(Base64Util.encode(new SplitBinarySerializer().serialize(storedSplit)));
+        entity.setFormat(SplitEntity.FORMAT_BINARY);
+        when(mCipher.decrypt(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(mSplitDao.getByName("split-1")).thenReturn(entity);
+
+        Split split = mStorage.get("split-1");
+
+        assertEquals("split-1", split.name);
+        assertEquals(100, split.changeNumber);
+        assertNull(split.json);
+    }
+
+    @Test
+    public void jsonFlagsAreRewrittenWhenBinaryFormatIsEnabled() {
+        Split binarySplit = new Split();
+        binarySplit.name = "split-2";
+        List<Split> loadedSplits = new ArrayList<>(Arrays.asList(
+                new Split("split-1", "{\"name\":\"split-1\",\"changeNumber\":100}"), binarySplit));
+        when(mSplitQueryDao.getAllAsMap()).thenReturn(new HashMap<>());
+        when(mEntityToSplitTransformer.transform(any(Map.class))).thenReturn(loadedSplits);
+        mStorage = new SqLitePersistentSplitsStorage(mDatabase, mEntityToSplitTransformer, mSplitToSplitEntityTransformer, mCipher, true);
+
+        SplitsSnapshot snapshot = mStorage.getSnapshot();
+
+        assertNull(snapshot.getSplits().get(0).json);
+        assertEquals(100, snapshot.getSplits().get(0).changeNumber);
+        verify(mSplitToSplitEntityTransformer).transform(argThat((ArgumentMatcher<List<Split>>) splits ->
+                splits.size() == 1 && splits.get(0).name.equals("split-1")));
+        verify(mSplitDao).insert(any(List.class));
+    }
+
+    @Test
+    public void jsonFlagsAreNotRewrittenWhenBinaryFormatIsDisabled() {
+        List<Split> loadedSplits = new ArrayList<>(Collections.singletonList(
+                new Split("split-1", "{\"name\":\"split-1\",\"changeNumber\":100}")));
+        when(mSplitQueryDao.getAllAsMap()).thenReturn(new HashMap<>());
+        when(mEntityToSplitTransformer.transform(any(Map.class))).thenReturn(loadedSplits);
+
+        SplitsSnapshot snapshot = mStorage.getSnapshot();
+
+        assertEquals("{\"name\":\"split-1\",\"changeNumber\":100}", snapshot.getSplits().get(0).json);
+        verify(mSplitDao, never()).insert(any(List.class));
+    }
+
+    @Test
+    public void getReturnsNullWhenFlagIsNotStored() {
+        when(mSplitDao.getByName("split-1")).thenReturn(null);
+
+        assertNull(mStorage.get("split-1"));
+    }
+
     private List<SplitEntity> getMockEntities() {
         ArrayList<SplitEntity> entities = new ArrayList<>();
         String jsonTemplate = "{\"name\":\"%s\", \"changeNumber\": %d}";
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringWriter;
 import java.util.Arrays;
 
 import io.split.android.client.telemetry.model.Config;
@@ -39,6 +40,16 @@ public class TelemetryConfigBodySerializerTest {
         assertEquals(expectedJson, serializedConfig);
     }
 
+    @Test
+    public void serializeIntoWriterWritesSameJson() {
+        Config config = buildMockConfigWithNulls();
+        StringWriter writer = new StringWriter();
+
+        telemetryConfigBodySerializer.serialize(config, writer);
+
+        assertEquals(telemetryConfigBodySerializer.serialize(config), writer.toString());
+    }
+
     private Config buildMockConfig() {
         Config config = new Config();
 
@@ -5,6 +5,7 @@ import static junit.framework.TestCase.assertEquals;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringWriter;
 import java.util.Arrays;
 
 import io.split.android.client.telemetry.model.HttpErrors;
@@ -33,6 +34,16 @@ public class TelemetryStatsBodySerializerTest {
         assertEquals("{\"lS\":{\"sp\":1000,\"ms\":2000,\"mls\":425,\"im\":3000,\"ic\":4000,\"ev\":5000,\"te\":6000,\"to\":7000},\"mL\":{\"t\":[0,0,2,0],\"ts\":[0,0,3,0],\"tc\":[0,0,5,0],\"tcs\":[0,0,4,0],\"tf\":[1,0,0,0],\"tfs\":[2,0,0,0],\"tcf\":[3,0,0,0],\"tcfs\":[4,0,0,0],\"tr\":[0,0,1,0]},\"mE\":{\"t\":2,\"ts\":3,\"tc\":5,\"tcs\":4,\"tf\":10,\"tfs\":20,\"tcf\":30,\"tcfs\":40,\"tr\":1},\"hE\":{},\"hL\":{\"sp\":[0,0,3,0],\"ms\":[0,0,5,0],\"mls\":[0,0,6,0],\"im\":[0,0,1,0],\"ic\":[0,0,4,0],\"ev\":[0,0,2,0],\"te\":[1,0,0,0],\"to\":[0,0,6,0]},\"tR\":4,\"aR\":5,\"iQ\":2,\"iDe\":5,\"iDr\":4,\"spC\":456,\"seC\":4,\"lsC\":25,\"skC\":1,\"sL\":2000,\"eQ\":4,\"eD\":2,\"sE\":[{\"e\":0,\"t\":5000},{\"e\":20,\"d\":4,\"t\":2000}],\"t\":[\"tag1\",\"tag2\"],\"ufs\":{\"sp\":4,\"ms\":8,\"mls\":3}}", serializedStats);
     }
 
+    @Test
+    public void serializeIntoWriterWritesSameJson() {
+        Stats stats = getMockStats();
+        StringWriter writer = new StringWriter();
+
+        telemetryStatsBodySerializer.serialize(stats, writer);
+
+        assertEquals(telemetryStatsBodySerializer.serialize(stats), writer.toString());
+    }
+
     private Stats getMockStats() {
         Stats stats = new Stats();
 
@@ -10,11 +10,8 @@ import org.mockito.MockitoAnnotations;
 
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
-import io.split.android.client.dtos.Split;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
 import io.split.android.client.storage.mysegments.MySegmentsStorageContainer;
 import io.split.android.client.storage.splits.SplitsStorage;
@@ -94,12 +91,7 @@ public class TelemetryStatsProviderImplTest {
         long sseMySegments = 4L;
         long sseMyLargeSegments = 5L;
 
-        Map<String, Split> splits = new HashMap<>();
-        for (int i = 0; i < splitsCount; i++) {
-            splits.put("split" + i, new Split());
-        }
-
-        when(splitsStorage.getAll()).thenReturn(splits);
+        when(splitsStorage.getCount()).thenReturn(splitsCount);
         when(mySegmentsStorageContainer.getUniqueAmount()).thenReturn(mySegmentsUniqueCount);
         when(myLargeSegmentsStorageContainer.getUniqueAmount()).thenReturn(myLargeSegmentsUniqueCount);
         when(telemetryStorageConsumer.popStreamingEvents()).thenReturn(streamingEvents);
@@ -4,6 +4,8 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class LoggerTest {
 
     LogPrinterStub printer;
@@ -112,6 +114,55 @@ public class LoggerTest {
         Assert.assertTrue(printer.isCalled(SplitLogLevel.ASSERT));
     }
 
+    @Test
+    public void argumentsAreNotFormattedWhenLevelIsDisabled() {
+        Logger.instance().setLevel(SplitLogLevel.ERROR);
+        final AtomicInteger formatCount = new AtomicInteger();
+        Object argument = new Object() {
+            @Override
+            public String toString() {
+                formatCount.incrementAndGet();
+                return "argument";
+            }
+        };
+
+        Logger.d("message %s", argument);
+        Logger.e("message %s", argument);
+
+        Assert.assertEquals(1, formatCount.get());
+        Assert.assertEquals("message argument", printer.getLoggedMessages().get(SplitLogLevel.ERROR).peek());
+    }
+
+    @Test
+    public void isLoggableFollowsLevel() {
+        Logger.instance().setLevel(SplitLogLevel.INFO);
+
+        Assert.assertFalse(Logger.isLoggable(SplitLogLevel.DEBUG));
+        Assert.assertTrue(Logger.isLoggable(SplitLogLevel.INFO));
+        Assert.assertTrue(Logger.isLoggable(SplitLogLevel.ERROR));
+
+        Logger.instance().setLevel(SplitLogLevel.NONE);
+
+        Assert.assertFalse(Logger.isLoggable(SplitLogLevel.ERROR));
+    }
+
+    @Test
+    public void asyncLoggingPrintsMessagesInBackground() throws InterruptedException {
+        Logger.instance().setLevel(SplitLogLevel.VERBOSE);
+        Logger.instance().setAsync(true);
+        try {
+            Logger.d("async %s", "message");
+
+            long deadline = System.currentTimeMillis() + 2000;
+            while (!printer.isCalled(SplitLogLevel.DEBUG) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals("async message", printer.getLoggedMessages().get(SplitLogLevel.DEBUG).peek());
+        } finally {
+            Logger.instance().setAsync(false);
+        }
+    }
+
     void logAll() {
         Logger.v("log");
         Logger.d("log");
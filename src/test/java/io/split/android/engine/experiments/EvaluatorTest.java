@@ -23,6 +23,7 @@ import io.split.android.client.EvaluatorImpl;
 import io.split.android.client.TreatmentLabels;
 import io.split.android.client.dtos.Split;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
+import io.split.android.client.storage.mysegments.MySegmentsStorageStubs;
 import io.split.android.client.storage.mysegments.MySegmentsStorageContainer;
 import io.split.android.client.storage.rbs.RuleBasedSegmentStorage;
 import io.split.android.client.storage.splits.SplitsStorage;
@@ -66,8 +67,8 @@ public class EvaluatorTest {
 
             when(mySegmentsStorageContainer.getStorageForKey(any())).thenReturn(mySegmentsStorage);
             when(myLargeSegmentsStorageContainer.getStorageForKey("anyKey")).thenReturn(myLargeSegmentsStorage);
-            when(mySegmentsStorage.getAll()).thenReturn(mySegments);
-            when(myLargeSegmentsStorage.getAll()).thenReturn(myLargeSegments);
+            MySegmentsStorageStubs.stubSegments(mySegmentsStorage, mySegments);
+            MySegmentsStorageStubs.stubSegments(myLargeSegmentsStorage, myLargeSegments);
 
             evaluator = new EvaluatorImpl(splitsStorage, splitParser);
         }
@@ -199,6 +200,22 @@ public class EvaluatorTest {
         Assert.assertEquals(Long.valueOf(123), result.getChangeNumber());
     }
 
+    @Test
+    public void getTreatmentsReturnsSameResultsAsSingleEvaluations() {
+        String matchingKey = "anyKey";
+        List<String> splitNames = Arrays.asList("FACUNDO_TEST", "a_new_split_2", "ls_split", "non_existing");
+
+        Map<String, EvaluationResult> results = evaluator.getTreatments(matchingKey, matchingKey, splitNames, null);
+
+        Assert.assertEquals(4, results.size());
+        for (String splitName : splitNames) {
+            EvaluationResult expected = evaluator.getTreatment(matchingKey, matchingKey, splitName, null);
+            Assert.assertEquals(expected.getTreatment(), results.get(splitName).getTreatment());
+            Assert.assertEquals(expected.getLabel(), results.get(splitName).getLabel());
+        }
+        Assert.assertEquals(TreatmentLabels.DEFINITION_NOT_FOUND, results.get("non_existing").getLabel());
+    }
+
     private Map<String, Split> splitsMap(List<Split> splits) {
         Map<String, Split> splitsMap = new HashMap<>();
         for (Split split : splits) {
@@ -0,0 +1,122 @@
+package io.split.android.engine.experiments;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+import io.split.android.client.dtos.Excluded;
+import io.split.android.client.dtos.RuleBasedSegment;
+import io.split.android.client.dtos.Status;
+
+public class ParsedRuleBasedSegmentsCacheTest {
+
+    private RuleBasedSegmentParser mParser;
+    private ParsedRuleBasedSegmentsCache mCache;
+
+    @Before
+    public void setUp() {
+        mParser = mock(RuleBasedSegmentParser.class);
+        mCache = new ParsedRuleBasedSegmentsCache(mParser, 2);
+    }
+
+    @Test
+    public void parsedSegmentIsReusedForSameDefinitionAndKey() {
+        RuleBasedSegment segment = newSegment("segment");
+        ParsedRuleBasedSegment parsedSegment = mock(ParsedRuleBasedSegment.class);
+        when(mParser.parse(segment, "key")).thenReturn(parsedSegment);
+
+        assertSame(parsedSegment, mCache.get(segment, "key"));
+        assertSame(parsedSegment, mCache.get(segment, "key"));
+        verify(mParser, times(1)).parse(segment, "key");
+    }
+
+    @Test
+    public void segmentIsParsedOncePerMatchingKey() {
+        RuleBasedSegment segment = newSegment("segment");
+        when(mParser.parse(eq(segment), anyString())).thenReturn(mock(ParsedRuleBasedSegment.class));
+
+        mCache.get(segment, "key1");
+        mCache.get(segment, "key2");
+        mCache.get(segment, "key1");
+        mCache.get(segment, "key2");
+
+        verify(mParser, times(1)).parse(segment, "key1");
+        verify(mParser, times(1)).parse(segment, "key2");
+    }
+
+    @Test
+    public void newDefinitionInstanceIsParsedAgain() {
+        RuleBasedSegment segment = newSegment("segment");
+        RuleBasedSegment updatedSegment = newSegment("segment");
+        ParsedRuleBasedSegment updatedParsedSegment = mock(ParsedRuleBasedSegment.class);
+        when(mParser.parse(segment, "key")).thenReturn(mock(ParsedRuleBasedSegment.class));
+        when(mParser.parse(updatedSegment, "key")).thenReturn(updatedParsedSegment);
+
+        mCache.get(segment, "key");
+
+        assertSame(updatedParsedSegment, mCache.get(updatedSegment, "key"));
+    }
+
+    @Test
+    public void removeDiscardsEntriesForAllKeys() {
+        RuleBasedSegment segment = newSegment("segment");
+        when(mParser.parse(eq(segment), anyString())).thenReturn(mock(ParsedRuleBasedSegment.class));
+        mCache.get(segment, "key1");
+        mCache.get(segment, "key2");
+
+        mCache.remove("segment");
+        mCache.get(segment, "key1");
+        mCache.get(segment, "key2");
+
+        verify(mParser, times(2)).parse(segment, "key1");
+        verify(mParser, times(2)).parse(segment, "key2");
+    }
+
+    @Test
+    public void clearDiscardsAllEntries() {
+        RuleBasedSegment segment = newSegment("segment");
+        when(mParser.parse(segment, "key")).thenReturn(mock(ParsedRuleBasedSegment.class));
+        mCache.get(segment, "key");
+
+        mCache.clear();
+        mCache.get(segment, "key");
+
+        verify(mParser, times(2)).parse(segment, "key");
+    }
+
+    @Test
+    public void nullMatchingKeyIsDelegatedToParserWithoutCaching() {
+        RuleBasedSegment segment = newSegment("segment");
+
+        mCache.get(segment, null);
+        mCache.get(segment, null);
+
+        verify(mParser, times(2)).parse(segment, null);
+    }
+
+    @Test
+    public void cacheStartsOverWhenThereAreTooManyKeys() {
+        RuleBasedSegment segment = newSegment("segment");
+        when(mParser.parse(eq(segment), anyString())).thenReturn(mock(ParsedRuleBasedSegment.class));
+
+        mCache.get(segment, "key1");
+        mCache.get(segment, "key2");
+        mCache.get(segment, "key3");
+        mCache.get(segment, "key1");
+
+        verify(mParser, times(2)).parse(segment, "key1");
+    }
+
+    private static RuleBasedSegment newSegment(String name) {
+        return new RuleBasedSegment(name, "user", 1, Status.ACTIVE, new ArrayList<>(), new Excluded());
+    }
+}
@@ -0,0 +1,136 @@
+package io.split.android.engine.experiments;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.split.android.client.dtos.Split;
+
+public class ParsedSplitsCacheTest {
+
+    private SplitParser mSplitParser;
+    private ParsedSplitsCache mCache;
+
+    @Before
+    public void setUp() {
+        mSplitParser = mock(SplitParser.class);
+        mCache = new ParsedSplitsCache(mSplitParser, 2);
+    }
+
+    @Test
+    public void parsedSplitIsReusedForSameDefinitionAndKey() {
+        Split split = newSplit("split", 1);
+        ParsedSplit parsedSplit = mock(ParsedSplit.class);
+        when(mSplitParser.parse(split, "key")).thenReturn(parsedSplit);
+
+        ParsedSplit first = mCache.get(split, "key");
+        ParsedSplit second = mCache.get(split, "key");
+
+        assertSame(parsedSplit, first);
+        assertSame(parsedSplit, second);
+        verify(mSplitParser, times(1)).parse(split, "key");
+    }
+
+    @Test
+    public void splitIsParsedOncePerMatchingKey() {
+        Split split = newSplit("split", 1);
+        when(mSplitParser.parse(eq(split), anyString())).thenReturn(mock(ParsedSplit.class));
+
+        mCache.get(split, "key1");
+        mCache.get(split, "key2");
+        mCache.get(split, "key1");
+        mCache.get(split, "key2");
+
+        verify(mSplitParser, times(1)).parse(split, "key1");
+        verify(mSplitParser, times(1)).parse(split, "key2");
+    }
+
+    @Test
+    public void newDefinitionInstanceIsParsedAgain() {
+        Split split = newSplit("split", 1);
+        Split updatedSplit = newSplit("split", 2);
+        ParsedSplit updatedParsedSplit = mock(ParsedSplit.class);
+        when(mSplitParser.parse(split, "key")).thenReturn(mock(ParsedSplit.class));
+        when(mSplitParser.parse(updatedSplit, "key")).thenReturn(updatedParsedSplit);
+
+        mCache.get(split, "key");
+        ParsedSplit result = mCache.get(updatedSplit, "key");
+
+        assertSame(updatedParsedSplit, result);
+    }
+
+    @Test
+    public void inPlaceChangeNumberUpdateIsParsedAgain() {
+        Split split = newSplit("split", 1);
+        when(mSplitParser.parse(split, "key")).thenReturn(mock(ParsedSplit.class));
+
+        mCache.get(split, "key");
+        split.killed = true;
+        split.changeNumber = 2;
+        mCache.get(split, "key");
+
+        verify(mSplitParser, times(2)).parse(split, "key");
+    }
+
+    @Test
+    public void removeDiscardsEntriesForAllKeys() {
+        Split split = newSplit("split", 1);
+        when(mSplitParser.parse(eq(split), anyString())).thenReturn(mock(ParsedSplit.class));
+        mCache.get(split, "key1");
+        mCache.get(split, "key2");
+
+        mCache.remove("split");
+        mCache.get(split, "key1");
+        mCache.get(split, "key2");
+
+        verify(mSplitParser, times(2)).parse(split, "key1");
+        verify(mSplitParser, times(2)).parse(split, "key2");
+    }
+
+    @Test
+    public void nullSplitIsDelegatedToParserWithoutCaching() {
+        assertNull(mCache.get(null, "key"));
+        assertNull(mCache.get(null, "key"));
+
+        verify(mSplitParser, times(2)).parse(null, "key");
+    }
+
+    @Test
+    public void nullParseResultIsNotCached() {
+        Split split = newSplit("split", 1);
+        when(mSplitParser.parse(split, "key")).thenReturn(null);
+
+        assertNull(mCache.get(split, "key"));
+        assertNull(mCache.get(split, "key"));
+
+        verify(mSplitParser, times(2)).parse(split, "key");
+    }
+
+    @Test
+    public void cacheIsResetWhenMaxKeysIsReached() {
+        Split split = newSplit("split", 1);
+        when(mSplitParser.parse(eq(split), anyString())).thenReturn(mock(ParsedSplit.class));
+
+        mCache.get(split, "key1");
+        mCache.get(split, "key2");
+        mCache.get(split, "key3");
+        mCache.get(split, "key1");
+
+        verify(mSplitParser, times(2)).parse(split, "key1");
+    }
+
+    private static Split newSplit(String name, long changeNumber) {
+        Split split = new Split();
+        split.name = name;
+        split.changeNumber = changeNumber;
+        return split;
+    }
+}
@@ -2,6 +2,8 @@ package io.split.android.engine.experiments;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.junit.Assert;
@@ -10,6 +12,7 @@ import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +26,7 @@ import io.split.android.client.storage.mysegments.MySegmentsStorage;
 import io.split.android.client.storage.mysegments.MySegmentsStorageContainer;
 import io.split.android.client.storage.rbs.RuleBasedSegmentStorage;
 import io.split.android.client.storage.splits.SplitsStorage;
+import io.split.android.client.utils.Json;
 import io.split.android.helpers.FileHelper;
 
 /**
@@ -114,6 +118,78 @@ public class PrerequisitesEvaluatorTest {
         Assert.assertEquals("in segment all", result.getLabel());
     }
 
+    @Test
+    public void sharedPrerequisiteIsEvaluatedOnceInBulkEvaluation() {
+        SplitsStorage splitsStorage = mock(SplitsStorage.class);
+        when(splitsStorage.get("shared")).thenReturn(newSplit("shared"));
+        when(splitsStorage.get("dependent_1")).thenReturn(newSplit("dependent_1", "shared"));
+        when(splitsStorage.get("dependent_2")).thenReturn(newSplit("dependent_2", "shared"));
+        Evaluator evaluator = new EvaluatorImpl(splitsStorage, newSplitParser());
+
+        Map<String, EvaluationResult> results = evaluator.getTreatments("user1", "user1",
+                Arrays.asList("dependent_1", "dependent_2", "shared"), null);
+
+        Assert.assertEquals("on", results.get("dependent_1").getTreatment());
+        Assert.assertEquals("on", results.get("dependent_2").getTreatment());
+        Assert.assertEquals("on", results.get("shared").getTreatment());
+        verify(splitsStorage, times(1)).get("shared");
+    }
+
+    @Test
+    public void singleEvaluationResolvesPrerequisites() {
+        SplitsStorage splitsStorage = mock(SplitsStorage.class);
+        when(splitsStorage.get("shared")).thenReturn(newSplit("shared"));
+        when(splitsStorage.get("dependent_1")).thenReturn(newSplit("dependent_1", "shared"));
+        Evaluator evaluator = new EvaluatorImpl(splitsStorage, newSplitParser());
+
+        EvaluationResult dependentResult = evaluator.getTreatment("user1", "user1", "dependent_1", null);
+        EvaluationResult sharedResult = evaluator.getTreatment("user1", "user1", "shared", null);
+
+        Assert.assertEquals("on", dependentResult.getTreatment());
+        Assert.assertEquals("in segment all", dependentResult.getLabel());
+        Assert.assertEquals("on", sharedResult.getTreatment());
+        verify(splitsStorage, times(2)).get("shared");
+    }
+
+    @Test
+    public void circularPrerequisitesAreNotEvaluatedIndefinitely() {
+        SplitsStorage splitsStorage = mock(SplitsStorage.class);
+        when(splitsStorage.get("split_a")).thenReturn(newSplit("split_a", "split_b"));
+        when(splitsStorage.get("split_b")).thenReturn(newSplit("split_b", "split_a"));
+        Evaluator evaluator = new EvaluatorImpl(splitsStorage, newSplitParser());
+
+        EvaluationResult result = evaluator.getTreatment("user1", "user1", "split_a", null);
+
+        Assert.assertEquals("off", result.getTreatment());
+        Assert.assertEquals(TreatmentLabels.PREREQUISITES_NOT_MET, result.getLabel());
+    }
+
+    private static SplitParser newSplitParser() {
+        MySegmentsStorageContainer mySegmentsStorageContainer = mock(MySegmentsStorageContainer.class);
+        MySegmentsStorageContainer myLargeSegmentsStorageContainer = mock(MySegmentsStorageContainer.class);
+        when(mySegmentsStorageContainer.getStorageForKey(any())).thenReturn(mock(MySegmentsStorage.class));
+        when(myLargeSegmentsStorageContainer.getStorageForKey(any())).thenReturn(mock(MySegmentsStorage.class));
+
+        return new SplitParser(new ParserCommons(mySegmentsStorageContainer, myLargeSegmentsStorageContainer));
+    }
+
+    private static Split newSplit(String name, String... prerequisites) {
+        StringBuilder prerequisitesJson = new StringBuilder();
+        for (String prerequisite : prerequisites) {
+            if (prerequisitesJson.length() > 0) {
+                prerequisitesJson.append(",");
+            }
+            prerequisitesJson.append("{\"n\":\"").append(prerequisite).append("\",\"ts\":[\"on\"]}");
+        }
+
+        return Json.fromJson("{\"name\":\"" + name + "\",\"trafficTypeName\":\"user\",\"trafficAllocation\":100," +
+                "\"trafficAllocationSeed\":1,\"seed\":1,\"status\":\"ACTIVE\",\"killed\":false,\"defaultTreatment\":\"off\"," +
+                "\"changeNumber\":1,\"algo\":2,\"conditions\":[{\"conditionType\":\"ROLLOUT\",\"matcherGroup\":{\"combiner\":\"AND\"," +
+                "\"matchers\":[{\"keySelector\":{\"trafficType\":\"user\"},\"matcherType\":\"ALL_KEYS\",\"negate\":false}]}," +
+                "\"partitions\":[{\"treatment\":\"on\",\"size\":100}],\"label\":\"in segment all\"}]," +
+                "\"prerequisites\":[" + prerequisitesJson + "]}", Split.class);
+    }
+
     private Map<String, Split> splitsMap(List<Split> splits) {
         Map<String, Split> splitsMap = new HashMap<>();
         for (Split split : splits) {
@@ -2,13 +2,25 @@ package io.split.android.engine.matchers;
 
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import org.junit.Test;
+import org.mockito.InOrder;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import io.split.android.client.dtos.MatcherCombiner;
+import io.split.android.engine.matchers.strings.EndsWithAnyOfMatcher;
+import io.split.android.engine.matchers.strings.RegularExpressionMatcher;
+import io.split.android.engine.matchers.strings.StartsWithAnyOfMatcher;
 import io.split.android.engine.matchers.strings.WhitelistMatcher;
 
 /**
@@ -29,4 +41,58 @@ public class CombiningMatcherTest {
         assertThat(combiner.match("c", null, null, null), is(false));
     }
 
+    @Test
+    public void evaluationStopsAtFirstMatcherThatDoesNotMatch() {
+        Matcher dependency = mock(DependencyMatcher.class);
+        AttributeMatcher matcher1 = AttributeMatcher.vanilla(dependency);
+        AttributeMatcher matcher2 = AttributeMatcher.vanilla(new WhitelistMatcher(Collections.singletonList("a")));
+
+        CombiningMatcher combiner = new CombiningMatcher(MatcherCombiner.AND, Arrays.asList(matcher1, matcher2));
+
+        assertThat(combiner.match("b", null, null, null), is(false));
+        verify(dependency, never()).match(any(), any(), any(), any());
+    }
+
+    @Test
+    public void cheaperMatchersAreEvaluatedFirst() {
+        Matcher regex = mock(RegularExpressionMatcher.class);
+        Matcher whitelist = mock(WhitelistMatcher.class);
+        when(regex.match(any(), any(), any(), any())).thenReturn(true);
+        when(whitelist.match(any(), any(), any(), any())).thenReturn(true);
+
+        CombiningMatcher combiner = new CombiningMatcher(MatcherCombiner.AND,
+                Arrays.asList(new AttributeMatcher("attr", regex, false), new AttributeMatcher("attr", whitelist, false)));
+
+        assertThat(combiner.match("key", null, Collections.singletonMap("attr", "value"), null), is(true));
+        InOrder inOrder = inOrder(whitelist, regex);
+        inOrder.verify(whitelist).match("value", null, null, null);
+        inOrder.verify(regex).match("value", null, null, null);
+    }
+
+    @Test
+    public void matchersReadingTheSameAttributeAreAllEvaluated() {
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("email", "user@split.io");
+        AttributeMatcher matcher1 = new AttributeMatcher("email", new StartsWithAnyOfMatcher(Collections.singletonList("user")), false);
+        AttributeMatcher matcher2 = new AttributeMatcher("email", new EndsWithAnyOfMatcher(Collections.singletonList("@split.io")), false);
+        AttributeMatcher matcher3 = new AttributeMatcher("email", new EndsWithAnyOfMatcher(Collections.singletonList(".ar")), true);
+
+        CombiningMatcher combiner = new CombiningMatcher(MatcherCombiner.AND, Arrays.asList(matcher1, matcher2, matcher3));
+
+        assertThat(combiner.match("key", null, attributes, null), is(true));
+        attributes.put("email", "user@split.io.ar");
+        assertThat(combiner.match("key", null, attributes, null), is(false));
+    }
+
+    @Test
+    public void missingSharedAttributeDoesNotMatch() {
+        AttributeMatcher matcher1 = new AttributeMatcher("attr", new WhitelistMatcher(Collections.singletonList("a")), true);
+        AttributeMatcher matcher2 = new AttributeMatcher("attr", new WhitelistMatcher(Collections.singletonList("b")), true);
+
+        CombiningMatcher combiner = new CombiningMatcher(MatcherCombiner.AND, Arrays.asList(matcher1, matcher2));
+
+        assertThat(combiner.match("key", null, Collections.singletonMap("other", "c"), null), is(false));
+        assertThat(combiner.match("key", null, null, null), is(false));
+        assertThat(combiner.match("key", null, Collections.singletonMap("attr", "c"), null), is(true));
+    }
 }
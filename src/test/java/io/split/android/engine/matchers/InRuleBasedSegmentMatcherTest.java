@@ -2,10 +2,14 @@ package io.split.android.engine.matchers;
 
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -22,6 +26,7 @@ import java.util.Set;
 import io.split.android.client.Evaluator;
 import io.split.android.client.dtos.ExcludedSegment;
 import io.split.android.client.storage.mysegments.MySegmentsStorage;
+import io.split.android.client.storage.mysegments.SegmentIdDictionary;
 import io.split.android.client.storage.rbs.RuleBasedSegmentStorage;
 import io.split.android.engine.experiments.ParsedCondition;
 import io.split.android.engine.experiments.ParsedRuleBasedSegment;
@@ -70,7 +75,6 @@ public class InRuleBasedSegmentMatcherTest {
     @Test
     public void matchReturnsFalseWhenInExcludedSegment() {
         ExcludedSegment excludedSegment = ExcludedSegment.standard("excluded-segment");
-        Set<String> mySegments = new HashSet<>(Collections.singletonList("excluded-segment"));
 
         ParsedRuleBasedSegment segment = createSegment(
                 Collections.emptySet(),
@@ -79,7 +83,7 @@ public class InRuleBasedSegmentMatcherTest {
         );
 
         when(mRuleBasedSegmentStorage.get(eq(SEGMENT_NAME), eq(MATCHING_KEY))).thenReturn(segment);
-        when(mMySegmentsStorage.getAll()).thenReturn(mySegments);
+        when(mMySegmentsStorage.contains(SegmentIdDictionary.idOf("excluded-segment"))).thenReturn(true);
 
         assertFalse(mMatcher.match(MATCHING_KEY, BUCKETING_KEY, Collections.emptyMap(), mEvaluator));
     }
@@ -87,7 +91,6 @@ public class InRuleBasedSegmentMatcherTest {
     @Test
     public void matchReturnsFalseWhenInExcludedLargeSegment() {
         ExcludedSegment excludedSegment = ExcludedSegment.large("excluded-segment");
-        Set<String> mySegments = new HashSet<>(Collections.singletonList("excluded-segment"));
 
         ParsedRuleBasedSegment segment = createSegment(
                 Collections.emptySet(),
@@ -96,7 +99,7 @@ public class InRuleBasedSegmentMatcherTest {
         );
 
         when(mRuleBasedSegmentStorage.get(eq(SEGMENT_NAME), eq(MATCHING_KEY))).thenReturn(segment);
-        when(mMyLargeSegmentsStorage.getAll()).thenReturn(mySegments);
+        when(mMyLargeSegmentsStorage.contains(SegmentIdDictionary.idOf("excluded-segment"))).thenReturn(true);
 
         assertFalse(mMatcher.match(MATCHING_KEY, BUCKETING_KEY, Collections.emptyMap(), mEvaluator));
     }
@@ -233,11 +236,45 @@ public class InRuleBasedSegmentMatcherTest {
         assertFalse(result);
     }
 
+    @Test
+    public void cachedMembershipIsReturnedWithoutReadingStorage() {
+        Evaluator evaluator = mock(Evaluator.class, withSettings().extraInterfaces(RuleBasedSegmentMembershipCache.class));
+        when(((RuleBasedSegmentMembershipCache) evaluator).getMembership(SEGMENT_NAME, MATCHING_KEY, BUCKETING_KEY)).thenReturn(true);
+
+        assertTrue(mMatcher.match(MATCHING_KEY, BUCKETING_KEY, Collections.emptyMap(), evaluator));
+        verify(mRuleBasedSegmentStorage, never()).get(any(), any());
+    }
+
+    @Test
+    public void resolvedMembershipIsStoredInCache() {
+        Evaluator evaluator = mock(Evaluator.class, withSettings().extraInterfaces(RuleBasedSegmentMembershipCache.class));
+        when(((RuleBasedSegmentMembershipCache) evaluator).getMembership(SEGMENT_NAME, MATCHING_KEY, BUCKETING_KEY)).thenReturn(null);
+        when(mRuleBasedSegmentStorage.get(eq(SEGMENT_NAME), eq(MATCHING_KEY))).thenReturn(createSegment(
+                Collections.singleton(MATCHING_KEY),
+                Collections.emptySet(),
+                Collections.emptyList()));
+
+        assertFalse(mMatcher.match(MATCHING_KEY, BUCKETING_KEY, Collections.emptyMap(), evaluator));
+        verify((RuleBasedSegmentMembershipCache) evaluator).putMembership(SEGMENT_NAME, MATCHING_KEY, BUCKETING_KEY, false);
+    }
+
+    @Test
+    public void excludedRuleBasedSegmentMembershipIsTakenFromCache() {
+        Evaluator evaluator = mock(Evaluator.class, withSettings().extraInterfaces(RuleBasedSegmentMembershipCache.class));
+        when(((RuleBasedSegmentMembershipCache) evaluator).getMembership(SEGMENT_NAME, MATCHING_KEY, BUCKETING_KEY)).thenReturn(null);
+        when(((RuleBasedSegmentMembershipCache) evaluator).getMembership("excluded-segment", MATCHING_KEY, BUCKETING_KEY)).thenReturn(true);
+        when(mRuleBasedSegmentStorage.get(eq(SEGMENT_NAME), eq(MATCHING_KEY))).thenReturn(createSegment(
+                Collections.emptySet(),
+                Collections.singleton(ExcludedSegment.ruleBased("excluded-segment")),
+                Collections.emptyList()));
+
+        assertFalse(mMatcher.match(MATCHING_KEY, BUCKETING_KEY, Collections.emptyMap(), evaluator));
+        verify(mRuleBasedSegmentStorage).get(SEGMENT_NAME, MATCHING_KEY);
+        verify(mRuleBasedSegmentStorage, never()).get(eq("excluded-segment"), any());
+    }
+
     private ParsedRuleBasedSegment createSegment(Set<String> excludedKeys, Set<ExcludedSegment> excludedSegments, List<ParsedCondition> conditions) {
-        ParsedRuleBasedSegment segment = mock(ParsedRuleBasedSegment.class);
-        when(segment.getExcludedKeys()).thenReturn(excludedKeys);
-        when(segment.getExcludedSegments()).thenReturn(excludedSegments);
-        when(segment.getParsedConditions()).thenReturn(conditions != null ? conditions : new ArrayList<>());
-        return segment;
+        return new ParsedRuleBasedSegment(SEGMENT_NAME, excludedKeys, excludedSegments,
+                conditions != null ? conditions : new ArrayList<>(), "user", 1L);
     }
 }
@@ -0,0 +1,36 @@
+package io.split.android.engine.matchers;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import io.split.android.client.storage.mysegments.MySegmentsStorage;
+import io.split.android.client.storage.mysegments.SegmentIdDictionary;
+
+public class MySegmentsMatcherTest {
+
+    @Test
+    public void matchesWhenStorageContainsSegment() {
+        MySegmentsStorage storage = mock(MySegmentsStorage.class);
+        when(storage.contains(SegmentIdDictionary.idOf("segment"))).thenReturn(true);
+
+        MySegmentsMatcher matcher = new MySegmentsMatcher(storage, "segment");
+
+        assertTrue(matcher.match("key", null, Collections.emptyMap(), null));
+    }
+
+    @Test
+    public void doesNotMatchWhenStorageDoesNotContainSegment() {
+        MySegmentsStorage storage = mock(MySegmentsStorage.class);
+        when(storage.contains(SegmentIdDictionary.idOf("other_segment"))).thenReturn(true);
+
+        MySegmentsMatcher matcher = new MySegmentsMatcher(storage, "segment");
+
+        assertFalse(matcher.match("key", null, Collections.emptyMap(), null));
+    }
+}
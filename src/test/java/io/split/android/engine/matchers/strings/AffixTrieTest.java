@@ -0,0 +1,77 @@
+package io.split.android.engine.matchers.strings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class AffixTrieTest {
+
+    @Test
+    public void prefixesMatchStartOfValue() {
+        AffixTrie trie = AffixTrie.forPrefixes(Arrays.asList("abc", "ab", "xyz"));
+
+        assertTrue(trie.matches("abd"));
+        assertTrue(trie.matches("xyz"));
+        assertFalse(trie.matches("a"));
+        assertFalse(trie.matches("zabc"));
+        assertFalse(trie.matches(""));
+    }
+
+    @Test
+    public void suffixesMatchEndOfValue() {
+        AffixTrie trie = AffixTrie.forSuffixes(Arrays.asList("@split.io", ".com"));
+
+        assertTrue(trie.matches("user@split.io"));
+        assertTrue(trie.matches("user@mail.com"));
+        assertFalse(trie.matches("user@split.io.ar"));
+        assertFalse(trie.matches("com"));
+    }
+
+    @Test
+    public void emptyValuesAreIgnored() {
+        assertFalse(AffixTrie.forPrefixes(Collections.singletonList("")).matches("abc"));
+        assertFalse(AffixTrie.forSuffixes(Collections.<String>emptyList()).matches("abc"));
+    }
+
+    @Test
+    public void resultsAreSameAsStringComparisons() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round++) {
+            List<String> values = randomStrings(random, 1 + random.nextInt(10));
+            AffixTrie prefixes = AffixTrie.forPrefixes(values);
+            AffixTrie suffixes = AffixTrie.forSuffixes(values);
+
+            for (String candidate : randomStrings(random, 20)) {
+                boolean startsWith = false;
+                boolean endsWith = false;
+                for (String value : values) {
+                    startsWith |= !value.isEmpty() && candidate.startsWith(value);
+                    endsWith |= !value.isEmpty() && candidate.endsWith(value);
+                }
+                assertEquals(startsWith, prefixes.matches(candidate));
+                assertEquals(endsWith, suffixes.matches(candidate));
+            }
+        }
+    }
+
+    static List<String> randomStrings(Random random, int amount) {
+        List<String> strings = new ArrayList<>();
+        for (int i = 0; i < amount; i++) {
+            // small alphabet so that there are plenty of partial matches
+            char[] chars = new char[random.nextInt(6)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = (char) ('a' + random.nextInt(3));
+            }
+            strings.add(new String(chars));
+        }
+        return strings;
+    }
+}
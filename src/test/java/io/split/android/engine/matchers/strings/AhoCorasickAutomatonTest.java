@@ -0,0 +1,56 @@
+package io.split.android.engine.matchers.strings;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class AhoCorasickAutomatonTest {
+
+    @Test
+    public void overlappingValuesAreFound() {
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(Arrays.asList("he", "she", "his", "hers"));
+
+        assertTrue(automaton.matches("ushers"));
+        assertTrue(automaton.matches("this"));
+        assertTrue(automaton.matches("ahe"));
+        assertFalse(automaton.matches("hi"));
+        assertFalse(automaton.matches("sh"));
+    }
+
+    @Test
+    public void valueFoundThroughFailureLink() {
+        AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(Arrays.asList("abcd", "bc"));
+
+        assertTrue(automaton.matches("abce"));
+    }
+
+    @Test
+    public void emptyValuesAreIgnored() {
+        assertFalse(new AhoCorasickAutomaton(Collections.singletonList("")).matches("abc"));
+        assertFalse(new AhoCorasickAutomaton(Collections.<String>emptyList()).matches(""));
+    }
+
+    @Test
+    public void resultsAreSameAsStringContains() {
+        Random random = new Random(13);
+        for (int round = 0; round < 200; round++) {
+            List<String> values = AffixTrieTest.randomStrings(random, 1 + random.nextInt(10));
+            AhoCorasickAutomaton automaton = new AhoCorasickAutomaton(values);
+
+            for (String candidate : AffixTrieTest.randomStrings(random, 20)) {
+                boolean contains = false;
+                for (String value : values) {
+                    contains |= !value.isEmpty() && candidate.contains(value);
+                }
+                assertEquals(contains, automaton.matches(candidate));
+            }
+        }
+    }
+}
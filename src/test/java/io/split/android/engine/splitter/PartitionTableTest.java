@@ -0,0 +1,79 @@
+package io.split.android.engine.splitter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import io.split.android.client.dtos.Partition;
+
+public class PartitionTableTest {
+
+    @Test
+    public void bucketsAreMappedToTheirPartition() {
+        PartitionTable table = new PartitionTable(Arrays.asList(partition("on", 30), partition("off", 50), partition("v1", 20)));
+
+        assertEquals("on", table.get(1));
+        assertEquals("on", table.get(30));
+        assertEquals("off", table.get(31));
+        assertEquals("off", table.get(80));
+        assertEquals("v1", table.get(81));
+        assertEquals("v1", table.get(100));
+        assertNull(table.singleTreatment());
+        assertFalse(table.isEmpty());
+    }
+
+    @Test
+    public void uncoveredBucketsHaveNoTreatment() {
+        PartitionTable table = new PartitionTable(Arrays.asList(partition("on", 20), partition("off", 20)));
+
+        assertEquals("off", table.get(40));
+        assertNull(table.get(41));
+        assertNull(table.get(100));
+    }
+
+    @Test
+    public void singlePartitionCoveringAllBucketsIsShortcut() {
+        PartitionTable table = new PartitionTable(Collections.singletonList(partition("on", 100)));
+
+        assertEquals("on", table.singleTreatment());
+    }
+
+    @Test
+    public void emptyAndNullPartitionsAreEmpty() {
+        assertTrue(new PartitionTable(Collections.emptyList()).isEmpty());
+        assertTrue(new PartitionTable(null).isEmpty());
+    }
+
+    @Test
+    public void tableSelectsSameTreatmentAsPartitionList() {
+        List<Partition> partitions = Arrays.asList(partition("a", 10), partition("b", 0), partition("c", 45), partition("d", 40));
+        PartitionTable table = new PartitionTable(partitions);
+
+        for (int bucket = 1; bucket <= 100; bucket++) {
+            String expected = null;
+            int covered = 0;
+            for (Partition partition : partitions) {
+                covered += partition.size;
+                if (covered >= bucket) {
+                    expected = partition.treatment;
+                    break;
+                }
+            }
+            assertEquals(expected, table.get(bucket));
+        }
+    }
+
+    private static Partition partition(String treatment, int size) {
+        Partition partition = new Partition();
+        partition.treatment = treatment;
+        partition.size = size;
+        return partition;
+    }
+}